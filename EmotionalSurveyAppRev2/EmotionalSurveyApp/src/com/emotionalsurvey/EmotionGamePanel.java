@@ -24,6 +24,8 @@ public class EmotionGamePanel extends JPanel {
     private JButton previousButton;
     private JButton nextButton;
 
+    private final ScaledImageCache images = new ScaledImageCache(800, 320, true, 8);
+
     public EmotionGamePanel(EmotionGameApp parentApp) {
         this.parentApp = parentApp;
         setLayout(new BorderLayout());
@@ -225,23 +227,8 @@ public class EmotionGamePanel extends JPanel {
                 " of " + questions.size());
         progressBar.setValue(currentQuestionIndex + 1);
 
-        // Proper image scaling keeps the proportions
-        ImageIcon ic = new ImageIcon(q.getImagePath());
-        Image img = ic.getImage();
-
-        int maxWidth = 800;
-        int maxHeight = 320;
-
-        double scale = Math.min((double) maxWidth / img.getWidth(null),
-                (double) maxHeight / img.getHeight(null));
-
-        Image scaled = img.getScaledInstance(
-                (int) (img.getWidth(null) * scale),
-                (int) (img.getHeight(null) * scale),
-                Image.SCALE_SMOOTH
-        );
-
-        imageLabel.setIcon(new ImageIcon(scaled));
+        // Scaled in the background, keeping the proportions
+        showImage(q);
 
         List<String> opts = q.getOptions();
         optionsGroup.clearSelection();
@@ -273,6 +260,19 @@ public class EmotionGamePanel extends JPanel {
         }
     }
 
+    private void showImage(EmotionQuestion q) {
+        int index = currentQuestionIndex;
+        // Leave the frame empty rather than showing the previous question's image while this one loads
+        imageLabel.setIcon(null);
+        images.whenReady(q.getImagePath(), icon -> {
+            // Ignore an image that arrives after the user has moved on
+            if (index == currentQuestionIndex) imageLabel.setIcon(icon);
+        });
+        if (index + 1 < questions.size()) {
+            images.prefetch(questions.get(index + 1).getImagePath());
+        }
+    }
+
     private void saveSelection() {
         for (JRadioButton rb : optionButtons) {
             if (rb.isVisible() && rb.isSelected()) {
@@ -0,0 +1,142 @@
+package com.emotionalsurvey;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Question images decoded and scaled on a background thread, so showing a question on the EDT is a
+ * single setIcon. Images are shrunk by halving them with bilinear filtering until one more step reaches
+ * the target size, which looks as smooth as SCALE_SMOOTH at a fraction of its cost, and are drawn into
+ * images compatible with the screen so painting them needs no conversion.
+ *
+ * The most recently used images are kept, up to the given capacity. Images that could not be read are
+ * not kept, so they are tried again the next time they are shown.
+ */
+public class ScaledImageCache {
+    private final int maxWidth;
+    private final int maxHeight;
+    private final boolean keepAspect;
+    private final Map<String, CompletableFuture<ImageIcon>> cache;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "image-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * @param keepAspect fit images inside maxWidth x maxHeight; otherwise stretch them to exactly that size
+     */
+    public ScaledImageCache(int maxWidth, int maxHeight, boolean keepAspect, int capacity) {
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.keepAspect = keepAspect;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<ImageIcon>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Calls onReady on the EDT with the scaled image of path, or null if it cannot be read. A cached image
+     * is passed at once, without waiting for the next event.
+     */
+    public void whenReady(String path, Consumer<ImageIcon> onReady) {
+        CompletableFuture<ImageIcon> image = load(path);
+        if (image.isDone() && SwingUtilities.isEventDispatchThread()) {
+            onReady.accept(image.join());
+        } else {
+            image.thenAccept(icon -> SwingUtilities.invokeLater(() -> onReady.accept(icon)));
+        }
+    }
+
+    /** Starts scaling the image of path in the background if it is not cached yet. */
+    public void prefetch(String path) {
+        load(path);
+    }
+
+    private CompletableFuture<ImageIcon> load(String path) {
+        CompletableFuture<ImageIcon> image;
+        synchronized (cache) {
+            CompletableFuture<ImageIcon> cached = cache.get(path);
+            if (cached != null) return cached;
+            image = CompletableFuture.supplyAsync(() -> scale(path), loader);
+            cache.put(path, image);
+        }
+        image.whenComplete((icon, e) -> {
+            if (icon == null) {
+                synchronized (cache) {
+                    cache.remove(path, image);
+                }
+            }
+        });
+        return image;
+    }
+
+    private ImageIcon scale(String path) {
+        BufferedImage source;
+        try {
+            source = ImageIO.read(new File(path));
+        } catch (IOException e) {
+            System.err.println("Could not read image " + path + ": " + e.getMessage());
+            return null;
+        }
+        if (source == null) {
+            System.err.println("Unsupported image format: " + path);
+            return null;
+        }
+
+        int width = maxWidth;
+        int height = maxHeight;
+        if (keepAspect) {
+            double factor = Math.min((double) maxWidth / source.getWidth(), (double) maxHeight / source.getHeight());
+            width = Math.max(1, (int) (source.getWidth() * factor));
+            height = Math.max(1, (int) (source.getHeight() * factor));
+        }
+        int transparency = source.getColorModel().getTransparency();
+
+        // Bilinear filtering only looks at neighbouring pixels, so shrinking by more than half at once skips pixels
+        BufferedImage current = source;
+        int w = source.getWidth();
+        int h = source.getHeight();
+        do {
+            w = w / 2 >= width ? w / 2 : width;
+            h = h / 2 >= height ? h / 2 : height;
+            current = draw(current, w, h, transparency);
+        } while (w != width || h != height);
+        return new ImageIcon(current);
+    }
+
+    private static BufferedImage draw(BufferedImage from, int width, int height, int transparency) {
+        BufferedImage to = compatibleImage(width, height, transparency);
+        Graphics2D g = to.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(from, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return to;
+    }
+
+    private static BufferedImage compatibleImage(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            int type = transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+            return new BufferedImage(width, height, type);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().createCompatibleImage(width, height, transparency);
+    }
+}
@@ -23,6 +23,8 @@ public class SurveyPanel extends JPanel {
 
 	private Consumer<int[]> completionCallback;
 
+	private final ScaledImageCache images = new ScaledImageCache(600, 400, false, 8);
+
 	public SurveyPanel() {
 		this.questions = loadQuestions();
 		this.responses = new int[questions.size()];
@@ -156,9 +158,7 @@ public class SurveyPanel extends JPanel {
 		questionNumberLabel.setText("Question " + (currentQuestionIndex + 1) + " of " + questions.size());
 		progressBar.setValue(currentQuestionIndex + 1);
 
-		ImageIcon imageIcon = new ImageIcon(currentQuestion.getImagePath());
-		Image scaledImage = imageIcon.getImage().getScaledInstance(600, 400, Image.SCALE_SMOOTH);
-		imageLabel.setIcon(new ImageIcon(scaledImage));
+		showImage(currentQuestion);
 
 		responseSlider.setValue(responses[currentQuestionIndex]);
 
@@ -171,6 +171,21 @@ public class SurveyPanel extends JPanel {
 		}
 	}
 
+	private void showImage(Question question) {
+		int index = currentQuestionIndex;
+		// Leave the frame empty rather than showing the previous question's image while this one loads
+		imageLabel.setIcon(null);
+		images.whenReady(question.getImagePath(), icon -> {
+			// Ignore an image that arrives after the user has moved on
+			if (index == currentQuestionIndex) {
+				imageLabel.setIcon(icon);
+			}
+		});
+		if (index + 1 < questions.size()) {
+			images.prefetch(questions.get(index + 1).getImagePath());
+		}
+	}
+
 	private void saveCurrentResponse() {
 		responses[currentQuestionIndex] = responseSlider.getValue();
 	}
@@ -0,0 +1,70 @@
+package org.group1.asda.bench;
+
+import org.group1.asda.assessment.AQAssessment;
+import org.group1.asda.assessment.AQResultInterpreter;
+import org.group1.asda.assessment.AQScoreCalculator;
+import org.group1.asda.instrument.CompiledInstrument;
+import org.group1.asda.instrument.Instruments;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-assessment AQ scoring cost: total, subscales and interpretation, plus the compiled instrument
+ * kernel on a pre-built sheet without the per-call list conversion.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AqScoringBenchmark {
+    private AQAssessment assessment;
+    private int totalScore;
+    private AQScoreCalculator.CategoryScores categories;
+    private final CompiledInstrument aq = Instruments.aq();
+    private int[] sheet;
+
+    @Setup
+    public void setUp() {
+        assessment = new AQAssessment();
+        Random random = new Random(42);
+        for (int i = 0; i < assessment.getTotalQuestions(); i++) {
+            assessment.recordResponse(i, 1 + random.nextInt(4));
+        }
+        assessment.completeAssessment();
+        totalScore = AQScoreCalculator.calculateTotalScore(assessment);
+        categories = AQScoreCalculator.calculateCategoryScores(assessment);
+        sheet = assessment.getUserResponses().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Benchmark
+    public int calculateTotalScore() {
+        return AQScoreCalculator.calculateTotalScore(assessment);
+    }
+
+    @Benchmark
+    public AQScoreCalculator.CategoryScores calculateCategoryScores() {
+        return AQScoreCalculator.calculateCategoryScores(assessment);
+    }
+
+    @Benchmark
+    public AQResultInterpreter.AssessmentSummary interpret() {
+        return AQResultInterpreter.interpret(totalScore, categories);
+    }
+
+    @Benchmark
+    public int compiledTotal() {
+        return aq.total(sheet);
+    }
+
+    @Benchmark
+    public CompiledInstrument.Score compiledScore() {
+        return aq.score(sheet);
+    }
+}
@@ -0,0 +1,78 @@
+package org.group1.asda.bench;
+
+import org.group1.asda.assessment.AQAssessment;
+import org.group1.asda.assessment.AQScoreCalculator;
+import org.group1.asda.instrument.BatchScorer;
+import org.group1.asda.instrument.Instruments;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-scoring a batch of completed AQ sheets: one {@link AQAssessment} at a time through
+ * {@link AQScoreCalculator} versus the column-major {@link BatchScorer} with its scalar loop and with its
+ * Vector API kernel. All compute totals and the five subscales for every sheet. The fork adds the
+ * incubator module so the vector kernel can load.
+ */
+@State(Scope.Benchmark)
+@Fork(jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BatchScoringBenchmark {
+    @Param({"10000"})
+    public int sheets;
+
+    private List<AQAssessment> assessments;
+    private byte[][] responses;
+    private final BatchScorer scalar = new BatchScorer(Instruments.aq(), false);
+    private BatchScorer vector;
+
+    @Setup
+    public void setUp() {
+        vector = new BatchScorer(Instruments.aq(), true);
+        Random random = new Random(42);
+        int items = Instruments.aq().getItemCount();
+        assessments = new ArrayList<>(sheets);
+        responses = new byte[items][sheets];
+        for (int n = 0; n < sheets; n++) {
+            AQAssessment assessment = new AQAssessment();
+            for (int i = 0; i < items; i++) {
+                int choice = 1 + random.nextInt(4);
+                assessment.recordResponse(i, choice);
+                responses[i][n] = (byte) choice;
+            }
+            assessment.completeAssessment();
+            assessments.add(assessment);
+        }
+    }
+
+    @Benchmark
+    public void perAssessment(Blackhole bh) {
+        for (AQAssessment assessment : assessments) {
+            bh.consume(AQScoreCalculator.calculateTotalScore(assessment));
+            bh.consume(AQScoreCalculator.calculateCategoryScores(assessment));
+        }
+    }
+
+    @Benchmark
+    public BatchScorer.Result columnarScalar() {
+        return scalar.score(responses, sheets);
+    }
+
+    @Benchmark
+    public BatchScorer.Result columnarVector() {
+        return vector.score(responses, sheets);
+    }
+}
@@ -0,0 +1,160 @@
+package org.group1.asda.bench;
+
+import org.group1.asda.domain.GameResult;
+import org.group1.asda.domain.Question;
+import org.group1.asda.loadgen.PopulationGenerator;
+import org.group1.asda.loadgen.PopulationSpec;
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.GameResultDao;
+import org.group1.asda.persistence.QuestionDao;
+import org.group1.asda.persistence.ResponseDao;
+import org.group1.asda.persistence.SessionDao;
+import org.group1.asda.service.AssessmentService;
+import org.group1.asda.service.QuestionnaireService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Latency distribution of every DAO query against a populated database. Sample-time mode reports
+ * p50/p90/p99/p99.9 per query.
+ *
+ * By default a temporary database with {@code sessions} synthetic sessions is generated per trial.
+ * To measure at production scale, generate a database once with {@code --generate} and pass its path:
+ * {@code -Djmh.args="-p db=/path/to/load.db"}. The saveOrReplace benchmark rewrites existing answers,
+ * so point it at a copy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DaoQueryBenchmark {
+    private static final int SAMPLE_SESSIONS = 4096;
+
+    @Param({""})
+    public String db;
+
+    @Param({"20000"})
+    public long sessions;
+
+    private Path tempDir;
+    private String previousUrl;
+    private String[] sessionIds;
+
+    private final QuestionDao questionDao = new QuestionDao();
+    private final SessionDao sessionDao = new SessionDao();
+    private final ResponseDao responseDao = new ResponseDao();
+    private final GameResultDao gameResultDao = new GameResultDao();
+    private final AssessmentService assessmentService = new AssessmentService();
+    private QuestionnaireService questionnaireService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        previousUrl = System.getProperty("asda.db.url");
+        if (db.isBlank()) {
+            tempDir = Files.createTempDirectory("asda-bench");
+            System.setProperty("asda.db.url", "jdbc:sqlite:" + tempDir.resolve("load.db"));
+            Database.init();
+            new PopulationGenerator(PopulationSpec.defaults(sessions), 2, 1_000).run();
+        } else {
+            System.setProperty("asda.db.url", "jdbc:sqlite:" + db);
+            Database.init();
+        }
+        questionnaireService = new QuestionnaireService();
+
+        List<String> ids = new ArrayList<>();
+        try (Connection c = Database.getConnection();
+             Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT id FROM sessions ORDER BY random() LIMIT " + SAMPLE_SESSIONS)) {
+            while (rs.next()) ids.add(rs.getString(1));
+        }
+        if (ids.isEmpty()) throw new IllegalStateException("Benchmark database has no sessions");
+        sessionIds = ids.toArray(new String[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+        if (tempDir != null) {
+            try (Stream<Path> files = Files.walk(tempDir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private String randomSession() {
+        return sessionIds[ThreadLocalRandom.current().nextInt(sessionIds.length)];
+    }
+
+    private static String randomCode() {
+        return "Q" + (80 + ThreadLocalRandom.current().nextInt(30));
+    }
+
+    @Benchmark
+    public List<Question> questionFindAll() {
+        return questionDao.findAll();
+    }
+
+    @Benchmark
+    public int questionCount() {
+        return questionDao.count();
+    }
+
+    @Benchmark
+    public Optional<String> latestSessionId() {
+        return sessionDao.getLatestSessionId();
+    }
+
+    @Benchmark
+    public Optional<Integer> getAnswer() {
+        return responseDao.getAnswer(randomSession(), randomCode());
+    }
+
+    @Benchmark
+    public void saveOrReplace() {
+        int value = 1 + ThreadLocalRandom.current().nextInt(3);
+        responseDao.saveOrReplace(randomSession(), randomCode(), value, value);
+    }
+
+    @Benchmark
+    public AssessmentService.AssessmentResult assessFromDb() {
+        return assessmentService.assessFromDb(randomSession());
+    }
+
+    @Benchmark
+    public List<QuestionnaireService.ScaleOption> loadScale() {
+        return questionnaireService.loadScale();
+    }
+
+    @Benchmark
+    public List<GameResult> gameResultsBySession() {
+        return gameResultDao.findBySession(randomSession());
+    }
+
+    @Benchmark
+    public List<GameResult> gameResultsRecent() {
+        return gameResultDao.findRecent(GameResult.ATTENTION, 20);
+    }
+}
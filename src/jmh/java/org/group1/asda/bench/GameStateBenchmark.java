@@ -0,0 +1,32 @@
+package org.group1.asda.bench;
+
+import org.group1.asda.domain.Card;
+import org.group1.asda.domain.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching game deck generation for the pair counts used across rounds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GameStateBenchmark {
+    @Param({"2", "8", "15", "30"})
+    public int pairs;
+
+    private final GameState gameState = new GameState();
+
+    @Benchmark
+    public List<Card> generateDeck() {
+        return gameState.generateDeck(pairs);
+    }
+}
@@ -0,0 +1,52 @@
+package org.group1.asda.bench;
+
+import org.group1.asda.domain.emotional.StimulusPack;
+import org.group1.asda.domain.emotional.StimulusRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode cost of the emotional stimulus images. Bytes are preloaded so only decoding is measured.
+ * ImageIO is used because JavaFX {@code Image} needs a running FX toolkit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImageDecodeBenchmark {
+    @Param({StimulusRegistry.ABSTRACT_PATTERNS, StimulusRegistry.FACIAL_EMOTIONS})
+    public String pack;
+
+    private byte[][] images;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        StimulusPack stimuli = StimulusRegistry.getPack(pack);
+        images = new byte[stimuli.size()][];
+        for (int id = 0; id < stimuli.size(); id++) {
+            try (InputStream in = ImageDecodeBenchmark.class.getResourceAsStream(stimuli.getImagePath(id))) {
+                if (in == null) throw new IOException("Missing image: " + stimuli.getImagePath(id));
+                images[id] = in.readAllBytes();
+            }
+        }
+    }
+
+    @Benchmark
+    public BufferedImage decode() throws IOException {
+        byte[] bytes = images[next++ % images.length];
+        return ImageIO.read(new ByteArrayInputStream(bytes));
+    }
+}
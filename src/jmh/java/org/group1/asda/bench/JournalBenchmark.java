@@ -0,0 +1,77 @@
+package org.group1.asda.bench;
+
+import org.group1.asda.persistence.AnswerJournal;
+import org.group1.asda.persistence.SessionIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Answer journal appends, with and without forcing each record, and recovery of a journal holding
+ * 20 unfinished sessions. Compare with {@link PersistenceBenchmark#saveOrReplace}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JournalBenchmark {
+    private Path dir;
+    private Path recoveryDir;
+    private AnswerJournal journal;
+    private String sessionId;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("asda-journal");
+        recoveryDir = dir.resolve("recovery");
+        try (AnswerJournal filled = AnswerJournal.open(recoveryDir, 0)) {
+            for (int s = 0; s < 20; s++) {
+                String id = SessionIds.next();
+                for (int i = 0; i < 50; i++) filled.answer(id, i, 1 + (s + i) % 4);
+            }
+        }
+        journal = AnswerJournal.open(dir.resolve("append"), 0);
+        sessionId = SessionIds.next();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void append() {
+        int i = next++;
+        journal.answer(sessionId, i % 50, 1 + i % 4);
+    }
+
+    @Benchmark
+    public void appendAndForce() {
+        int i = next++;
+        journal.answer(sessionId, i % 50, 1 + i % 4);
+        journal.force();
+    }
+
+    @Benchmark
+    public int recover() {
+        try (AnswerJournal reopened = AnswerJournal.open(recoveryDir, 0)) {
+            return reopened.unfinished().size();
+        }
+    }
+}
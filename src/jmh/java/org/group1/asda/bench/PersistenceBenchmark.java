@@ -0,0 +1,70 @@
+package org.group1.asda.bench;
+
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.ResponseDao;
+import org.group1.asda.persistence.SessionDao;
+import org.group1.asda.service.AssessmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * DAO round trips against a fresh SQLite file per trial, using the same connection-per-call path as the app.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PersistenceBenchmark {
+    private Path dir;
+    private String previousUrl;
+    private final ResponseDao responseDao = new ResponseDao();
+    private final AssessmentService assessmentService = new AssessmentService();
+    private String sessionId;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("asda-bench");
+        previousUrl = System.getProperty("asda.db.url");
+        System.setProperty("asda.db.url", "jdbc:sqlite:" + dir.resolve("bench.db"));
+        Database.init();
+
+        sessionId = new SessionDao().startSession();
+        for (int q = 80; q < 110; q++) {
+            responseDao.saveOrReplace(sessionId, "Q" + q, 1 + q % 3, 1 + q % 3);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void saveOrReplace() {
+        int i = next++;
+        responseDao.saveOrReplace(sessionId, "Q" + (80 + i % 30), 1 + i % 3, 1 + i % 3);
+    }
+
+    @Benchmark
+    public AssessmentService.AssessmentResult assessFromDb() {
+        return assessmentService.assessFromDb(sessionId);
+    }
+}
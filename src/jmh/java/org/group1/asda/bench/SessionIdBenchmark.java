@@ -0,0 +1,121 @@
+package org.group1.asda.bench;
+
+import org.group1.asda.persistence.SessionIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Insert latency and index size of the session key forms: the legacy random UUID text, the time-ordered
+ * 26-character text the app now writes, and the same id as a 16-byte BLOB.
+ *
+ * Each trial preloads {@code preload} sessions with 30 responses each into the app's session and response
+ * layout, then times inserting one more session with its responses in a single transaction. Random keys
+ * touch a different leaf page of every index per session; time-ordered keys append to the rightmost page.
+ * Index and table sizes from {@code dbstat} are printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionIdBenchmark {
+    private static final int ANSWERS = 30;
+
+    @Param({"uuid", "compact", "blob"})
+    public String key;
+
+    @Param({"100000"})
+    public int preload;
+
+    private Path dir;
+    private Connection c;
+    private PreparedStatement insSession;
+    private PreparedStatement insResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        dir = Files.createTempDirectory("asda-bench");
+        c = DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("ids.db"));
+        String type = key.equals("blob") ? "BLOB" : "TEXT";
+        try (Statement st = c.createStatement()) {
+            st.executeUpdate("CREATE TABLE sessions (id " + type + " PRIMARY KEY, started_at INTEGER, ended_at INTEGER, " +
+                    "total_score INTEGER, level TEXT)");
+            st.executeUpdate("CREATE TABLE responses (session_id " + type + " NOT NULL, question_code TEXT NOT NULL, " +
+                    "answer_value INTEGER NOT NULL, score INTEGER NOT NULL)");
+            st.executeUpdate("CREATE UNIQUE INDEX ux_responses_session_question ON responses(session_id, question_code)");
+            st.executeUpdate("CREATE INDEX ix_responses_session ON responses(session_id)");
+        }
+        insSession = c.prepareStatement("INSERT INTO sessions(id, started_at) VALUES(?,?)");
+        insResponse = c.prepareStatement(
+                "INSERT INTO responses(session_id, question_code, answer_value, score) VALUES(?,?,?,?)");
+        c.setAutoCommit(false);
+        for (int i = 0; i < preload; i++) {
+            insert();
+            if (i % 1000 == 999) c.commit();
+        }
+        c.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT name, SUM(pgsize) FROM dbstat GROUP BY name ORDER BY name")) {
+            StringBuilder sb = new StringBuilder("\n[" + key + "]");
+            while (rs.next()) sb.append(String.format(" %s=%d KiB", rs.getString(1), rs.getLong(2) / 1024));
+            System.out.println(sb);
+        }
+        c.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    private void insert() throws SQLException {
+        long now = System.currentTimeMillis();
+        switch (key) {
+            case "uuid" -> bind(UUID.randomUUID().toString());
+            case "compact" -> bind(SessionIds.next());
+            default -> bind(SessionIds.toBytes(SessionIds.next()));
+        }
+        insSession.setLong(2, now);
+        insSession.executeUpdate();
+        for (int q = 0; q < ANSWERS; q++) {
+            insResponse.setString(2, "Q" + (80 + q));
+            insResponse.setInt(3, 1 + q % 3);
+            insResponse.setInt(4, 1 + q % 3);
+            insResponse.addBatch();
+        }
+        insResponse.executeBatch();
+    }
+
+    private void bind(Object id) throws SQLException {
+        insSession.setObject(1, id);
+        insResponse.setObject(1, id);
+    }
+
+    @Benchmark
+    public void insertSession() throws SQLException {
+        insert();
+        c.commit();
+    }
+}
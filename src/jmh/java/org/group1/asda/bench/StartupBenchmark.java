@@ -0,0 +1,129 @@
+package org.group1.asda.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cold start of the application in a fresh process, until the loading screen's first frame and until the
+ * screen after loading is shown (see {@code StartupTrace}). Each invocation is one launch.
+ *
+ * {@code launch=jdk} runs the build JDK with JavaFX on the module path, as during development; {@code kiosk}
+ * and {@code kiosk-cds} run target/kiosk from {@code mvn -Pkiosk package} without and with its AppCDS archive.
+ * Needs a display, and the kiosk build for the kiosk launches, e.g.
+ * {@code -Djmh.include=StartupBenchmark -Djmh.args="-f 1 -wi 2 -i 10"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+    private static final Path KIOSK = Path.of("target", "kiosk");
+
+    @Param({"jdk", "kiosk", "kiosk-cds"})
+    public String launch;
+
+    private Path dir;
+    private List<String> command;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("asda-startup");
+        List<String> cmd = new ArrayList<>();
+        if (launch.equals("jdk")) {
+            String[] classPath = System.getProperty("java.class.path").split(File.pathSeparator);
+            String javafx = Arrays.stream(classPath).filter(p -> p.contains("javafx-")).collect(Collectors.joining(File.pathSeparator));
+            cmd.add(ProcessHandle.current().info().command().orElse("java"));
+            cmd.addAll(List.of("--module-path", javafx, "--add-modules", "javafx.controls,javafx.fxml"));
+            cmd.addAll(List.of("-cp", System.getProperty("java.class.path")));
+        } else {
+            if (!Files.isDirectory(KIOSK.resolve("runtime"))) {
+                throw new IllegalStateException("Build the kiosk image first: mvn -Pkiosk package");
+            }
+            Path kiosk = KIOSK.toAbsolutePath();
+            StringBuilder cp = new StringBuilder();
+            try (Stream<Path> jars = Files.list(kiosk.resolve("lib"))) {
+                cp.append(jars.filter(p -> p.toString().endsWith("-kiosk.jar")).findFirst().orElseThrow());
+            }
+            for (String jar : Files.readString(kiosk.resolve("classpath")).strip().split(":")) {
+                cp.append(':').append(kiosk.resolve(jar));
+            }
+            cmd.add(kiosk.resolve("runtime/bin/java").toString());
+            if (launch.equals("kiosk-cds")) {
+                if (!Files.isRegularFile(kiosk.resolve("app.jsa"))) {
+                    throw new IllegalStateException("No AppCDS archive; build the kiosk image without -Dkiosk.skipTraining");
+                }
+                cmd.add("-XX:SharedArchiveFile=" + kiosk.resolve("app.jsa"));
+            }
+            cmd.add("-Dorg.sqlite.lib.path=" + kiosk.resolve("native"));
+            cmd.add("-Dorg.sqlite.lib.name=libsqlitejdbc.so");
+            cmd.add("-Djava.library.path=" + kiosk.resolve("native"));
+            cmd.addAll(List.of("-cp", cp.toString()));
+        }
+        cmd.add("-Dasda.db.url=jdbc:sqlite:" + dir.resolve("startup.db"));
+        cmd.add("-Dasda.journal.dir=" + dir.resolve("journal"));
+        cmd.add("-Dasda.loading.minMs=0");
+        cmd.add("-Dasda.startup.trace=true");
+        cmd.add("-Dasda.startup.exitAfterHome=true");
+        cmd.add("org.group1.asda.Launcher");
+        command = cmd;
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopApp() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) process.destroyForcibly();
+            process = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void firstFrame() throws IOException, InterruptedException {
+        launchUntil("firstFrame");
+    }
+
+    @Benchmark
+    public void home() throws IOException, InterruptedException {
+        launchUntil("home");
+    }
+
+    private void launchUntil(String milestone) throws IOException, InterruptedException {
+        process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line;
+        while ((line = out.readLine()) != null) {
+            if (line.startsWith("[startup] " + milestone + " ")) return;
+        }
+        throw new IllegalStateException("Application exited before " + milestone + " (exit " + process.waitFor() + ")");
+    }
+}
@@ -0,0 +1,20 @@
+#!/bin/sh
+# Starts the kiosk build (mvn -Pkiosk package) with its own runtime, the extracted SQLite and JavaFX libraries
+# and the AppCDS archive from the training run. JVM options go in JAVA_OPTS (e.g. JAVA_OPTS=-Dasda.seats=2);
+# arguments are passed to the application, so command-line modes (--analytics, --report, ...) run without a display.
+DIR=$(cd "$(dirname "$0")" && pwd)
+
+CP="$DIR/${kiosk.jar}"
+for jar in $(tr ':' ' ' < "$DIR/classpath"); do
+    CP="$CP:$DIR/$jar"
+done
+
+# Without the archive (training skipped) the JVM starts normally
+CDS=""
+if [ -f "$DIR/app.jsa" ]; then
+    CDS="-XX:SharedArchiveFile=$DIR/app.jsa"
+fi
+
+exec "$DIR/runtime/bin/java" $CDS \
+    -Dorg.sqlite.lib.path="$DIR/native" -Dorg.sqlite.lib.name=libsqlitejdbc.so -Djava.library.path="$DIR/native" \
+    $JAVA_OPTS -cp "$CP" org.group1.asda.Launcher "$@"
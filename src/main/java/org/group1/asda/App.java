@@ -3,37 +3,65 @@ package org.group1.asda;
 import javafx.animation.PauseTransition;
 import javafx.application.Application;
 import javafx.application.Platform;
-import javafx.scene.text.Font;
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
 import javafx.util.Duration;
-import org.group1.asda.assessment.AssessmentCli;
+import org.group1.asda.metrics.FrameMonitor;
+import org.group1.asda.metrics.MetricsReporter;
+import org.group1.asda.metrics.StartupTrace;
 import org.group1.asda.navigation.Router;
+import org.group1.asda.navigation.Seat;
+import org.group1.asda.navigation.SharedResources;
+import org.group1.asda.persistence.AnswerJournal;
 import org.group1.asda.persistence.Database;
+import org.group1.asda.service.AsyncDataService;
 import org.group1.asda.ui.loading.LoadingController;
 
-import java.io.InputStream;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 
 public class App extends Application {
+    private MetricsReporter metricsReporter;
+    private final List<Seat> seats = new ArrayList<>();
+
     @Override
     public void start(Stage stage) {
+        // Rolling metrics file, only when -Dasda.metrics.file is set
+        metricsReporter = MetricsReporter.fromSystemProperties();
+
         // Load bundled fonts early (Roboto). Missing files are ignored gracefully.
-        loadFont("/fonts/Roboto-Light.ttf");
-        loadFont("/fonts/Roboto-Regular.ttf");
-        loadFont("/fonts/Roboto-Medium.ttf");
-        loadFont("/fonts/Roboto-Bold.ttf");
+        SharedResources.loadFonts();
 
         // Read minimum loading screen duration (ms) from system property with default 2400 ms
         long minDurationMs = parseLongProp("asda.loading.minMs", 2400);
 
-        // Create the router and immediately show the loading screen, capturing the controller
-        Router router = new Router(stage);
-        LoadingController loadingController = router.goToAndGetController("loading", LoadingController.class);
-        if (loadingController != null) {
-            loadingController.setProgress(0.0);
+        // One seat (router, results, journal) per window; -Dasda.seats=2 drives both screens of a dual-screen kiosk
+        int seatCount = Math.max(1, Integer.getInteger("asda.seats", 1));
+        List<Screen> screens = Screen.getScreens();
+        List<LoadingController> loadingControllers = new ArrayList<>();
+        for (int n = 1; n <= seatCount; n++) {
+            Stage seatStage = n == 1 ? stage : new Stage();
+            Seat seat = Seat.open(n, seatStage);
+            seats.add(seat);
+            // Show the loading screen immediately, capturing the controller
+            LoadingController loadingController = seat.router().goToAndGetController("loading", LoadingController.class);
+            if (loadingController != null) {
+                loadingController.setProgress(0.0);
+                loadingControllers.add(loadingController);
+            }
+            seatStage.setTitle(seatCount == 1 ? "ASDA" : "ASDA - Seat " + n);
+            if (seatCount > 1 && n <= screens.size()) {
+                Rectangle2D bounds = screens.get(n - 1).getVisualBounds();
+                seatStage.setX(bounds.getMinX());
+                seatStage.setY(bounds.getMinY());
+            }
+            seatStage.show();
         }
-        stage.setTitle("ASDA");
-        stage.show();
+        if (Boolean.getBoolean("asda.fx.monitor")) {
+            FrameMonitor.get().start();
+        }
+        StartupTrace.atNextPulse("firstFrame", () -> {});
 
         // Mark when the loading screen became visible
         final long shownAtNanos = System.nanoTime();
@@ -41,27 +69,21 @@ public class App extends Application {
         // Perform initialization on a background thread, update progress, then navigate to home
         Thread initThread = new Thread(() -> {
             try {
-                Database.init(p -> Platform.runLater(() -> {
-                    if (loadingController != null) {
-                        loadingController.setProgress(p);
-                    }
-                }));
+                Database.init(p -> Platform.runLater(() -> loadingControllers.forEach(c -> c.setProgress(p))));
             } catch (Exception e) {
                 e.printStackTrace();
             } finally {
                 Platform.runLater(() -> {
-                    if (loadingController != null) {
-                        loadingController.setProgress(1.0);
-                    }
+                    loadingControllers.forEach(c -> c.setProgress(1.0));
                     // Enforce minimum display duration
                     long elapsedMs = (System.nanoTime() - shownAtNanos) / 1_000_000L;
                     long remainingMs = Math.max(0L, minDurationMs - elapsedMs);
                     if (remainingMs > 0L) {
                         PauseTransition pause = new PauseTransition(Duration.millis(remainingMs));
-                        pause.setOnFinished(ev -> router.goTo("disclaimer"));
+                        pause.setOnFinished(ev -> leaveLoading(seats));
                         pause.play();
                     } else {
-                        router.goTo("disclaimer");
+                        leaveLoading(seats);
                     }
                 });
             }
@@ -70,15 +92,45 @@ public class App extends Application {
         initThread.start();
     }
 
-    private static void loadFont(String resourcePath) {
-        try (InputStream is = App.class.getResourceAsStream(resourcePath)) {
-            if (is != null) {
-                Font.loadFont(is, 12);
-            } else {
-                System.out.println("[DEBUG_LOG] Font not found: " + resourcePath);
+    private static void leaveLoading(List<Seat> seats) {
+        seats.forEach(seat -> seat.router().goTo("disclaimer"));
+        StartupTrace.atNextPulse("home", () -> {
+            // Training run of the kiosk build (-Pkiosk): load every screen once so the AppCDS archive covers them
+            if (Boolean.getBoolean("asda.startup.train")) {
+                visitAllScreens(seats.get(0).router());
+            } else if (Boolean.getBoolean("asda.startup.exitAfterHome")) {
+                Platform.exit();
             }
-        } catch (Exception e) {
-            System.out.println("[DEBUG_LOG] Failed to load font: " + resourcePath + ": " + e.getMessage());
+        });
+    }
+
+    private static void visitAllScreens(Router router) {
+        List<String> screens = Router.screens();
+        int[] next = {0};
+        // Longer than the cross-fade, so every view is shown and every controller initialized
+        PauseTransition step = new PauseTransition(Duration.millis(400));
+        step.setOnFinished(ev -> {
+            if (next[0] == screens.size()) {
+                Platform.exit();
+                return;
+            }
+            router.goTo(screens.get(next[0]++));
+            step.playFromStart();
+        });
+        step.play();
+    }
+
+    @Override
+    public void stop() {
+        // Close each participant's session, then let queued answer and game-result writes reach the database
+        seats.forEach(Seat::endSession);
+        AsyncDataService.shutdownShared();
+        // Flush the in-progress answer journals so a restart resumes each seat from its last answer
+        AnswerJournal.closeShared();
+        // Final snapshot when running on an in-memory database
+        Database.shutdown();
+        if (metricsReporter != null) {
+            metricsReporter.close();
         }
     }
 
@@ -93,14 +145,8 @@ public class App extends Application {
         }
     }
 
+    /** Runs a command-line mode or starts the UI; see {@link Launcher}. */
     public static void main(String[] args) {
-        // If launched with --cli, run the terminal AQ assessment and exit.
-        boolean cli = Arrays.stream(args).anyMatch("--cli"::equals);
-        if (cli) {
-            int exit = AssessmentCli.run();
-            System.exit(exit);
-            return;
-        }
-        launch(args);
+        Launcher.main(args);
     }
 }
@@ -0,0 +1,75 @@
+package org.group1.asda;
+
+import javafx.application.Application;
+import org.group1.asda.analytics.AnalyticsCli;
+import org.group1.asda.archive.ArchiveCli;
+import org.group1.asda.assessment.AssessmentCli;
+import org.group1.asda.loadgen.GeneratorCli;
+import org.group1.asda.report.ReportCli;
+import org.group1.asda.rescore.RescoreCli;
+import org.group1.asda.rescore.ScoreCheckCli;
+import org.group1.asda.server.ServerCli;
+import org.group1.asda.sync.SyncCli;
+
+import java.util.Arrays;
+
+/**
+ * Entry point that is not an {@link Application}. The java launcher starts the JavaFX toolkit before
+ * {@code main} for a main class that extends {@code Application}, which fails without a display; this
+ * class only starts it when no command-line mode was asked for, so the CLI modes also run headless on
+ * the kiosk runtime.
+ */
+public final class Launcher {
+    private Launcher() {}
+
+    public static void main(String[] args) {
+        // If launched with --cli, run the terminal AQ assessment (or score a --batch file) and exit.
+        boolean cli = Arrays.stream(args).anyMatch("--cli"::equals);
+        if (cli) {
+            int exit = AssessmentCli.run(args);
+            System.exit(exit);
+            return;
+        }
+        // --analytics prints population statistics over the stored sessions and exits.
+        if (Arrays.stream(args).anyMatch("--analytics"::equals)) {
+            System.exit(AnalyticsCli.run(args));
+            return;
+        }
+        // --generate fills the database with synthetic sessions for load testing and exits.
+        if (Arrays.stream(args).anyMatch("--generate"::equals)) {
+            System.exit(GeneratorCli.run(args));
+            return;
+        }
+        // --sync-export / --sync-import move changed sessions between kiosk and hub databases and exit.
+        if (Arrays.stream(args).anyMatch(a -> a.equals("--sync-export") || a.equals("--sync-import"))) {
+            System.exit(SyncCli.run(args));
+            return;
+        }
+        // --archive moves old finished sessions into monthly archive files and exits.
+        if (Arrays.stream(args).anyMatch("--archive"::equals)) {
+            System.exit(ArchiveCli.run(args));
+            return;
+        }
+        // --rescore recomputes totals and levels of finished sessions with the current scoring rules and exits.
+        if (Arrays.stream(args).anyMatch("--rescore"::equals)) {
+            System.exit(RescoreCli.run(args));
+            return;
+        }
+        // --check-scores verifies the maintained session score rows against their responses and exits.
+        if (Arrays.stream(args).anyMatch("--check-scores"::equals)) {
+            System.exit(ScoreCheckCli.run(args));
+            return;
+        }
+        // --report renders printable multi-page TIFF reports of stored sessions and exits.
+        if (Arrays.stream(args).anyMatch("--report"::equals)) {
+            System.exit(ReportCli.run(args));
+            return;
+        }
+        // --serve runs the headless scoring API until the process is stopped.
+        if (Arrays.stream(args).anyMatch("--serve"::equals)) {
+            System.exit(ServerCli.run(args));
+            return;
+        }
+        Application.launch(App.class, args);
+    }
+}
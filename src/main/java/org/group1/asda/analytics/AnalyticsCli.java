@@ -0,0 +1,47 @@
+package org.group1.asda.analytics;
+
+import org.group1.asda.persistence.Database;
+
+import java.nio.file.Path;
+
+/**
+ * Console runner for cohort analytics over the configured database.
+ * Usage: run the application with --analytics [--threads=N] [--out=DIR].
+ * The text report goes to stdout; with --out the tables are also written as CSV files.
+ */
+public class AnalyticsCli {
+    public static int run(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path out = null;
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                try {
+                    threads = Integer.parseInt(arg.substring("--threads=".length()));
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid thread count: " + arg);
+                    return 2;
+                }
+            } else if (arg.startsWith("--out=")) {
+                out = Path.of(arg.substring("--out=".length()));
+            }
+        }
+
+        try {
+            Database.init();
+            long start = System.nanoTime();
+            CohortReport report = new CohortAnalytics(threads, 33.0, 66.0).run();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+
+            System.out.println(report.format());
+            System.out.println("Analysed " + report.getResponses() + " responses in " + elapsedMs + " ms");
+            if (out != null) {
+                report.writeCsv(out);
+                System.out.println("CSV tables written to " + out.toAbsolutePath());
+            }
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Cohort analytics failed: " + e.getMessage());
+            return 1;
+        }
+    }
+}
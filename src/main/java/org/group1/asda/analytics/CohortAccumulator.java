@@ -0,0 +1,73 @@
+package org.group1.asda.analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Partial aggregates for one partition of the sessions/responses tables.
+ * Each worker thread fills its own accumulator; partials are merged once all workers finish.
+ * Everything here is keyed by item, category, question count or month, so size does not grow with rows.
+ */
+final class CohortAccumulator {
+    /** Per-item answer counts; index 1..3 are the scale values, index 0 collects anything else. */
+    static final class ItemCounts {
+        final long[] byAnswer = new long[4];
+        long scoreSum;
+
+        long total() {
+            return byAnswer[0] + byAnswer[1] + byAnswer[2] + byAnswer[3];
+        }
+    }
+
+    final Map<String, ItemCounts> items = new HashMap<>();
+    final Map<String, Histogram> categorySessionScores = new HashMap<>();
+    final Map<Integer, Histogram> sessionTotalsByItemCount = new HashMap<>();
+    final Map<String, Map<String, Long>> levelsByMonth = new TreeMap<>();
+    long responses;
+    long scoredSessions;
+    long sessions;
+
+    void addResponse(String questionCode, int answerValue, int score) {
+        ItemCounts c = items.computeIfAbsent(questionCode, k -> new ItemCounts());
+        c.byAnswer[answerValue >= 1 && answerValue <= 3 ? answerValue : 0]++;
+        c.scoreSum += score;
+        responses++;
+    }
+
+    void addSessionScores(int total, int itemCount, Map<String, Integer> categorySums) {
+        sessionTotalsByItemCount.computeIfAbsent(itemCount, k -> new Histogram()).add(total);
+        for (Map.Entry<String, Integer> e : categorySums.entrySet()) {
+            categorySessionScores.computeIfAbsent(e.getKey(), k -> new Histogram()).add(e.getValue());
+        }
+        scoredSessions++;
+    }
+
+    void addSession(String month, String level) {
+        levelsByMonth.computeIfAbsent(month, k -> new TreeMap<>()).merge(level, 1L, Long::sum);
+        sessions++;
+    }
+
+    void merge(CohortAccumulator other) {
+        for (Map.Entry<String, ItemCounts> e : other.items.entrySet()) {
+            ItemCounts mine = items.computeIfAbsent(e.getKey(), k -> new ItemCounts());
+            for (int i = 0; i < mine.byAnswer.length; i++) {
+                mine.byAnswer[i] += e.getValue().byAnswer[i];
+            }
+            mine.scoreSum += e.getValue().scoreSum;
+        }
+        for (Map.Entry<String, Histogram> e : other.categorySessionScores.entrySet()) {
+            categorySessionScores.computeIfAbsent(e.getKey(), k -> new Histogram()).merge(e.getValue());
+        }
+        for (Map.Entry<Integer, Histogram> e : other.sessionTotalsByItemCount.entrySet()) {
+            sessionTotalsByItemCount.computeIfAbsent(e.getKey(), k -> new Histogram()).merge(e.getValue());
+        }
+        for (Map.Entry<String, Map<String, Long>> e : other.levelsByMonth.entrySet()) {
+            Map<String, Long> mine = levelsByMonth.computeIfAbsent(e.getKey(), k -> new TreeMap<>());
+            e.getValue().forEach((level, n) -> mine.merge(level, n, Long::sum));
+        }
+        responses += other.responses;
+        scoredSessions += other.scoredSessions;
+        sessions += other.sessions;
+    }
+}
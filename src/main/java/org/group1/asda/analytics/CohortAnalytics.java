@@ -0,0 +1,265 @@
+package org.group1.asda.analytics;
+
+import org.group1.asda.persistence.Database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Computes cohort statistics across all stored sessions: per-item endorsement rates, per-category
+ * score distributions, level prevalence by month and norm tables of session totals.
+ *
+ * Sessions are split into id ranges. Each range is streamed by its own thread and connection using
+ * forward-only cursors into a private {@link CohortAccumulator}; partials are merged at the end.
+ * Responses are read in session order so per-session totals can be folded as rows arrive, keeping
+ * memory bounded by the number of items, categories and months rather than by table size.
+ */
+public class CohortAnalytics {
+    private static final int FETCH_SIZE = 1000;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final int parallelism;
+    private final double elevatedPercentile;
+    private final double moderatePercentile;
+
+    public CohortAnalytics() {
+        this(Runtime.getRuntime().availableProcessors(), 33.0, 66.0);
+    }
+
+    /**
+     * @param parallelism        number of worker threads (and id-range partitions)
+     * @param elevatedPercentile percentile of session totals used as the suggested "Elevated" cutoff
+     * @param moderatePercentile percentile of session totals used as the suggested "Moderate" cutoff
+     */
+    public CohortAnalytics(int parallelism, double elevatedPercentile, double moderatePercentile) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        this.parallelism = parallelism;
+        this.elevatedPercentile = elevatedPercentile;
+        this.moderatePercentile = moderatePercentile;
+    }
+
+    public CohortReport run() {
+        Map<String, String> categories;
+        List<String> bounds;
+        try (Connection c = Database.getConnection()) {
+            categories = loadCategories(c);
+            bounds = partitionBounds(c, parallelism);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to prepare cohort analytics: " + e.getMessage(), e);
+        }
+
+        // bounds holds the lower id of each partition after the first; null means open-ended
+        List<String[]> ranges = new ArrayList<>();
+        String lower = null;
+        for (String b : bounds) {
+            ranges.add(new String[]{lower, b});
+            lower = b;
+        }
+        ranges.add(new String[]{lower, null});
+
+        CohortAccumulator total = new CohortAccumulator();
+        if (ranges.size() == 1) {
+            total.merge(scan(ranges.get(0)[0], ranges.get(0)[1], categories));
+        } else {
+            ExecutorService pool = Executors.newFixedThreadPool(ranges.size(), r -> {
+                Thread t = new Thread(r, "cohort-analytics");
+                t.setDaemon(true);
+                return t;
+            });
+            try {
+                List<Future<CohortAccumulator>> parts = new ArrayList<>();
+                for (String[] range : ranges) {
+                    parts.add(pool.submit(() -> scan(range[0], range[1], categories)));
+                }
+                for (Future<CohortAccumulator> part : parts) {
+                    total.merge(part.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Cohort analytics interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException re) throw re;
+                throw new RuntimeException("Cohort analytics failed: " + cause.getMessage(), cause);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        return toReport(total, categories);
+    }
+
+    private static Map<String, String> loadCategories(Connection c) throws SQLException {
+        Map<String, String> out = new HashMap<>();
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("SELECT code, category FROM questions")) {
+            while (rs.next()) {
+                out.put(rs.getString(1), rs.getString(2));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Picks up to {@code partitions - 1} session ids that split the id space into roughly equal ranges,
+     * reading the primary key index once without holding the ids in memory. Also used by the re-scoring job.
+     */
+    public static List<String> partitionBounds(Connection c, int partitions) throws SQLException {
+        List<String> bounds = new ArrayList<>();
+        if (partitions <= 1) return bounds;
+        long count;
+        try (Statement st = c.createStatement(); ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM sessions")) {
+            count = rs.next() ? rs.getLong(1) : 0;
+        }
+        if (count < partitions * 2L) return bounds;
+        long step = count / partitions;
+        try (Statement st = c.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            st.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = st.executeQuery("SELECT id FROM sessions ORDER BY id")) {
+                long i = 0;
+                while (rs.next() && bounds.size() < partitions - 1) {
+                    i++;
+                    if (i % step == 0) {
+                        bounds.add(rs.getString(1));
+                    }
+                }
+            }
+        }
+        return bounds;
+    }
+
+    private static CohortAccumulator scan(String fromId, String toId, Map<String, String> categories) {
+        CohortAccumulator acc = new CohortAccumulator();
+        try (Connection c = Database.getConnection()) {
+            scanSessions(c, fromId, toId, acc);
+            scanResponses(c, fromId, toId, categories, acc);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to scan sessions: " + e.getMessage(), e);
+        }
+        return acc;
+    }
+
+    private static void scanSessions(Connection c, String fromId, String toId, CohortAccumulator acc) throws SQLException {
+        String sql = "SELECT started_at, level FROM sessions" + rangeClause("id", fromId, toId);
+        try (PreparedStatement ps = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(FETCH_SIZE);
+            bindRange(ps, fromId, toId);
+            long cachedDay = Long.MIN_VALUE;
+            String cachedMonth = null;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long startedAt = rs.getLong(1);
+                    String month;
+                    if (rs.wasNull()) {
+                        month = "unknown";
+                    } else {
+                        long day = Math.floorDiv(startedAt, MILLIS_PER_DAY);
+                        if (day != cachedDay) {
+                            // Rows are not in time order, but consecutive sessions often share a day
+                            cachedDay = day;
+                            cachedMonth = LocalDate.ofEpochDay(day).toString().substring(0, 7);
+                        }
+                        month = cachedMonth;
+                    }
+                    String level = rs.getString(2);
+                    acc.addSession(month, level == null ? "Unscored" : level);
+                }
+            }
+        }
+    }
+
+    private static void scanResponses(Connection c, String fromId, String toId, Map<String, String> categories,
+                                      CohortAccumulator acc) throws SQLException {
+        String sql = "SELECT session_id, question_code, answer_value, score FROM responses"
+                + rangeClause("session_id", fromId, toId) + " ORDER BY session_id";
+        try (PreparedStatement ps = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(FETCH_SIZE);
+            bindRange(ps, fromId, toId);
+
+            String currentSession = null;
+            int total = 0;
+            int items = 0;
+            Map<String, Integer> categorySums = new HashMap<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String sessionId = rs.getString(1);
+                    if (!sessionId.equals(currentSession)) {
+                        if (currentSession != null) {
+                            acc.addSessionScores(total, items, categorySums);
+                        }
+                        currentSession = sessionId;
+                        total = 0;
+                        items = 0;
+                        categorySums.clear();
+                    }
+                    String code = rs.getString(2);
+                    int answer = rs.getInt(3);
+                    int score = rs.getInt(4);
+                    acc.addResponse(code, answer, score);
+                    total += score;
+                    items++;
+                    categorySums.merge(categories.getOrDefault(code, "Unknown"), score, Integer::sum);
+                }
+            }
+            if (currentSession != null) {
+                acc.addSessionScores(total, items, categorySums);
+            }
+        }
+    }
+
+    private static String rangeClause(String column, String fromId, String toId) {
+        if (fromId == null && toId == null) return "";
+        if (fromId == null) return " WHERE " + column + " < ?";
+        if (toId == null) return " WHERE " + column + " >= ?";
+        return " WHERE " + column + " >= ? AND " + column + " < ?";
+    }
+
+    private static void bindRange(PreparedStatement ps, String fromId, String toId) throws SQLException {
+        int i = 1;
+        if (fromId != null) ps.setString(i++, fromId);
+        if (toId != null) ps.setString(i, toId);
+    }
+
+    private CohortReport toReport(CohortAccumulator acc, Map<String, String> categories) {
+        List<CohortReport.ItemStats> items = new ArrayList<>();
+        for (Map.Entry<String, CohortAccumulator.ItemCounts> e : acc.items.entrySet()) {
+            CohortAccumulator.ItemCounts c = e.getValue();
+            long n = c.total();
+            items.add(new CohortReport.ItemStats(e.getKey(), categories.getOrDefault(e.getKey(), "Unknown"), n,
+                    c.byAnswer[1], c.byAnswer[2], c.byAnswer[3], c.byAnswer[0], n == 0 ? 0.0 : c.scoreSum / (double) n));
+        }
+        items.sort(Comparator.comparingInt((CohortReport.ItemStats i) -> codeNumber(i.questionCode()))
+                .thenComparing(CohortReport.ItemStats::questionCode));
+
+        List<CohortReport.CategoryStats> cats = new ArrayList<>();
+        acc.categorySessionScores.forEach((name, h) -> cats.add(new CohortReport.CategoryStats(name, h)));
+        cats.sort(Comparator.comparing(CohortReport.CategoryStats::category));
+
+        List<CohortReport.NormTable> norms = new ArrayList<>();
+        acc.sessionTotalsByItemCount.forEach((n, h) ->
+                norms.add(new CohortReport.NormTable(n, h, elevatedPercentile, moderatePercentile)));
+        norms.sort(Comparator.comparingInt(CohortReport.NormTable::questionCount).reversed());
+
+        return new CohortReport(acc.sessions, acc.scoredSessions, acc.responses, items, cats, acc.levelsByMonth, norms);
+    }
+
+    private static int codeNumber(String code) {
+        // Codes look like Q80; fall back to lexical order for anything else
+        try {
+            return Integer.parseInt(code.substring(1));
+        } catch (RuntimeException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
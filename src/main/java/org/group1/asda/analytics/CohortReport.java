@@ -0,0 +1,185 @@
+package org.group1.asda.analytics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Population-level statistics over every stored session, produced by {@link CohortAnalytics}.
+ */
+public final class CohortReport {
+
+    /** Percentiles reported for distributions and norm tables. */
+    public static final double[] PERCENTILES = {1, 5, 10, 25, 50, 75, 90, 95, 99};
+
+    /**
+     * Answer distribution for one questionnaire item. Answers 1 (Very True) and 2 (True) count as endorsed.
+     */
+    public record ItemStats(String questionCode, String category, long responses,
+                            long veryTrue, long trueCount, long falseCount, long other, double meanScore) {
+        public double endorsementRate() {
+            return responses == 0 ? 0.0 : (veryTrue + trueCount) / (double) responses;
+        }
+    }
+
+    /** Distribution of per-session category sums. */
+    public record CategoryStats(String category, Histogram sessionScores) {}
+
+    /**
+     * Norm table for sessions that answered {@code questionCount} items. The suggested cutoffs are the
+     * totals at the configured percentiles and can be used to calibrate {@code AssessmentService.deriveLevel}
+     * (lower totals mean more endorsed statements, so the lowest band is "Elevated").
+     */
+    public record NormTable(int questionCount, Histogram totals, double elevatedPercentile, double moderatePercentile) {
+        public long sampleSize() {
+            return totals.getTotal();
+        }
+
+        public int scoreAt(double percentile) {
+            return totals.valueAtPercentile(percentile);
+        }
+
+        public double percentileRank(int totalScore) {
+            return totals.percentileRank(totalScore);
+        }
+
+        public int suggestedElevatedCutoff() {
+            return scoreAt(elevatedPercentile);
+        }
+
+        public int suggestedModerateCutoff() {
+            return scoreAt(moderatePercentile);
+        }
+    }
+
+    private final long sessions;
+    private final long scoredSessions;
+    private final long responses;
+    private final List<ItemStats> items;
+    private final List<CategoryStats> categories;
+    private final Map<String, Map<String, Long>> levelsByMonth;
+    private final List<NormTable> normTables;
+
+    CohortReport(long sessions, long scoredSessions, long responses, List<ItemStats> items,
+                 List<CategoryStats> categories, Map<String, Map<String, Long>> levelsByMonth,
+                 List<NormTable> normTables) {
+        this.sessions = sessions;
+        this.scoredSessions = scoredSessions;
+        this.responses = responses;
+        this.items = List.copyOf(items);
+        this.categories = List.copyOf(categories);
+        this.levelsByMonth = levelsByMonth;
+        this.normTables = List.copyOf(normTables);
+    }
+
+    public long getSessions() { return sessions; }
+    public long getScoredSessions() { return scoredSessions; }
+    public long getResponses() { return responses; }
+    public List<ItemStats> getItems() { return items; }
+    public List<CategoryStats> getCategories() { return categories; }
+    /** Month (yyyy-MM, UTC) -> level -> session count; unscored sessions are reported as "Unscored". */
+    public Map<String, Map<String, Long>> getLevelsByMonth() { return levelsByMonth; }
+    public List<NormTable> getNormTables() { return normTables; }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("COHORT SUMMARY\n");
+        sb.append(String.format(Locale.ROOT, "Sessions: %d (with responses: %d)  Responses: %d%n%n",
+                sessions, scoredSessions, responses));
+
+        sb.append("ITEM ENDORSEMENT\n");
+        for (ItemStats i : items) {
+            sb.append(String.format(Locale.ROOT, "%-6s %-14s n=%-8d endorsed=%5.1f%%  mean score=%.2f%n",
+                    i.questionCode(), i.category(), i.responses(), i.endorsementRate() * 100, i.meanScore()));
+        }
+        sb.append('\n');
+
+        sb.append("CATEGORY DISTRIBUTIONS (per-session sums)\n");
+        for (CategoryStats c : categories) {
+            Histogram h = c.sessionScores();
+            sb.append(String.format(Locale.ROOT, "%-14s n=%-8d mean=%6.2f sd=%5.2f p25=%d p50=%d p75=%d%n",
+                    c.category(), h.getTotal(), h.mean(), h.standardDeviation(),
+                    h.valueAtPercentile(25), h.valueAtPercentile(50), h.valueAtPercentile(75)));
+        }
+        sb.append('\n');
+
+        sb.append("LEVEL PREVALENCE BY MONTH\n");
+        for (Map.Entry<String, Map<String, Long>> month : levelsByMonth.entrySet()) {
+            long total = month.getValue().values().stream().mapToLong(Long::longValue).sum();
+            sb.append(month.getKey()).append(" (n=").append(total).append("):");
+            month.getValue().forEach((level, n) ->
+                    sb.append(String.format(Locale.ROOT, " %s=%.1f%%", level, 100.0 * n / total)));
+            sb.append('\n');
+        }
+        sb.append('\n');
+
+        sb.append("NORM TABLES (session totals)\n");
+        for (NormTable t : normTables) {
+            sb.append(String.format(Locale.ROOT, "%d items, n=%d, mean=%.2f, sd=%.2f%n",
+                    t.questionCount(), t.sampleSize(), t.totals().mean(), t.totals().standardDeviation()));
+            for (double p : PERCENTILES) {
+                sb.append(String.format(Locale.ROOT, "  P%-3s %d%n", formatPercentile(p), t.scoreAt(p)));
+            }
+            sb.append(String.format(Locale.ROOT, "  Suggested cutoffs: Elevated <= %d (P%s), Moderate <= %d (P%s)%n",
+                    t.suggestedElevatedCutoff(), formatPercentile(t.elevatedPercentile()),
+                    t.suggestedModerateCutoff(), formatPercentile(t.moderatePercentile())));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes items.csv, categories.csv, levels_by_month.csv and norms.csv into {@code dir}.
+     */
+    public void writeCsv(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        try (Writer w = Files.newBufferedWriter(dir.resolve("items.csv"), StandardCharsets.UTF_8)) {
+            w.write("question_code,category,responses,very_true,true,false,other,endorsement_rate,mean_score\n");
+            for (ItemStats i : items) {
+                w.write(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%d,%.4f,%.4f%n", i.questionCode(), i.category(),
+                        i.responses(), i.veryTrue(), i.trueCount(), i.falseCount(), i.other(),
+                        i.endorsementRate(), i.meanScore()));
+            }
+        }
+        try (Writer w = Files.newBufferedWriter(dir.resolve("categories.csv"), StandardCharsets.UTF_8)) {
+            w.write("category,sessions,mean,sd" + percentileHeader() + "\n");
+            for (CategoryStats c : categories) {
+                Histogram h = c.sessionScores();
+                w.write(String.format(Locale.ROOT, "%s,%d,%.4f,%.4f", c.category(), h.getTotal(), h.mean(), h.standardDeviation()));
+                for (double p : PERCENTILES) w.write("," + h.valueAtPercentile(p));
+                w.write("\n");
+            }
+        }
+        try (Writer w = Files.newBufferedWriter(dir.resolve("levels_by_month.csv"), StandardCharsets.UTF_8)) {
+            w.write("month,level,sessions\n");
+            for (Map.Entry<String, Map<String, Long>> month : levelsByMonth.entrySet()) {
+                for (Map.Entry<String, Long> level : month.getValue().entrySet()) {
+                    w.write(month.getKey() + "," + level.getKey() + "," + level.getValue() + "\n");
+                }
+            }
+        }
+        try (Writer w = Files.newBufferedWriter(dir.resolve("norms.csv"), StandardCharsets.UTF_8)) {
+            w.write("question_count,sessions,mean,sd" + percentileHeader() + ",elevated_cutoff,moderate_cutoff\n");
+            for (NormTable t : normTables) {
+                w.write(String.format(Locale.ROOT, "%d,%d,%.4f,%.4f", t.questionCount(), t.sampleSize(),
+                        t.totals().mean(), t.totals().standardDeviation()));
+                for (double p : PERCENTILES) w.write("," + t.scoreAt(p));
+                w.write("," + t.suggestedElevatedCutoff() + "," + t.suggestedModerateCutoff() + "\n");
+            }
+        }
+    }
+
+    private static String percentileHeader() {
+        StringBuilder sb = new StringBuilder();
+        for (double p : PERCENTILES) sb.append(",p").append(formatPercentile(p));
+        return sb.toString();
+    }
+
+    private static String formatPercentile(double p) {
+        return p == Math.rint(p) ? String.valueOf((int) p) : String.valueOf(p);
+    }
+}
@@ -0,0 +1,87 @@
+package org.group1.asda.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Dense counting histogram over small non-negative integer scores.
+ * Memory is proportional to the largest score seen, not to the number of samples.
+ */
+public final class Histogram {
+    private long[] counts = new long[16];
+    private int max = -1;
+    private long total;
+    private long sum;
+
+    public void add(int value) {
+        add(value, 1);
+    }
+
+    public void add(int value, long count) {
+        if (value < 0) value = 0;
+        if (value >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(value + 1, counts.length * 2));
+        }
+        counts[value] += count;
+        if (value > max) max = value;
+        total += count;
+        sum += (long) value * count;
+    }
+
+    public void merge(Histogram other) {
+        for (int v = 0; v <= other.max; v++) {
+            if (other.counts[v] != 0) add(v, other.counts[v]);
+        }
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public long count(int value) {
+        return value < 0 || value > max ? 0 : counts[value];
+    }
+
+    public double mean() {
+        return total == 0 ? 0.0 : sum / (double) total;
+    }
+
+    public double standardDeviation() {
+        if (total < 2) return 0.0;
+        double mean = mean();
+        double ss = 0;
+        for (int v = 0; v <= max; v++) {
+            if (counts[v] != 0) {
+                double d = v - mean;
+                ss += d * d * counts[v];
+            }
+        }
+        return Math.sqrt(ss / (total - 1));
+    }
+
+    /** Smallest value at or below which at least {@code percentile}% of samples fall (nearest-rank). */
+    public int valueAtPercentile(double percentile) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(Math.max(0.0, Math.min(100.0, percentile)) / 100.0 * total);
+        if (rank < 1) rank = 1;
+        long seen = 0;
+        for (int v = 0; v <= max; v++) {
+            seen += counts[v];
+            if (seen >= rank) return v;
+        }
+        return max;
+    }
+
+    /** Percentage of samples at or below {@code value}. */
+    public double percentileRank(int value) {
+        if (total == 0) return 0.0;
+        long seen = 0;
+        for (int v = 0; v <= Math.min(value, max); v++) {
+            seen += counts[v];
+        }
+        return 100.0 * seen / total;
+    }
+}
@@ -0,0 +1,55 @@
+package org.group1.asda.archive;
+
+import org.group1.asda.persistence.Database;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Console runner for session archival.
+ * Usage: run the application with --archive [--db=FILE] [--older-than-days=180] [--dir=DIR] [--snapshot=FILE].
+ * --dir defaults to asda.archive.dir (archive); --snapshot first writes a compacted backup of the database.
+ */
+public class ArchiveCli {
+    public static int run(String[] args) {
+        long days = Long.getLong("asda.archive.olderThanDays", 180);
+        Path dir = SessionArchiver.defaultDir();
+        Path snapshot = null;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--db=")) {
+                    System.setProperty("asda.db.url", "jdbc:sqlite:" + value(arg));
+                } else if (arg.startsWith("--older-than-days=")) {
+                    days = Long.parseLong(value(arg));
+                } else if (arg.startsWith("--dir=")) {
+                    dir = Path.of(value(arg));
+                } else if (arg.startsWith("--snapshot=")) {
+                    snapshot = Path.of(value(arg));
+                }
+            }
+            if (days < 0) throw new IllegalArgumentException("Age must not be negative: " + days);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid argument: " + e.getMessage());
+            return 2;
+        }
+
+        try {
+            Database.init();
+            SessionArchiver archiver = new SessionArchiver(dir);
+            if (snapshot != null) {
+                archiver.snapshot(snapshot);
+                System.out.println("Snapshot written to " + snapshot);
+            }
+            System.out.println("Archiving sessions that ended more than " + days + " days ago into " + archiver.getArchiveDir());
+            System.out.println(archiver.archiveOlderThan(Duration.ofDays(days)).format());
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Archival failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
@@ -0,0 +1,41 @@
+package org.group1.asda.archive;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * What one {@link SessionArchiver} run moved and how much the hot database shrank.
+ *
+ * @param bytesBefore hot database size before archiving (page count times page size)
+ * @param bytesAfter  hot database size after the vacuum step
+ */
+public record ArchiveReport(List<Month> months, long bytesBefore, long bytesAfter, long elapsedNanos) {
+
+    /** Rows moved into one monthly archive file. */
+    public record Month(String month, Path file, long sessions, long responses, long gameResults) {}
+
+    public long sessions() {
+        return months.stream().mapToLong(Month::sessions).sum();
+    }
+
+    public long responses() {
+        return months.stream().mapToLong(Month::responses).sum();
+    }
+
+    public long gameResults() {
+        return months.stream().mapToLong(Month::gameResults).sum();
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        for (Month m : months) {
+            sb.append(String.format(Locale.ROOT, "  %s: %d sessions, %d responses, %d game results -> %s%n",
+                    m.month(), m.sessions(), m.responses(), m.gameResults(), m.file()));
+        }
+        sb.append(String.format(Locale.ROOT,
+                "Archived %d sessions into %d monthly files in %.1f s%nHot database: %.1f MiB -> %.1f MiB",
+                sessions(), months.size(), elapsedNanos / 1e9, bytesBefore / 1048576.0, bytesAfter / 1048576.0));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,226 @@
+package org.group1.asda.archive;
+
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.persistence.ArchiveRoutes;
+import org.group1.asda.persistence.Database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves finished sessions out of the hot database into one SQLite file per month, so the hot tables
+ * and their indexes stay small enough to remain in the page cache.
+ *
+ * Sessions whose {@code ended_at} is before the cutoff are grouped by the UTC month they ended in.
+ * Each month is handled in one transaction: its archive file is attached, the sessions, responses and
+ * game results are bulk-copied with {@code INSERT ... SELECT}, the routing index is updated and the rows
+ * are deleted from the hot tables. The default rollback journal makes this commit atomic across both
+ * files. Unfinished sessions and game results played outside a session are never archived.
+ *
+ * Afterwards the freed pages are returned to the file system with {@code PRAGMA incremental_vacuum}.
+ * The first run on a database without {@code auto_vacuum=INCREMENTAL} switches it on with a full VACUUM.
+ * Archived sessions remain readable through {@code AssessmentService}, {@code ResponseDao} and
+ * {@code GameResultDao} via {@link ArchiveRoutes}. Deletes are not seen by kiosk sync, so export before
+ * archiving.
+ */
+public class SessionArchiver {
+    private final Path archiveDir;
+
+    public SessionArchiver(Path archiveDir) {
+        this.archiveDir = archiveDir.toAbsolutePath();
+    }
+
+    /** {@code -Dasda.archive.dir}, default {@code archive} in the working directory. */
+    public static Path defaultDir() {
+        return Path.of(System.getProperty("asda.archive.dir", "archive"));
+    }
+
+    public Path getArchiveDir() {
+        return archiveDir;
+    }
+
+    static String fileName(String month) {
+        return "asda-" + month + ".db";
+    }
+
+    public ArchiveReport archiveOlderThan(Duration age) {
+        return archive(System.currentTimeMillis() - age.toMillis());
+    }
+
+    /** Archives every session that ended before {@code cutoffEpochMs}. */
+    public ArchiveReport archive(long cutoffEpochMs) {
+        long start = System.nanoTime();
+        return Metrics.dbCall("SessionArchiver.archive").call(() -> {
+            try (Connection c = Database.getConnection()) {
+                long before = databaseBytes(c);
+                List<String> months = new ArrayList<>();
+                try (PreparedStatement ps = c.prepareStatement(
+                        "SELECT DISTINCT strftime('%Y-%m', ended_at / 1000, 'unixepoch') FROM sessions " +
+                        "WHERE ended_at IS NOT NULL AND ended_at < ? ORDER BY 1")) {
+                    ps.setLong(1, cutoffEpochMs);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) months.add(rs.getString(1));
+                    }
+                }
+
+                List<ArchiveReport.Month> archived = new ArrayList<>();
+                if (!months.isEmpty()) {
+                    Files.createDirectories(archiveDir);
+                    for (String month : months) {
+                        archived.add(archiveMonth(c, month, cutoffEpochMs));
+                    }
+                    compact(c);
+                }
+                return new ArchiveReport(archived, before, databaseBytes(c), System.nanoTime() - start);
+            } catch (SQLException | IOException e) {
+                throw new RuntimeException("Failed to archive sessions: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private ArchiveReport.Month archiveMonth(Connection c, String month, long cutoff) throws SQLException {
+        YearMonth ym = YearMonth.parse(month);
+        long from = ym.atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        long to = Math.min(cutoff, ym.plusMonths(1).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli());
+        Path file = archiveDir.resolve(fileName(month));
+
+        try (PreparedStatement ps = c.prepareStatement("ATTACH DATABASE ? AS " + ArchiveRoutes.SCHEMA)) {
+            ps.setString(1, file.toString());
+            ps.execute();
+        }
+        try (Statement st = c.createStatement()) {
+            createArchiveSchema(st);
+            c.setAutoCommit(false);
+            try {
+                st.executeUpdate("CREATE TEMP TABLE IF NOT EXISTS archive_batch (id TEXT PRIMARY KEY) WITHOUT ROWID");
+                st.executeUpdate("DELETE FROM temp.archive_batch");
+                try (PreparedStatement ps = c.prepareStatement(
+                        "INSERT INTO temp.archive_batch(id) SELECT id FROM main.sessions WHERE ended_at >= ? AND ended_at < ?")) {
+                    ps.setLong(1, from);
+                    ps.setLong(2, to);
+                    ps.executeUpdate();
+                }
+
+                String batch = "(SELECT id FROM temp.archive_batch)";
+                long sessions = st.executeUpdate(
+                        "INSERT OR REPLACE INTO archive.sessions(id, started_at, ended_at, total_score, level, change_seq) " +
+                        "SELECT id, started_at, ended_at, total_score, level, change_seq FROM main.sessions WHERE id IN " + batch);
+                long responses = st.executeUpdate(
+                        "INSERT OR REPLACE INTO archive.responses(session_id, question_code, answer_value, score, change_seq) " +
+                        "SELECT session_id, question_code, answer_value, score, change_seq FROM main.responses " +
+                        "WHERE session_id IN " + batch);
+                long games = st.executeUpdate(
+                        "INSERT OR REPLACE INTO archive.game_results" +
+                        "(id, session_id, game, played_at, trials, correct, incorrect, duration_ms) " +
+                        "SELECT id, session_id, game, played_at, trials, correct, incorrect, duration_ms " +
+                        "FROM main.game_results WHERE session_id IN " + batch);
+
+                try (PreparedStatement ps = c.prepareStatement(
+                        "INSERT OR REPLACE INTO main.session_archive(session_id, month) SELECT id, ? FROM temp.archive_batch")) {
+                    ps.setString(1, month);
+                    ps.executeUpdate();
+                }
+                try (PreparedStatement ps = c.prepareStatement(
+                        "INSERT INTO main.archive_months(month, path, sessions) VALUES(?,?,?) " +
+                        "ON CONFLICT(month) DO UPDATE SET path = excluded.path, " +
+                        "sessions = archive_months.sessions + excluded.sessions")) {
+                    ps.setString(1, month);
+                    ps.setString(2, file.toString());
+                    ps.setLong(3, sessions);
+                    ps.executeUpdate();
+                }
+
+                st.executeUpdate("DELETE FROM main.responses WHERE session_id IN " + batch);
+                st.executeUpdate("DELETE FROM main.game_results WHERE session_id IN " + batch);
+                st.executeUpdate("DELETE FROM main.sessions WHERE id IN " + batch);
+                st.executeUpdate("DELETE FROM temp.archive_batch");
+                c.commit();
+                return new ArchiveReport.Month(month, file, sessions, responses, games);
+            } catch (SQLException | RuntimeException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
+            }
+        } finally {
+            ArchiveRoutes.detach(c);
+        }
+    }
+
+    private static void createArchiveSchema(Statement st) throws SQLException {
+        st.executeUpdate("CREATE TABLE IF NOT EXISTS archive.sessions (" +
+                "id TEXT PRIMARY KEY, started_at INTEGER, ended_at INTEGER, total_score INTEGER, level TEXT, change_seq INTEGER" +
+                ")");
+        st.executeUpdate("CREATE TABLE IF NOT EXISTS archive.responses (" +
+                "session_id TEXT NOT NULL, question_code TEXT NOT NULL, answer_value INTEGER NOT NULL, score INTEGER NOT NULL, " +
+                "change_seq INTEGER, PRIMARY KEY(session_id, question_code)" +
+                ") WITHOUT ROWID");
+        st.executeUpdate("CREATE TABLE IF NOT EXISTS archive.game_results (" +
+                "id INTEGER PRIMARY KEY, session_id TEXT, game TEXT NOT NULL, played_at INTEGER NOT NULL, " +
+                "trials INTEGER NOT NULL, correct INTEGER NOT NULL, incorrect INTEGER NOT NULL, duration_ms INTEGER NOT NULL" +
+                ")");
+        st.executeUpdate("CREATE INDEX IF NOT EXISTS archive.ix_game_results_session ON game_results(session_id)");
+    }
+
+    /** Returns free pages to the file system and refreshes planner statistics. */
+    private static void compact(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            int mode;
+            try (ResultSet rs = st.executeQuery("PRAGMA auto_vacuum")) {
+                mode = rs.next() ? rs.getInt(1) : 0;
+            }
+            if (mode == 2) {
+                // executeUpdate steps the pragma to completion; execute() would free a single page
+                st.executeUpdate("PRAGMA incremental_vacuum");
+            } else {
+                // auto_vacuum only takes effect after a rebuild; later runs free pages incrementally
+                st.execute("PRAGMA auto_vacuum = INCREMENTAL");
+                st.execute("VACUUM");
+            }
+            st.execute("PRAGMA optimize");
+        }
+    }
+
+    /**
+     * Writes a compacted copy of the hot database to {@code target} with {@code VACUUM INTO}, e.g. as a
+     * backup before archiving. The target must not exist.
+     */
+    public void snapshot(Path target) {
+        Metrics.dbCall("SessionArchiver.snapshot").run(() -> {
+            try (Connection c = Database.getConnection();
+                 PreparedStatement ps = c.prepareStatement("VACUUM INTO ?")) {
+                Path parent = target.toAbsolutePath().getParent();
+                if (parent != null) Files.createDirectories(parent);
+                ps.setString(1, target.toAbsolutePath().toString());
+                ps.execute();
+            } catch (SQLException | IOException e) {
+                throw new RuntimeException("Failed to snapshot database: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private static long databaseBytes(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            long pages;
+            long pageSize;
+            try (ResultSet rs = st.executeQuery("PRAGMA page_count")) {
+                pages = rs.next() ? rs.getLong(1) : 0;
+            }
+            try (ResultSet rs = st.executeQuery("PRAGMA page_size")) {
+                pageSize = rs.next() ? rs.getLong(1) : 0;
+            }
+            return pages * pageSize;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.group1.asda.assessment;
 
+import org.group1.asda.instrument.Instruments;
+
 /**
  * Interprets AQ assessment results and provides feedback strings.
  */
@@ -49,11 +51,8 @@ public class AQResultInterpreter {
     }
 
     private static String riskLevel(int totalScore) {
-        if (totalScore <= LOW_THRESHOLD) return "Minimal";
-        if (totalScore <= MODERATE_THRESHOLD) return "Low-Moderate";
-        if (totalScore <= HIGH_THRESHOLD) return "Moderate";
-        if (totalScore <= VERY_HIGH_THRESHOLD) return "High";
-        return "Very High";
+        // Same thresholds as above, declared as the bands of the AQ instrument definition
+        return Instruments.aq().band(totalScore);
     }
 
     public static String interpretCategories(AQScoreCalculator.CategoryScores c) {
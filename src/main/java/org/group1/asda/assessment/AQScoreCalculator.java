@@ -1,78 +1,60 @@
 package org.group1.asda.assessment;
 
+import org.group1.asda.instrument.CompiledInstrument;
+import org.group1.asda.instrument.Instruments;
+
 import java.util.List;
 
 /**
- * Calculates scores for the AQ assessment
+ * Calculates scores for the AQ assessment with the compiled AQ instrument definition
+ * ({@code /instruments/aq50.instrument}), which holds the item keys and subscale membership.
  */
 public class AQScoreCalculator {
+    private static final CompiledInstrument AQ = Instruments.aq();
 
     public static int calculateTotalScore(AQAssessment assessment) {
         if (!assessment.isCompleted()) {
             throw new IllegalStateException("Cannot calculate score for incomplete assessment");
         }
-        List<AQQuestion> questions = assessment.getQuestions();
-        List<Integer> responses = assessment.getUserResponses();
-        int total = 0;
-        for (int i = 0; i < questions.size(); i++) {
-            AQQuestion q = questions.get(i);
-            int choice1Based = responses.get(i);
-            total += q.getScoreForChoice(choice1Based - 1);
-        }
-        return total;
+        return calculateTotalScore(toArray(assessment.getUserResponses()));
+    }
+
+    /**
+     * Scores a response sheet without building an {@link AQAssessment}.
+     * @param responses 1-based choices, one per question in assessment order
+     */
+    public static int calculateTotalScore(int[] responses) {
+        checkSheet(responses);
+        return AQ.total(responses);
     }
 
     public static CategoryScores calculateCategoryScores(AQAssessment assessment) {
         if (!assessment.isCompleted()) {
             throw new IllegalStateException("Cannot calculate scores for incomplete assessment");
         }
-        List<AQQuestion> questions = assessment.getQuestions();
-        List<Integer> responses = assessment.getUserResponses();
-
-        int socialSkills = 0;
-        int attentionSwitching = 0;
-        int attentionToDetail = 0;
-        int communication = 0;
-        int imagination = 0;
+        return calculateCategoryScores(toArray(assessment.getUserResponses()));
+    }
 
-        for (int i = 0; i < questions.size(); i++) {
-            AQQuestion q = questions.get(i);
-            int score = q.getScoreForChoice(responses.get(i) - 1);
-            int id = q.getQuestionId();
+    /** Category scores for a response sheet; see {@link #calculateTotalScore(int[])}. */
+    public static CategoryScores calculateCategoryScores(int[] responses) {
+        checkSheet(responses);
+        // Subscales in definition order: social skills, attention switching, attention to detail,
+        // communication, imagination
+        int[] s = new int[5];
+        AQ.subscales(responses, s);
+        return new CategoryScores(s[0], s[1], s[2], s[3], s[4]);
+    }
 
-            // Social Skills subscale (10 items)
-            if (id == 1 || id == 11 || id == 13 || id == 15 ||
-                id == 22 || id == 36 || id == 44 || id == 45 ||
-                id == 47 || id == 48) {
-                socialSkills += score;
-            }
-            // Attention Switching subscale (10 items)
-            else if (id == 2 || id == 4 || id == 10 || id == 16 ||
-                     id == 25 || id == 32 || id == 34 || id == 37 ||
-                     id == 43 || id == 46) {
-                attentionSwitching += score;
-            }
-            // Attention to Detail subscale (10 items)
-            else if (id == 5 || id == 6 || id == 9 || id == 12 ||
-                     id == 19 || id == 23 || id == 28 || id == 29 ||
-                     id == 30 || id == 49) {
-                attentionToDetail += score;
-            }
-            // Communication subscale (10 items)
-            else if (id == 7 || id == 17 || id == 18 || id == 26 ||
-                     id == 27 || id == 31 || id == 33 || id == 35 ||
-                     id == 38 || id == 39) {
-                communication += score;
-            }
-            // Imagination subscale (10 items)
-            else if (id == 3 || id == 8 || id == 14 || id == 20 ||
-                     id == 21 || id == 24 || id == 40 || id == 41 ||
-                     id == 42 || id == 50) {
-                imagination += score;
-            }
+    private static void checkSheet(int[] responses) {
+        if (responses.length != AQ.getItemCount()) {
+            throw new IllegalArgumentException("Expected " + AQ.getItemCount() + " responses but got " + responses.length);
         }
+    }
 
-        return new CategoryScores(socialSkills, attentionSwitching, attentionToDetail, communication, imagination);
+    private static int[] toArray(List<Integer> responses) {
+        int[] out = new int[responses.size()];
+        for (int i = 0; i < out.length; i++) out[i] = responses.get(i);
+        return out;
     }
 
     public static class CategoryScores {
@@ -0,0 +1,239 @@
+package org.group1.asda.assessment;
+
+import org.group1.asda.instrument.CompiledInstrument;
+import org.group1.asda.instrument.InstrumentDefinition;
+import org.group1.asda.instrument.Instruments;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Computerized adaptive administration of the AQ.
+ *
+ * After each answer the posterior of the respondent's trait level is updated on the calibration grid
+ * (expected a posteriori estimate, posterior standard deviation as its standard error), and the next item
+ * is the unasked one with the most Fisher information at the estimate. Administration stops once the
+ * standard error reaches the {@link StoppingRule} target after its minimum number of items, or at its
+ * maximum.
+ *
+ * The result is mapped back onto the 0..50 AQ scale: asked items count their actual points and each
+ * unasked item its expected points under the posterior, per subscale, so the existing
+ * {@link AQResultInterpreter} bands and {@link AQScoreCalculator.CategoryScores} apply unchanged.
+ */
+public class AdaptiveAQAssessment {
+    /**
+     * @param targetSe standard error of the trait estimate at which to stop
+     * @param minItems items always asked before the standard error is considered
+     * @param maxItems items asked at most
+     */
+    public record StoppingRule(double targetSe, int minItems, int maxItems) {
+        public static final StoppingRule DEFAULT = new StoppingRule(0.3, 8, 50);
+
+        public StoppingRule {
+            if (targetSe <= 0 || minItems < 1 || maxItems < minItems) {
+                throw new IllegalArgumentException("Invalid stopping rule: se " + targetSe + ", items " + minItems + ".." + maxItems);
+            }
+        }
+    }
+
+    /** Scores on the full-form scale estimated from the asked items. */
+    public record Estimate(int totalScore, AQScoreCalculator.CategoryScores categoryScores,
+                           double theta, double standardError, int itemsAsked) {}
+
+    private final ItemCalibration calibration;
+    private final StoppingRule rule;
+    private final int[] subscaleOf;
+    private final int subscaleCount;
+    private final int[] answers;
+    private final double[] logPosterior = ItemCalibration.LOG_PRIOR.clone();
+    private final double[] posterior = new double[ItemCalibration.NODES];
+    private int asked;
+    private double theta;
+    private double standardError;
+
+    public AdaptiveAQAssessment(ItemCalibration calibration, StoppingRule rule) {
+        this.calibration = calibration;
+        this.rule = rule;
+        CompiledInstrument instrument = calibration.getInstrument();
+        this.answers = new int[calibration.getItemCount()];
+        this.subscaleOf = new int[answers.length];
+        Arrays.fill(subscaleOf, -1);
+        InstrumentDefinition def = instrument.getDefinition();
+        this.subscaleCount = def.subscales().size();
+        if (subscaleCount != 5) {
+            throw new IllegalArgumentException(instrument.getId() + " does not have the five AQ subscales");
+        }
+        for (int s = 0; s < subscaleCount; s++) {
+            for (String code : def.subscales().get(s).itemCodes()) subscaleOf[instrument.indexOf(code)] = s;
+        }
+        updateEstimate();
+    }
+
+    /**
+     * The AQ calibration named by {@code -Dasda.aq.calibration}, if set and readable; the GUI administers the
+     * adaptive form only when one is configured.
+     */
+    public static Optional<ItemCalibration> configuredCalibration() {
+        String file = System.getProperty("asda.aq.calibration");
+        if (file == null || file.isBlank() || !Files.isRegularFile(Path.of(file))) return Optional.empty();
+        try {
+            return Optional.of(ItemCalibration.read(Path.of(file), Instruments.aq()));
+        } catch (IOException e) {
+            System.err.println("Ignoring AQ calibration: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /** Stopping rule from {@code -Dasda.aq.targetSe}, {@code asda.aq.minItems} and {@code asda.aq.maxItems}. */
+    public static StoppingRule configuredRule() {
+        StoppingRule d = StoppingRule.DEFAULT;
+        String se = System.getProperty("asda.aq.targetSe");
+        return new StoppingRule(se == null ? d.targetSe() : Double.parseDouble(se),
+                Integer.getInteger("asda.aq.minItems", d.minItems()),
+                Integer.getInteger("asda.aq.maxItems", d.maxItems()));
+    }
+
+    public int getItemCount() {
+        return answers.length;
+    }
+
+    public int getItemsAsked() {
+        return asked;
+    }
+
+    public double getTheta() {
+        return theta;
+    }
+
+    public double getStandardError() {
+        return standardError;
+    }
+
+    public boolean isFinished() {
+        if (asked >= Math.min(rule.maxItems(), answers.length)) return true;
+        return asked >= rule.minItems() && standardError <= rule.targetSe();
+    }
+
+    /** Index of the item to ask next, or -1 once {@link #isFinished()}. */
+    public int nextItem() {
+        if (isFinished()) return -1;
+        int best = -1;
+        double bestInfo = -1;
+        for (int i = 0; i < answers.length; i++) {
+            if (answers[i] != 0) continue;
+            double info = calibration.information(i, theta);
+            if (info > bestInfo) {
+                bestInfo = info;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Records the 1-based {@code choice} for {@code item}. Items may be recorded in any order, which is how an
+     * interrupted session is replayed.
+     */
+    public void recordResponse(int item, int choice) {
+        if (item < 0 || item >= answers.length) {
+            throw new IllegalArgumentException("Invalid question index: " + item);
+        }
+        if (choice < 1 || choice > calibration.getInstrument().getOptionCount()) {
+            throw new IllegalArgumentException("Invalid response choice: " + choice);
+        }
+        if (answers[item] != 0) {
+            throw new IllegalStateException("Question " + item + " was already answered");
+        }
+        answers[item] = choice;
+        asked++;
+        boolean point = calibration.scores(item, choice);
+        for (int k = 0; k < ItemCalibration.NODES; k++) {
+            logPosterior[k] += calibration.logLikelihood(item, ItemCalibration.THETA[k], point);
+        }
+        updateEstimate();
+    }
+
+    /** 1-based choices by item, 0 for items not asked. */
+    public int[] getAnswers() {
+        return answers.clone();
+    }
+
+    public Estimate estimate() {
+        double[] expected = new double[subscaleCount];
+        double other = 0;
+        int[] points = new int[subscaleCount];
+        int otherPoints = 0;
+        for (int i = 0; i < answers.length; i++) {
+            int s = subscaleOf[i];
+            if (answers[i] != 0) {
+                int p = calibration.scores(i, answers[i]) ? 1 : 0;
+                if (s < 0) otherPoints += p;
+                else points[s] += p;
+                continue;
+            }
+            double e = 0;
+            for (int k = 0; k < ItemCalibration.NODES; k++) {
+                e += posterior[k] * calibration.probability(i, ItemCalibration.THETA[k]);
+            }
+            if (s < 0) other += e;
+            else expected[s] += e;
+        }
+
+        double sum = other + otherPoints;
+        for (int s = 0; s < subscaleCount; s++) {
+            expected[s] += points[s];
+            sum += expected[s];
+        }
+        int total = (int) Math.round(sum);
+        int[] sub = roundToTotal(expected, total - (int) Math.round(other + otherPoints));
+        return new Estimate(total, new AQScoreCalculator.CategoryScores(sub[0], sub[1], sub[2], sub[3], sub[4]),
+                theta, standardError, asked);
+    }
+
+    /** The estimate interpreted with the full-form thresholds. */
+    public AQResultInterpreter.AssessmentSummary summarize() {
+        Estimate e = estimate();
+        return AQResultInterpreter.interpret(e.totalScore(), e.categoryScores());
+    }
+
+    private void updateEstimate() {
+        System.arraycopy(logPosterior, 0, posterior, 0, posterior.length);
+        ItemCalibration.normalize(posterior);
+        double mean = 0;
+        for (int k = 0; k < posterior.length; k++) mean += posterior[k] * ItemCalibration.THETA[k];
+        double var = 0;
+        for (int k = 0; k < posterior.length; k++) {
+            double d = ItemCalibration.THETA[k] - mean;
+            var += posterior[k] * d * d;
+        }
+        theta = mean;
+        standardError = Math.sqrt(var);
+    }
+
+    /** Rounds each value so the results add up to {@code total}, moving the fewest units (largest remainder). */
+    private static int[] roundToTotal(double[] values, int total) {
+        int[] out = new int[values.length];
+        int sum = 0;
+        for (int s = 0; s < values.length; s++) {
+            out[s] = (int) Math.floor(values[s]);
+            sum += out[s];
+        }
+        while (sum < total) {
+            int best = 0;
+            double bestRemainder = -1;
+            for (int s = 0; s < values.length; s++) {
+                double r = values[s] - out[s];
+                if (r > bestRemainder) {
+                    bestRemainder = r;
+                    best = s;
+                }
+            }
+            out[best]++;
+            sum++;
+        }
+        return out;
+    }
+}
@@ -0,0 +1,60 @@
+package org.group1.asda.assessment;
+
+import org.group1.asda.instrument.CompiledInstrument;
+
+/**
+ * Replays complete answer sheets through {@link AdaptiveAQAssessment}: each simulated respondent answers
+ * whatever item is selected with the choice on their sheet, until the stopping rule ends the session.
+ * The band of the estimate is compared with the band of the full sheet, which shows what a stopping rule
+ * costs in classification agreement for the items it saves.
+ */
+public final class AdaptiveSimulator {
+    private AdaptiveSimulator() {}
+
+    /**
+     * @param sheets row-major 1-based choices, {@code sheets[n][item]}; sheets with a 0 are skipped
+     * @param count number of sheets to use from the start of {@code sheets}
+     */
+    public static SimulationReport simulate(ItemCalibration calibration, byte[][] sheets, int count,
+                                            AdaptiveAQAssessment.StoppingRule rule) {
+        long start = System.nanoTime();
+        CompiledInstrument instrument = calibration.getInstrument();
+        int items = instrument.getItemCount();
+        int[] choices = new int[items];
+        int replayed = 0;
+        int skipped = 0;
+        long itemsAsked = 0;
+        int maxItems = 0;
+        int agreeing = 0;
+        long absError = 0;
+        for (int n = 0; n < count; n++) {
+            boolean complete = true;
+            for (int i = 0; i < items; i++) {
+                choices[i] = sheets[n][i];
+                if (choices[i] == 0) complete = false;
+            }
+            if (!complete) {
+                skipped++;
+                continue;
+            }
+            int fullTotal = instrument.total(choices);
+
+            AdaptiveAQAssessment session = new AdaptiveAQAssessment(calibration, rule);
+            for (int item = session.nextItem(); item >= 0; item = session.nextItem()) {
+                session.recordResponse(item, choices[item]);
+            }
+            AdaptiveAQAssessment.Estimate estimate = session.estimate();
+
+            replayed++;
+            itemsAsked += estimate.itemsAsked();
+            maxItems = Math.max(maxItems, estimate.itemsAsked());
+            if (instrument.band(estimate.totalScore()).equals(instrument.band(fullTotal))) agreeing++;
+            absError += Math.abs(estimate.totalScore() - fullTotal);
+        }
+        return new SimulationReport(rule, replayed, skipped,
+                replayed == 0 ? 0 : (double) itemsAsked / replayed, maxItems,
+                replayed == 0 ? 0 : (double) agreeing / replayed,
+                replayed == 0 ? 0 : (double) absError / replayed,
+                System.nanoTime() - start);
+    }
+}
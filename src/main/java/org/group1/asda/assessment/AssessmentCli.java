@@ -1,13 +1,227 @@
 package org.group1.asda.assessment;
 
+import org.group1.asda.instrument.BatchScorer;
+import org.group1.asda.instrument.CompiledInstrument;
+import org.group1.asda.instrument.Instruments;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Scanner;
 
 /**
  * Console (CLI) runner for the 50-question Adolescent AQ.
  * Usage: run the application with --cli to start this mode.
+ *
+ * With --cli --batch=FILE [--out=FILE] [--instrument=ID] it instead scores a CSV of offline answer sheets,
+ * one {@code id,choice1,...,choiceN} row per sheet (an empty choice or 0 is unanswered), and writes
+ * {@code id,total,<subscales>,band} rows to --out or stdout.
+ *
+ * --cli --calibrate=FILE --out=FILE fits the adaptive-mode item parameters to AQ sheets in the same CSV format,
+ * and --cli --simulate=FILE --calibration=FILE [--se=0.25,0.3,...] [--min-items=N] [--max-items=N] replays
+ * complete sheets through the adaptive form and reports items asked against band agreement with the full form.
  */
 public class AssessmentCli {
+    // Sheets scored per BatchScorer call; bounds memory for large files
+    static final int BATCH_SHEETS = 65_536;
+
+    public static int run(String[] args) {
+        Path batch = null;
+        Path out = null;
+        String instrument = Instruments.AQ;
+        Path calibrate = null;
+        Path simulate = null;
+        Path calibration = null;
+        String targetSe = null;
+        AdaptiveAQAssessment.StoppingRule rule = AdaptiveAQAssessment.StoppingRule.DEFAULT;
+        int minItems = rule.minItems();
+        int maxItems = rule.maxItems();
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--batch=")) {
+                    batch = Path.of(arg.substring("--batch=".length()));
+                } else if (arg.startsWith("--out=")) {
+                    out = Path.of(arg.substring("--out=".length()));
+                } else if (arg.startsWith("--instrument=")) {
+                    instrument = arg.substring("--instrument=".length());
+                } else if (arg.startsWith("--calibrate=")) {
+                    calibrate = Path.of(arg.substring("--calibrate=".length()));
+                } else if (arg.startsWith("--simulate=")) {
+                    simulate = Path.of(arg.substring("--simulate=".length()));
+                } else if (arg.startsWith("--calibration=")) {
+                    calibration = Path.of(arg.substring("--calibration=".length()));
+                } else if (arg.startsWith("--se=")) {
+                    targetSe = arg.substring("--se=".length());
+                } else if (arg.startsWith("--min-items=")) {
+                    minItems = Integer.parseInt(arg.substring("--min-items=".length()));
+                } else if (arg.startsWith("--max-items=")) {
+                    maxItems = Integer.parseInt(arg.substring("--max-items=".length()));
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number: " + e.getMessage());
+            return 1;
+        }
+        if (calibrate != null) return calibrate(calibrate, out);
+        if (simulate != null) {
+            return simulate(simulate, calibration, targetSe == null ? String.valueOf(rule.targetSe()) : targetSe, minItems, maxItems);
+        }
+        if (batch == null) return run();
+
+        try (BufferedReader in = Files.newBufferedReader(batch, StandardCharsets.UTF_8);
+             Writer writer = out == null
+                     ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                     : Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            long start = System.nanoTime();
+            int sheets = scoreBatch(in, writer, Instruments.get(instrument));
+            writer.flush();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+            System.err.println("Scored " + sheets + " sheets in " + elapsedMs + " ms");
+            return 0;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Batch scoring failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Scores every sheet in {@code in} and writes one result row per sheet, in input order.
+     * A first row starting with {@code id,} is taken as a header and skipped.
+     * @return number of sheets scored
+     * @throws IllegalArgumentException on a malformed row or an out-of-range choice
+     */
+    static int scoreBatch(BufferedReader in, Writer out, CompiledInstrument instrument) throws IOException {
+        BatchScorer scorer = new BatchScorer(instrument);
+        int items = instrument.getItemCount();
+        out.write("id,total," + String.join(",", instrument.getSubscaleNames()) + ",band\n");
+
+        byte[][] responses = new byte[items][BATCH_SHEETS];
+        List<String> ids = new ArrayList<>(BATCH_SHEETS);
+        int count = 0;
+        int lineNo = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank() || (lineNo == 1 && line.startsWith("id,"))) continue;
+            String[] fields = line.split(",", -1);
+            if (fields.length != items + 1) {
+                throw new IllegalArgumentException("Line " + lineNo + ": expected " + (items + 1) + " fields but got " + fields.length);
+            }
+            int n = ids.size();
+            for (int i = 0; i < items; i++) responses[i][n] = parseChoice(fields[i + 1], lineNo, instrument);
+            ids.add(fields[0].strip());
+            if (ids.size() == BATCH_SHEETS) {
+                count += flush(scorer, responses, ids, out);
+            }
+        }
+        count += flush(scorer, responses, ids, out);
+        return count;
+    }
+
+    /**
+     * Reads every sheet in {@code in} row-major, {@code sheets[n][item]}, in the format of {@link #scoreBatch}.
+     * @throws IllegalArgumentException on a malformed row or an out-of-range choice
+     */
+    static List<byte[]> readSheets(BufferedReader in, CompiledInstrument instrument) throws IOException {
+        int items = instrument.getItemCount();
+        List<byte[]> sheets = new ArrayList<>();
+        int lineNo = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank() || (lineNo == 1 && line.startsWith("id,"))) continue;
+            String[] fields = line.split(",", -1);
+            if (fields.length != items + 1) {
+                throw new IllegalArgumentException("Line " + lineNo + ": expected " + (items + 1) + " fields but got " + fields.length);
+            }
+            byte[] sheet = new byte[items];
+            for (int i = 0; i < items; i++) sheet[i] = parseChoice(fields[i + 1], lineNo, instrument);
+            sheets.add(sheet);
+        }
+        return sheets;
+    }
+
+    private static byte parseChoice(String field, int lineNo, CompiledInstrument instrument) {
+        String f = field.strip();
+        try {
+            int choice = f.isEmpty() ? 0 : Integer.parseInt(f);
+            if (choice < 0 || choice > instrument.getOptionCount()) throw new NumberFormatException();
+            return (byte) choice;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Line " + lineNo + ": invalid choice '" + f + "'");
+        }
+    }
+
+    private static byte[][] readSheets(Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return readSheets(in, Instruments.aq()).toArray(new byte[0][]);
+        }
+    }
+
+    private static int calibrate(Path sheetsFile, Path out) {
+        if (out == null) {
+            System.err.println("--calibrate needs --out=FILE for the item parameters");
+            return 1;
+        }
+        try {
+            byte[][] sheets = readSheets(sheetsFile);
+            long start = System.nanoTime();
+            ItemCalibration calibration = ItemCalibration.fit(Instruments.aq(), sheets, sheets.length);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+            calibration.write(out);
+            System.err.println("Calibrated " + calibration.getItemCount() + " items from " + sheets.length +
+                    " sheets in " + elapsedMs + " ms");
+            return 0;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Calibration failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static int simulate(Path sheetsFile, Path calibrationFile, String targetSes, int minItems, int maxItems) {
+        if (calibrationFile == null) {
+            System.err.println("--simulate needs --calibration=FILE from --calibrate");
+            return 1;
+        }
+        try {
+            ItemCalibration calibration = ItemCalibration.read(calibrationFile, Instruments.aq());
+            byte[][] sheets = readSheets(sheetsFile);
+            for (String se : targetSes.split(",")) {
+                AdaptiveAQAssessment.StoppingRule rule =
+                        new AdaptiveAQAssessment.StoppingRule(Double.parseDouble(se.strip()), minItems, maxItems);
+                System.out.println(AdaptiveSimulator.simulate(calibration, sheets, sheets.length, rule).format());
+            }
+            return 0;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Simulation failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static int flush(BatchScorer scorer, byte[][] responses, List<String> ids, Writer out) throws IOException {
+        int sheets = ids.size();
+        if (sheets == 0) return 0;
+        BatchScorer.Result result = scorer.score(responses, sheets);
+        StringBuilder row = new StringBuilder();
+        for (int n = 0; n < sheets; n++) {
+            row.setLength(0);
+            row.append(ids.get(n)).append(',').append(result.totals()[n]);
+            for (int[] sub : result.subscales()) row.append(',').append(sub[n]);
+            row.append(',').append(result.band(n)).append('\n');
+            out.write(row.toString());
+        }
+        ids.clear();
+        return sheets;
+    }
+
     public static int run() {
         Scanner scanner = new Scanner(System.in);
         scanner.useLocale(Locale.US);
@@ -0,0 +1,282 @@
+package org.group1.asda.assessment;
+
+import org.group1.asda.instrument.CompiledInstrument;
+import org.group1.asda.instrument.InstrumentDefinition;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Two-parameter logistic (2PL) item parameters for a dichotomously scored instrument such as the AQ.
+ *
+ * The probability that item {@code i} scores a point at trait level {@code theta} is
+ * {@code 1 / (1 + exp(-a_i * (theta - b_i)))}, with the trait standard normal in the calibration sample.
+ * {@link #fit} estimates the slopes {@code a} and difficulties {@code b} from answer sheets by marginal
+ * maximum likelihood (Bock–Aitkin EM over a fixed quadrature grid); unanswered items are left out of a
+ * sheet's likelihood. The grid and prior are shared with {@link AdaptiveAQAssessment}, which updates a
+ * posterior over the same nodes.
+ *
+ * Calibrations are saved as {@code code,a,b} rows, one per item in definition order.
+ */
+public final class ItemCalibration {
+    static final int NODES = 41;
+    static final double[] THETA = new double[NODES];
+    static final double[] LOG_PRIOR = new double[NODES];
+
+    static {
+        double norm = 0;
+        for (int k = 0; k < NODES; k++) {
+            THETA[k] = -4.0 + 8.0 * k / (NODES - 1);
+            norm += Math.exp(-THETA[k] * THETA[k] / 2);
+        }
+        for (int k = 0; k < NODES; k++) LOG_PRIOR[k] = -THETA[k] * THETA[k] / 2 - Math.log(norm);
+    }
+
+    private static final int MAX_CYCLES = 500;
+    private static final double TOLERANCE = 1e-4;
+    // Weak normal prior on the slopes keeps items that barely discriminate from running off
+    private static final double SLOPE_PRIOR_MEAN = 1.0;
+    private static final double SLOPE_PRIOR_VAR = 4.0;
+
+    private final CompiledInstrument instrument;
+    private final double[] slopes;
+    private final double[] difficulties;
+    private final boolean[][] scores;
+
+    private ItemCalibration(CompiledInstrument instrument, double[] slopes, double[] difficulties) {
+        this.instrument = instrument;
+        this.slopes = slopes;
+        this.difficulties = difficulties;
+        this.scores = pointTable(instrument);
+    }
+
+    public CompiledInstrument getInstrument() {
+        return instrument;
+    }
+
+    public int getItemCount() {
+        return slopes.length;
+    }
+
+    public double slope(int item) {
+        return slopes[item];
+    }
+
+    public double difficulty(int item) {
+        return difficulties[item];
+    }
+
+    /** Whether answering {@code choice} (1-based) to {@code item} scores its point. */
+    public boolean scores(int item, int choice) {
+        return scores[item][choice - 1];
+    }
+
+    /** Probability of scoring the item's point at trait level {@code theta}. */
+    public double probability(int item, double theta) {
+        return 1.0 / (1.0 + Math.exp(-slopes[item] * (theta - difficulties[item])));
+    }
+
+    /** Log probability of scoring ({@code point}) or not scoring the item's point at {@code theta}. */
+    double logLikelihood(int item, double theta, boolean point) {
+        double z = slopes[item] * (theta - difficulties[item]);
+        return -log1pExp(point ? -z : z);
+    }
+
+    /** Fisher information of the item at {@code theta}. */
+    public double information(int item, double theta) {
+        double p = probability(item, theta);
+        return slopes[item] * slopes[item] * p * (1 - p);
+    }
+
+    /**
+     * Estimates item parameters from answer sheets.
+     * @param sheets row-major 1-based choices, {@code sheets[n][item]}, 0 for unanswered
+     * @param count number of sheets to use from the start of {@code sheets}
+     * @throws IllegalArgumentException if an item can score other than 0 or 1, or there are no answers to an item
+     */
+    public static ItemCalibration fit(CompiledInstrument instrument, byte[][] sheets, int count) {
+        boolean[][] scores = pointTable(instrument);
+        int items = scores.length;
+        double[] a = new double[items];
+        double[] c = new double[items]; // intercept, a * -b
+        double[] answered = new double[items];
+        double[] correct = new double[items];
+        for (int n = 0; n < count; n++) {
+            for (int i = 0; i < items; i++) {
+                int choice = sheets[n][i];
+                if (choice == 0) continue;
+                answered[i]++;
+                if (scores[i][choice - 1]) correct[i]++;
+            }
+        }
+        for (int i = 0; i < items; i++) {
+            if (answered[i] == 0) {
+                throw new IllegalArgumentException("No answers to item " + instrument.getDefinition().items().get(i).code());
+            }
+            double p = Math.min(0.99, Math.max(0.01, correct[i] / answered[i]));
+            a[i] = 1.0;
+            c[i] = Math.log(p / (1 - p));
+        }
+
+        double[][] logP = new double[items][NODES];
+        double[][] logQ = new double[items][NODES];
+        double[][] expected = new double[items][NODES];   // expected answering sheets per node
+        double[][] expectedPoints = new double[items][NODES];
+        double[] post = new double[NODES];
+        for (int cycle = 0; cycle < MAX_CYCLES; cycle++) {
+            // E step: posterior over the grid for every sheet, accumulated per item
+            for (int i = 0; i < items; i++) {
+                for (int k = 0; k < NODES; k++) {
+                    double z = a[i] * THETA[k] + c[i];
+                    logP[i][k] = -log1pExp(-z);
+                    logQ[i][k] = -log1pExp(z);
+                }
+                Arrays.fill(expected[i], 0);
+                Arrays.fill(expectedPoints[i], 0);
+            }
+            for (int n = 0; n < count; n++) {
+                byte[] sheet = sheets[n];
+                System.arraycopy(LOG_PRIOR, 0, post, 0, NODES);
+                for (int i = 0; i < items; i++) {
+                    int choice = sheet[i];
+                    if (choice == 0) continue;
+                    double[] l = scores[i][choice - 1] ? logP[i] : logQ[i];
+                    for (int k = 0; k < NODES; k++) post[k] += l[k];
+                }
+                normalize(post);
+                for (int i = 0; i < items; i++) {
+                    int choice = sheet[i];
+                    if (choice == 0) continue;
+                    double[] e = expected[i];
+                    for (int k = 0; k < NODES; k++) e[k] += post[k];
+                    if (scores[i][choice - 1]) {
+                        double[] ep = expectedPoints[i];
+                        for (int k = 0; k < NODES; k++) ep[k] += post[k];
+                    }
+                }
+            }
+
+            // M step: a few Newton steps of a weighted logistic regression per item
+            double change = 0;
+            for (int i = 0; i < items; i++) {
+                double ai = a[i];
+                double ci = c[i];
+                for (int step = 0; step < 10; step++) {
+                    double ga = -(ai - SLOPE_PRIOR_MEAN) / SLOPE_PRIOR_VAR;
+                    double gc = 0;
+                    double haa = -1.0 / SLOPE_PRIOR_VAR;
+                    double hac = 0;
+                    double hcc = 0;
+                    for (int k = 0; k < NODES; k++) {
+                        double p = 1.0 / (1.0 + Math.exp(-(ai * THETA[k] + ci)));
+                        double residual = expectedPoints[i][k] - expected[i][k] * p;
+                        double w = expected[i][k] * p * (1 - p);
+                        ga += residual * THETA[k];
+                        gc += residual;
+                        haa -= w * THETA[k] * THETA[k];
+                        hac -= w * THETA[k];
+                        hcc -= w;
+                    }
+                    double det = haa * hcc - hac * hac;
+                    if (det <= 0 || Double.isNaN(det)) break;
+                    double da = (hcc * ga - hac * gc) / det;
+                    double dc = (haa * gc - hac * ga) / det;
+                    ai = Math.max(0.05, Math.min(6.0, ai - da));
+                    ci = Math.max(-20.0, Math.min(20.0, ci - dc));
+                    if (Math.abs(da) < 1e-6 && Math.abs(dc) < 1e-6) break;
+                }
+                change = Math.max(change, Math.max(Math.abs(ai - a[i]), Math.abs(ci - c[i])));
+                a[i] = ai;
+                c[i] = ci;
+            }
+            if (change < TOLERANCE) break;
+        }
+
+        double[] b = new double[items];
+        for (int i = 0; i < items; i++) b[i] = -c[i] / a[i];
+        return new ItemCalibration(instrument, a, b);
+    }
+
+    /** Reads a calibration written by {@link #write}. */
+    public static ItemCalibration read(Path file, CompiledInstrument instrument) throws IOException {
+        int items = instrument.getItemCount();
+        double[] a = new double[items];
+        double[] b = new double[items];
+        boolean[] seen = new boolean[items];
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank() || line.startsWith("#") || line.startsWith("code,")) continue;
+                String[] f = line.split(",");
+                if (f.length != 3) throw new IOException(file + ":" + lineNo + ": expected code,a,b");
+                int i = instrument.indexOf(f[0].strip());
+                if (i < 0) throw new IOException(file + ":" + lineNo + ": unknown item " + f[0].strip());
+                try {
+                    a[i] = Double.parseDouble(f[1].strip());
+                    b[i] = Double.parseDouble(f[2].strip());
+                } catch (NumberFormatException e) {
+                    throw new IOException(file + ":" + lineNo + ": invalid number");
+                }
+                seen[i] = true;
+            }
+        }
+        for (int i = 0; i < items; i++) {
+            if (!seen[i]) {
+                throw new IOException(file + ": no parameters for item " + instrument.getDefinition().items().get(i).code());
+            }
+        }
+        return new ItemCalibration(instrument, a, b);
+    }
+
+    public void write(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("# 2PL calibration of " + instrument.getId() + "\n");
+            out.write("code,a,b\n");
+            for (int i = 0; i < slopes.length; i++) {
+                out.write(String.format(Locale.ROOT, "%s,%.4f,%.4f%n",
+                        instrument.getDefinition().items().get(i).code(), slopes[i], difficulties[i]));
+            }
+        }
+    }
+
+    private static boolean[][] pointTable(CompiledInstrument instrument) {
+        InstrumentDefinition def = instrument.getDefinition();
+        boolean[][] table = new boolean[def.items().size()][];
+        for (int i = 0; i < table.length; i++) {
+            int[] points = def.items().get(i).scores();
+            table[i] = new boolean[points.length];
+            for (int c = 0; c < points.length; c++) {
+                if (points[c] != 0 && points[c] != 1) {
+                    throw new IllegalArgumentException(instrument.getId() + " item " + def.items().get(i).code() +
+                            " is not scored 0 or 1");
+                }
+                table[i][c] = points[c] == 1;
+            }
+        }
+        return table;
+    }
+
+    /** Turns log weights into probabilities summing to 1, in place. */
+    static void normalize(double[] logWeights) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (double v : logWeights) max = Math.max(max, v);
+        double sum = 0;
+        for (int k = 0; k < logWeights.length; k++) {
+            logWeights[k] = Math.exp(logWeights[k] - max);
+            sum += logWeights[k];
+        }
+        for (int k = 0; k < logWeights.length; k++) logWeights[k] /= sum;
+    }
+
+    private static double log1pExp(double x) {
+        return x > 30 ? x : Math.log1p(Math.exp(x));
+    }
+}
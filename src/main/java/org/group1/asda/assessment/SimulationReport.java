@@ -0,0 +1,28 @@
+package org.group1.asda.assessment;
+
+import java.util.Locale;
+
+/**
+ * Adaptive administrations replayed from full answer sheets by {@link AdaptiveSimulator}, compared with the
+ * full-form scores of the same sheets.
+ *
+ * @param sheets         complete sheets replayed
+ * @param skipped        sheets with unanswered items, which have no full-form result to compare with
+ * @param bandAgreement  share of sheets whose estimated band equals the full-form band
+ * @param meanAbsError   mean absolute difference between the estimated and the full-form total
+ */
+public record SimulationReport(AdaptiveAQAssessment.StoppingRule rule, int sheets, int skipped, double meanItems,
+                               int maxItems, double bandAgreement, double meanAbsError, long elapsedNanos) {
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "SE <= %.2f (items %d..%d): %.1f items on average, at most %d; " +
+                        "band agreement %.1f%%, mean |total error| %.2f over %d sheets",
+                rule.targetSe(), rule.minItems(), rule.maxItems(), meanItems, maxItems,
+                bandAgreement * 100, meanAbsError, sheets));
+        if (skipped > 0) {
+            sb.append(String.format(Locale.ROOT, " (%d incomplete sheets skipped)", skipped));
+        }
+        return sb.toString();
+    }
+}
@@ -1,11 +1,15 @@
 package org.group1.asda.domain;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class AttentionGameState {
     private int attempts;
     private int correct;
     private int incorrect;
     private long startNano;
     private long endNano;
+    private final List<Integer> timingFlaggedTrials = new ArrayList<>();
 
     public void resetRoundStats() {
         attempts = 0;
@@ -13,6 +17,7 @@ public class AttentionGameState {
         incorrect = 0;
         startNano = 0;
         endNano = 0;
+        timingFlaggedTrials.clear();
     }
 
     public void startTimer() {
@@ -27,6 +32,10 @@ public class AttentionGameState {
     public void addCorrect() { correct++; }
     public void addIncorrect() { incorrect++; }
 
+    /** Marks a trial whose stimulus was on screen while the UI thread stalled. */
+    public void flagTrialTiming(int trial) { timingFlaggedTrials.add(trial); }
+    public List<Integer> getTimingFlaggedTrials() { return List.copyOf(timingFlaggedTrials); }
+
     public int getTotalCorrect() { return correct; }
     public int getTotalIncorrect() { return incorrect; }
     public double getAccuracy() {
@@ -36,10 +45,14 @@ public class AttentionGameState {
 
     public String getFinalSummary() {
         double seconds = (endNano > startNano) ? ((endNano - startNano) / 1_000_000_000.0) : 0.0;
-        return String.format(
+        String summary = String.format(
             "Attempts: %d\nCorrect: %d\nIncorrect: %d\nAccuracy: %.1f%%\nTime: %.2f s",
             attempts, correct, incorrect, getAccuracy(), seconds
         );
+        if (!timingFlaggedTrials.isEmpty()) {
+            summary += String.format("\nTiming-flagged trials: %d", timingFlaggedTrials.size());
+        }
+        return summary;
     }
 
     public String getAttentionPerformanceIndex() {
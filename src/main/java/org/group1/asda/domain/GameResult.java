@@ -0,0 +1,18 @@
+package org.group1.asda.domain;
+
+/**
+ * Outcome of one play-through of a cognitive game.
+ * {@code sessionId} links the result to the session of the participant who played it (see
+ * {@code Seat#beginSession}) and is null for play before a participant accepted the disclaimer.
+ */
+public record GameResult(String sessionId, String game, long playedAt, int trials, int correct, int incorrect,
+                         long durationMs) {
+    public static final String ATTENTION = "attention";
+    public static final String MATCHING = "matching";
+    public static final String RECOGNITION = "recognition";
+
+    public double accuracy() {
+        int scored = correct + incorrect;
+        return scored == 0 ? 0.0 : 100.0 * correct / scored;
+    }
+}
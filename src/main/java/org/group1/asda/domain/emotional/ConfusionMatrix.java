@@ -0,0 +1,87 @@
+package org.group1.asda.domain.emotional;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of recognition answers grouped by correct emotion (rows) and chosen emotion (columns).
+ * Rows and columns follow the pack's option order; answers outside the option set are counted as "other".
+ */
+public final class ConfusionMatrix {
+    private final List<String> labels;
+    private final int[][] counts; // [actual][answered], last column = other
+
+    ConfusionMatrix(List<String> labels, int[][] counts) {
+        this.labels = List.copyOf(labels);
+        this.counts = new int[counts.length][];
+        for (int i = 0; i < counts.length; i++) {
+            this.counts[i] = counts[i].clone();
+        }
+    }
+
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    public int size() {
+        return labels.size();
+    }
+
+    /** Answers of {@code answered} given for stimuli whose correct emotion is {@code actual}. */
+    public int get(int actual, int answered) {
+        return counts[actual][answered];
+    }
+
+    public int get(String actual, String answered) {
+        int row = labels.indexOf(actual);
+        int col = labels.indexOf(answered);
+        return row < 0 || col < 0 ? 0 : counts[row][col];
+    }
+
+    /** Answers for {@code actual} that were not one of the known labels. */
+    public int getOther(int actual) {
+        return counts[actual][labels.size()];
+    }
+
+    public int getCorrect(int actual) {
+        return counts[actual][actual];
+    }
+
+    /** The emotion most often chosen instead of {@code actual}, or -1 if it was never mistaken for a known one. */
+    public int mostConfusedWith(int actual) {
+        int best = -1;
+        for (int col = 0; col < labels.size(); col++) {
+            if (col != actual && counts[actual][col] > 0 && (best < 0 || counts[actual][col] > counts[actual][best])) {
+                best = col;
+            }
+        }
+        return best;
+    }
+
+    public int getRowTotal(int actual) {
+        int total = 0;
+        for (int c : counts[actual]) total += c;
+        return total;
+    }
+
+    /** Copy of the raw counts; the extra last column holds "other" answers. */
+    public int[][] toArray() {
+        int[][] copy = new int[counts.length][];
+        for (int i = 0; i < counts.length; i++) {
+            copy[i] = counts[i].clone();
+        }
+        return copy;
+    }
+
+    /** CSV with a header row of chosen emotions and one row per correct emotion. */
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder("actual");
+        for (String label : labels) sb.append(',').append(label);
+        sb.append(",Other\n");
+        for (int row = 0; row < counts.length; row++) {
+            sb.append(labels.get(row));
+            for (int c : counts[row]) sb.append(',').append(c);
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -1,46 +1,38 @@
 package org.group1.asda.domain.emotional;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 public class FacialEmotionGameState {
     private int currentQuestionIndex = 0;
     private String[] recognitionAnswers;
-    private List<EmotionPattern> facialPatterns;
+    private final StimulusPack pack;
+    private final List<EmotionPattern> facialPatterns;
 
-    // Emotion options based on the facial images available
-    private static final List<String> FACIAL_EMOTIONS = Arrays.asList(
-        "Terror", "Acceptance", "Admiration", "Annoyance", "Apprehension", 
-        "Boredom", "Distraction", "Grief", "Joy", "Loathing", 
-        "Pensive", "Rage", "Sadness", "Surprise", "Trust"
-    );
+    // Answer choices per question; the presented order is kept for position-bias analysis
+    private final QuestionOptions questionOptions;
+
+    private final RecognitionTally recognitionTally;
 
     public FacialEmotionGameState() {
-        loadFacialPatterns();
-        recognitionAnswers = new String[facialPatterns.size()];
+        this(StimulusRegistry.getPack(StimulusRegistry.FACIAL_EMOTIONS));
+    }
+
+    public FacialEmotionGameState(StimulusPack pack) {
+        this(pack, new Random());
     }
 
-    private void loadFacialPatterns() {
-        facialPatterns = new ArrayList<>();
+    public FacialEmotionGameState(StimulusPack pack, long seed) {
+        this(pack, new Random(seed));
+    }
 
-        // Map facial emotion images to their correct emotions
-        facialPatterns.add(new EmotionPattern(0, "/images/emotional/faces/acceptance.jpg", "Acceptance"));
-        facialPatterns.add(new EmotionPattern(1, "/images/emotional/faces/admiration.jpg", "Admiration"));
-        facialPatterns.add(new EmotionPattern(2, "/images/emotional/faces/annoyance.jpg", "Annoyance"));
-        facialPatterns.add(new EmotionPattern(3, "/images/emotional/faces/apprehension.jpg", "Apprehension"));
-        facialPatterns.add(new EmotionPattern(4, "/images/emotional/faces/boredom.jpg", "Boredom"));
-        facialPatterns.add(new EmotionPattern(5, "/images/emotional/faces/distraction.jpg", "Distraction"));
-        facialPatterns.add(new EmotionPattern(6, "/images/emotional/faces/grief.jpg", "Grief"));
-        facialPatterns.add(new EmotionPattern(7, "/images/emotional/faces/joy.jpg", "Joy"));
-        facialPatterns.add(new EmotionPattern(8, "/images/emotional/faces/loathing.jpg", "Loathing"));
-        facialPatterns.add(new EmotionPattern(9, "/images/emotional/faces/pensive.jpg", "Pensive"));
-        facialPatterns.add(new EmotionPattern(10, "/images/emotional/faces/rage.jpg", "Rage"));
-        facialPatterns.add(new EmotionPattern(11, "/images/emotional/faces/sadness.jpg", "Sadness"));
-        facialPatterns.add(new EmotionPattern(12, "/images/emotional/faces/surprise.jpg", "Surprise"));
-        facialPatterns.add(new EmotionPattern(13, "/images/emotional/faces/Terror.jpg", "Terror"));
-        facialPatterns.add(new EmotionPattern(14, "/images/emotional/faces/trust.jpg", "Trust"));
+    private FacialEmotionGameState(StimulusPack pack, Random random) {
+        this.pack = pack;
+        this.facialPatterns = pack.getPatterns();
+        recognitionAnswers = new String[facialPatterns.size()];
+        this.questionOptions = new QuestionOptions(pack, random);
+        this.recognitionTally = new RecognitionTally(pack);
     }
 
     public List<EmotionPattern> getPatterns() {
@@ -72,6 +64,7 @@ public class FacialEmotionGameState {
 
     public void setRecognitionAnswer(int index, String answer) {
         if (index >= 0 && index < recognitionAnswers.length) {
+            recognitionTally.replace(index, recognitionAnswers[index], answer);
             recognitionAnswers[index] = answer;
         }
     }
@@ -92,13 +85,16 @@ public class FacialEmotionGameState {
     }
 
     public int getRecognitionCorrectCount() {
-        int correct = 0;
-        for (int i = 0; i < facialPatterns.size(); i++) {
-            if (facialPatterns.get(i).getCorrectEmotion().equals(recognitionAnswers[i])) {
-                correct++;
-            }
-        }
-        return correct;
+        return recognitionTally.getCorrect();
+    }
+
+    public int getRecognitionAnsweredCount() {
+        return recognitionTally.getAnswered();
+    }
+
+    /** Snapshot of answers by correct emotion and chosen emotion, shown per emotion on the results screen. */
+    public ConfusionMatrix getConfusionMatrix() {
+        return recognitionTally.snapshot();
     }
 
     public double getRecognitionAccuracy() {
@@ -106,37 +102,44 @@ public class FacialEmotionGameState {
     }
 
     public List<String> getEmotionOptions(int questionIndex) {
-        List<String> options = new ArrayList<>(FACIAL_EMOTIONS);
-        String correctEmotion = facialPatterns.get(questionIndex).getCorrectEmotion();
-        
-        // Ensure correct answer is included in the list
-        if (!options.contains(correctEmotion)) {
-            options.add(correctEmotion);
-        }
-        
-        // Shuffle all options
-        Collections.shuffle(options);
-        
-        // Take 4 options, ensuring correct emotion is one of them
-        List<String> selectedOptions = new ArrayList<>();
-        selectedOptions.add(correctEmotion);
-        
-        // Add 3 more random options
-        for (String option : options) {
-            if (!option.equals(correctEmotion) && selectedOptions.size() < 4) {
-                selectedOptions.add(option);
-            }
-        }
-        
-        // Shuffle the final selection so correct answer isn't always first
-        Collections.shuffle(selectedOptions);
-        
-        return selectedOptions;
+        String[] options = new String[questionOptions.getChoices()];
+        fillEmotionOptions(questionIndex, options);
+        return Arrays.asList(options);
+    }
+
+    /**
+     * Writes the answer choices for a question into {@code out} (correct answer plus distinct
+     * distractors, shuffled) without allocating, and records the presented order.
+     * @return position of the correct answer within {@code out}
+     */
+    public int fillEmotionOptions(int questionIndex, String[] out) {
+        return questionOptions.fill(questionIndex, out);
+    }
+
+    public int getOptionsPerQuestion() {
+        return questionOptions.getChoices();
+    }
+
+    /** Option ordinals (see {@link StimulusPack#getOption(int)}) last shown for a question, or null if never shown. */
+    public int[] getPresentedOptions(int questionIndex) {
+        return questionOptions.getPresented(questionIndex);
+    }
+
+    /** Position of the correct answer when the question was last shown, or -1 if never shown. */
+    public int getCorrectOptionPosition(int questionIndex) {
+        return questionOptions.getCorrectPosition(questionIndex);
+    }
+
+    /** How often the correct answer appeared at each button position across shown questions. */
+    public int[] getCorrectPositionCounts() {
+        return questionOptions.getCorrectPositionCounts();
     }
 
     public void reset() {
         currentQuestionIndex = 0;
+        questionOptions.clear();
         Arrays.fill(recognitionAnswers, null);
+        recognitionTally.clear();
     }
 
     // Method to get all answers for results display
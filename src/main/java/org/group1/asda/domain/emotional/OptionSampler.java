@@ -0,0 +1,101 @@
+package org.group1.asda.domain.emotional;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Picks the answer choices shown for one question: the correct option plus distinct distractors,
+ * in random order. Works on option ordinals with a partial Fisher–Yates shuffle over a reusable
+ * index array, so a draw costs O(choices) and allocates nothing.
+ *
+ * The permutation of the last draw (ordinals in display order) and the position of the correct
+ * answer are kept so callers can record them, e.g. to check for answer-position bias.
+ * Not thread-safe; each game state owns its own sampler.
+ */
+public final class OptionSampler {
+    private final int optionCount;
+    private final int choices;
+    private final Random random;
+    private final int[] pool;      // permutation of 0..optionCount-1
+    private final int[] poolIndex; // ordinal -> current index in pool
+    private final int[] last;
+    private int lastCorrectPosition = -1;
+
+    public OptionSampler(int optionCount, int choices, long seed) {
+        this(optionCount, choices, new Random(seed));
+    }
+
+    public OptionSampler(int optionCount, int choices, Random random) {
+        if (optionCount <= 0) {
+            throw new IllegalArgumentException("Option count must be positive: " + optionCount);
+        }
+        if (choices <= 0 || choices > optionCount) {
+            throw new IllegalArgumentException("Choices must be between 1 and " + optionCount + ": " + choices);
+        }
+        this.optionCount = optionCount;
+        this.choices = choices;
+        this.random = random;
+        this.pool = new int[optionCount];
+        this.poolIndex = new int[optionCount];
+        for (int i = 0; i < optionCount; i++) {
+            pool[i] = i;
+            poolIndex[i] = i;
+        }
+        this.last = new int[choices];
+    }
+
+    public int getChoices() {
+        return choices;
+    }
+
+    /**
+     * Draws {@link #getChoices()} distinct ordinals including {@code correctOrdinal} into {@code out}.
+     * @return position of the correct ordinal within {@code out}
+     */
+    public int sample(int correctOrdinal, int[] out) {
+        if (correctOrdinal < 0 || correctOrdinal >= optionCount) {
+            throw new IllegalArgumentException("Invalid option ordinal: " + correctOrdinal);
+        }
+        if (out.length < choices) {
+            throw new IllegalArgumentException("Output array too small: " + out.length);
+        }
+
+        // Park the correct ordinal in the last slot so distractors are drawn from pool[0..n-2]
+        int tail = optionCount - 1;
+        swap(poolIndex[correctOrdinal], tail);
+
+        // The pool never needs resetting: a Fisher–Yates step is uniform from any starting permutation
+        for (int i = 0; i < choices - 1; i++) {
+            swap(i, i + random.nextInt(tail - i));
+            out[i] = pool[i];
+        }
+
+        int position = random.nextInt(choices);
+        out[choices - 1] = out[position];
+        out[position] = correctOrdinal;
+
+        System.arraycopy(out, 0, last, 0, choices);
+        lastCorrectPosition = position;
+        return position;
+    }
+
+    /** Ordinals of the last draw in display order; empty before the first draw. */
+    public int[] getLastPermutation() {
+        return lastCorrectPosition < 0 ? new int[0] : Arrays.copyOf(last, choices);
+    }
+
+    /** Position of the correct answer in the last draw, or -1 before the first draw. */
+    public int getLastCorrectPosition() {
+        return lastCorrectPosition;
+    }
+
+    private void swap(int i, int j) {
+        if (i == j) return;
+        int a = pool[i];
+        int b = pool[j];
+        pool[i] = b;
+        pool[j] = a;
+        poolIndex[b] = i;
+        poolIndex[a] = j;
+    }
+}
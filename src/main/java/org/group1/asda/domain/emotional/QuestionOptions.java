@@ -0,0 +1,73 @@
+package org.group1.asda.domain.emotional;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Answer choices of the questions of one game over a stimulus pack: draws them with an {@link OptionSampler}
+ * and keeps the order each question was last shown in, so answer positions can be checked for bias.
+ * Not thread-safe; each game state owns one.
+ */
+final class QuestionOptions {
+    // Answer choices per question, fewer only if the pack has fewer options
+    private static final int OPTIONS_PER_QUESTION = 4;
+
+    private final StimulusPack pack;
+    private final OptionSampler sampler;
+    private final int[] sampled;
+    private final int[][] presented;
+    private final int[] correctPositions;
+
+    QuestionOptions(StimulusPack pack, Random random) {
+        this.pack = pack;
+        int choices = Math.min(OPTIONS_PER_QUESTION, pack.getOptionCount());
+        this.sampler = new OptionSampler(pack.getOptionCount(), choices, random);
+        this.sampled = new int[choices];
+        this.presented = new int[pack.size()][];
+        this.correctPositions = new int[pack.size()];
+        Arrays.fill(correctPositions, -1);
+    }
+
+    int getChoices() {
+        return sampler.getChoices();
+    }
+
+    /** Draws the choices for stimulus {@code questionIndex} into {@code out}; returns the correct position. */
+    int fill(int questionIndex, String[] out) {
+        int position = sampler.sample(pack.labelOrdinal(questionIndex), sampled);
+        int[] shown = presented[questionIndex];
+        if (shown == null) {
+            shown = new int[sampled.length];
+            presented[questionIndex] = shown;
+        }
+        for (int i = 0; i < sampled.length; i++) {
+            shown[i] = sampled[i];
+            out[i] = pack.getOption(sampled[i]);
+        }
+        correctPositions[questionIndex] = position;
+        return position;
+    }
+
+    int[] getPresented(int questionIndex) {
+        return getCorrectPosition(questionIndex) < 0 ? null : presented[questionIndex].clone();
+    }
+
+    int getCorrectPosition(int questionIndex) {
+        if (questionIndex >= 0 && questionIndex < correctPositions.length) {
+            return correctPositions[questionIndex];
+        }
+        return -1;
+    }
+
+    int[] getCorrectPositionCounts() {
+        int[] counts = new int[sampler.getChoices()];
+        for (int position : correctPositions) {
+            if (position >= 0) counts[position]++;
+        }
+        return counts;
+    }
+
+    void clear() {
+        Arrays.fill(correctPositions, -1);
+    }
+}
@@ -0,0 +1,56 @@
+package org.group1.asda.domain.emotional;
+
+import java.util.Arrays;
+
+/**
+ * Running recognition statistics for one game state. Each answer change applies only the delta
+ * between the old and new answer, so correct counts and the confusion matrix are O(1) to read.
+ */
+final class RecognitionTally {
+    private final StimulusPack pack;
+    private final int[][] confusion; // [actual ordinal][answered ordinal], last column = other
+    private int answered;
+    private int correct;
+
+    RecognitionTally(StimulusPack pack) {
+        this.pack = pack;
+        this.confusion = new int[pack.getOptionCount()][pack.getOptionCount() + 1];
+    }
+
+    /** Replaces {@code oldAnswer} with {@code newAnswer} for stimulus {@code id}; either may be null. */
+    void replace(int id, String oldAnswer, String newAnswer) {
+        apply(id, oldAnswer, -1);
+        apply(id, newAnswer, 1);
+    }
+
+    private void apply(int id, String answer, int delta) {
+        if (answer == null) return;
+        int actual = pack.labelOrdinal(id);
+        int chosen = pack.ordinalOf(answer);
+        confusion[actual][chosen < 0 ? pack.getOptionCount() : chosen] += delta;
+        answered += delta;
+        if (chosen == actual) {
+            correct += delta;
+        }
+    }
+
+    int getCorrect() {
+        return correct;
+    }
+
+    int getAnswered() {
+        return answered;
+    }
+
+    ConfusionMatrix snapshot() {
+        return new ConfusionMatrix(pack.getOptions(), confusion);
+    }
+
+    void clear() {
+        for (int[] row : confusion) {
+            Arrays.fill(row, 0);
+        }
+        answered = 0;
+        correct = 0;
+    }
+}
@@ -0,0 +1,215 @@
+package org.group1.asda.domain.emotional;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One stimulus set loaded from a manifest (see {@link StimulusRegistry}).
+ * Holds a compact index (path and label per id) plus per-label lookups precomputed at load time.
+ * Image dimensions and content hashes are only read from the classpath when first requested.
+ */
+public final class StimulusPack {
+
+    public record StimulusInfo(int id, String imagePath, String label, int width, int height, String contentHash) {}
+
+    private final String name;
+    private final String[] paths;
+    private final String[] labels;
+    private final String[] options;
+    private final Map<String, Integer> optionOrdinals;
+    private final int[] labelOrdinals;   // per stimulus id -> option ordinal of its label
+    private final int[][] idsByLabel;    // per option ordinal -> stimulus ids carrying that label
+    private final List<List<String>> distractors; // per option ordinal -> every other option
+
+    private volatile List<EmotionPattern> patterns;
+    private final StimulusInfo[] infos;
+
+    StimulusPack(String name, List<String> options, List<String> paths, List<String> labels) {
+        this.name = name;
+        this.paths = paths.toArray(new String[0]);
+        this.labels = labels.toArray(new String[0]);
+
+        // Labels missing from @options are still valid answers, so append them to the option set
+        List<String> allOptions = new ArrayList<>(options);
+        for (String label : labels) {
+            if (!allOptions.contains(label)) {
+                allOptions.add(label);
+            }
+        }
+        this.options = allOptions.toArray(new String[0]);
+        this.optionOrdinals = new HashMap<>();
+        for (int i = 0; i < this.options.length; i++) {
+            optionOrdinals.put(this.options[i], i);
+        }
+
+        this.labelOrdinals = new int[this.labels.length];
+        int[] perLabel = new int[this.options.length];
+        for (int id = 0; id < this.labels.length; id++) {
+            labelOrdinals[id] = optionOrdinals.get(this.labels[id]);
+            perLabel[labelOrdinals[id]]++;
+        }
+        this.idsByLabel = new int[this.options.length][];
+        for (int o = 0; o < this.options.length; o++) {
+            idsByLabel[o] = new int[perLabel[o]];
+            perLabel[o] = 0;
+        }
+        for (int id = 0; id < this.labels.length; id++) {
+            int o = labelOrdinals[id];
+            idsByLabel[o][perLabel[o]++] = id;
+        }
+
+        List<List<String>> others = new ArrayList<>(this.options.length);
+        for (int o = 0; o < this.options.length; o++) {
+            List<String> pool = new ArrayList<>(this.options.length - 1);
+            for (int j = 0; j < this.options.length; j++) {
+                if (j != o) pool.add(this.options[j]);
+            }
+            others.add(Collections.unmodifiableList(pool));
+        }
+        this.distractors = Collections.unmodifiableList(others);
+        this.infos = new StimulusInfo[this.paths.length];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int size() {
+        return paths.length;
+    }
+
+    public String getImagePath(int id) {
+        return paths[id];
+    }
+
+    public String getLabel(int id) {
+        return labels[id];
+    }
+
+    /**
+     * Patterns are built on first use and shared by every game state using this pack.
+     */
+    public List<EmotionPattern> getPatterns() {
+        List<EmotionPattern> p = patterns;
+        if (p == null) {
+            synchronized (this) {
+                p = patterns;
+                if (p == null) {
+                    EmotionPattern[] built = new EmotionPattern[paths.length];
+                    for (int id = 0; id < paths.length; id++) {
+                        built[id] = new EmotionPattern(id, paths[id], labels[id]);
+                    }
+                    p = Collections.unmodifiableList(Arrays.asList(built));
+                    patterns = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    /** Emotion choices offered to the participant, in display order. */
+    public List<String> getOptions() {
+        return Collections.unmodifiableList(Arrays.asList(options));
+    }
+
+    public int getOptionCount() {
+        return options.length;
+    }
+
+    public String getOption(int ordinal) {
+        return options[ordinal];
+    }
+
+    /** Returns the option ordinal for a label, or -1 if the label is not part of this pack. */
+    public int ordinalOf(String label) {
+        Integer o = label == null ? null : optionOrdinals.get(label);
+        return o == null ? -1 : o;
+    }
+
+    /** Option ordinal of the correct label for a stimulus. */
+    public int labelOrdinal(int id) {
+        return labelOrdinals[id];
+    }
+
+    /** Stimulus ids whose correct label is {@code label}; empty if none. */
+    public int[] idsForLabel(String label) {
+        int o = ordinalOf(label);
+        return o < 0 ? new int[0] : idsByLabel[o].clone();
+    }
+
+    /** Every option except the correct label of stimulus {@code id}. */
+    public List<String> distractorsFor(int id) {
+        return distractors.get(labelOrdinals[id]);
+    }
+
+    /**
+     * Returns id, path, label, pixel dimensions and SHA-256 content hash for a stimulus.
+     * The image is read once on first request and the result cached for the pack's lifetime.
+     */
+    public StimulusInfo describe(int id) {
+        StimulusInfo info = infos[id];
+        if (info != null) return info;
+        synchronized (infos) {
+            if (infos[id] == null) {
+                infos[id] = readInfo(id);
+            }
+            return infos[id];
+        }
+    }
+
+    private StimulusInfo readInfo(int id) {
+        String path = paths[id];
+        byte[] bytes;
+        try (InputStream in = StimulusPack.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Stimulus image not found: " + path);
+            }
+            bytes = in.readAllBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read stimulus image: " + path, e);
+        }
+
+        int width = -1;
+        int height = -1;
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = iis == null ? Collections.emptyIterator() : ImageIO.getImageReaders(iis);
+            if (readers.hasNext()) {
+                ImageReader reader = readers.next();
+                try {
+                    // Only the header is parsed; pixel data is left to the UI when it displays the image
+                    reader.setInput(iis, true, true);
+                    width = reader.getWidth(0);
+                    height = reader.getHeight(0);
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (IOException e) {
+            // Unknown dimensions are reported as -1
+        }
+
+        return new StimulusInfo(id, path, labels[id], width, height, sha256(bytes));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
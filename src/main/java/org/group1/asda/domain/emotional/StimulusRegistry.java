@@ -0,0 +1,116 @@
+package org.group1.asda.domain.emotional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads stimulus packs from manifests on the classpath under {@code /stimuli}.
+ * A new stimulus set only needs a {@code <name>.manifest} file (and its images) on the classpath;
+ * {@code /stimuli/packs.list} names the packs shipped with the app.
+ *
+ * Manifest format, one entry per line:
+ * <pre>
+ * # comment
+ * &#64;options Joy,Sadness,Anger
+ * 0|/images/emotional/example.png|Joy
+ * </pre>
+ * Ids must be 0..n-1 in order, since game states index answers by pattern id.
+ * Packs are parsed on first request and cached for the lifetime of the app.
+ */
+public final class StimulusRegistry {
+    public static final String ABSTRACT_PATTERNS = "abstract-patterns";
+    public static final String FACIAL_EMOTIONS = "facial-emotions";
+
+    private static final String BASE_PATH = "/stimuli/";
+    private static final Map<String, StimulusPack> PACKS = new ConcurrentHashMap<>();
+
+    private StimulusRegistry() {}
+
+    public static StimulusPack getPack(String name) {
+        return PACKS.computeIfAbsent(name, StimulusRegistry::loadPack);
+    }
+
+    /** Names listed in {@code /stimuli/packs.list}, in file order. */
+    public static List<String> availablePacks() {
+        List<String> names = new ArrayList<>();
+        try (InputStream in = StimulusRegistry.class.getResourceAsStream(BASE_PATH + "packs.list")) {
+            if (in == null) return names;
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    names.add(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read stimulus pack list: " + e.getMessage(), e);
+        }
+        return names;
+    }
+
+    private static StimulusPack loadPack(String name) {
+        String path = BASE_PATH + name + ".manifest";
+        try (InputStream in = StimulusRegistry.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown stimulus pack: " + name + " (missing " + path + ")");
+            }
+            return parse(name, new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load stimulus pack " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    static StimulusPack parse(String name, Reader source) throws IOException {
+        List<String> options = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        int lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            if (line.startsWith("@options")) {
+                for (String option : line.substring("@options".length()).split(",")) {
+                    String o = option.trim();
+                    if (!o.isEmpty() && !options.contains(o)) options.add(o);
+                }
+                continue;
+            }
+
+            String[] parts = line.split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException(name + ":" + lineNo + ": expected id|path|label");
+            }
+            int id;
+            try {
+                id = Integer.parseInt(parts[0].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(name + ":" + lineNo + ": invalid id '" + parts[0].trim() + "'");
+            }
+            if (id != paths.size()) {
+                throw new IllegalArgumentException(name + ":" + lineNo + ": expected id " + paths.size() + " but found " + id);
+            }
+            String imagePath = parts[1].trim();
+            String label = parts[2].trim();
+            if (imagePath.isEmpty() || label.isEmpty()) {
+                throw new IllegalArgumentException(name + ":" + lineNo + ": path and label are required");
+            }
+            paths.add(imagePath);
+            labels.add(label);
+        }
+        return new StimulusPack(name, options, paths, labels);
+    }
+}
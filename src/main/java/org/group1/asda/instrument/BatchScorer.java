@@ -0,0 +1,157 @@
+package org.group1.asda.instrument;
+
+/**
+ * Scores many sheets of one instrument at once from a column-major response matrix.
+ *
+ * {@code responses[item][sheet]} holds 1-based choices as bytes, 0 for unanswered. Each item's row is
+ * streamed once per block of {@value #BLOCK} sheets while the block's totals and subscale sums stay in
+ * cache, and each choice is turned into points with a 256-entry table per item, so the inner loop is a
+ * branch-free load-and-add over contiguous arrays with no per-sheet objects. Answered counts and the
+ * range check are arithmetic on the choice byte, and an out-of-range choice is only located after the pass.
+ *
+ * When the JVM runs with {@code --add-modules jdk.incubator.vector}, rows are scored by
+ * {@code VectorKernel} (compiled separately from {@code src/vector/java}), which handles a full SIMD
+ * register of sheets per step. Otherwise, or with {@code -Dasda.scoring.vector=false}, the scalar loop is used.
+ *
+ * Instances hold only the lookup tables and may be shared between threads.
+ */
+public final class BatchScorer {
+    static final int BLOCK = 1024;
+    private static final String VECTOR_KERNEL = "org.group1.asda.instrument.VectorKernel";
+
+    /**
+     * Adds one item's points to sheets {@code from..to-1}. {@code subscale} is null for items outside
+     * every subscale. Returns a value that is negative if any choice in the range exceeds {@code options}.
+     */
+    interface Kernel {
+        int addItem(byte[] row, int[] points, int options, int[] totals, int[] subscale, int[] answered, int from, int to);
+    }
+
+    static final Kernel SCALAR = (row, p, options, totals, sub, answered, from, to) -> {
+        int bad = 0;
+        if (sub != null) {
+            for (int n = from; n < to; n++) {
+                int c = row[n] & 0xFF;
+                int v = p[c];
+                totals[n] += v;
+                sub[n] += v;
+                answered[n] += (c + 0xFF) >>> 8;
+                bad |= options - c;
+            }
+        } else {
+            for (int n = from; n < to; n++) {
+                int c = row[n] & 0xFF;
+                totals[n] += p[c];
+                answered[n] += (c + 0xFF) >>> 8;
+                bad |= options - c;
+            }
+        }
+        return bad;
+    };
+
+    private static final Kernel VECTOR = loadVectorKernel();
+
+    /**
+     * Scores of a batch, also column-major: {@code subscales[s][sheet]}.
+     */
+    public record Result(CompiledInstrument instrument, int sheets, int[] totals, int[] answered, int[][] subscales) {
+        /** Band of one sheet; see {@link CompiledInstrument#band(int, int)}. */
+        public String band(int sheet) {
+            return instrument.band(totals[sheet], answered[sheet]);
+        }
+    }
+
+    private final CompiledInstrument instrument;
+    private final Kernel kernel;
+    private final int[][] points;
+    private final int[] subscaleOf;
+
+    /** Uses the vector kernel when it is available; see {@link #vectorAvailable()}. */
+    public BatchScorer(CompiledInstrument instrument) {
+        this(instrument, VECTOR != null && Boolean.parseBoolean(System.getProperty("asda.scoring.vector", "true")));
+    }
+
+    /**
+     * @param vectorized score with the vector kernel rather than the scalar loop
+     * @throws IllegalStateException if {@code vectorized} is set but the vector kernel is not available
+     */
+    public BatchScorer(CompiledInstrument instrument, boolean vectorized) {
+        if (vectorized && VECTOR == null) {
+            throw new IllegalStateException("Vector kernel needs --add-modules jdk.incubator.vector");
+        }
+        this.instrument = instrument;
+        this.kernel = vectorized ? VECTOR : SCALAR;
+        int items = instrument.getItemCount();
+        this.points = new int[items][256];
+        this.subscaleOf = new int[items];
+        for (int i = 0; i < items; i++) {
+            for (int c = 1; c <= instrument.getOptionCount(); c++) {
+                points[i][c] = instrument.pointsAt(i, c);
+            }
+            subscaleOf[i] = instrument.subscaleOf(i);
+        }
+    }
+
+    public CompiledInstrument getInstrument() {
+        return instrument;
+    }
+
+    /** Whether this JVM can load the vector kernel, i.e. was started with the incubator module. */
+    public static boolean vectorAvailable() {
+        return VECTOR != null;
+    }
+
+    public boolean isVectorized() {
+        return kernel != SCALAR;
+    }
+
+    private static Kernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) return null;
+        try {
+            return (Kernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Scores the first {@code sheets} columns of {@code responses}.
+     * @throws IllegalArgumentException if the matrix does not have one row per item or a choice is out of range
+     */
+    public Result score(byte[][] responses, int sheets) {
+        int items = points.length;
+        if (responses.length != items) {
+            throw new IllegalArgumentException("Expected " + items + " item rows but got " + responses.length);
+        }
+        for (byte[] row : responses) {
+            if (row.length < sheets) throw new IllegalArgumentException("Item row shorter than " + sheets + " sheets");
+        }
+        int[] totals = new int[sheets];
+        int[] answered = new int[sheets];
+        int[][] subscales = new int[instrument.getSubscaleNames().size()][sheets];
+
+        int options = instrument.getOptionCount();
+        int bad = 0;
+        for (int from = 0; from < sheets; from += BLOCK) {
+            int to = Math.min(sheets, from + BLOCK);
+            for (int i = 0; i < items; i++) {
+                int s = subscaleOf[i];
+                bad |= kernel.addItem(responses[i], points[i], options, totals, s >= 0 ? subscales[s] : null,
+                        answered, from, to);
+            }
+        }
+        if (bad < 0) throw invalidChoice(responses, sheets, options);
+        return new Result(instrument, sheets, totals, answered, subscales);
+    }
+
+    private static IllegalArgumentException invalidChoice(byte[][] responses, int sheets, int options) {
+        for (int n = 0; n < sheets; n++) {
+            for (byte[] row : responses) {
+                if ((row[n] & 0xFF) > options) {
+                    return new IllegalArgumentException("Sheet " + n + " has a choice outside 1.." + options);
+                }
+            }
+        }
+        return new IllegalArgumentException("Choice outside 1.." + options);
+    }
+}
@@ -0,0 +1,208 @@
+package org.group1.asda.instrument;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link InstrumentDefinition} flattened into primitive tables for scoring.
+ *
+ * Points live in one row-major {@code int[]} indexed by {@code item * options + choice - 1}, and each item
+ * has its subscale index (or -1) and its lowest and highest possible points, so scoring a sheet is a single
+ * pass of array lookups with no per-item objects or branches on item identity. Instances are immutable and
+ * shared between threads; {@link Instruments} caches one per definition.
+ */
+public final class CompiledInstrument {
+    /** Band of a sheet with no answered items. */
+    public static final String UNKNOWN_BAND = "Unknown";
+
+    /**
+     * @param subscales points per subscale, in definition order
+     * @param subscaleAnswered answered items per subscale
+     */
+    public record Score(int total, int answered, int[] subscales, int[] subscaleAnswered, String band) {}
+
+    private final InstrumentDefinition definition;
+    private final int items;
+    private final int options;
+    private final int[] points;
+    private final int[] subscaleOf;
+    private final int[] itemMin;
+    private final int[] itemMax;
+    private final String[] subscaleNames;
+    private final double[] bandUpTo;
+    private final String[] bandLabels;
+    private final boolean relativeBands;
+    private final int uniformMin;
+    private final int uniformMax;
+    private final Map<String, Integer> indexByCode;
+
+    private CompiledInstrument(InstrumentDefinition def) {
+        this.definition = def;
+        this.items = def.items().size();
+        this.options = def.options().size();
+        this.points = new int[items * options];
+        this.subscaleOf = new int[items];
+        this.itemMin = new int[items];
+        this.itemMax = new int[items];
+        this.indexByCode = new HashMap<>();
+
+        Arrays.fill(subscaleOf, -1);
+        for (int i = 0; i < items; i++) {
+            InstrumentDefinition.Item item = def.items().get(i);
+            System.arraycopy(item.scores(), 0, points, i * options, options);
+            itemMin[i] = Arrays.stream(item.scores()).min().orElse(0);
+            itemMax[i] = Arrays.stream(item.scores()).max().orElse(0);
+            indexByCode.put(item.code(), i);
+        }
+        subscaleNames = new String[def.subscales().size()];
+        for (int s = 0; s < subscaleNames.length; s++) {
+            InstrumentDefinition.Subscale subscale = def.subscales().get(s);
+            subscaleNames[s] = subscale.name();
+            for (String code : subscale.itemCodes()) subscaleOf[indexByCode.get(code)] = s;
+        }
+        bandUpTo = def.bands().stream().mapToDouble(InstrumentDefinition.Band::upTo).toArray();
+        bandLabels = def.bands().stream().map(InstrumentDefinition.Band::label).toArray(String[]::new);
+        relativeBands = def.relativeBands();
+
+        boolean uniform = Arrays.stream(itemMin).allMatch(v -> v == itemMin[0])
+                && Arrays.stream(itemMax).allMatch(v -> v == itemMax[0]);
+        uniformMin = uniform ? itemMin[0] : Integer.MIN_VALUE;
+        uniformMax = uniform ? itemMax[0] : Integer.MIN_VALUE;
+    }
+
+    static CompiledInstrument compile(InstrumentDefinition def) {
+        return new CompiledInstrument(def);
+    }
+
+    public InstrumentDefinition getDefinition() {
+        return definition;
+    }
+
+    public String getId() {
+        return definition.id();
+    }
+
+    public int getItemCount() {
+        return items;
+    }
+
+    public int getOptionCount() {
+        return options;
+    }
+
+    public List<String> getSubscaleNames() {
+        return List.of(subscaleNames);
+    }
+
+    /** Points of {@code choice} (1-based) for item {@code item}, unchecked; for {@link BatchScorer}. */
+    int pointsAt(int item, int choice) {
+        return points[item * options + choice - 1];
+    }
+
+    /** Subscale index of {@code item}, or -1. */
+    int subscaleOf(int item) {
+        return subscaleOf[item];
+    }
+
+    /** Index of the item with {@code code}, or -1 if the instrument has no such item. */
+    public int indexOf(String code) {
+        Integer i = indexByCode.get(code);
+        return i == null ? -1 : i;
+    }
+
+    /**
+     * Scores a sheet.
+     * @param choices 1-based choice per item in definition order; 0 leaves the item unanswered
+     * @throws IllegalArgumentException if the sheet has the wrong length or a choice is out of range
+     */
+    public Score score(int[] choices) {
+        int[] subscales = new int[subscaleNames.length];
+        int[] subscaleAnswered = new int[subscaleNames.length];
+        checkLength(choices);
+        int total = 0, answered = 0, min = 0, max = 0;
+        for (int i = 0; i < items; i++) {
+            int c = choices[i];
+            if (c == 0) continue;
+            int p = points[offset(i, c)];
+            total += p;
+            answered++;
+            min += itemMin[i];
+            max += itemMax[i];
+            int s = subscaleOf[i];
+            if (s >= 0) {
+                subscales[s] += p;
+                subscaleAnswered[s]++;
+            }
+        }
+        return new Score(total, answered, subscales, subscaleAnswered, band(total, answered, min, max));
+    }
+
+    /**
+     * Total of a complete sheet, without allocating.
+     * @param choices 1-based choice per item in definition order
+     */
+    public int total(int[] choices) {
+        checkLength(choices);
+        int total = 0;
+        for (int i = 0; i < items; i++) total += points[offset(i, choices[i])];
+        return total;
+    }
+
+    /**
+     * Adds a complete sheet's subscale points to {@code out}, without allocating.
+     * @return the total
+     */
+    public int subscales(int[] choices, int[] out) {
+        checkLength(choices);
+        int total = 0;
+        for (int i = 0; i < items; i++) {
+            int p = points[offset(i, choices[i])];
+            total += p;
+            int s = subscaleOf[i];
+            if (s >= 0) out[s] += p;
+        }
+        return total;
+    }
+
+    /** Band for a total over all items. */
+    public String band(int total) {
+        return band(total, items);
+    }
+
+    /**
+     * Band for a total over {@code answered} items. Relative bands need every item to have the same
+     * range of points, since which items were answered is not known.
+     */
+    public String band(int total, int answered) {
+        if (!relativeBands) return band(total, answered, 0, 0);
+        if (uniformMin == Integer.MIN_VALUE) {
+            throw new IllegalStateException(definition.id() + " has items with different point ranges; score the sheet instead");
+        }
+        return band(total, answered, answered * uniformMin, answered * uniformMax);
+    }
+
+    private String band(int total, int answered, int min, int max) {
+        if (answered <= 0 || bandLabels.length == 0) return UNKNOWN_BAND;
+        int last = bandLabels.length - 1;
+        for (int b = 0; b < last; b++) {
+            double bound = relativeBands ? min + (max - min) * bandUpTo[b] : bandUpTo[b];
+            if (total <= bound) return bandLabels[b];
+        }
+        return bandLabels[last];
+    }
+
+    private int offset(int item, int choice) {
+        if (choice < 1 || choice > options) {
+            throw new IllegalArgumentException("Invalid choice " + choice + " for item " + definition.items().get(item).code());
+        }
+        return item * options + choice - 1;
+    }
+
+    private void checkLength(int[] choices) {
+        if (choices.length != items) {
+            throw new IllegalArgumentException("Expected " + items + " responses but got " + choices.length);
+        }
+    }
+}
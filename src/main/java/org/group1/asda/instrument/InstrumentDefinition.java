@@ -0,0 +1,165 @@
+package org.group1.asda.instrument;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A screening instrument as data: response options, items with their scoring keys, subscales and result bands.
+ *
+ * Definitions are line-based text files under {@code /instruments}; blank lines and lines starting with
+ * {@code #} are ignored:
+ * <pre>
+ * id aq50
+ * name Autism Spectrum Quotient (AQ-50)
+ * options Definitely Agree | Slightly Agree | Slightly Disagree | Definitely Disagree
+ * key agree 1 1 0 0
+ * key disagree 0 0 1 1
+ * item 1 disagree S/he prefers to do things with others rather than on her/his own.
+ * subscale Social Skills: 1 11 13
+ * band 5 Minimal
+ * bands relative
+ * </pre>
+ * A {@code key} gives the points for each option in option order; reverse-keyed items simply name the
+ * mirrored key. A subscale lists item codes, and an item belongs to at most one. A {@code band} is an
+ * inclusive upper bound on the total followed by its label, in increasing order; the last band also takes
+ * anything above it. With {@code bands relative} the bounds are fractions of the range the answered items
+ * could have scored, so partly answered sheets are banded on the same scale.
+ *
+ * Choices are 1-based option numbers. {@link #compile()} turns a definition into flat scoring tables.
+ */
+public record InstrumentDefinition(String id, String name, List<String> options, List<Item> items,
+                                   List<Subscale> subscales, List<Band> bands, boolean relativeBands) {
+
+    /** @param scores points for each option, in option order */
+    public record Item(String code, String text, int[] scores) {}
+
+    public record Subscale(String name, List<String> itemCodes) {}
+
+    /** @param upTo inclusive upper bound on the total, or a fraction of the range when bands are relative */
+    public record Band(double upTo, String label) {}
+
+    public CompiledInstrument compile() {
+        return CompiledInstrument.compile(this);
+    }
+
+    /**
+     * Parses a definition.
+     * @param source name used in error messages
+     * @throws IllegalArgumentException if the definition is malformed or inconsistent
+     */
+    public static InstrumentDefinition parse(String source, Reader in) throws IOException {
+        String id = null;
+        String name = null;
+        List<String> options = null;
+        Map<String, int[]> keys = new HashMap<>();
+        List<Item> items = new ArrayList<>();
+        List<Subscale> subscales = new ArrayList<>();
+        List<Band> bands = new ArrayList<>();
+        boolean relative = false;
+
+        BufferedReader reader = new BufferedReader(in);
+        String raw;
+        int lineNo = 0;
+        while ((raw = reader.readLine()) != null) {
+            lineNo++;
+            String line = raw.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            int sp = line.indexOf(' ');
+            String keyword = sp < 0 ? line : line.substring(0, sp);
+            String rest = sp < 0 ? "" : line.substring(sp + 1).strip();
+            String where = source + ":" + lineNo;
+            switch (keyword) {
+                case "id" -> id = rest;
+                case "name" -> name = rest;
+                case "options" -> options = Arrays.stream(rest.split("\\|")).map(String::strip).toList();
+                case "key" -> {
+                    String[] parts = rest.split("\\s+");
+                    if (options == null) throw new IllegalArgumentException(where + ": key before options");
+                    if (parts.length != options.size() + 1) {
+                        throw new IllegalArgumentException(where + ": key " + parts[0] + " needs "
+                                + options.size() + " scores");
+                    }
+                    int[] scores = new int[options.size()];
+                    for (int i = 0; i < scores.length; i++) scores[i] = parseInt(where, parts[i + 1]);
+                    keys.put(parts[0], scores);
+                }
+                case "item" -> {
+                    String[] parts = rest.split("\\s+", 3);
+                    if (parts.length < 3) throw new IllegalArgumentException(where + ": expected item <code> <key> <text>");
+                    int[] scores = keys.get(parts[1]);
+                    if (scores == null) throw new IllegalArgumentException(where + ": unknown key " + parts[1]);
+                    items.add(new Item(parts[0], parts[2], scores));
+                }
+                case "subscale" -> {
+                    int colon = rest.indexOf(':');
+                    if (colon < 0) throw new IllegalArgumentException(where + ": expected subscale <name>: <codes>");
+                    String codes = rest.substring(colon + 1).strip();
+                    subscales.add(new Subscale(rest.substring(0, colon).strip(),
+                            codes.isEmpty() ? List.of() : List.of(codes.split("\\s+"))));
+                }
+                case "band" -> {
+                    String[] parts = rest.split("\\s+", 2);
+                    if (parts.length < 2) throw new IllegalArgumentException(where + ": expected band <upTo> <label>");
+                    try {
+                        bands.add(new Band(Double.parseDouble(parts[0]), parts[1]));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException(where + ": invalid band bound " + parts[0]);
+                    }
+                }
+                case "bands" -> {
+                    if (!rest.equals("relative") && !rest.equals("absolute")) {
+                        throw new IllegalArgumentException(where + ": bands must be relative or absolute");
+                    }
+                    relative = rest.equals("relative");
+                }
+                default -> throw new IllegalArgumentException(where + ": unknown keyword " + keyword);
+            }
+        }
+        if (id == null || id.isEmpty()) throw new IllegalArgumentException(source + ": missing id");
+        if (options == null || options.isEmpty()) throw new IllegalArgumentException(source + ": missing options");
+        if (items.isEmpty()) throw new IllegalArgumentException(source + ": no items");
+        InstrumentDefinition def = new InstrumentDefinition(id, name == null ? id : name, options, List.copyOf(items),
+                List.copyOf(subscales), List.copyOf(bands), relative);
+        def.validate(source);
+        return def;
+    }
+
+    private void validate(String source) {
+        Set<String> codes = new HashSet<>();
+        for (Item item : items) {
+            if (!codes.add(item.code())) throw new IllegalArgumentException(source + ": duplicate item " + item.code());
+        }
+        Set<String> assigned = new HashSet<>();
+        for (Subscale s : subscales) {
+            for (String code : s.itemCodes()) {
+                if (!codes.contains(code)) {
+                    throw new IllegalArgumentException(source + ": subscale " + s.name() + " lists unknown item " + code);
+                }
+                if (!assigned.add(code)) {
+                    throw new IllegalArgumentException(source + ": item " + code + " is in more than one subscale");
+                }
+            }
+        }
+        for (int i = 1; i < bands.size(); i++) {
+            if (bands.get(i).upTo() < bands.get(i - 1).upTo()) {
+                throw new IllegalArgumentException(source + ": bands must be in increasing order");
+            }
+        }
+    }
+
+    private static int parseInt(String where, String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(where + ": invalid score " + s);
+        }
+    }
+}
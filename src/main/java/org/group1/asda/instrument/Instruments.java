@@ -0,0 +1,50 @@
+package org.group1.asda.instrument;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instrument definitions bundled under {@code /instruments}, parsed and compiled once on first use.
+ * Adding an instrument only needs a new {@code <id>.instrument} file.
+ */
+public final class Instruments {
+    public static final String AQ = "aq50";
+    public static final String CHECKLIST = "checklist";
+
+    private static final Map<String, CompiledInstrument> CACHE = new ConcurrentHashMap<>();
+
+    private Instruments() {}
+
+    /** The 50-item AQ used by the questionnaire CLI, the AQ results screen and the scoring server. */
+    public static CompiledInstrument aq() {
+        return get(AQ);
+    }
+
+    /** The Q80–Q109 checklist stored in the {@code questions} table and scored by {@code AssessmentService}. */
+    public static CompiledInstrument checklist() {
+        return get(CHECKLIST);
+    }
+
+    /** @throws IllegalArgumentException if there is no such bundled instrument or it does not parse */
+    public static CompiledInstrument get(String id) {
+        return CACHE.computeIfAbsent(id, Instruments::load);
+    }
+
+    private static CompiledInstrument load(String id) {
+        String resource = "/instruments/" + id + ".instrument";
+        try (InputStream in = Instruments.class.getResourceAsStream(resource)) {
+            if (in == null) throw new IllegalArgumentException("Unknown instrument: " + id);
+            InstrumentDefinition def = InstrumentDefinition.parse(resource, new InputStreamReader(in, StandardCharsets.UTF_8));
+            if (!def.id().equals(id)) {
+                throw new IllegalArgumentException(resource + ": declares id " + def.id());
+            }
+            return def.compile();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load instrument " + id + ": " + e.getMessage(), e);
+        }
+    }
+}
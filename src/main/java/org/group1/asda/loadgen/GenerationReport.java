@@ -0,0 +1,33 @@
+package org.group1.asda.loadgen;
+
+import org.group1.asda.metrics.LatencyHistogram;
+
+import java.util.Locale;
+
+/**
+ * Rows written by {@link PopulationGenerator} and the insert throughput achieved.
+ *
+ * @param commits commit latency of each transaction chunk, nanoseconds
+ */
+public record GenerationReport(long sessions, long responses, long gameResults, long elapsedNanos,
+                               LatencyHistogram.Snapshot commits) {
+
+    public long rows() {
+        return sessions + responses + gameResults;
+    }
+
+    public double rowsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : rows() * 1e9 / elapsedNanos;
+    }
+
+    public String format() {
+        double seconds = elapsedNanos / 1e9;
+        return String.format(Locale.ROOT,
+                "Sessions: %d  Responses: %d  Game results: %d%n" +
+                "Elapsed: %.1f s  Throughput: %.0f rows/s (%.0f sessions/s, %.0f responses/s)%n" +
+                "Chunk commits: %d  p50=%.1f ms  p99=%.1f ms  max=%.1f ms",
+                sessions, responses, gameResults, seconds, rowsPerSecond(),
+                seconds == 0 ? 0.0 : sessions / seconds, seconds == 0 ? 0.0 : responses / seconds,
+                commits.count(), commits.p50() / 1e6, commits.p99() / 1e6, commits.max() / 1e6);
+    }
+}
@@ -0,0 +1,65 @@
+package org.group1.asda.loadgen;
+
+import org.group1.asda.persistence.Database;
+
+/**
+ * Console runner for the synthetic population generator.
+ * Usage: run the application with --generate [--db=FILE] [--sessions=N] [--threads=N] [--chunk=N]
+ * [--seed=N] [--days=N] [--completion=0.9] [--trait-mean=-1.0] [--trait-sd=1.0] [--games=1.5].
+ * --db overrides asda.db.url for this run; rows are appended to whatever the database already holds.
+ */
+public class GeneratorCli {
+    public static int run(String[] args) {
+        long sessions = 10_000;
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        int chunk = 1_000;
+        PopulationSpec spec;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--sessions=")) sessions = Long.parseLong(value(arg));
+            }
+            spec = PopulationSpec.defaults(sessions);
+            for (String arg : args) {
+                if (arg.startsWith("--db=")) {
+                    System.setProperty("asda.db.url", "jdbc:sqlite:" + value(arg));
+                } else if (arg.startsWith("--threads=")) {
+                    threads = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--chunk=")) {
+                    chunk = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--seed=")) {
+                    spec = spec.withSeed(Long.parseLong(value(arg)));
+                } else if (arg.startsWith("--days=")) {
+                    spec = spec.withDays(Integer.parseInt(value(arg)));
+                } else if (arg.startsWith("--completion=")) {
+                    spec = spec.withCompletionRate(Double.parseDouble(value(arg)));
+                } else if (arg.startsWith("--trait-mean=")) {
+                    spec = spec.withTrait(Double.parseDouble(value(arg)), spec.traitSd());
+                } else if (arg.startsWith("--trait-sd=")) {
+                    spec = spec.withTrait(spec.traitMean(), Double.parseDouble(value(arg)));
+                } else if (arg.startsWith("--games=")) {
+                    spec = spec.withGamesPerSession(Double.parseDouble(value(arg)));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid argument: " + e.getMessage());
+            return 2;
+        }
+
+        try {
+            Database.init();
+            System.out.println("Generating " + spec.sessions() + " sessions with " + threads + " producer threads, "
+                    + chunk + " sessions per transaction");
+            GenerationReport report = new PopulationGenerator(spec, threads, chunk)
+                    .run(p -> System.out.printf("  ... %d sessions, %.0f rows/s%n", p.sessions(), p.rowsPerSecond()));
+            System.out.println(report.format());
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Population generation failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
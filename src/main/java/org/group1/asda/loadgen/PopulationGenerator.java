@@ -0,0 +1,300 @@
+package org.group1.asda.loadgen;
+
+import org.group1.asda.domain.GameResult;
+import org.group1.asda.metrics.LatencyHistogram;
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.SessionIds;
+import org.group1.asda.service.AssessmentService;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Fills the configured database with synthetic sessions, responses and game results for load testing.
+ *
+ * Rows are generated by a pool of producer threads, one chunk of sessions at a time, and handed to a
+ * single writer over a bounded queue. SQLite allows one writer per database, so parallel inserters would
+ * only contend for the lock; instead the writer inserts each chunk with batched statements in a single
+ * transaction. The database must already be initialised with {@link Database#init()}.
+ */
+public class PopulationGenerator {
+    private static final String[] GAMES = {GameResult.ATTENTION, GameResult.MATCHING, GameResult.RECOGNITION};
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    private final PopulationSpec spec;
+    private final int producers;
+    private final int chunkSize;
+    private final AssessmentService assessmentService = new AssessmentService();
+
+    /**
+     * @param producers number of generating threads
+     * @param chunkSize sessions per insert transaction
+     */
+    public PopulationGenerator(PopulationSpec spec, int producers, int chunkSize) {
+        if (producers < 1) throw new IllegalArgumentException("Producers must be at least 1: " + producers);
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be at least 1: " + chunkSize);
+        this.spec = spec;
+        this.producers = producers;
+        this.chunkSize = chunkSize;
+    }
+
+    /** One generated session with its responses and game results. */
+    private record SessionRow(String id, long startedAt, Long endedAt, Integer totalScore, String level,
+                              String[] codes, int[] answers, List<GameResult> games) {}
+
+    private record Chunk(List<SessionRow> sessions) {}
+
+    public GenerationReport run() {
+        return run(null);
+    }
+
+    /**
+     * @param progress receives a cumulative report after each committed chunk, at most once per second; may be null
+     */
+    public GenerationReport run(Consumer<GenerationReport> progress) {
+        List<String> codes = loadQuestionCodes();
+        double[] difficulty = itemDifficulties(codes.size());
+
+        long totalChunks = (spec.sessions() + chunkSize - 1) / chunkSize;
+        AtomicLong nextChunk = new AtomicLong();
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(producers * 2);
+
+        ExecutorService pool = Executors.newFixedThreadPool(producers, r -> {
+            Thread t = new Thread(r, "population-producer");
+            t.setDaemon(true);
+            return t;
+        });
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < producers; i++) {
+            futures.add(pool.submit(() -> {
+                long c;
+                while ((c = nextChunk.getAndIncrement()) < totalChunks) {
+                    long from = c * chunkSize;
+                    long to = Math.min(spec.sessions(), from + chunkSize);
+                    List<SessionRow> rows = new ArrayList<>((int) (to - from));
+                    for (long s = from; s < to; s++) {
+                        rows.add(generateSession(s, codes, difficulty));
+                    }
+                    queue.put(new Chunk(rows));
+                }
+                return null;
+            }));
+        }
+
+        LatencyHistogram commits = new LatencyHistogram();
+        long sessions = 0, responses = 0, games = 0;
+        long start = System.nanoTime();
+        long lastProgress = start;
+        try (Connection c = Database.getConnection()) {
+            try (Statement st = c.createStatement()) {
+                // Per-connection only: a crash mid-load may lose the last chunks, which is fine for synthetic data
+                st.execute("PRAGMA synchronous=OFF");
+            }
+            c.setAutoCommit(false);
+            try (PreparedStatement insSession = c.prepareStatement(
+                         "INSERT INTO sessions(id, started_at, ended_at, total_score, level) VALUES(?,?,?,?,?)");
+                 PreparedStatement insResponse = c.prepareStatement(
+                         "INSERT INTO responses(session_id, question_code, answer_value, score) VALUES(?,?,?,?)");
+                 PreparedStatement insGame = c.prepareStatement(
+                         "INSERT INTO game_results(session_id, game, played_at, trials, correct, incorrect, duration_ms) " +
+                         "VALUES(?,?,?,?,?,?,?)")) {
+                for (long written = 0; written < totalChunks; ) {
+                    Chunk chunk = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (chunk == null) {
+                        checkProducers(futures);
+                        continue;
+                    }
+                    long t0 = System.nanoTime();
+                    for (SessionRow s : chunk.sessions()) {
+                        bindSession(insSession, s);
+                        insSession.addBatch();
+                        for (int i = 0; i < s.answers().length; i++) {
+                            insResponse.setString(1, s.id());
+                            insResponse.setString(2, s.codes()[i]);
+                            insResponse.setInt(3, s.answers()[i]);
+                            insResponse.setInt(4, s.answers()[i]);
+                            insResponse.addBatch();
+                        }
+                        for (GameResult g : s.games()) {
+                            bindGame(insGame, g);
+                            insGame.addBatch();
+                        }
+                        sessions++;
+                        responses += s.answers().length;
+                        games += s.games().size();
+                    }
+                    insSession.executeBatch();
+                    insResponse.executeBatch();
+                    insGame.executeBatch();
+                    c.commit();
+                    commits.record(System.nanoTime() - t0);
+                    written++;
+
+                    long now = System.nanoTime();
+                    if (progress != null && now - lastProgress >= 1_000_000_000L) {
+                        lastProgress = now;
+                        progress.accept(new GenerationReport(sessions, responses, games, now - start, commits.snapshot()));
+                    }
+                }
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to write synthetic population: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Population generation interrupted", e);
+        } finally {
+            pool.shutdownNow();
+        }
+        return new GenerationReport(sessions, responses, games, System.nanoTime() - start, commits.snapshot());
+    }
+
+    private static void checkProducers(List<Future<?>> futures) throws InterruptedException {
+        for (Future<?> f : futures) {
+            if (!f.isDone()) continue;
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException re) throw re;
+                throw new RuntimeException("Population generation failed: " + cause.getMessage(), cause);
+            }
+        }
+    }
+
+    private static void bindSession(PreparedStatement ps, SessionRow s) throws SQLException {
+        ps.setString(1, s.id());
+        ps.setLong(2, s.startedAt());
+        if (s.endedAt() == null) ps.setNull(3, Types.INTEGER); else ps.setLong(3, s.endedAt());
+        if (s.totalScore() == null) ps.setNull(4, Types.INTEGER); else ps.setInt(4, s.totalScore());
+        if (s.level() == null) ps.setNull(5, Types.VARCHAR); else ps.setString(5, s.level());
+    }
+
+    private static void bindGame(PreparedStatement ps, GameResult g) throws SQLException {
+        ps.setString(1, g.sessionId());
+        ps.setString(2, g.game());
+        ps.setLong(3, g.playedAt());
+        ps.setInt(4, g.trials());
+        ps.setInt(5, g.correct());
+        ps.setInt(6, g.incorrect());
+        ps.setLong(7, g.durationMs());
+    }
+
+    private List<String> loadQuestionCodes() {
+        List<String> codes = new ArrayList<>();
+        try (Connection c = Database.getConnection();
+             Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT code FROM questions ORDER BY id")) {
+            while (rs.next()) codes.add(rs.getString(1));
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to load questions: " + e.getMessage(), e);
+        }
+        if (codes.isEmpty()) throw new IllegalStateException("No questions in target database; run Database.init() first");
+        return codes;
+    }
+
+    private double[] itemDifficulties(int items) {
+        SplittableRandom rng = new SplittableRandom(spec.seed() ^ 0x5DEECE66DL);
+        double[] out = new double[items];
+        for (int i = 0; i < items; i++) out[i] = gaussian(rng);
+        return out;
+    }
+
+    private SessionRow generateSession(long index, List<String> codes, double[] difficulty) {
+        // Seeded per session so the output does not depend on which producer generated it
+        SplittableRandom rng = new SplittableRandom(spec.seed() + index * 0x9E3779B97F4A7C15L);
+        int idCounter = rng.nextInt();
+        long idRandom = rng.nextLong();
+
+        long day = rng.nextLong(spec.days());
+        double hour = Math.min(23.99, Math.max(0.0, 14.0 + 3.5 * gaussian(rng)));
+        long startedAt = spec.endEpochMs() - (day + 1) * MILLIS_PER_DAY + (long) (hour * MILLIS_PER_HOUR);
+        String id = SessionIds.of(startedAt, idCounter, idRandom);
+
+        double trait = spec.traitMean() + spec.traitSd() * gaussian(rng);
+        boolean complete = rng.nextDouble() < spec.completionRate();
+        int answered = complete ? codes.size() : 1 + rng.nextInt(Math.max(1, codes.size() - 1));
+
+        String[] sessionCodes = new String[answered];
+        int[] answers = new int[answered];
+        int total = 0;
+        for (int i = 0; i < answered; i++) {
+            double pEndorse = 1.0 / (1.0 + Math.exp(difficulty[i] - trait));
+            int answer = rng.nextDouble() < pEndorse ? (rng.nextDouble() < 0.4 ? 1 : 2) : 3;
+            sessionCodes[i] = codes.get(i);
+            answers[i] = answer;
+            total += answer;
+        }
+
+        Long endedAt = null;
+        Integer totalScore = null;
+        String level = null;
+        if (complete) {
+            // Log-normal completion time around six minutes
+            endedAt = startedAt + (long) (360_000 * Math.exp(0.4 * gaussian(rng)));
+            totalScore = total;
+            level = assessmentService.deriveLevel(total, answered);
+        }
+
+        int gameCount = poisson(rng, spec.gamesPerSession());
+        List<GameResult> games = new ArrayList<>(gameCount);
+        long playedAt = endedAt != null ? endedAt : startedAt;
+        for (int g = 0; g < gameCount; g++) {
+            String game = GAMES[rng.nextInt(GAMES.length)];
+            int trials = switch (game) {
+                case GameResult.ATTENTION -> 50;
+                case GameResult.MATCHING -> 20 + rng.nextInt(21);
+                default -> 20;
+            };
+            double accuracy = Math.min(0.99, Math.max(0.2, 0.85 - 0.05 * trait + 0.08 * gaussian(rng)));
+            int correct = (int) Math.round(accuracy * trials);
+            long durationMs = switch (game) {
+                case GameResult.ATTENTION -> 100_000L;
+                case GameResult.MATCHING -> 60_000L + rng.nextLong(120_000L);
+                default -> 40_000L + rng.nextLong(80_000L);
+            };
+            playedAt += 30_000L + rng.nextLong(300_000L);
+            games.add(new GameResult(id, game, playedAt, trials, correct, trials - correct, durationMs));
+            playedAt += durationMs;
+        }
+        return new SessionRow(id, startedAt, endedAt, totalScore, level, sessionCodes, answers, games);
+    }
+
+    private static double gaussian(SplittableRandom rng) {
+        // Box–Muller; SplittableRandom has no nextGaussian on Java 17
+        double u = 1.0 - rng.nextDouble();
+        double v = rng.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+
+    private static int poisson(SplittableRandom rng, double mean) {
+        if (mean <= 0) return 0;
+        double limit = Math.exp(-mean);
+        double p = rng.nextDouble();
+        int k = 0;
+        while (p > limit) {
+            p *= rng.nextDouble();
+            k++;
+        }
+        return k;
+    }
+}
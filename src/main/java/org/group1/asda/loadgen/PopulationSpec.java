@@ -0,0 +1,59 @@
+package org.group1.asda.loadgen;
+
+/**
+ * Shape of a synthetic population.
+ *
+ * Each session draws a latent trait from N({@code traitMean}, {@code traitSd}); an item is endorsed
+ * (answer 1 or 2) with probability {@code 1 / (1 + e^(difficulty - trait))}, where item difficulties are
+ * fixed per seed. Higher traits therefore give lower totals, i.e. more "Elevated" levels.
+ *
+ * @param sessions        number of sessions to create
+ * @param seed            seed for every random draw; the same seed yields the same rows regardless of thread count
+ * @param endEpochMs      latest possible session start
+ * @param days            sessions start uniformly over the {@code days} before {@code endEpochMs}, mostly in daytime
+ * @param completionRate  fraction of sessions that answer every item and are scored; the rest stop part-way
+ * @param traitMean       mean of the latent trait
+ * @param traitSd         standard deviation of the latent trait
+ * @param gamesPerSession mean number of game results per session (Poisson)
+ */
+public record PopulationSpec(long sessions, long seed, long endEpochMs, int days, double completionRate,
+                             double traitMean, double traitSd, double gamesPerSession) {
+
+    public PopulationSpec {
+        if (sessions < 0) throw new IllegalArgumentException("Sessions must not be negative: " + sessions);
+        if (days < 1) throw new IllegalArgumentException("Days must be at least 1: " + days);
+        if (completionRate < 0 || completionRate > 1) {
+            throw new IllegalArgumentException("Completion rate must be between 0 and 1: " + completionRate);
+        }
+        if (traitSd < 0) throw new IllegalArgumentException("Trait sd must not be negative: " + traitSd);
+        if (gamesPerSession < 0) throw new IllegalArgumentException("Games per session must not be negative: " + gamesPerSession);
+    }
+
+    public static PopulationSpec defaults(long sessions) {
+        return new PopulationSpec(sessions, 42L, System.currentTimeMillis(), 365, 0.9, -1.0, 1.0, 1.5);
+    }
+
+    public PopulationSpec withSeed(long seed) {
+        return new PopulationSpec(sessions, seed, endEpochMs, days, completionRate, traitMean, traitSd, gamesPerSession);
+    }
+
+    public PopulationSpec withEndEpochMs(long endEpochMs) {
+        return new PopulationSpec(sessions, seed, endEpochMs, days, completionRate, traitMean, traitSd, gamesPerSession);
+    }
+
+    public PopulationSpec withDays(int days) {
+        return new PopulationSpec(sessions, seed, endEpochMs, days, completionRate, traitMean, traitSd, gamesPerSession);
+    }
+
+    public PopulationSpec withCompletionRate(double completionRate) {
+        return new PopulationSpec(sessions, seed, endEpochMs, days, completionRate, traitMean, traitSd, gamesPerSession);
+    }
+
+    public PopulationSpec withTrait(double traitMean, double traitSd) {
+        return new PopulationSpec(sessions, seed, endEpochMs, days, completionRate, traitMean, traitSd, gamesPerSession);
+    }
+
+    public PopulationSpec withGamesPerSession(double gamesPerSession) {
+        return new PopulationSpec(sessions, seed, endEpochMs, days, completionRate, traitMean, traitSd, gamesPerSession);
+    }
+}
@@ -0,0 +1,24 @@
+package org.group1.asda.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Monotonic event counter, cheap to update from any thread. */
+public final class Counter {
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long n) {
+        value.add(n);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    void reset() {
+        value.reset();
+    }
+}
@@ -0,0 +1,16 @@
+package org.group1.asda.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.group1.asda.DbCall")
+@Label("Database Call")
+@Category({"ASDA"})
+@Description("DAO or service call including connection setup")
+final class DbCallEvent extends Event {
+    @Label("Operation")
+    String operation;
+}
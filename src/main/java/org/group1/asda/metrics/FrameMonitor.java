@@ -0,0 +1,198 @@
+package org.group1.asda.metrics;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Watches the JavaFX application thread for stalls.
+ *
+ * While running it measures the interval between pulses with an {@link AnimationTimer}, the delay of
+ * {@code Platform.runLater} probes posted every {@value #PROBE_INTERVAL_MS} ms, and GC pauses reported by
+ * the collector MXBeans. Pulses further apart than the long-frame threshold are remembered so games can
+ * flag trials whose stimulus was on screen during a stall ({@link #overlapsLongFrame}).
+ *
+ * There is one monitor per process because all seats share the FX thread. Games record a play-through
+ * with their seat's {@link FrameRecorder}, which also writes the per-session histograms to
+ * {@code asda.fx.framesDir} (default {@code frame-stats}).
+ * Thresholds: {@code -Dasda.fx.longFrameMs=50}. {@code -Dasda.fx.monitor=true} starts monitoring at launch;
+ * otherwise it starts the first time the overlay is shown.
+ *
+ * Pulse methods must be called on the FX thread.
+ */
+public final class FrameMonitor {
+    private static final FrameMonitor INSTANCE = new FrameMonitor(
+            Math.max(1, Long.getLong("asda.fx.longFrameMs", 50)) * 1_000_000L);
+
+    static final long PROBE_INTERVAL_MS = 100;
+    private static final int LONG_FRAME_HISTORY = 64;
+
+    private final long longFrameNanos;
+
+    // Recent long frames as [start, end) in System.nanoTime() units, ring buffer
+    private final long[] longFrameStart = new long[LONG_FRAME_HISTORY];
+    private final long[] longFrameEnd = new long[LONG_FRAME_HISTORY];
+    private int longFrameNext;
+    private long lastPulse;
+
+    private final AtomicBoolean probePending = new AtomicBoolean();
+    private AnimationTimer pulseTimer;
+    private ScheduledExecutorService prober;
+    private NotificationListener gcListener;
+    private boolean running;
+
+    // Recorders with a session in progress; GC pauses are delivered on a notification thread
+    private final List<FrameRecorder> recording = new CopyOnWriteArrayList<>();
+
+    FrameMonitor(long longFrameNanos) {
+        this.longFrameNanos = longFrameNanos;
+    }
+
+    public static FrameMonitor get() {
+        return INSTANCE;
+    }
+
+    /** A recorder for one seat's game sessions. */
+    public FrameRecorder newRecorder() {
+        return new FrameRecorder(this);
+    }
+
+    public long getLongFrameNanos() {
+        return longFrameNanos;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Starts pulse, probe and GC monitoring. No-op when already running. */
+    public void start() {
+        if (running) return;
+        running = true;
+        lastPulse = 0;
+        pulseTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                // Pulse timestamps are not guaranteed to share a clock with System.nanoTime()
+                onPulse(System.nanoTime());
+            }
+        };
+        pulseTimer.start();
+
+        prober = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "fx-latency-probe");
+            t.setDaemon(true);
+            return t;
+        });
+        prober.scheduleAtFixedRate(this::postProbe, PROBE_INTERVAL_MS, PROBE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        gcListener = this::onGcNotification;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(gcListener, null, null);
+            }
+        }
+    }
+
+    public void stop() {
+        if (!running) return;
+        running = false;
+        pulseTimer.stop();
+        prober.shutdownNow();
+        lastPulse = 0;
+        Arrays.fill(longFrameStart, 0);
+        Arrays.fill(longFrameEnd, 0);
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (gc instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(gcListener);
+                } catch (Exception ignored) {
+                    // Listener was never registered on this bean
+                }
+            }
+        }
+    }
+
+    void onPulse(long nowNanos) {
+        if (lastPulse != 0) {
+            long interval = nowNanos - lastPulse;
+            Metrics.timer("ui.fx.pulse").record(interval);
+            boolean longFrame = interval >= longFrameNanos;
+            for (FrameRecorder recorder : recording) recorder.onPulse(interval, longFrame);
+            if (longFrame) {
+                Metrics.counter("ui.fx.longFrames").increment();
+                longFrameStart[longFrameNext] = lastPulse;
+                longFrameEnd[longFrameNext] = nowNanos;
+                longFrameNext = (longFrameNext + 1) % LONG_FRAME_HISTORY;
+            }
+        }
+        lastPulse = nowNanos;
+    }
+
+    void onProbe(long latencyNanos) {
+        Metrics.timer("ui.fx.runLater").record(latencyNanos);
+        for (FrameRecorder recorder : recording) recorder.onProbe(latencyNanos);
+    }
+
+    void onGcPause(long pauseNanos) {
+        Metrics.timer("jvm.gc.pause").record(pauseNanos);
+        for (FrameRecorder recorder : recording) recorder.onGcPause(pauseNanos);
+    }
+
+    private void postProbe() {
+        // Keep at most one probe in flight so a stalled FX thread is not flooded
+        if (!probePending.compareAndSet(false, true)) return;
+        long posted = System.nanoTime();
+        Platform.runLater(() -> {
+            probePending.set(false);
+            onProbe(System.nanoTime() - posted);
+        });
+    }
+
+    private void onGcNotification(Notification n, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(n.getType())) return;
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) n.getUserData());
+        // Concurrent collectors also report whole background cycles, which do not stop the FX thread
+        if (info.getGcAction().contains("cycle")) return;
+        onGcPause(info.getGcInfo().getDuration() * 1_000_000L);
+    }
+
+    /**
+     * True if a long frame overlapped {@code [startNanos, endNanos]}, including a stall still in progress.
+     * Only the most recent {@value #LONG_FRAME_HISTORY} long frames are remembered. Always false once stopped.
+     */
+    public boolean overlapsLongFrame(long startNanos, long endNanos) {
+        if (lastPulse != 0 && endNanos - lastPulse >= longFrameNanos && endNanos > startNanos) {
+            return true;
+        }
+        for (int i = 0; i < LONG_FRAME_HISTORY; i++) {
+            long s = longFrameStart[i];
+            long e = longFrameEnd[i];
+            if (s == 0 && e == 0) continue;
+            if (s < endNanos && e > startNanos) return true;
+        }
+        return false;
+    }
+
+    void attach(FrameRecorder recorder) {
+        if (!recording.contains(recorder)) recording.add(recorder);
+    }
+
+    void detach(FrameRecorder recorder) {
+        recording.remove(recorder);
+    }
+}
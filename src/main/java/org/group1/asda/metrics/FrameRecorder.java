@@ -0,0 +1,86 @@
+package org.group1.asda.metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-seat frame statistics of one game at a time, fed by the process-wide {@link FrameMonitor}.
+ *
+ * Each seat owns a recorder so two games played side by side keep their own histograms and flagged
+ * trials. Between {@link #beginSession} and {@link #endSession} the recorder is attached to the monitor
+ * and receives every pulse, probe and GC pause; all seats share one FX thread, so each session sees the
+ * same stalls. Session methods must be called on the FX thread.
+ */
+public final class FrameRecorder {
+    private final FrameMonitor monitor;
+
+    private String sessionName;
+    private Instant sessionStartedAt;
+    private long sessionStartNanos;
+    private long sessionLongFrames;
+    private LatencyHistogram sessionPulses = new LatencyHistogram();
+    private LatencyHistogram sessionProbes = new LatencyHistogram();
+    private volatile LatencyHistogram sessionGc = new LatencyHistogram();
+    private final List<Integer> sessionFlagged = new ArrayList<>();
+
+    FrameRecorder(FrameMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /** Starts collecting per-session histograms, replacing any unfinished session of this recorder. */
+    public void beginSession(String name) {
+        sessionName = name;
+        sessionStartedAt = Instant.now();
+        sessionStartNanos = System.nanoTime();
+        sessionLongFrames = 0;
+        sessionPulses = new LatencyHistogram();
+        sessionProbes = new LatencyHistogram();
+        sessionGc = new LatencyHistogram();
+        sessionFlagged.clear();
+        monitor.attach(this);
+    }
+
+    /** Records that a trial of the current session overlapped a long frame. */
+    public void flagTrial(int trial) {
+        Metrics.counter("ui.fx.flaggedTrials").increment();
+        sessionFlagged.add(trial);
+    }
+
+    /**
+     * Closes the current session. When monitoring is running the histograms are also written to
+     * {@code asda.fx.framesDir}.
+     * @return the session, or null if none was started
+     */
+    public FrameSession endSession() {
+        if (sessionName == null) return null;
+        monitor.detach(this);
+        FrameSession session = new FrameSession(sessionName, sessionStartedAt, System.nanoTime() - sessionStartNanos,
+                monitor.getLongFrameNanos(), sessionLongFrames, sessionPulses, sessionProbes, sessionGc,
+                List.copyOf(sessionFlagged));
+        sessionName = null;
+        if (monitor.isRunning()) {
+            try {
+                session.writeCsv(Path.of(System.getProperty("asda.fx.framesDir", "frame-stats")));
+            } catch (IOException e) {
+                System.err.println("Failed to write frame statistics: " + e.getMessage());
+            }
+        }
+        return session;
+    }
+
+    void onPulse(long interval, boolean longFrame) {
+        sessionPulses.record(interval);
+        if (longFrame) sessionLongFrames++;
+    }
+
+    void onProbe(long latencyNanos) {
+        sessionProbes.record(latencyNanos);
+    }
+
+    void onGcPause(long pauseNanos) {
+        sessionGc.record(pauseNanos);
+    }
+}
@@ -0,0 +1,57 @@
+package org.group1.asda.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Frame timing recorded by {@link FrameMonitor} while one game was played.
+ *
+ * @param pulseIntervals  time between consecutive FX pulses, nanoseconds
+ * @param runLaterLatency delay between posting a {@code Platform.runLater} probe and it running, nanoseconds
+ * @param gcPauses        GC pause durations, nanoseconds
+ * @param flaggedTrials   trials whose stimulus overlapped a long frame
+ */
+public record FrameSession(String name, Instant startedAt, long durationNanos, long longFrameNanos, long longFrames,
+                           LatencyHistogram pulseIntervals, LatencyHistogram runLaterLatency,
+                           LatencyHistogram gcPauses, List<Integer> flaggedTrials) {
+
+    private static final DateTimeFormatter FILE_TIME =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss", Locale.ROOT).withZone(ZoneOffset.UTC);
+
+    /**
+     * Writes {@code frames-<name>-<utc time>.csv} into {@code dir}: a commented summary followed by
+     * one row per non-empty histogram bucket.
+     * @return the file written
+     */
+    public Path writeCsv(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Path file = dir.resolve("frames-" + name + "-" + FILE_TIME.format(startedAt) + ".csv");
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write(String.format(Locale.ROOT, "# session=%s started=%s duration_ms=%.1f long_frame_ms=%.1f long_frames=%d%n",
+                    name, startedAt, durationNanos / 1e6, longFrameNanos / 1e6, longFrames));
+            w.write("# flagged_trials=" + flaggedTrials + "\n");
+            w.write("series,bucket_low_us,bucket_high_us,count\n");
+            writeBuckets(w, "pulse_interval", pulseIntervals);
+            writeBuckets(w, "runlater_latency", runLaterLatency);
+            writeBuckets(w, "gc_pause", gcPauses);
+        }
+        return file;
+    }
+
+    private static void writeBuckets(Writer w, String series, LatencyHistogram h) throws IOException {
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long n = h.countAt(i);
+            if (n == 0) continue;
+            w.write(String.format(Locale.ROOT, "%s,%.1f,%.1f,%d%n", series,
+                    LatencyHistogram.lowestEquivalent(i) / 1e3, LatencyHistogram.highestEquivalent(i) / 1e3, n));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.group1.asda.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.group1.asda.FxmlLoad")
+@Label("FXML Load")
+@Category({"ASDA"})
+@Description("FXMLLoader.load of one view")
+final class FxmlLoadEvent extends Event {
+    @Label("Path")
+    String path;
+}
@@ -0,0 +1,22 @@
+package org.group1.asda.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.group1.asda.GameTrial")
+@Label("Game Trial")
+@Category({"ASDA"})
+@Description("One trial of a cognitive game, from stimulus onset to scoring")
+final class GameTrialEvent extends Event {
+    @Label("Game")
+    String game;
+
+    @Label("Trial")
+    int trial;
+
+    @Label("Correct")
+    boolean correct;
+}
@@ -0,0 +1,16 @@
+package org.group1.asda.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.group1.asda.ImageDecode")
+@Label("Image Decode")
+@Category({"ASDA"})
+@Description("Decode of a stimulus or shape image")
+final class ImageDecodeEvent extends Event {
+    @Label("Path")
+    String path;
+}
@@ -0,0 +1,100 @@
+package org.group1.asda.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent log-linear histogram of non-negative values (typically nanoseconds), in the style of
+ * HdrHistogram: every power-of-two range is split into {@value #SUB_BUCKETS} linear sub-buckets, so
+ * any recorded value is reported with at most 1/16 (~6%) relative error while the whole range of a
+ * {@code long} fits in a fixed 960-slot array. Recording is lock-free and allocation-free.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** Summary of a histogram at one point in time. */
+    public record Snapshot(long count, double mean, long p50, long p90, long p99, long max) {}
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(indexOf(value));
+        total.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        return total.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = total.sum();
+        return n == 0 ? 0.0 : sum.sum() / (double) n;
+    }
+
+    /**
+     * Value at the given percentile (0-100) using nearest rank. Returns the highest value that shares
+     * a bucket with the ranked sample, capped at the recorded maximum; 0 when empty.
+     */
+    public long valueAtPercentile(double percentile) {
+        long n = total.sum();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestEquivalent(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(getCount(), getMean(), valueAtPercentile(50), valueAtPercentile(90),
+                valueAtPercentile(99), getMax());
+    }
+
+    long countAt(int index) {
+        return counts.get(index);
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) counts.set(i, 0);
+        total.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) ((value >>> (exp - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return SUB_BUCKETS + (exp - SUB_BUCKET_BITS) * SUB_BUCKETS + sub;
+    }
+
+    static long lowestEquivalent(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exp = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + sub) << (exp - SUB_BUCKET_BITS);
+    }
+
+    static long highestEquivalent(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exp = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        return lowestEquivalent(index) + (1L << (exp - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,101 @@
+package org.group1.asda.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of named counters and timers.
+ *
+ * Hot paths use the scope factories, e.g.
+ * <pre>
+ * return Metrics.dbCall("SessionDao.startSession").call(() -> { ... });
+ * </pre>
+ * which time the block into {@code db.SessionDao.startSession} and emit an {@code org.group1.asda.DbCall}
+ * Flight Recorder event. Events cost next to nothing unless a recording is running
+ * (e.g. {@code -XX:StartFlightRecording=filename=asda.jfr}).
+ *
+ * {@link #format()} renders the current values; {@link MetricsReporter} appends them to a rolling file.
+ */
+public final class Metrics {
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    private Metrics() {}
+
+    public static Counter counter(String name) {
+        return COUNTERS.computeIfAbsent(name, k -> new Counter());
+    }
+
+    public static Timer timer(String name) {
+        return TIMERS.computeIfAbsent(name, k -> new Timer());
+    }
+
+    public static Scope time(String name) {
+        return new Scope(timer(name), null);
+    }
+
+    public static Scope dbCall(String operation) {
+        DbCallEvent event = new DbCallEvent();
+        event.operation = operation;
+        return new Scope(timer("db." + operation), event);
+    }
+
+    public static Scope navigation(String screen) {
+        NavigationEvent event = new NavigationEvent();
+        event.screen = screen;
+        return new Scope(timer("ui.navigate." + screen), event);
+    }
+
+    public static Scope fxmlLoad(String path) {
+        FxmlLoadEvent event = new FxmlLoadEvent();
+        event.path = path;
+        return new Scope(timer("ui.fxml.load"), event);
+    }
+
+    public static Scope imageDecode(String path) {
+        ImageDecodeEvent event = new ImageDecodeEvent();
+        event.path = path;
+        return new Scope(timer("ui.image.decode"), event);
+    }
+
+    public static TrialScope gameTrial(String game, int trial) {
+        GameTrialEvent event = new GameTrialEvent();
+        event.game = game;
+        event.trial = trial;
+        return new TrialScope(game, timer("game." + game + ".trial"), event);
+    }
+
+    /** Counter values by name, sorted. */
+    public static Map<String, Long> counterValues() {
+        Map<String, Long> out = new TreeMap<>();
+        COUNTERS.forEach((name, c) -> out.put(name, c.get()));
+        return out;
+    }
+
+    /** Timer snapshots by name, sorted; durations are in nanoseconds. */
+    public static Map<String, LatencyHistogram.Snapshot> timerSnapshots() {
+        Map<String, LatencyHistogram.Snapshot> out = new TreeMap<>();
+        TIMERS.forEach((name, t) -> out.put(name, t.getHistogram().snapshot()));
+        return out;
+    }
+
+    /** Human-readable dump of every metric, timers in milliseconds. */
+    public static String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("COUNTERS\n");
+        counterValues().forEach((name, v) -> sb.append(String.format(Locale.ROOT, "  %-40s %d%n", name, v)));
+        sb.append("TIMERS (ms)\n");
+        timerSnapshots().forEach((name, s) -> sb.append(String.format(Locale.ROOT,
+                "  %-40s n=%-7d mean=%9.3f p50=%9.3f p90=%9.3f p99=%9.3f max=%9.3f%n", name, s.count(),
+                s.mean() / 1e6, s.p50() / 1e6, s.p90() / 1e6, s.p99() / 1e6, s.max() / 1e6)));
+        return sb.toString();
+    }
+
+    /** Clears every registered metric; used by tests. */
+    static void reset() {
+        COUNTERS.values().forEach(Counter::reset);
+        TIMERS.values().forEach(Timer::reset);
+    }
+}
@@ -0,0 +1,93 @@
+package org.group1.asda.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically appends every metric to a CSV file on a daemon thread. When the file grows past
+ * {@code maxBytes} it is renamed to {@code <file>.1} (replacing the previous one) and a new file is started.
+ *
+ * Columns: {@code timestamp,name,type,count,mean_us,p50_us,p90_us,p99_us,max_us}. Counters only fill
+ * {@code count}. Values are cumulative since startup.
+ *
+ * Configured with system properties:
+ * {@code -Dasda.metrics.file=asda-metrics.csv} (enables the reporter),
+ * {@code -Dasda.metrics.intervalSec=60} and {@code -Dasda.metrics.maxBytes=1048576}.
+ */
+public final class MetricsReporter implements AutoCloseable {
+    static final String HEADER = "timestamp,name,type,count,mean_us,p50_us,p90_us,p99_us,max_us\n";
+
+    private final Path file;
+    private final long maxBytes;
+    private final ScheduledExecutorService scheduler;
+
+    public MetricsReporter(Path file, long intervalSeconds, long maxBytes) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::reportQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Starts a reporter if {@code asda.metrics.file} is set, otherwise returns null.
+     */
+    public static MetricsReporter fromSystemProperties() {
+        String file = System.getProperty("asda.metrics.file");
+        if (file == null || file.isBlank()) return null;
+        long interval = Math.max(1, Long.getLong("asda.metrics.intervalSec", 60));
+        long maxBytes = Math.max(1024, Long.getLong("asda.metrics.maxBytes", 1 << 20));
+        return new MetricsReporter(Path.of(file.trim()), interval, maxBytes);
+    }
+
+    /** Appends the current values now, rolling the file first if it is over the size limit. */
+    public synchronized void report() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        if (Files.exists(file) && Files.size(file) >= maxBytes) {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        }
+        boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+        String ts = Instant.now().toString();
+        try (Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (fresh) w.write(HEADER);
+            for (var e : Metrics.counterValues().entrySet()) {
+                w.write(ts + "," + e.getKey() + ",counter," + e.getValue() + ",,,,,\n");
+            }
+            for (var e : Metrics.timerSnapshots().entrySet()) {
+                LatencyHistogram.Snapshot s = e.getValue();
+                w.write(String.format(Locale.ROOT, "%s,%s,timer,%d,%.1f,%.1f,%.1f,%.1f,%.1f%n", ts, e.getKey(),
+                        s.count(), s.mean() / 1e3, s.p50() / 1e3, s.p90() / 1e3, s.p99() / 1e3, s.max() / 1e3));
+            }
+        }
+    }
+
+    private void reportQuietly() {
+        try {
+            report();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to write metrics: " + e.getMessage());
+        }
+    }
+
+    /** Stops the schedule and writes a final report. */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        reportQuietly();
+    }
+}
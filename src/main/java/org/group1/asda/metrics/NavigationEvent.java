@@ -0,0 +1,16 @@
+package org.group1.asda.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.group1.asda.Navigation")
+@Label("Navigation")
+@Category({"ASDA"})
+@Description("Router screen change, including FXML load and controller initialization")
+final class NavigationEvent extends Event {
+    @Label("Screen")
+    String screen;
+}
@@ -0,0 +1,73 @@
+package org.group1.asda.metrics;
+
+import jdk.jfr.Event;
+
+/**
+ * A timed region: records its duration into a {@link Timer} and commits the matching Flight Recorder
+ * event when closed. Either time a body with {@link #call} or {@link #run}, or use the scope in
+ * try-with-resources when the body needs it, e.g. for {@link #elapsedNanos()}; see the factory methods on
+ * {@link Metrics}.
+ */
+public class Scope implements AutoCloseable {
+    /** A timed body that returns a value and may throw the checked exception of the code it wraps. */
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /** A timed body without a result. */
+    @FunctionalInterface
+    public interface Run<E extends Exception> {
+        void run() throws E;
+    }
+
+    private final Timer timer;
+    private final Event event;
+    private final long startNanos;
+    private boolean closed;
+
+    Scope(Timer timer, Event event) {
+        this.timer = timer;
+        this.event = event;
+        if (event != null) event.begin();
+        this.startNanos = System.nanoTime();
+    }
+
+    /** Nanoseconds since the scope was opened. */
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /** Runs {@code body}, then closes this scope. */
+    public <T, E extends Exception> T call(Call<T, E> body) throws E {
+        try {
+            return body.call();
+        } finally {
+            close();
+        }
+    }
+
+    /** Runs {@code body}, then closes this scope. */
+    public <E extends Exception> void run(Run<E> body) throws E {
+        try {
+            body.run();
+        } finally {
+            close();
+        }
+    }
+
+    Event event() {
+        return event;
+    }
+
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        timer.record(System.nanoTime() - startNanos);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) event.commit();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.group1.asda.metrics;
+
+import javafx.animation.AnimationTimer;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Cold-start milestones, measured from JVM start: the first frame of the loading screen ({@code firstFrame})
+ * and the first pulse after the screen that follows loading has been shown ({@code home}).
+ *
+ * Each milestone is recorded once into the {@code startup.<milestone>} timer. With
+ * {@code -Dasda.startup.trace=true} it is also printed as {@code [startup] <milestone> <ms> ms}, which is what
+ * the startup benchmark reads.
+ *
+ * Must be called on the FX thread.
+ */
+public final class StartupTrace {
+    private static final long JVM_START_MS = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static final boolean PRINT = Boolean.getBoolean("asda.startup.trace");
+
+    private StartupTrace() {}
+
+    /** Records {@code milestone} at the next pulse, then runs {@code then}. */
+    public static void atNextPulse(String milestone, Runnable then) {
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                stop();
+                long ms = System.currentTimeMillis() - JVM_START_MS;
+                Metrics.timer("startup." + milestone).record(ms * 1_000_000L);
+                if (PRINT) System.out.println("[startup] " + milestone + " " + ms + " ms");
+                then.run();
+            }
+        }.start();
+    }
+}
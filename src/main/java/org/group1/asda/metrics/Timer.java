@@ -0,0 +1,27 @@
+package org.group1.asda.metrics;
+
+/** Records durations in nanoseconds into a {@link LatencyHistogram}. */
+public final class Timer {
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    public void record(long nanos) {
+        histogram.record(nanos);
+    }
+
+    /** Records the time elapsed since {@code startNanos}, a value taken from {@link System#nanoTime()}. */
+    public void recordSince(long startNanos) {
+        histogram.record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    void reset() {
+        histogram.reset();
+    }
+}
@@ -0,0 +1,20 @@
+package org.group1.asda.metrics;
+
+/**
+ * Timed game trial. Call {@link #finish(boolean)} once the outcome is known; the trial duration goes
+ * to the game's trial timer and the outcome to its correct/incorrect counters.
+ */
+public final class TrialScope extends Scope {
+    private final String game;
+
+    TrialScope(String game, Timer timer, GameTrialEvent event) {
+        super(timer, event);
+        this.game = game;
+    }
+
+    public void finish(boolean correct) {
+        ((GameTrialEvent) event()).correct = correct;
+        Metrics.counter("game." + game + (correct ? ".correct" : ".incorrect")).increment();
+        close();
+    }
+}
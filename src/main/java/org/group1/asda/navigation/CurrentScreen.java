@@ -0,0 +1,42 @@
+package org.group1.asda.navigation;
+
+/**
+ * The screen a {@link Router} shows: its controller, background tasks and registered resources. Kept apart
+ * from the scene graph so the navigation lifecycle can be exercised without a JavaFX toolkit.
+ */
+final class CurrentScreen {
+    private Object controller;
+    private ScreenTasks tasks = new ScreenTasks();
+    private ScreenResources resources = new ScreenResources();
+
+    ScreenTasks tasks() {
+        return tasks;
+    }
+
+    ScreenResources resources() {
+        return resources;
+    }
+
+    /**
+     * Leaves the current screen: calls {@link ScreenLifecycle#onHide}, cancels its tasks, releases its
+     * resources and starts fresh sets for the next controller.
+     * @return disposes the left controller; run it once its view is out of the scene
+     */
+    Runnable leave() {
+        Object previous = controller;
+        controller = null;
+        ScreenLifecycle lifecycle = previous instanceof ScreenLifecycle l ? l : null;
+        if (lifecycle != null) lifecycle.onHide();
+        tasks.cancelAll();
+        tasks = new ScreenTasks();
+        resources.releaseAll();
+        resources = new ScreenResources();
+        return lifecycle == null ? () -> {} : lifecycle::dispose;
+    }
+
+    /** Makes {@code next} (possibly null for a placeholder view) the current controller. */
+    void enter(Object next) {
+        controller = next;
+        if (next instanceof ScreenLifecycle l) l.onShow();
+    }
+}
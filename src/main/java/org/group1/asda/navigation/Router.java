@@ -5,174 +5,185 @@ import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 import javafx.util.Duration;
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.ui.perf.PerformanceOverlay;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class Router {
-    private static Router INSTANCE;
+    // Shows every counter and timer in the performance overlay; see Metrics
+    private static final KeyCombination METRICS_DUMP =
+            new KeyCodeCombination(KeyCode.M, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN);
+    private static final KeyCombination PERF_OVERLAY =
+            new KeyCodeCombination(KeyCode.P, KeyCombination.SHORTCUT_DOWN, KeyCombination.SHIFT_DOWN);
+
+    private static final Map<String, String> VIEWS = new LinkedHashMap<>();
+
+    static {
+        VIEWS.put("home", "/fxml/home.fxml");
+        VIEWS.put("loading", "/fxml/loading.fxml");
+        VIEWS.put("disclaimer", "/fxml/disclosure.fxml");
+        VIEWS.put("questionnaire-intro", "/fxml/questionnaire-intro.fxml");
+        VIEWS.put("questionnaire", "/fxml/questionnaire.fxml");
+        VIEWS.put("results", "/fxml/results.fxml");
+        VIEWS.put("matching-game-tutorial", "/fxml/matching-game-tutorial.fxml");
+        VIEWS.put("matching-game", "/fxml/matching-game.fxml");
+        VIEWS.put("matching-game-results", "/fxml/matching-game-results.fxml");
+        VIEWS.put("attention-game-tutorial", "/fxml/attention-game-tutorial.fxml");
+        VIEWS.put("attention-game", "/fxml/attention-game.fxml");
+        VIEWS.put("attention-game-results", "/fxml/attention-game-results.fxml");
+        VIEWS.put("emotional-survey", "/fxml/emotional-survey.fxml");
+        VIEWS.put("emotional-survey-results", "/fxml/emotional-survey-results.fxml");
+        VIEWS.put("emotion-recognition", "/fxml/emotion-recognition.fxml");
+        VIEWS.put("emotion-recognition-results", "/fxml/emotion-recognition-results.fxml");
+    }
+
     private final Stage stage;
+    private final Seat seat;
     private final StackPane root = new StackPane();
+    private final PerformanceOverlay perfOverlay = new PerformanceOverlay();
+    private final CurrentScreen screen = new CurrentScreen();
 
-    public static Router getInstance() { return INSTANCE; }
-
-    public Router(Stage stage) {
-        INSTANCE = this;
+    /**
+     * Navigation for one seat's stage. Controllers of the views it loads are created with their
+     * {@code (Seat)} constructor if they have one, otherwise with their no-argument constructor.
+     */
+    Router(Stage stage, Seat seat) {
         this.stage = stage;
-        Scene scene = new Scene(root, 1024, 680);
-
-        // Load stylesheets
-        URL base = getClass().getResource("/css/base.css");
-        URL theme = getClass().getResource("/css/theme-light.css");
-        URL home = getClass().getResource("/css/home.css");
-        URL assessment = getClass().getResource("/css/assessment.css");
-        URL loading = getClass().getResource("/css/loading.css");
-        URL disclosure = getClass().getResource("/css/disclosure.css");
-        URL questionnaireIntro = getClass().getResource("/css/questionnaire-intro.css");
-        URL results = getClass().getResource("/css/results.css");
-        URL attentionGameTutorial = getClass().getResource("/css/attention-game-tutorial.css");
-        URL attentionGame = getClass().getResource("/css/attention-game.css");
-        URL attentionGameResults = getClass().getResource("/css/attention-game-results.css");
-        URL matchingGameTutorial = getClass().getResource("/css/matching-game-tutorial.css");
-        URL matchingGame = getClass().getResource("/css/matching-game.css");
-        URL matchingGameResults = getClass().getResource("/css/matching-game-results.css");
-        URL emotionalSurvey = getClass().getResource("/css/emotional-survey.css");
-        URL emotionRecognition = getClass().getResource("/css/emotion-recognition.css");
-        URL emotionRecognitionResults = getClass().getResource("/css/emotion-recognition-results.css");
-        URL emotionalSurveyResults = getClass().getResource("/css/emotional-survey-results.css");
-
-        if (base != null) scene.getStylesheets().add(base.toExternalForm());
-        if (theme != null) scene.getStylesheets().add(theme.toExternalForm());
-        if (home != null) scene.getStylesheets().add(home.toExternalForm());
-        if (assessment != null) scene.getStylesheets().add(assessment.toExternalForm());
-        if (loading != null) scene.getStylesheets().add(loading.toExternalForm());
-        if (disclosure != null) scene.getStylesheets().add(disclosure.toExternalForm());
-        if (questionnaireIntro != null) scene.getStylesheets().add(questionnaireIntro.toExternalForm());
-        if (results != null) scene.getStylesheets().add(results.toExternalForm());
-        if (attentionGameTutorial != null) scene.getStylesheets().add(attentionGameTutorial.toExternalForm());
-        if (attentionGame != null) scene.getStylesheets().add(attentionGame.toExternalForm());
-        if (attentionGameResults != null) scene.getStylesheets().add(attentionGameResults.toExternalForm());
-        if (matchingGameTutorial != null) scene.getStylesheets().add(matchingGameTutorial.toExternalForm());
-        if (matchingGame != null) scene.getStylesheets().add(matchingGame.toExternalForm());
-        if (matchingGameResults != null) scene.getStylesheets().add(matchingGameResults.toExternalForm());
-        if (emotionalSurvey != null) scene.getStylesheets().add(emotionalSurvey.toExternalForm());
-        if (emotionRecognition != null) scene.getStylesheets().add(emotionRecognition.toExternalForm());
-        if (emotionRecognitionResults != null) scene.getStylesheets().add(emotionRecognitionResults.toExternalForm());
-        if (emotionalSurveyResults != null) scene.getStylesheets().add(emotionalSurveyResults.toExternalForm());
+        this.seat = seat;
+        // Screens are swapped inside root; the overlay sits on a layer above so navigation never removes it
+        Scene scene = new Scene(new StackPane(root, perfOverlay), 1024, 680);
+        scene.getStylesheets().setAll(SharedResources.stylesheets());
+
+        scene.getAccelerators().put(METRICS_DUMP, perfOverlay::toggleMetrics);
+        scene.getAccelerators().put(PERF_OVERLAY, perfOverlay::toggle);
 
         stage.setScene(scene);
     }
 
-    public void goTo(String screen) {
-        Parent view = switch (screen) {
-            case "home" -> load("/fxml/home.fxml");
-            case "loading" -> load("/fxml/loading.fxml");
-            case "disclaimer" -> load("/fxml/disclosure.fxml");
-            case "questionnaire-intro" -> load("/fxml/questionnaire-intro.fxml");
-            case "questionnaire" -> load("/fxml/questionnaire.fxml");
-            case "results" -> load("/fxml/results.fxml");
-            case "matching-game-tutorial" -> load("/fxml/matching-game-tutorial.fxml");
-            case "matching-game" -> load("/fxml/matching-game.fxml");
-            case "matching-game-results" -> load("/fxml/matching-game-results.fxml");
-            case "attention-game-tutorial" -> load("/fxml/attention-game-tutorial.fxml");
-            case "attention-game" -> load("/fxml/attention-game.fxml");
-            case "attention-game-results" -> load("/fxml/attention-game-results.fxml");
-            case "emotional-survey" -> load("/fxml/emotional-survey.fxml");
-            case "emotional-survey-results" -> load("/fxml/emotional-survey-results.fxml");
-            case "emotion-recognition" -> load("/fxml/emotion-recognition.fxml");
-            case "emotion-recognition-results" -> load("/fxml/emotion-recognition-results.fxml");
-            default -> new Label("Unknown screen: " + screen);
-        };
-        if (root.getChildren().isEmpty()) {
-            root.getChildren().setAll(view);
-        } else {
-            fadeTo(view);
-        }
+    public Seat seat() {
+        return seat;
+    }
+
+    /** Background work of the current screen, cancelled when navigating away. */
+    public ScreenTasks tasks() {
+        return screen.tasks();
+    }
+
+    /** Animations and event filters of the current screen, released when navigating away. */
+    public ScreenResources resources() {
+        return screen.resources();
+    }
+
+    public void goTo(String screenName) {
+        Metrics.navigation(screenName).run(() -> {
+            String path = viewPath(screenName);
+            // Left before the next view is loaded so its controller registers with fresh tasks and resources
+            Runnable disposePrevious = screen.leave();
+            Loaded next = path == null ? new Loaded(new Label("Unknown screen: " + screenName), null) : load(path);
+            setView(next.view(), disposePrevious);
+            screen.enter(next.controller());
+        });
     }
 
     /**
      * Load the screen, set it as current view, and return its controller.
      * Returns null if FXML is missing or controller cannot be obtained/cast.
      */
-    public <T> T goToAndGetController(String screen, Class<T> controllerType) {
-        String path = switch (screen) {
-            case "home" -> "/fxml/home.fxml";
-            case "loading" -> "/fxml/loading.fxml";
-            case "disclaimer" -> "/fxml/disclosure.fxml";
-            case "questionnaire-intro" -> "/fxml/questionnaire-intro.fxml";
-            case "questionnaire" -> "/fxml/questionnaire.fxml";
-            case "results" -> "/fxml/results.fxml";
-            case "matching-game-tutorial" -> "/fxml/matching-game-tutorial.fxml";
-            case "matching-game" -> "/fxml/matching-game.fxml";
-            case "matching-game-results" -> "/fxml/matching-game-results.fxml";
-            case "attention-game-tutorial" -> "/fxml/attention-game-tutorial.fxml";
-            case "attention-game" -> "/fxml/attention-game.fxml";
-            case "attention-game-results" -> "/fxml/attention-game-results.fxml";
-            case "emotional-survey" -> "/fxml/emotional-survey.fxml";
-            case "emotional-survey-results" -> "/fxml/emotional-survey-results.fxml";
-            case "emotion-recognition" -> "/fxml/emotion-recognition.fxml";
-            case "emotion-recognition-results" -> "/fxml/emotion-recognition-results.fxml";
-            default -> null;
-        };
+    public <T> T goToAndGetController(String screenName, Class<T> controllerType) {
+        String path = viewPath(screenName);
         if (path == null) return null;
-        try {
-            URL url = getClass().getResource(path);
-            if (url == null) {
-                setView(new Label("Missing view: " + path));
-                return null;
+        return Metrics.navigation(screenName).call(() -> {
+            Runnable disposePrevious = screen.leave();
+            Loaded next = load(path);
+            setView(next.view(), disposePrevious);
+            screen.enter(next.controller());
+            if (controllerType.isInstance(next.controller())) {
+                return controllerType.cast(next.controller());
             }
-            FXMLLoader loader = new FXMLLoader(url);
-            Parent view = loader.load();
-            setView(view);
-            Object controller = loader.getController();
-            if (controllerType.isInstance(controller)) {
-                return controllerType.cast(controller);
+            return null;
+        });
+    }
+
+    /** Names of all screens that can be navigated to. */
+    public static List<String> screens() {
+        return List.copyOf(VIEWS.keySet());
+    }
+
+    private static String viewPath(String screen) {
+        return VIEWS.get(screen);
+    }
+
+    private record Loaded(Parent view, Object controller) {}
+
+    private Loaded load(String path) {
+        return Metrics.fxmlLoad(path).call(() -> {
+            try {
+                URL url = getClass().getResource(path);
+                if (url == null) return new Loaded(new Label("Missing view: " + path), null);
+                FXMLLoader loader = newLoader(url);
+                Parent view = loader.load();
+                return new Loaded(view, loader.getController());
+            } catch (IOException e) {
+                Metrics.counter("ui.fxml.failures").increment();
+                // Print full stack trace to help diagnose FXML/controller initialization errors
+                e.printStackTrace();
+                Throwable cause = e.getCause();
+                String details = e.getMessage();
+                if (cause != null) {
+                    details = details + "; cause: " + cause.getClass().getSimpleName() + ": " + String.valueOf(cause.getMessage());
+                }
+                return new Loaded(new Label("Failed to load: " + path + " (" + details + ")"), null);
             }
-        } catch (IOException e) {
-            e.printStackTrace();
-            setView(new Label("Failed to load: " + path + " (" + e.getMessage() + ")"));
-        }
-        return null;
+        });
     }
 
-    private void setView(Parent view) {
-        if (root.getChildren().isEmpty()) {
-            root.getChildren().setAll(view);
-        } else {
-            fadeTo(view);
-        }
+    private FXMLLoader newLoader(URL url) {
+        FXMLLoader loader = new FXMLLoader(url);
+        loader.setControllerFactory(type -> createController(type, seat));
+        return loader;
     }
 
-    private Parent load(String path) {
+    /**
+     * Controller of an FXML view for {@code seat}: created with its {@code (Seat)} constructor if it has one,
+     * otherwise with its no-argument constructor.
+     */
+    public static Object createController(Class<?> type, Seat seat) {
         try {
-            URL url = getClass().getResource(path);
-            if (url == null) return new Label("Missing view: " + path);
-            return FXMLLoader.load(url);
-        } catch (IOException e) {
-            // Print full stack trace to help diagnose FXML/controller initialization errors
-            e.printStackTrace();
-            Throwable cause = e.getCause();
-            String details = e.getMessage();
-            if (cause != null) {
-                details = details + "; cause: " + cause.getClass().getSimpleName() + ": " + String.valueOf(cause.getMessage());
+            try {
+                return type.getConstructor(Seat.class).newInstance(seat);
+            } catch (NoSuchMethodException e) {
+                return type.getConstructor().newInstance();
             }
-            return new Label("Failed to load: " + path + " (" + details + ")");
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Failed to create controller " + type.getName() + ": " + e.getMessage(), e);
         }
     }
 
-    private void fadeTo(Parent next) {
+    /** Shows {@code next}, running {@code onPreviousRemoved} once the old view has left the scene. */
+    private void setView(Parent next, Runnable onPreviousRemoved) {
         Parent current = root.getChildren().isEmpty() ? null : (Parent) root.getChildren().get(0);
-        if (current == null) {
+        // Nothing to fade on a stage that is not shown, such as one used for tests
+        if (current == null || !stage.isShowing()) {
             root.getChildren().setAll(next);
+            onPreviousRemoved.run();
             return;
         }
         FadeTransition out = new FadeTransition(Duration.millis(150), current);
         out.setToValue(0.0);
         out.setOnFinished(ev -> {
             root.getChildren().setAll(next);
+            onPreviousRemoved.run();
             FadeTransition in = new FadeTransition(Duration.millis(150), next);
             in.setFromValue(0.0);
             in.setToValue(1.0);
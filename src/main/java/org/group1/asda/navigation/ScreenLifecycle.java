@@ -0,0 +1,16 @@
+package org.group1.asda.navigation;
+
+/**
+ * Optional navigation callbacks for screen controllers. The {@link Router} calls {@link #onShow} once the
+ * view is current, {@link #onHide} as soon as navigation leaves it (its view may still be fading out), and
+ * {@link #dispose} once the view has been removed from the scene.
+ */
+public interface ScreenLifecycle {
+    default void onShow() {}
+
+    /** Stop anything that would otherwise keep running: timers, animations, games in progress. */
+    default void onHide() {}
+
+    /** Drop references to views, images and state so nothing outlives the screen. */
+    default void dispose() {}
+}
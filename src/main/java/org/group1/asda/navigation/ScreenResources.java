@@ -0,0 +1,63 @@
+package org.group1.asda.navigation;
+
+import javafx.animation.Animation;
+import javafx.event.Event;
+import javafx.event.EventHandler;
+import javafx.event.EventType;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Animations, event filters and other registrations made by the screen currently shown. The {@link Router}
+ * releases them when it navigates away: animations are stopped, filters on the long-lived scene removed,
+ * and release actions run, most recent first. Anything registered after release is released at once.
+ */
+public final class ScreenResources {
+    private final Deque<Runnable> releases = new ArrayDeque<>();
+    private boolean released;
+
+    /** Stops {@code animation} when the screen is left and returns it. */
+    public <A extends Animation> A animation(A animation) {
+        onRelease(animation::stop);
+        return animation;
+    }
+
+    /** Adds {@code handler} as an event filter of {@code scene} until the screen is left. */
+    public <T extends Event> void filter(Scene scene, EventType<T> type, EventHandler<? super T> handler) {
+        scene.addEventFilter(type, handler);
+        onRelease(() -> scene.removeEventFilter(type, handler));
+    }
+
+    /** Adds {@code handler} as an event filter of {@code node} until the screen is left. */
+    public <T extends Event> void filter(Node node, EventType<T> type, EventHandler<? super T> handler) {
+        node.addEventFilter(type, handler);
+        onRelease(() -> node.removeEventFilter(type, handler));
+    }
+
+    public void onRelease(Runnable action) {
+        if (released) {
+            action.run();
+            return;
+        }
+        releases.push(action);
+    }
+
+    /** Runs every release action once; a failing action does not stop the others. */
+    public void releaseAll() {
+        released = true;
+        while (!releases.isEmpty()) {
+            try {
+                releases.pop().run();
+            } catch (RuntimeException e) {
+                System.err.println("Failed to release screen resource: " + e.getMessage());
+            }
+        }
+    }
+
+    public int size() {
+        return releases.size();
+    }
+}
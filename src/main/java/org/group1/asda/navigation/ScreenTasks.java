@@ -0,0 +1,39 @@
+package org.group1.asda.navigation;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Background work started by the screen currently shown. The {@link Router} cancels everything still
+ * pending when it navigates away, so callbacks never touch the controls of a screen that is gone.
+ */
+public final class ScreenTasks {
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    /**
+     * Registers {@code future} for cancellation and returns it. Track the stage whose callback updates
+     * the UI; cancelling it stops the callback from running. A future tracked after cancellation is
+     * cancelled immediately.
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        if (future.isDone()) return future;
+        pending.add(future);
+        future.whenComplete((r, e) -> pending.remove(future));
+        if (cancelled) future.cancel(false);
+        return future;
+    }
+
+    /** Cancels every pending task; later {@link #track} calls cancel at once. */
+    public void cancelAll() {
+        cancelled = true;
+        for (CompletableFuture<?> f : pending) {
+            f.cancel(false);
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,125 @@
+package org.group1.asda.navigation;
+
+import javafx.stage.Stage;
+import org.group1.asda.metrics.FrameMonitor;
+import org.group1.asda.metrics.FrameRecorder;
+import org.group1.asda.persistence.AnswerJournal;
+import org.group1.asda.persistence.SessionIds;
+import org.group1.asda.service.AsyncDataService;
+import org.group1.asda.ui.results.AqUiState;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Everything one participant station needs: its stage's {@link Router}, the results it shows, the
+ * database session of its current participant and the journal of its questionnaire in progress. Several seats run side by side in one process (one window
+ * per screen on the dual-screen kiosks) and share the database services and the read-only caches in
+ * {@link SharedResources}, so a second seat costs one scene graph rather than a second JVM.
+ *
+ * Controllers receive their seat through their constructor; see {@link Router}.
+ */
+public final class Seat {
+    private final int number;
+    private final AqUiState aqResults = new AqUiState();
+    private final FrameRecorder frames = FrameMonitor.get().newRecorder();
+    private final Path journalDir;
+    private Router router;
+    private volatile String sessionId;
+
+    private Seat() {
+        this.number = 0;
+        this.journalDir = null;
+    }
+
+    Seat(int number, Path journalDir) {
+        if (number < 1) throw new IllegalArgumentException("Seat numbers start at 1: " + number);
+        this.number = number;
+        this.journalDir = journalDir;
+    }
+
+    /** Creates seat {@code number} and its router on {@code stage}. */
+    public static Seat open(int number, Stage stage) {
+        Seat seat = new Seat(number, journalDir(number));
+        seat.router = new Router(stage, seat);
+        return seat;
+    }
+
+    /**
+     * A seat without a window, router or journal, for controllers whose views are rendered offscreen
+     * (see {@code ReportRenderer}). Only its results and data service can be used.
+     */
+    public static Seat detached() {
+        return new Seat();
+    }
+
+    /**
+     * Journal directory of a seat: {@code -Dasda.journal.dir} for seat 1, as with a single seat, and a
+     * {@code seat-N} directory inside it for the others, so each seat resumes only its own session.
+     */
+    static Path journalDir(int number) {
+        Path base = AnswerJournal.defaultDir();
+        return number == 1 ? base : base.resolve("seat-" + number);
+    }
+
+    public int number() {
+        return number;
+    }
+
+    public Router router() {
+        return router;
+    }
+
+    /** Latest AQ results of this seat's participant. */
+    public AqUiState aqResults() {
+        return aqResults;
+    }
+
+    /** Frame statistics of the game this seat is playing. */
+    public FrameRecorder frames() {
+        return frames;
+    }
+
+    /**
+     * Starts the database session of a new participant, ending the previous participant's. Game results
+     * played on this seat are saved under it, so they appear in the participant's report.
+     * @return the new session id
+     */
+    public String beginSession() {
+        endSession();
+        String id = SessionIds.next();
+        sessionId = id;
+        // Queued on the single writer ahead of any result saved under it
+        data().startSession(id).exceptionally(e -> {
+            System.err.println("Failed to start session: " + e.getMessage());
+            return null;
+        });
+        return id;
+    }
+
+    /** Session of the current participant, or null before one has accepted the disclaimer. */
+    public String sessionId() {
+        return sessionId;
+    }
+
+    /** Ends the current participant's session, if any; completes once it is written. */
+    public CompletableFuture<Void> endSession() {
+        String id = sessionId;
+        if (id == null) return CompletableFuture.completedFuture(null);
+        sessionId = null;
+        return data().endSession(id, null, null).exceptionally(e -> {
+            System.err.println("Failed to end session: " + e.getMessage());
+            return null;
+        });
+    }
+
+    /** Answers of this seat's questionnaire in progress, opened on first use. */
+    public AnswerJournal journal() {
+        return AnswerJournal.get(journalDir);
+    }
+
+    /** Database reads and writes, shared by all seats so SQLite keeps a single writer. */
+    public AsyncDataService data() {
+        return AsyncDataService.get();
+    }
+}
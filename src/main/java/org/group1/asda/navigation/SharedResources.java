@@ -0,0 +1,126 @@
+package org.group1.asda.navigation;
+
+import javafx.scene.image.Image;
+import javafx.scene.text.Font;
+import org.group1.asda.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Read-only resources shared by every {@link Seat}: the application stylesheets, resolved once (JavaFX
+ * parses each stylesheet URL once per process, so scenes that list the same URLs share the parsed rules),
+ * the bundled fonts, and decoded images, which are immutable once loaded and can be shown in any number of scenes.
+ *
+ * Small fixed assets such as the attention game shapes stay decoded for the life of the process. Stimulus
+ * photos are large (about 4 MiB each once decoded), so only the {@code asda.images.stimulusCache} (default
+ * {@value #DEFAULT_STIMULUS_CACHE}) most recently shown are kept; an evicted photo is freed once no screen shows it.
+ */
+public final class SharedResources {
+    private static final String[] STYLESHEETS = {
+            "base", "theme-light", "home", "assessment", "loading", "disclosure", "questionnaire-intro", "results",
+            "attention-game-tutorial", "attention-game", "attention-game-results",
+            "matching-game-tutorial", "matching-game", "matching-game-results",
+            "emotional-survey", "emotion-recognition", "emotion-recognition-results", "emotional-survey-results",
+    };
+
+    private static final String[] FONTS = {"Roboto-Light", "Roboto-Regular", "Roboto-Medium", "Roboto-Bold"};
+
+    private static final List<String> STYLESHEET_URLS = resolveStylesheets();
+    private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+
+    // Enough for the current, previous and next photo of two seats
+    private static final int DEFAULT_STIMULUS_CACHE = 8;
+    private static final int STIMULUS_CACHE = Math.max(1, Integer.getInteger("asda.images.stimulusCache", DEFAULT_STIMULUS_CACHE));
+    private static final Map<String, Image> STIMULI = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+            return size() > STIMULUS_CACHE;
+        }
+    };
+
+    private SharedResources() {}
+
+    /** External forms of the bundled stylesheets that exist, in cascade order. */
+    public static List<String> stylesheets() {
+        return STYLESHEET_URLS;
+    }
+
+    /** Registers the bundled fonts with JavaFX; missing or unreadable files are skipped. */
+    public static void loadFonts() {
+        for (String name : FONTS) {
+            String resourcePath = "/fonts/" + name + ".ttf";
+            try (InputStream is = SharedResources.class.getResourceAsStream(resourcePath)) {
+                if (is != null) {
+                    Font.loadFont(is, 12);
+                } else {
+                    System.out.println("[DEBUG_LOG] Font not found: " + resourcePath);
+                }
+            } catch (Exception e) {
+                System.out.println("[DEBUG_LOG] Failed to load font: " + resourcePath + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The small fixed image at classpath {@code path}, decoded on first use and kept for the life of the process.
+     * @throws IllegalArgumentException if there is no such resource
+     */
+    public static Image image(String path) {
+        return IMAGES.computeIfAbsent(path, SharedResources::decode);
+    }
+
+    /**
+     * The stimulus photo at classpath {@code path}, from the bounded cache of recently shown photos.
+     * @throws IllegalArgumentException if there is no such resource
+     */
+    public static Image stimulus(String path) {
+        synchronized (STIMULI) {
+            Image cached = STIMULI.get(path);
+            if (cached != null) return cached;
+        }
+        // Decoded outside the lock so one seat's decode does not hold up the other seat's cache hits
+        Image decoded = decode(path);
+        synchronized (STIMULI) {
+            Image raced = STIMULI.putIfAbsent(path, decoded);
+            return raced != null ? raced : decoded;
+        }
+    }
+
+    private static Image decode(String path) {
+        return Metrics.imageDecode(path).call(() -> {
+            try (InputStream in = SharedResources.class.getResourceAsStream(path)) {
+                if (in == null) throw new IllegalArgumentException("Missing image: " + path);
+                return new Image(in);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to read image " + path + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /** An image derived from others, such as a recoloured shape, computed once under {@code key}. */
+    public static Image derived(String key, Supplier<Image> create) {
+        Image cached = IMAGES.get(key);
+        if (cached != null) return cached;
+        // Not computeIfAbsent: creating it usually loads its source image from the same map
+        Image created = create.get();
+        Image raced = IMAGES.putIfAbsent(key, created);
+        return raced != null ? raced : created;
+    }
+
+    private static List<String> resolveStylesheets() {
+        List<String> urls = new ArrayList<>();
+        for (String name : STYLESHEETS) {
+            URL url = SharedResources.class.getResource("/css/" + name + ".css");
+            if (url != null) urls.add(url.toExternalForm());
+        }
+        return List.copyOf(urls);
+    }
+}
@@ -0,0 +1,363 @@
+package org.group1.asda.persistence;
+
+import org.group1.asda.metrics.Metrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped journal of answers to assessments that are still in progress, so a kiosk
+ * that crashes mid-questionnaire can pick the session up again on the next start.
+ *
+ * Each answer is one 32-byte record: a CRC32C, the event type, the answer value, the item index, the
+ * time and the 16-byte session id. Records are written straight into a mapped file, so they survive a
+ * crash of the application as soon as {@link #answer} returns; a daemon thread calls {@code force()} every
+ * {@code asda.journal.forceMillis} (default 200) to bound what a power loss can take. Reading stops at the
+ * first record whose checksum does not match, which also drops a record torn by a power loss.
+ *
+ * Completing or discarding a session compacts the journal: the answers of the sessions still in progress
+ * are written to the second of two files with the next generation number, the file is forced and its
+ * header written last, and only then is the old file's header cleared. The generation is part of every
+ * record's checksum, so stale records left further along in a reused file are never read back. On
+ * {@link #open} the valid file with the highest generation is replayed, which takes a few milliseconds
+ * for the handful of sessions a kiosk has in flight.
+ */
+public final class AnswerJournal implements AutoCloseable {
+    /** A session with answers but no completion, in the order of its items; 0 means unanswered. */
+    public record Unfinished(String sessionId, int[] answers, long lastAnswerAt) {}
+
+    private static final int MAGIC = 0x4153444A; // "ASDJ"
+    private static final int VERSION = 1;
+    private static final int HEADER = 32;
+    private static final int RECORD = 32;
+    private static final int INITIAL_CAPACITY = 64 * 1024;
+
+    private static final byte ANSWER = 1;
+    private static final byte COMPLETE = 2;
+    private static final byte DISCARD = 3;
+
+    // Open journals by directory; one per seat
+    private static final Map<Path, AnswerJournal> SHARED = new LinkedHashMap<>();
+
+    private static final class Live {
+        int[] answers = new int[0];
+        long lastAnswerAt;
+    }
+
+    private final Path[] files;
+    private final FileChannel[] channels = new FileChannel[2];
+    private final MappedByteBuffer[] maps = new MappedByteBuffer[2];
+    private final Map<String, Live> live = new LinkedHashMap<>();
+    private final CRC32C crc = new CRC32C();
+    private final byte[] scratch = new byte[RECORD];
+    private final ScheduledExecutorService forcer;
+    private int current;
+    private long generation;
+    private int position;
+    private boolean dirty;
+    private boolean closed;
+
+    private AnswerJournal(Path dir, long forceMillis) throws IOException {
+        Files.createDirectories(dir);
+        files = new Path[]{dir.resolve("answers-0.journal"), dir.resolve("answers-1.journal")};
+        long t0 = System.nanoTime();
+        long[] generations = new long[2];
+        for (int i = 0; i < 2; i++) {
+            channels[i] = FileChannel.open(files[i], StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            maps[i] = map(i, Math.max(INITIAL_CAPACITY, channels[i].size()));
+            generations[i] = readHeader(maps[i]);
+        }
+        if (generations[0] == 0 && generations[1] == 0) {
+            current = 0;
+            generation = 1;
+            writeHeader(maps[0], generation);
+            maps[0].putInt(HEADER, 0);
+            maps[0].force();
+            position = HEADER;
+        } else {
+            current = generations[1] > generations[0] ? 1 : 0;
+            generation = generations[current];
+            position = replay();
+        }
+        Metrics.timer("journal.recover").recordSince(t0);
+
+        if (forceMillis > 0) {
+            forcer = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "journal-force");
+                t.setDaemon(true);
+                return t;
+            });
+            forcer.scheduleWithFixedDelay(this::forceIfDirty, forceMillis, forceMillis, TimeUnit.MILLISECONDS);
+        } else {
+            forcer = null;
+        }
+    }
+
+    /**
+     * Opens (creating if needed) the journal in {@code dir} and replays it.
+     * @param forceMillis interval of the background {@code force()}, or 0 to force only on completion
+     */
+    public static AnswerJournal open(Path dir, long forceMillis) {
+        try {
+            return new AnswerJournal(dir, forceMillis);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open answer journal: " + e.getMessage(), e);
+        }
+    }
+
+    /** Shared journal in {@code -Dasda.journal.dir} (default {@code journal}), opened on first use. */
+    public static AnswerJournal get() {
+        return get(defaultDir());
+    }
+
+    /** Shared journal in {@code dir}, opened on first use with {@code -Dasda.journal.forceMillis}. */
+    public static synchronized AnswerJournal get(Path dir) {
+        return SHARED.computeIfAbsent(dir.toAbsolutePath().normalize(),
+                d -> open(d, Long.getLong("asda.journal.forceMillis", 200)));
+    }
+
+    public static Path defaultDir() {
+        return Path.of(System.getProperty("asda.journal.dir", "journal"));
+    }
+
+    /** Forces and closes every shared journal that was opened. */
+    public static synchronized void closeShared() {
+        SHARED.values().forEach(AnswerJournal::close);
+        SHARED.clear();
+    }
+
+    /** Sessions with answers that were neither completed nor discarded, most recently answered first. */
+    public synchronized List<Unfinished> unfinished() {
+        List<Unfinished> out = new ArrayList<>();
+        live.forEach((id, s) -> out.add(0, new Unfinished(id, s.answers.clone(), s.lastAnswerAt)));
+        return out;
+    }
+
+    /**
+     * The most recently answered unfinished session if it was answered within {@code maxAge}; every other
+     * unfinished session is discarded, so a stale questionnaire is never offered to the next person.
+     */
+    public synchronized Optional<Unfinished> resumable(Duration maxAge) {
+        List<Unfinished> sessions = unfinished();
+        long cutoff = System.currentTimeMillis() - maxAge.toMillis();
+        Unfinished newest = !sessions.isEmpty() && sessions.get(0).lastAnswerAt() >= cutoff ? sessions.get(0) : null;
+        for (Unfinished s : sessions) {
+            if (s != newest) append(DISCARD, s.sessionId(), 0, 0, System.currentTimeMillis());
+        }
+        if (sessions.size() > (newest == null ? 0 : 1)) compact();
+        return Optional.ofNullable(newest);
+    }
+
+    /**
+     * Records {@code value} (0 clears it) as the answer to item {@code item} of {@code sessionId}.
+     * @param sessionId a compact {@link SessionIds} id
+     */
+    public synchronized void answer(String sessionId, int item, int value) {
+        if (item < 0 || item > 0xFFFF) throw new IllegalArgumentException("Invalid item index: " + item);
+        if (value < 0 || value > 0xFF) throw new IllegalArgumentException("Invalid answer value: " + value);
+        append(ANSWER, sessionId, item, value, System.currentTimeMillis());
+    }
+
+    /** Marks the session finished and compacts it out of the journal. */
+    public synchronized void complete(String sessionId) {
+        end(COMPLETE, sessionId);
+    }
+
+    /** Drops an abandoned session from the journal. */
+    public synchronized void discard(String sessionId) {
+        end(DISCARD, sessionId);
+    }
+
+    private void end(byte type, String sessionId) {
+        if (!live.containsKey(sessionId)) return;
+        append(type, sessionId, 0, 0, System.currentTimeMillis());
+        maps[current].force();
+        dirty = false;
+        compact();
+    }
+
+    /** Flushes the mapped journal to the storage device. */
+    public synchronized void force() {
+        checkOpen();
+        maps[current].force();
+        dirty = false;
+    }
+
+    private synchronized void forceIfDirty() {
+        if (dirty && !closed) force();
+    }
+
+    @Override
+    public void close() {
+        if (forcer != null) forcer.shutdownNow();
+        synchronized (this) {
+            if (closed) return;
+            maps[current].force();
+            closed = true;
+            for (FileChannel ch : channels) {
+                try {
+                    ch.close();
+                } catch (IOException e) {
+                    System.err.println("Failed to close answer journal: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // --- records ---
+
+    private void append(byte type, String sessionId, int item, int value, long at) {
+        checkOpen();
+        if (position + 2 * RECORD > maps[current].capacity()) {
+            maps[current] = grow(current, position + 2 * RECORD);
+        }
+        write(maps[current], position, generation, type, SessionIds.toBytes(sessionId), item, value, at);
+        position += RECORD;
+        // Keep an invalid record after the last one even when the file is reused
+        maps[current].putInt(position, 0);
+        dirty = true;
+        apply(type, sessionId, item, value, at);
+        Metrics.counter("journal.records").increment();
+    }
+
+    private void write(MappedByteBuffer map, int pos, long gen, byte type, byte[] session, int item, int value, long at) {
+        map.put(pos + 4, type);
+        map.put(pos + 5, (byte) value);
+        map.putShort(pos + 6, (short) item);
+        map.putLong(pos + 8, at);
+        map.put(pos + 16, session);
+        map.putInt(pos, checksum(map, pos, gen));
+    }
+
+    private int checksum(ByteBuffer map, int pos, long gen) {
+        map.get(pos + 4, scratch, 0, RECORD - 4);
+        crc.reset();
+        for (int shift = 56; shift >= 0; shift -= 8) crc.update((int) (gen >>> shift));
+        crc.update(scratch, 0, RECORD - 4);
+        return (int) crc.getValue();
+    }
+
+    private void apply(byte type, String sessionId, int item, int value, long at) {
+        if (type == ANSWER) {
+            // Re-inserted so the map stays in order of each session's latest answer
+            Live s = live.remove(sessionId);
+            if (s == null) s = new Live();
+            live.put(sessionId, s);
+            if (item >= s.answers.length) s.answers = Arrays.copyOf(s.answers, item + 1);
+            s.answers[item] = value;
+            s.lastAnswerAt = Math.max(s.lastAnswerAt, at);
+        } else {
+            live.remove(sessionId);
+        }
+    }
+
+    /** Replays the current file and returns the position after its last valid record. */
+    private int replay() {
+        MappedByteBuffer map = maps[current];
+        byte[] session = new byte[16];
+        int pos = HEADER;
+        while (pos + RECORD <= map.capacity()) {
+            byte type = map.get(pos + 4);
+            if (type < ANSWER || type > DISCARD || map.getInt(pos) != checksum(map, pos, generation)) break;
+            map.get(pos + 16, session);
+            apply(type, SessionIds.fromBytes(session), map.getShort(pos + 6) & 0xFFFF, map.get(pos + 5) & 0xFF, map.getLong(pos + 8));
+            pos += RECORD;
+        }
+        Metrics.counter("journal.replayed").add((pos - HEADER) / RECORD);
+        return pos;
+    }
+
+    /** Rewrites the sessions still in progress into the other file under the next generation. */
+    private void compact() {
+        long t0 = System.nanoTime();
+        int target = 1 - current;
+        long next = generation + 1;
+        int records = live.values().stream().mapToInt(s -> (int) Arrays.stream(s.answers).filter(v -> v != 0).count()).sum();
+        int needed = HEADER + (records + 1) * RECORD;
+        if (needed > maps[target].capacity()) maps[target] = grow(target, needed);
+        MappedByteBuffer map = maps[target];
+
+        // Clear the header first: until the new one is written this file is not a valid journal
+        map.putInt(0, 0);
+        int pos = HEADER;
+        for (Map.Entry<String, Live> e : live.entrySet()) {
+            byte[] session = SessionIds.toBytes(e.getKey());
+            int[] answers = e.getValue().answers;
+            for (int item = 0; item < answers.length; item++) {
+                if (answers[item] == 0) continue;
+                write(map, pos, next, ANSWER, session, item, answers[item], e.getValue().lastAnswerAt);
+                pos += RECORD;
+            }
+        }
+        map.putInt(pos, 0);
+        map.force();
+        writeHeader(map, next);
+        map.force();
+
+        maps[current].putInt(0, 0);
+        maps[current].force();
+        generation = next;
+        current = target;
+        position = pos;
+        dirty = false;
+        Metrics.timer("journal.compact").recordSince(t0);
+    }
+
+    // --- files ---
+
+    private MappedByteBuffer map(int file, long capacity) throws IOException {
+        return channels[file].map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    private MappedByteBuffer grow(int file, int needed) {
+        long capacity = maps[file].capacity();
+        while (capacity < needed) capacity *= 2;
+        try {
+            maps[file].force();
+            return map(file, capacity);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to grow answer journal: " + e.getMessage(), e);
+        }
+    }
+
+    private static long readHeader(MappedByteBuffer map) {
+        if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION) return 0;
+        long gen = map.getLong(8);
+        CRC32C c = new CRC32C();
+        byte[] header = new byte[16];
+        map.get(0, header);
+        c.update(header);
+        return (int) c.getValue() == map.getInt(16) ? gen : 0;
+    }
+
+    private static void writeHeader(MappedByteBuffer map, long gen) {
+        map.putInt(4, VERSION);
+        map.putLong(8, gen);
+        map.putInt(0, MAGIC);
+        CRC32C c = new CRC32C();
+        byte[] header = new byte[16];
+        map.get(0, header);
+        c.update(header);
+        map.putInt(16, (int) c.getValue());
+    }
+
+    private void checkOpen() {
+        if (closed) throw new IllegalStateException("Answer journal is closed");
+    }
+}
@@ -0,0 +1,61 @@
+package org.group1.asda.persistence;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+
+/**
+ * Finds sessions that were moved out of the hot database into a monthly archive file.
+ *
+ * {@code session_archive} maps each archived session id to its month and {@code archive_months} maps the
+ * month to its file. Lookups that find nothing in the hot tables call {@link #attachFor} and repeat the
+ * query against the {@value #SCHEMA} schema, so callers see archived sessions as if they had never moved.
+ */
+public final class ArchiveRoutes {
+    /** Schema name the archive file is attached under. */
+    public static final String SCHEMA = "archive";
+
+    private ArchiveRoutes() {}
+
+    /** Path of the archive file holding {@code sessionId}, if it was archived. */
+    public static Optional<String> archiveFor(Connection c, String sessionId) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT m.path FROM session_archive s JOIN archive_months m ON m.month = s.month WHERE s.session_id = ?")) {
+            ps.setString(1, sessionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? Optional.of(rs.getString(1)) : Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Attaches the archive holding {@code sessionId} to {@code c} as {@value #SCHEMA}.
+     * @return true if the session is archived and its file was attached; detach with {@link #detach}
+     */
+    public static boolean attachFor(Connection c, String sessionId) throws SQLException {
+        Optional<String> path = archiveFor(c, sessionId);
+        if (path.isEmpty()) return false;
+        attach(c, path.get());
+        return true;
+    }
+
+    public static void attach(Connection c, String path) throws SQLException {
+        // ATTACH would silently create an empty database in place of a missing archive
+        if (!Files.exists(Path.of(path))) throw new SQLException("Archive file is missing: " + path);
+        try (PreparedStatement ps = c.prepareStatement("ATTACH DATABASE ? AS " + SCHEMA)) {
+            ps.setString(1, path);
+            ps.execute();
+        }
+    }
+
+    public static void detach(Connection c) throws SQLException {
+        try (Statement st = c.createStatement()) {
+            st.execute("DETACH DATABASE " + SCHEMA);
+        }
+    }
+}
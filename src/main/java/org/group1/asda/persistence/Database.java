@@ -1,7 +1,13 @@
 package org.group1.asda.persistence;
 
+import org.group1.asda.instrument.InstrumentDefinition;
+import org.group1.asda.instrument.Instruments;
+import org.group1.asda.metrics.Metrics;
+
 import java.sql.*;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 public final class Database {
@@ -26,8 +32,45 @@ public final class Database {
         }
     }
 
+    // Held open while an in-memory database is in use, see MemoryDatabase
+    private static MemoryDatabase memory;
+    private static boolean shutdownHookAdded;
+
     private static String dbUrl() {
-        return System.getProperty("asda.db.url", DB_URL_DEFAULT);
+        String url = System.getProperty("asda.db.url", DB_URL_DEFAULT);
+        if (!MemoryDatabase.isMemoryUrl(url)) return url;
+        String target = MemoryDatabase.connectionUrl(url);
+        synchronized (Database.class) {
+            if (memory == null || !memory.getUrl().equals(target)) {
+                if (memory != null) memory.close();
+                memory = MemoryDatabase.open(target);
+                if (!shutdownHookAdded) {
+                    Runtime.getRuntime().addShutdownHook(new Thread(Database::shutdown, "db-shutdown"));
+                    shutdownHookAdded = true;
+                }
+            }
+        }
+        return target;
+    }
+
+    /** The in-memory database in use, if {@code asda.db.url} selects one and it has been opened. */
+    public static synchronized Optional<MemoryDatabase> memory() {
+        return Optional.ofNullable(memory);
+    }
+
+    /**
+     * Writes the final snapshot of an in-memory database and releases it; a no-op for file databases.
+     * Also runs from a shutdown hook, so calling it is only needed to snapshot before the JVM exits.
+     */
+    public static synchronized void shutdown() {
+        if (memory == null) return;
+        try {
+            memory.close();
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+        } finally {
+            memory = null;
+        }
     }
 
     public static void init() {
@@ -36,21 +79,28 @@ public final class Database {
 
     public static void init(Consumer<Double> progress) {
         ensureDriverLoaded();
-        try (Connection conn = DriverManager.getConnection(dbUrl())) {
-            if (conn == null) return;
-            if (progress != null) progress.accept(0.05);
-            conn.setAutoCommit(false);
-            createSchema(conn);
-            if (progress != null) progress.accept(0.35);
-            createIndexes(conn);
-            if (progress != null) progress.accept(0.60);
-            seedIfEmpty(conn);
-            if (progress != null) progress.accept(0.90);
-            conn.commit();
-            if (progress != null) progress.accept(1.0);
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to initialize database: " + e.getMessage(), e);
-        }
+        Metrics.dbCall("Database.init").run(() -> {
+            try (Connection conn = DriverManager.getConnection(dbUrl())) {
+                if (conn == null) return;
+                if (progress != null) progress.accept(0.05);
+                conn.setAutoCommit(false);
+                createSchema(conn);
+                if (progress != null) progress.accept(0.35);
+                createIndexes(conn);
+                createChangeTracking(conn);
+                SessionScores.createSchema(conn);
+                if (progress != null) progress.accept(0.60);
+                seedIfEmpty(conn);
+                if (progress != null) progress.accept(0.90);
+                conn.commit();
+                conn.setAutoCommit(true);
+                migrateSessionIds(conn);
+                SessionScores.refresh(conn);
+                if (progress != null) progress.accept(1.0);
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to initialize database: " + e.getMessage(), e);
+            }
+        });
     }
 
     private static void createSchema(Connection conn) throws SQLException {
@@ -71,6 +121,23 @@ public final class Database {
                     "session_id TEXT NOT NULL, question_code TEXT NOT NULL, answer_value INTEGER NOT NULL, score INTEGER NOT NULL, " +
                     "FOREIGN KEY(session_id) REFERENCES sessions(id) ON DELETE CASCADE" +
                     ")");
+            // session_id is null when a game was played outside a questionnaire session
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS game_results (" +
+                    "id INTEGER PRIMARY KEY, session_id TEXT, game TEXT NOT NULL, played_at INTEGER NOT NULL, " +
+                    "trials INTEGER NOT NULL, correct INTEGER NOT NULL, incorrect INTEGER NOT NULL, duration_ms INTEGER NOT NULL" +
+                    ")");
+            // Routing index for sessions moved to monthly archive files, see ArchiveRoutes
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS archive_months (" +
+                    "month TEXT PRIMARY KEY, path TEXT NOT NULL, sessions INTEGER NOT NULL" +
+                    ")");
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS session_archive (" +
+                    "session_id TEXT PRIMARY KEY, month TEXT NOT NULL" +
+                    ") WITHOUT ROWID");
+            // Checkpoint of the re-scoring job: one row per session id range, see RescoreJob
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS rescore_partitions (" +
+                    "part INTEGER PRIMARY KEY, from_id TEXT, to_id TEXT, last_id TEXT, " +
+                    "sessions INTEGER NOT NULL DEFAULT 0, changed INTEGER NOT NULL DEFAULT 0, done INTEGER NOT NULL DEFAULT 0" +
+                    ")");
         }
     }
 
@@ -81,71 +148,108 @@ public final class Database {
             // Helpful indexes for lookups and summaries
             st.executeUpdate("CREATE INDEX IF NOT EXISTS ix_responses_session ON responses(session_id)");
             st.executeUpdate("CREATE INDEX IF NOT EXISTS ix_responses_question ON responses(question_code)");
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS ix_sessions_started ON sessions(started_at)");
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS ix_game_results_session ON game_results(session_id)");
+            st.executeUpdate("CREATE INDEX IF NOT EXISTS ix_game_results_game_played ON game_results(game, played_at)");
         }
     }
 
+    /**
+     * Stamps every inserted or changed session and response with a database-wide, increasing
+     * {@code change_seq} so sync exports can read only rows changed since a high-water mark.
+     * Existing databases get the column added and their rows numbered once.
+     */
+    private static void createChangeTracking(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS change_counter (" +
+                    "id INTEGER PRIMARY KEY CHECK (id = 1), seq INTEGER NOT NULL" +
+                    ")");
+            st.executeUpdate("INSERT OR IGNORE INTO change_counter(id, seq) VALUES(1, 0)");
+
+            for (String table : new String[]{"sessions", "responses"}) {
+                if (!hasColumn(conn, table, "change_seq")) {
+                    st.executeUpdate("ALTER TABLE " + table + " ADD COLUMN change_seq INTEGER");
+                    st.executeUpdate("UPDATE " + table + " SET change_seq = rowid + (SELECT seq FROM change_counter)");
+                    st.executeUpdate("UPDATE change_counter SET seq = " +
+                            "(SELECT COALESCE(MAX(change_seq), 0) FROM " + table + ") WHERE seq < " +
+                            "(SELECT COALESCE(MAX(change_seq), 0) FROM " + table + ")");
+                }
+                st.executeUpdate("CREATE INDEX IF NOT EXISTS ix_" + table + "_change_seq ON " + table + "(change_seq)");
+            }
+
+            // Sync bookkeeping: this database's node id, what was exported to each peer and imported from each source
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS sync_meta (key TEXT PRIMARY KEY, value TEXT NOT NULL)");
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS sync_peers (peer TEXT PRIMARY KEY, exported_seq INTEGER NOT NULL)");
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS sync_sources (" +
+                    "source TEXT PRIMARY KEY, imported_seq INTEGER NOT NULL, imported_at INTEGER NOT NULL" +
+                    ")");
+
+            String stamp = "BEGIN " +
+                    "UPDATE change_counter SET seq = seq + 1 WHERE id = 1; " +
+                    "UPDATE %1$s SET change_seq = (SELECT seq FROM change_counter WHERE id = 1) WHERE rowid = NEW.rowid; " +
+                    "END";
+            st.executeUpdate("CREATE TRIGGER IF NOT EXISTS tr_sessions_insert_seq AFTER INSERT ON sessions " +
+                    String.format(stamp, "sessions"));
+            st.executeUpdate("CREATE TRIGGER IF NOT EXISTS tr_sessions_update_seq " +
+                    "AFTER UPDATE OF started_at, ended_at, total_score, level ON sessions " +
+                    String.format(stamp, "sessions"));
+            st.executeUpdate("CREATE TRIGGER IF NOT EXISTS tr_responses_insert_seq AFTER INSERT ON responses " +
+                    String.format(stamp, "responses"));
+            st.executeUpdate("CREATE TRIGGER IF NOT EXISTS tr_responses_update_seq " +
+                    "AFTER UPDATE OF answer_value, score ON responses " +
+                    String.format(stamp, "responses"));
+        }
+    }
+
+    /** Rewrites random UUID session ids to time-ordered ones, once per database. */
+    private static void migrateSessionIds(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            int version;
+            try (ResultSet rs = st.executeQuery("PRAGMA user_version")) {
+                version = rs.next() ? rs.getInt(1) : 0;
+            }
+            if (version >= SessionIdMigration.VERSION) return;
+            SessionIdMigration.migrate(conn);
+            st.executeUpdate("PRAGMA user_version = " + SessionIdMigration.VERSION);
+        }
+    }
+
+    private static boolean hasColumn(Connection conn, String table, String column) throws SQLException {
+        try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) return true;
+            }
+        }
+        return false;
+    }
+
     private static void seedIfEmpty(Connection conn) throws SQLException {
         boolean questionsEmpty;
         try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM questions")) {
             questionsEmpty = rs.next() && rs.getInt(1) == 0;
         }
         if (questionsEmpty) {
-            // Seed the 1–3 scale: 1=Very True, 2=True, 3=False
+            // Scale, items and categories come from the checklist definition, which also scores the answers
+            InstrumentDefinition checklist = Instruments.checklist().getDefinition();
             try (PreparedStatement ps = conn.prepareStatement("INSERT OR IGNORE INTO scales(value,label) VALUES(?,?)")) {
-                ps.setInt(1, 1); ps.setString(2, "Very True"); ps.addBatch();
-                ps.setInt(1, 2); ps.setString(2, "True"); ps.addBatch();
-                ps.setInt(1, 3); ps.setString(2, "False"); ps.addBatch();
+                // 1=Very True, 2=True, 3=False
+                for (int i = 0; i < checklist.options().size(); i++) {
+                    ps.setInt(1, i + 1);
+                    ps.setString(2, checklist.options().get(i));
+                    ps.addBatch();
+                }
                 ps.executeBatch();
             }
-            // Provided questionnaire items 80–109; using code like Q80, Q81, ...
-            List<String> items = List.of(
-                "Before age 2, arched back and bent head back, when held",
-                "Before age 2, struggled against being held",
-                "Abnormal craving for certain foods",
-                "Eats unusually large amounts of food",
-                "Covers ears at many sounds",
-                "Only certain sounds seem painful to him",
-                "Fails to blink at bright lights",
-                "Skin color lighter or darker than others in family (which: lighter ___ darker )",
-                "Prefers inanimate (nonliving) things",
-                "Avoids people",
-                "Insists on keeping certain object with him",
-                "Always frightened or very anxious",
-                "Inconsolable crying",
-                "Notices changes or imperfections and tries to correct them",
-                "Tidy (neat, avoids messy things)",
-                "Has collected a particular thing (toy horses, bits of glass, etc.)",
-                "After delay, repeats phrases he has heard",
-                "After delay, repeats whole sentences he has heard",
-                "Repeats questions or conversations he has heard, over and over, without variation",
-                "Gets “hooked” or fixated on one topic (like cars, maps, death)",
-                "Examines surfaces with fingers",
-                "Holds bizarre pose or posture",
-                "Chews or swallows nonfood objects",
-                "Dislikes being touched or held",
-                "Intensely aware of odors",
-                "Hides skill or knowledge, so you are surprised later on",
-                "Seems not to feel pain",
-                "Terrified at unusual happenings",
-                "Learned words useless to himself",
-                "Learned certain words, then stopped using them"
-            );
+            Map<String, String> categories = new HashMap<>();
+            for (InstrumentDefinition.Subscale subscale : checklist.subscales()) {
+                for (String code : subscale.itemCodes()) categories.put(code, subscale.name());
+            }
             try (PreparedStatement ps = conn.prepareStatement("INSERT INTO questions(code,text,category) VALUES(?,?,?)")) {
-                int codeNum = 80;
-                for (String text : items) {
-                    ps.setString(1, "Q" + codeNum);
-                    ps.setString(2, text);
-                    // Assign rough categories (can be refined later)
-                    String category = switch (codeNum) {
-                        case 80,81 -> "BeforeAge2";
-                        case 84,85,86,104 -> "Sensory";
-                        case 88,89,103 -> "Social";
-                        case 96,97,98,108,109 -> "Communication";
-                        default -> "Behavior";
-                    };
-                    ps.setString(3, category);
+                for (InstrumentDefinition.Item item : checklist.items()) {
+                    ps.setString(1, item.code());
+                    ps.setString(2, item.text());
+                    ps.setString(3, categories.getOrDefault(item.code(), "General"));
                     ps.addBatch();
-                    codeNum++;
                 }
                 ps.executeBatch();
             }
@@ -154,6 +258,7 @@ public final class Database {
 
     public static Connection getConnection() throws SQLException {
         ensureDriverLoaded();
+        Metrics.counter("db.connections").increment();
         return DriverManager.getConnection(dbUrl());
     }
 }
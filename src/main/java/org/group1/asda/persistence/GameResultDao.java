@@ -0,0 +1,85 @@
+package org.group1.asda.persistence;
+
+import org.group1.asda.domain.GameResult;
+import org.group1.asda.metrics.Metrics;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameResultDao {
+    public void save(GameResult result) {
+        Metrics.dbCall("GameResultDao.save").run(() -> {
+            try (Connection c = Database.getConnection();
+                 PreparedStatement ps = c.prepareStatement(
+                         "INSERT INTO game_results(session_id, game, played_at, trials, correct, incorrect, duration_ms) " +
+                         "VALUES(?,?,?,?,?,?,?)")) {
+                if (result.sessionId() == null) ps.setNull(1, Types.VARCHAR); else ps.setString(1, result.sessionId());
+                ps.setString(2, result.game());
+                ps.setLong(3, result.playedAt());
+                ps.setInt(4, result.trials());
+                ps.setInt(5, result.correct());
+                ps.setInt(6, result.incorrect());
+                ps.setLong(7, result.durationMs());
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to save game result: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /** Results of one session, including sessions moved to an archive file. */
+    public List<GameResult> findBySession(String sessionId) {
+        return Metrics.dbCall("GameResultDao.findBySession").call(() -> {
+            try (Connection c = Database.getConnection()) {
+                List<GameResult> results = findBySession(c, "main", sessionId);
+                if (!results.isEmpty() || !ArchiveRoutes.attachFor(c, sessionId)) return results;
+                try {
+                    return findBySession(c, ArchiveRoutes.SCHEMA, sessionId);
+                } finally {
+                    ArchiveRoutes.detach(c);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to load game results: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private static List<GameResult> findBySession(Connection c, String schema, String sessionId) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT session_id, game, played_at, trials, correct, incorrect, duration_ms " +
+                "FROM " + schema + ".game_results WHERE session_id = ? ORDER BY played_at")) {
+            ps.setString(1, sessionId);
+            return read(ps);
+        }
+    }
+
+    /**
+     * Most recent results for one game, newest first.
+     */
+    public List<GameResult> findRecent(String game, int limit) {
+        return Metrics.dbCall("GameResultDao.findRecent").call(() -> {
+            try (Connection c = Database.getConnection();
+                 PreparedStatement ps = c.prepareStatement(
+                         "SELECT session_id, game, played_at, trials, correct, incorrect, duration_ms " +
+                         "FROM game_results WHERE game = ? ORDER BY played_at DESC LIMIT ?")) {
+                ps.setString(1, game);
+                ps.setInt(2, limit);
+                return read(ps);
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to load game results: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private static List<GameResult> read(PreparedStatement ps) throws SQLException {
+        List<GameResult> out = new ArrayList<>();
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                out.add(new GameResult(rs.getString(1), rs.getString(2), rs.getLong(3), rs.getInt(4),
+                        rs.getInt(5), rs.getInt(6), rs.getLong(7)));
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,177 @@
+package org.group1.asda.persistence;
+
+import org.group1.asda.metrics.Metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the application database entirely in memory, for demo kiosks and test runs.
+ *
+ * Selected with {@code -Dasda.db.url=jdbc:sqlite::memory:}. Every {@link Database#getConnection()} opens a
+ * new connection, so the database lives in SQLite's {@code memdb} VFS, which multiple connections can share
+ * with normal locking, and one connection is held open here for as long as the database should exist.
+ *
+ * Durability is optional: with {@code -Dasda.db.snapshot=path} the file is restored on startup, and the
+ * database is copied back to it with SQLite's online backup API every {@code asda.db.snapshotSeconds}
+ * (default 60, 0 for on-exit only) on a background thread and once more on shutdown. Snapshots are written
+ * to a temporary file and renamed over the previous one, so a crash mid-snapshot keeps the last good copy.
+ * Periods without commits are skipped. Work committed since the last snapshot is lost on a crash.
+ */
+public final class MemoryDatabase {
+    /** A completed snapshot: the file, its size and how long the backup took. */
+    public record Snapshot(Path file, long bytes, long nanos) {}
+
+    static final String MEMORY_URL = "jdbc:sqlite::memory:";
+
+    private final String url;
+    private final Path snapshotFile;
+    private final Connection keeper;
+    private final ScheduledExecutorService scheduler;
+    private long snapshotVersion = -1;
+    private volatile Snapshot lastSnapshot;
+
+    private MemoryDatabase(String url, Path snapshotFile, long intervalSeconds) throws SQLException {
+        this.url = url;
+        this.snapshotFile = snapshotFile;
+        this.keeper = DriverManager.getConnection(url);
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            restore();
+        }
+        snapshotVersion = dataVersion();
+        if (snapshotFile != null && intervalSeconds > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "db-snapshot");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduler.scheduleWithFixedDelay(this::scheduledSnapshot, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        } else {
+            scheduler = null;
+        }
+    }
+
+    /** True if {@code url} names an in-memory database rather than a file. */
+    static boolean isMemoryUrl(String url) {
+        return url.equals(MEMORY_URL) || url.contains("vfs=memdb") || url.contains("mode=memory");
+    }
+
+    /**
+     * The URL connections actually open. A plain {@code :memory:} database is private to one connection,
+     * so it is mapped to a named {@code memdb} database that all of them share.
+     */
+    static String connectionUrl(String url) {
+        return url.equals(MEMORY_URL) ? "jdbc:sqlite:file:/asda-memory?vfs=memdb" : url;
+    }
+
+    /** Opens the in-memory database from the {@code asda.db.snapshot*} properties, restoring the snapshot if present. */
+    static MemoryDatabase open(String url) {
+        String file = System.getProperty("asda.db.snapshot");
+        Path snapshot = file == null || file.isBlank() ? null : Path.of(file).toAbsolutePath();
+        long interval = Math.max(0, Long.getLong("asda.db.snapshotSeconds", 60));
+        try {
+            return new MemoryDatabase(url, snapshot, interval);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to open in-memory database: " + e.getMessage(), e);
+        }
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    public Snapshot getLastSnapshot() {
+        return lastSnapshot;
+    }
+
+    private void restore() throws SQLException {
+        long start = System.nanoTime();
+        try (Statement st = keeper.createStatement()) {
+            // sqlite-jdbc runs the backup API in reverse, file into the open database
+            st.executeUpdate("restore from " + quote(snapshotFile));
+        }
+        Metrics.timer("db.restore").recordSince(start);
+    }
+
+    /** Counts commits made through any connection; used to skip snapshots when nothing changed. */
+    private long dataVersion() throws SQLException {
+        try (Statement st = keeper.createStatement(); ResultSet rs = st.executeQuery("PRAGMA data_version")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot(false);
+        } catch (RuntimeException e) {
+            Metrics.counter("db.snapshot.errors").increment();
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Copies the database to the snapshot file.
+     * @param force also when nothing was committed since the last snapshot
+     * @return the snapshot, or null if there is no snapshot file or nothing changed
+     */
+    public synchronized Snapshot snapshot(boolean force) {
+        if (snapshotFile == null) return null;
+        long start = System.nanoTime();
+        try {
+            long version = dataVersion();
+            if (!force && version == snapshotVersion) return null;
+            Path parent = snapshotFile.getParent();
+            if (parent != null) Files.createDirectories(parent);
+            Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            Files.deleteIfExists(tmp);
+            try (Statement st = keeper.createStatement()) {
+                st.executeUpdate("backup to " + quote(tmp));
+            }
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            snapshotVersion = version;
+
+            long bytes = Files.size(snapshotFile);
+            long nanos = System.nanoTime() - start;
+            Metrics.timer("db.snapshot").record(nanos);
+            Metrics.counter("db.snapshots").increment();
+            Metrics.counter("db.snapshot.bytes").add(bytes);
+            lastSnapshot = new Snapshot(snapshotFile, bytes, nanos);
+            return lastSnapshot;
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Failed to snapshot database to " + snapshotFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** Stops periodic snapshots, writes a final one if anything changed and releases the database. */
+    synchronized void close() {
+        if (scheduler != null) scheduler.shutdownNow();
+        try {
+            snapshot(false);
+        } finally {
+            try {
+                keeper.close();
+            } catch (SQLException ignored) {
+                // Nothing left to release
+            }
+        }
+    }
+
+    private static String quote(Path path) {
+        // The backup and restore commands take a bare file name; quotes allow spaces
+        return "\"" + path.toString().replace("\"", "\"\"") + "\"";
+    }
+}
@@ -1,6 +1,7 @@
 package org.group1.asda.persistence;
 
 import org.group1.asda.domain.Question;
+import org.group1.asda.metrics.Metrics;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -9,29 +10,33 @@ import java.util.List;
 public class QuestionDao {
     public List<Question> findAll() {
         List<Question> out = new ArrayList<>();
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement("SELECT code, text, category FROM questions ORDER BY id ASC");
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                out.add(new Question(
-                        rs.getString("code"),
-                        rs.getString("text"),
-                        rs.getString("category")
-                ));
+        Metrics.dbCall("QuestionDao.findAll").run(() -> {
+            try (Connection c = Database.getConnection();
+                 PreparedStatement ps = c.prepareStatement("SELECT code, text, category FROM questions ORDER BY id ASC");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(new Question(
+                            rs.getString("code"),
+                            rs.getString("text"),
+                            rs.getString("category")
+                    ));
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to load questions: " + e.getMessage(), e);
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to load questions: " + e.getMessage(), e);
-        }
+        });
         return out;
     }
 
     public int count() {
-        try (Connection c = Database.getConnection();
-             Statement st = c.createStatement();
-             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM questions")) {
-            return rs.next() ? rs.getInt(1) : 0;
-        } catch (SQLException e) {
-            return 0;
-        }
+        return Metrics.dbCall("QuestionDao.count").call(() -> {
+            try (Connection c = Database.getConnection();
+                 Statement st = c.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM questions")) {
+                return rs.next() ? rs.getInt(1) : 0;
+            } catch (SQLException e) {
+                return 0;
+            }
+        });
     }
 }
@@ -1,5 +1,7 @@
 package org.group1.asda.persistence;
 
+import org.group1.asda.metrics.Metrics;
+
 import java.sql.*;
 import java.util.Optional;
 
@@ -9,48 +11,65 @@ public class ResponseDao {
      * Since the schema doesn't enforce uniqueness, we manually delete any existing row first.
      */
     public void saveOrReplace(String sessionId, String questionCode, int answerValue, int score) {
-        try (Connection c = Database.getConnection()) {
-            c.setAutoCommit(false);
-            try (PreparedStatement del = c.prepareStatement(
-                    "DELETE FROM responses WHERE session_id = ? AND question_code = ?");
-                 PreparedStatement ins = c.prepareStatement(
-                    "INSERT INTO responses(session_id, question_code, answer_value, score) VALUES(?,?,?,?)")) {
-                del.setString(1, sessionId);
-                del.setString(2, questionCode);
-                del.executeUpdate();
+        Metrics.dbCall("ResponseDao.saveOrReplace").run(() -> {
+            try (Connection c = Database.getConnection()) {
+                c.setAutoCommit(false);
+                try (PreparedStatement del = c.prepareStatement(
+                        "DELETE FROM responses WHERE session_id = ? AND question_code = ?");
+                     PreparedStatement ins = c.prepareStatement(
+                        "INSERT INTO responses(session_id, question_code, answer_value, score) VALUES(?,?,?,?)")) {
+                    del.setString(1, sessionId);
+                    del.setString(2, questionCode);
+                    del.executeUpdate();
 
-                ins.setString(1, sessionId);
-                ins.setString(2, questionCode);
-                ins.setInt(3, answerValue);
-                ins.setInt(4, score);
-                ins.executeUpdate();
-                c.commit();
+                    ins.setString(1, sessionId);
+                    ins.setString(2, questionCode);
+                    ins.setInt(3, answerValue);
+                    ins.setInt(4, score);
+                    ins.executeUpdate();
+                    c.commit();
+                } catch (SQLException e) {
+                    c.rollback();
+                    throw e;
+                } finally {
+                    c.setAutoCommit(true);
+                }
             } catch (SQLException e) {
-                c.rollback();
-                throw e;
-            } finally {
-                c.setAutoCommit(true);
+                throw new RuntimeException("Failed to save response: " + e.getMessage(), e);
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to save response: " + e.getMessage(), e);
-        }
+        });
     }
 
     /**
      * Returns the previously saved answer value (1/2/3) for a question in a session, if any.
+     * Archived sessions are read from their archive file.
      */
     public Optional<Integer> getAnswer(String sessionId, String questionCode) {
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(
-                     "SELECT answer_value FROM responses WHERE session_id = ? AND question_code = ? LIMIT 1")) {
+        return Metrics.dbCall("ResponseDao.getAnswer").call(() -> {
+            try (Connection c = Database.getConnection()) {
+                Optional<Integer> answer = getAnswer(c, "main", sessionId, questionCode);
+                if (answer.isPresent() || !ArchiveRoutes.attachFor(c, sessionId)) return answer;
+                try {
+                    return getAnswer(c, ArchiveRoutes.SCHEMA, sessionId, questionCode);
+                } finally {
+                    ArchiveRoutes.detach(c);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to read saved answer: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private static Optional<Integer> getAnswer(Connection c, String schema, String sessionId, String questionCode)
+            throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT answer_value FROM " + schema + ".responses WHERE session_id = ? AND question_code = ? LIMIT 1")) {
             ps.setString(1, sessionId);
             ps.setString(2, questionCode);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) return Optional.of(rs.getInt(1));
                 return Optional.empty();
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to read saved answer: " + e.getMessage(), e);
         }
     }
 }
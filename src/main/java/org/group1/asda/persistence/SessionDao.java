@@ -1,55 +1,71 @@
 package org.group1.asda.persistence;
 
+import org.group1.asda.metrics.Metrics;
+
 import java.sql.*;
 import java.time.Instant;
 import java.util.Optional;
-import java.util.UUID;
 
 public class SessionDao {
     /**
-     * Starts a new questionnaire session and returns its generated id.
+     * Starts a new questionnaire session and returns its generated, time-ordered id.
      */
     public String startSession() {
-        String id = UUID.randomUUID().toString();
-        long now = Instant.now().toEpochMilli();
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(
-                     "INSERT INTO sessions(id, started_at) VALUES(?,?)")) {
-            ps.setString(1, id);
-            ps.setLong(2, now);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to start session: " + e.getMessage(), e);
-        }
+        String id = SessionIds.next();
+        startSession(id);
         return id;
     }
 
+    /**
+     * Starts a new session under {@code id}, taken from {@link SessionIds#next()} by a caller
+     * that needs the id before the row is written.
+     */
+    public void startSession(String id) {
+        // Same instant as the id, which may be a millisecond ahead of the clock under a burst
+        long now = SessionIds.timestampOf(id);
+        Metrics.dbCall("SessionDao.startSession").run(() -> {
+            try (Connection c = Database.getConnection();
+                 PreparedStatement ps = c.prepareStatement(
+                         "INSERT INTO sessions(id, started_at) VALUES(?,?)")) {
+                ps.setString(1, id);
+                ps.setLong(2, now);
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to start session: " + e.getMessage(), e);
+            }
+        });
+    }
+
     /**
      * Ends the session by setting ended_at and (optionally) total score and level.
      */
     public void endSession(String sessionId, Integer totalScore, String level) {
         long now = Instant.now().toEpochMilli();
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement(
-                     "UPDATE sessions SET ended_at = ?, total_score = ?, level = ? WHERE id = ?")) {
-            ps.setLong(1, now);
-            if (totalScore == null) ps.setNull(2, Types.INTEGER); else ps.setInt(2, totalScore);
-            if (level == null) ps.setNull(3, Types.VARCHAR); else ps.setString(3, level);
-            ps.setString(4, sessionId);
-            ps.executeUpdate();
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to end session: " + e.getMessage(), e);
-        }
+        Metrics.dbCall("SessionDao.endSession").run(() -> {
+            try (Connection c = Database.getConnection();
+                 PreparedStatement ps = c.prepareStatement(
+                         "UPDATE sessions SET ended_at = ?, total_score = ?, level = ? WHERE id = ?")) {
+                ps.setLong(1, now);
+                if (totalScore == null) ps.setNull(2, Types.INTEGER); else ps.setInt(2, totalScore);
+                if (level == null) ps.setNull(3, Types.VARCHAR); else ps.setString(3, level);
+                ps.setString(4, sessionId);
+                ps.executeUpdate();
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to end session: " + e.getMessage(), e);
+            }
+        });
     }
 
     public Optional<String> getLatestSessionId() {
-        try (Connection c = Database.getConnection();
-             Statement st = c.createStatement();
-             ResultSet rs = st.executeQuery("SELECT id FROM sessions ORDER BY started_at DESC LIMIT 1")) {
-            if (rs.next()) return Optional.of(rs.getString(1));
-            return Optional.empty();
-        } catch (SQLException e) {
-            return Optional.empty();
-        }
+        return Metrics.dbCall("SessionDao.getLatestSessionId").call(() -> {
+            try (Connection c = Database.getConnection();
+                 Statement st = c.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT id FROM sessions ORDER BY started_at DESC LIMIT 1")) {
+                if (rs.next()) return Optional.of(rs.getString(1));
+                return Optional.empty();
+            } catch (SQLException e) {
+                return Optional.empty();
+            }
+        });
     }
 }
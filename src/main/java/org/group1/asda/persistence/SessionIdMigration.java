@@ -0,0 +1,116 @@
+package org.group1.asda.persistence;
+
+import org.group1.asda.metrics.Metrics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rewrites legacy random UUID session ids to time-ordered {@link SessionIds}.
+ *
+ * The hot tables are rewritten in one transaction, then each monthly archive file together with its
+ * {@code session_archive} routing rows in another. Every step only touches ids still in the legacy form, so
+ * an interrupted run is finished by the next one. The new id is derived from the old id and the session's
+ * start time ({@link SessionIds#fromLegacy}), so kiosks and the hub that migrate their own copies of a
+ * session agree on its new id; {@code change_seq} is left alone and nothing is re-exported. Legacy ids that
+ * arrive later in bundles from kiosks that have not been upgraded are not rewritten.
+ *
+ * Run by {@link Database#init} once per database, tracked with {@code PRAGMA user_version}.
+ */
+public final class SessionIdMigration {
+    /** {@code user_version} of a database whose session ids have been migrated. */
+    static final int VERSION = 1;
+
+    private static final int BATCH_SIZE = 500;
+
+    private SessionIdMigration() {}
+
+    /**
+     * Migrates the hot tables and every archive file that is present.
+     * @return number of sessions whose id was rewritten
+     */
+    public static long migrate(Connection c) throws SQLException {
+        return Metrics.dbCall("SessionIdMigration.migrate").call(() -> {
+            try (Statement st = c.createStatement()) {
+                st.executeUpdate("CREATE TEMP TABLE IF NOT EXISTS session_id_map (" +
+                        "old_id TEXT PRIMARY KEY, new_id TEXT NOT NULL) WITHOUT ROWID");
+                long migrated = inTransaction(c, () -> rewrite(c, "main", false));
+
+                List<String> archives = new ArrayList<>();
+                try (ResultSet rs = st.executeQuery("SELECT path FROM archive_months ORDER BY month")) {
+                    while (rs.next()) archives.add(rs.getString(1));
+                }
+                for (String path : archives) {
+                    // A missing archive keeps its legacy ids on both sides and stays routable
+                    if (!Files.exists(Path.of(path))) continue;
+                    ArchiveRoutes.attach(c, path);
+                    try {
+                        migrated += inTransaction(c, () -> rewrite(c, ArchiveRoutes.SCHEMA, true));
+                    } finally {
+                        ArchiveRoutes.detach(c);
+                    }
+                }
+                st.executeUpdate("DROP TABLE temp.session_id_map");
+                return migrated;
+            }
+        });
+    }
+
+    private interface Step {
+        long run() throws SQLException;
+    }
+
+    private static long inTransaction(Connection c, Step step) throws SQLException {
+        c.setAutoCommit(false);
+        try {
+            long n = step.run();
+            c.commit();
+            return n;
+        } catch (SQLException | RuntimeException e) {
+            c.rollback();
+            throw e;
+        } finally {
+            c.setAutoCommit(true);
+        }
+    }
+
+    private static long rewrite(Connection c, String schema, boolean archived) throws SQLException {
+        long n = 0;
+        try (Statement st = c.createStatement();
+             PreparedStatement map = c.prepareStatement("INSERT INTO temp.session_id_map(old_id, new_id) VALUES(?,?)")) {
+            st.executeUpdate("DELETE FROM temp.session_id_map");
+            // Legacy ids are the only 36-character ones
+            try (ResultSet rs = st.executeQuery(
+                    "SELECT id, started_at FROM " + schema + ".sessions WHERE length(id) = 36")) {
+                while (rs.next()) {
+                    String old = rs.getString(1);
+                    if (!SessionIds.isLegacy(old)) continue;
+                    map.setString(1, old);
+                    map.setString(2, SessionIds.fromLegacy(old, rs.getLong(2)));
+                    map.addBatch();
+                    if (++n % BATCH_SIZE == 0) map.executeBatch();
+                }
+            }
+            map.executeBatch();
+            if (n == 0) return 0;
+
+            String lookup = "(SELECT new_id FROM temp.session_id_map WHERE old_id = %1$s) " +
+                    "WHERE %1$s IN (SELECT old_id FROM temp.session_id_map)";
+            // The update triggers watch answers and scores only, so change_seq is unchanged
+            st.executeUpdate("UPDATE " + schema + ".responses SET session_id = " + String.format(lookup, "session_id"));
+            st.executeUpdate("UPDATE " + schema + ".game_results SET session_id = " + String.format(lookup, "session_id"));
+            st.executeUpdate("UPDATE " + schema + ".sessions SET id = " + String.format(lookup, "id"));
+            if (archived) {
+                st.executeUpdate("UPDATE main.session_archive SET session_id = " + String.format(lookup, "session_id"));
+            }
+        }
+        return n;
+    }
+}
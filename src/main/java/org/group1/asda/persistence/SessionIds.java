@@ -0,0 +1,138 @@
+package org.group1.asda.persistence;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Time-ordered session ids.
+ *
+ * An id is a 128-bit UUIDv7 (48-bit Unix millisecond timestamp, 12-bit counter, 62 random bits) written as
+ * 26 Crockford base32 characters, most significant first. Ids therefore sort by creation time both as numbers
+ * and as text, so new sessions append at the right edge of the primary key and the {@code session_id}
+ * indexes instead of landing on a random page, and each key is 26 bytes instead of the 36 of a dashed UUID.
+ *
+ * Within one millisecond the counter keeps ids from this JVM strictly increasing; if it runs out, or the
+ * clock steps back, the timestamp is carried forward from the last id.
+ */
+public final class SessionIds {
+    public static final int LENGTH = 26;
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final byte[] DECODE = new byte[128];
+    private static final Pattern COMPACT = Pattern.compile("[0-7][0-9A-HJKMNP-TV-Z]{25}");
+    private static final Pattern LEGACY = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final int COUNTER_MAX = 0xFFF;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) DECODE[ALPHABET[i]] = (byte) i;
+    }
+
+    private static final Generator GENERATOR = new Generator();
+
+    private SessionIds() {}
+
+    /** A new id stamped with the current time. */
+    public static String next() {
+        return GENERATOR.next(System.currentTimeMillis());
+    }
+
+    /** Monotonic id source; one per JVM outside of tests. */
+    static final class Generator {
+        private long lastMillis = -1;
+        private int counter;
+
+        synchronized String next(long nowMillis) {
+            if (nowMillis > lastMillis) {
+                lastMillis = nowMillis;
+                // Random start leaves most of the 4096 steps free while keeping ids from different kiosks apart
+                counter = RANDOM.nextInt(COUNTER_MAX / 2);
+            } else if (++counter > COUNTER_MAX) {
+                lastMillis++;
+                counter = 0;
+            }
+            return of(lastMillis, counter, RANDOM.nextLong());
+        }
+    }
+
+    /**
+     * Builds an id from its parts; only the low 48, 12 and 62 bits are used.
+     * Deterministic, for generated data and for migrating legacy ids.
+     */
+    public static String of(long epochMillis, int counter, long random) {
+        long msb = (epochMillis & 0xFFFF_FFFF_FFFFL) << 16 | 0x7000L | (counter & COUNTER_MAX);
+        long lsb = (random & 0x3FFF_FFFF_FFFF_FFFFL) | 0x8000_0000_0000_0000L;
+        return encode(msb, lsb);
+    }
+
+    /**
+     * The time-ordered id a legacy dashed UUID is migrated to: the session's start time followed by bits of
+     * the old id. The same inputs always give the same id, so a kiosk and the hub migrating their copies of
+     * a session independently end up with the same key.
+     */
+    public static String fromLegacy(String legacyId, long startedAtMillis) {
+        UUID old = UUID.fromString(legacyId);
+        return of(startedAtMillis, (int) old.getMostSignificantBits(), old.getLeastSignificantBits());
+    }
+
+    /** True for ids in the 26-character time-ordered form. */
+    public static boolean isCompact(String id) {
+        return id != null && COMPACT.matcher(id).matches();
+    }
+
+    /** True for the 36-character random UUIDs written before time-ordered ids. */
+    public static boolean isLegacy(String id) {
+        return id != null && LEGACY.matcher(id).matches();
+    }
+
+    /** Creation time encoded in a compact id. */
+    public static long timestampOf(String id) {
+        if (!isCompact(id)) throw new IllegalArgumentException("Not a time-ordered session id: " + id);
+        long v = 0;
+        // The first 10 characters hold the two zero padding bits and the 48-bit timestamp
+        for (int i = 0; i < 10; i++) v = v << 5 | DECODE[id.charAt(i)];
+        return v;
+    }
+
+    /** The 16-byte big-endian form of a compact id. */
+    public static byte[] toBytes(String id) {
+        if (!isCompact(id)) throw new IllegalArgumentException("Not a time-ordered session id: " + id);
+        byte[] out = new byte[16];
+        // 130 encoded bits, of which the first two are always zero
+        long acc = 0;
+        int bits = -2, pos = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            acc = acc << 5 | DECODE[id.charAt(i)];
+            bits += 5;
+            if (bits >= 8) {
+                bits -= 8;
+                out[pos++] = (byte) (acc >>> bits);
+            }
+        }
+        return out;
+    }
+
+    /** Inverse of {@link #toBytes}. */
+    public static String fromBytes(byte[] bytes) {
+        if (bytes.length != 16) throw new IllegalArgumentException("Session id must be 16 bytes: " + bytes.length);
+        long msb = 0, lsb = 0;
+        for (int i = 0; i < 8; i++) msb = msb << 8 | (bytes[i] & 0xFF);
+        for (int i = 8; i < 16; i++) lsb = lsb << 8 | (bytes[i] & 0xFF);
+        return encode(msb, lsb);
+    }
+
+    private static String encode(long msb, long lsb) {
+        char[] out = new char[LENGTH];
+        // Emit 5 bits at a time from the low end: 12 characters of lsb, one straddling both halves, 13 of msb
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            out[i] = ALPHABET[(int) (lsb & 31)];
+            lsb = lsb >>> 5 | msb << 59;
+            msb >>>= 5;
+        }
+        return new String(out);
+    }
+}
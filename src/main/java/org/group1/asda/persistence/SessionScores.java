@@ -0,0 +1,219 @@
+package org.group1.asda.persistence;
+
+import org.group1.asda.instrument.CompiledInstrument;
+import org.group1.asda.instrument.InstrumentDefinition;
+import org.group1.asda.instrument.Instruments;
+import org.group1.asda.metrics.Metrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Per-session checklist totals kept up to date as answers change, so a session's result is a primary key
+ * read instead of an aggregate over its responses.
+ *
+ * {@code item_points} holds the points and category of every (question, answer) pair of the checklist
+ * definition. Triggers on {@code responses} look the old and new answer up there and apply the difference
+ * to {@code session_scores} (total and answered count) and {@code session_category_scores} (the same per
+ * category), inside the statement that changed the answer and therefore in its transaction. Answers that
+ * are not in the definition are ignored, as in {@code AssessmentService}. Deleting a session drops its rows.
+ *
+ * {@link Database#init} refreshes {@code item_points} from the definition and rebuilds every row from
+ * {@code responses} when the points changed, which also fills the tables on the first start after
+ * upgrading. {@link #check} compares the rows with a full recompute.
+ */
+public final class SessionScores {
+    /** Sessions whose materialized rows disagree with their responses, listing at most {@code limit} ids. */
+    public record Check(long sessions, long mismatched, List<String> mismatchedIds) {
+        public boolean consistent() {
+            return mismatched == 0;
+        }
+    }
+
+    // Totals a fresh recompute would store, in the column order of the two tables
+    private static final String EXPECTED_SESSIONS =
+            "SELECT r.session_id, SUM(p.points) AS total, COUNT(*) AS answered FROM responses r " +
+            "JOIN item_points p ON p.question_code = r.question_code AND p.answer_value = r.answer_value " +
+            "GROUP BY r.session_id";
+    private static final String EXPECTED_CATEGORIES =
+            "SELECT r.session_id, p.category, SUM(p.points) AS total, COUNT(*) AS answered FROM responses r " +
+            "JOIN item_points p ON p.question_code = r.question_code AND p.answer_value = r.answer_value " +
+            "WHERE p.category IS NOT NULL GROUP BY r.session_id, p.category";
+
+    private SessionScores() {}
+
+    static void createSchema(Connection conn) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS item_points (" +
+                    "question_code TEXT NOT NULL, answer_value INTEGER NOT NULL, points INTEGER NOT NULL, category TEXT, " +
+                    "PRIMARY KEY(question_code, answer_value)" +
+                    ") WITHOUT ROWID");
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS session_scores (" +
+                    "session_id TEXT PRIMARY KEY, total INTEGER NOT NULL, answered INTEGER NOT NULL" +
+                    ") WITHOUT ROWID");
+            st.executeUpdate("CREATE TABLE IF NOT EXISTS session_category_scores (" +
+                    "session_id TEXT NOT NULL, category TEXT NOT NULL, total INTEGER NOT NULL, answered INTEGER NOT NULL, " +
+                    "PRIMARY KEY(session_id, category)" +
+                    ") WITHOUT ROWID");
+
+            String add =
+                    "INSERT INTO session_scores(session_id, total, answered) " +
+                    "SELECT NEW.session_id, points, 1 FROM item_points " +
+                    "WHERE question_code = NEW.question_code AND answer_value = NEW.answer_value " +
+                    "ON CONFLICT(session_id) DO UPDATE SET total = total + excluded.total, answered = answered + 1; " +
+                    "INSERT INTO session_category_scores(session_id, category, total, answered) " +
+                    "SELECT NEW.session_id, category, points, 1 FROM item_points " +
+                    "WHERE question_code = NEW.question_code AND answer_value = NEW.answer_value AND category IS NOT NULL " +
+                    "ON CONFLICT(session_id, category) DO UPDATE SET total = total + excluded.total, answered = answered + 1; ";
+            String subtract =
+                    "UPDATE session_scores SET total = total - p.points, answered = answered - 1 FROM item_points p " +
+                    "WHERE session_scores.session_id = OLD.session_id " +
+                    "AND p.question_code = OLD.question_code AND p.answer_value = OLD.answer_value; " +
+                    "UPDATE session_category_scores SET total = total - p.points, answered = answered - 1 FROM item_points p " +
+                    "WHERE session_category_scores.session_id = OLD.session_id AND session_category_scores.category = p.category " +
+                    "AND p.question_code = OLD.question_code AND p.answer_value = OLD.answer_value; ";
+            st.executeUpdate("CREATE TRIGGER IF NOT EXISTS tr_responses_insert_scores AFTER INSERT ON responses " +
+                    "BEGIN " + add + "END");
+            st.executeUpdate("CREATE TRIGGER IF NOT EXISTS tr_responses_delete_scores AFTER DELETE ON responses " +
+                    "BEGIN " + subtract + "END");
+            st.executeUpdate("CREATE TRIGGER IF NOT EXISTS tr_responses_update_scores " +
+                    "AFTER UPDATE OF session_id, question_code, answer_value ON responses " +
+                    "BEGIN " + subtract + add + "END");
+            st.executeUpdate("CREATE TRIGGER IF NOT EXISTS tr_sessions_delete_scores AFTER DELETE ON sessions BEGIN " +
+                    "DELETE FROM session_scores WHERE session_id = OLD.id; " +
+                    "DELETE FROM session_category_scores WHERE session_id = OLD.id; " +
+                    "END");
+        }
+    }
+
+    /**
+     * Brings {@code item_points} in line with the checklist definition and rebuilds the score rows if it
+     * changed. Runs in its own transaction.
+     * @return true if the rows were rebuilt
+     */
+    static boolean refresh(Connection conn) throws SQLException {
+        CompiledInstrument checklist = Instruments.checklist();
+        InstrumentDefinition def = checklist.getDefinition();
+        String[] categoryOf = new String[checklist.getItemCount()];
+        for (InstrumentDefinition.Subscale subscale : def.subscales()) {
+            for (String code : subscale.itemCodes()) categoryOf[checklist.indexOf(code)] = subscale.name();
+        }
+
+        Set<List<Object>> wanted = new HashSet<>();
+        for (int i = 0; i < def.items().size(); i++) {
+            InstrumentDefinition.Item item = def.items().get(i);
+            for (int c = 0; c < item.scores().length; c++) {
+                wanted.add(List.of(item.code(), c + 1, item.scores()[c], Objects.toString(categoryOf[i], "")));
+            }
+        }
+        Set<List<Object>> stored = new HashSet<>();
+        try (Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("SELECT question_code, answer_value, points, category FROM item_points")) {
+            while (rs.next()) {
+                stored.add(List.of(rs.getString(1), rs.getInt(2), rs.getInt(3), Objects.toString(rs.getString(4), "")));
+            }
+        }
+        if (stored.equals(wanted)) return false;
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement st = conn.createStatement();
+             PreparedStatement ps = conn.prepareStatement(
+                     "INSERT INTO item_points(question_code, answer_value, points, category) VALUES(?,?,?,?)")) {
+            st.executeUpdate("DELETE FROM item_points");
+            for (List<Object> row : wanted) {
+                ps.setString(1, (String) row.get(0));
+                ps.setInt(2, (Integer) row.get(1));
+                ps.setInt(3, (Integer) row.get(2));
+                String category = (String) row.get(3);
+                ps.setString(4, category.isEmpty() ? null : category);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            rebuild(st);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return true;
+    }
+
+    /** Recomputes every score row from {@code responses}, in one transaction. */
+    public static void rebuild() {
+        Metrics.dbCall("SessionScores.rebuild").run(() -> {
+            try (Connection c = Database.getConnection()) {
+                c.setAutoCommit(false);
+                try (Statement st = c.createStatement()) {
+                    rebuild(st);
+                    c.commit();
+                } catch (SQLException e) {
+                    c.rollback();
+                    throw e;
+                } finally {
+                    c.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to rebuild session scores: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private static void rebuild(Statement st) throws SQLException {
+        st.executeUpdate("DELETE FROM session_scores");
+        st.executeUpdate("DELETE FROM session_category_scores");
+        st.executeUpdate("INSERT INTO session_scores(session_id, total, answered) " + EXPECTED_SESSIONS);
+        st.executeUpdate("INSERT INTO session_category_scores(session_id, category, total, answered) " + EXPECTED_CATEGORIES);
+    }
+
+    /**
+     * Compares the materialized rows with a full recompute from {@code responses}, in one read transaction.
+     * Rows left with no answered items count as absent.
+     * @param limit most mismatched session ids to return
+     */
+    public static Check check(int limit) {
+        String actualSessions = "SELECT session_id, total, answered FROM session_scores WHERE answered <> 0";
+        String actualCategories = "SELECT session_id, category, total, answered FROM session_category_scores WHERE answered <> 0";
+        String mismatches =
+                "SELECT session_id FROM (" + EXPECTED_SESSIONS + " EXCEPT " + actualSessions + ") " +
+                "UNION SELECT session_id FROM (" + actualSessions + " EXCEPT " + EXPECTED_SESSIONS + ") " +
+                "UNION SELECT session_id FROM (" + EXPECTED_CATEGORIES + " EXCEPT " + actualCategories + ") " +
+                "UNION SELECT session_id FROM (" + actualCategories + " EXCEPT " + EXPECTED_CATEGORIES + ") " +
+                "ORDER BY session_id";
+        return Metrics.dbCall("SessionScores.check").call(() -> {
+            try (Connection c = Database.getConnection()) {
+                c.setAutoCommit(false);
+                try (Statement st = c.createStatement()) {
+                    long sessions;
+                    try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM session_scores WHERE answered <> 0")) {
+                        sessions = rs.next() ? rs.getLong(1) : 0;
+                    }
+                    long mismatched = 0;
+                    List<String> ids = new ArrayList<>();
+                    try (ResultSet rs = st.executeQuery(mismatches)) {
+                        while (rs.next()) {
+                            if (ids.size() < limit) ids.add(rs.getString(1));
+                            mismatched++;
+                        }
+                    }
+                    return new Check(sessions, mismatched, ids);
+                } finally {
+                    c.rollback();
+                    c.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to check session scores: " + e.getMessage(), e);
+            }
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package org.group1.asda.report;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.plugins.tiff.BaselineTIFFTagSet;
+import javax.imageio.plugins.tiff.TIFFDirectory;
+import javax.imageio.plugins.tiff.TIFFField;
+import javax.imageio.plugins.tiff.TIFFTag;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * One rendered report page as ARGB pixels, row by row. Pages are opaque, so they are written without an
+ * alpha channel.
+ */
+public record PageImage(int width, int height, int[] argb) {
+    public PageImage {
+        if (argb.length != width * height) {
+            throw new IllegalArgumentException("Expected " + width * height + " pixels, got " + argb.length);
+        }
+    }
+
+    private BufferedImage toImage() {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.getRaster().setDataElements(0, 0, width, height, argb);
+        return image;
+    }
+
+    /**
+     * Writes {@code pages} as one LZW-compressed multi-page TIFF tagged with {@code dpi}, using the JDK's
+     * TIFF writer. The file is written next to {@code file} and moved into place, so a failed report
+     * leaves no partial file behind.
+     */
+    public static void writeTiff(List<PageImage> pages, int dpi, Path file) throws IOException {
+        if (pages.isEmpty()) throw new IllegalArgumentException("A report needs at least one page");
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("tiff");
+        if (!writers.hasNext()) throw new IOException("No TIFF writer available");
+        ImageWriter writer = writers.next();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.deleteIfExists(tmp);
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(tmp.toFile())) {
+                writer.setOutput(out);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionType("LZW");
+                writer.prepareWriteSequence(null);
+                for (PageImage page : pages) {
+                    BufferedImage image = page.toImage();
+                    IIOMetadata metadata = withResolution(
+                            writer.getDefaultImageMetadata(new ImageTypeSpecifier(image), param), dpi);
+                    writer.writeToSequence(new IIOImage(image, null, metadata), param);
+                }
+                writer.endWriteSequence();
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            writer.dispose();
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static IIOMetadata withResolution(IIOMetadata metadata, int dpi) throws IOException {
+        TIFFDirectory dir = TIFFDirectory.createFromMetadata(metadata);
+        BaselineTIFFTagSet tags = BaselineTIFFTagSet.getInstance();
+        long[][] resolution = {{dpi, 1}};
+        dir.addTIFFField(new TIFFField(tags.getTag(BaselineTIFFTagSet.TAG_X_RESOLUTION), TIFFTag.TIFF_RATIONAL, 1, resolution));
+        dir.addTIFFField(new TIFFField(tags.getTag(BaselineTIFFTagSet.TAG_Y_RESOLUTION), TIFFTag.TIFF_RATIONAL, 1, resolution));
+        dir.addTIFFField(new TIFFField(tags.getTag(BaselineTIFFTagSet.TAG_RESOLUTION_UNIT),
+                BaselineTIFFTagSet.RESOLUTION_UNIT_INCH));
+        return dir.getAsMetadata();
+    }
+}
@@ -0,0 +1,87 @@
+package org.group1.asda.report;
+
+import javafx.application.Platform;
+import org.group1.asda.navigation.SharedResources;
+import org.group1.asda.persistence.Database;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Console runner for printable reports of stored sessions.
+ * Usage: run the application with --report [--db=FILE] [--out=DIR] [--session=ID]... [--limit=N] [--threads=N].
+ * Without --session every finished session is rendered (the first N with --limit). Rendering uses JavaFX,
+ * so a display is needed, as for the GUI.
+ */
+public class ReportCli {
+    private static final long PROGRESS_INTERVAL_NANOS = 2_000_000_000L;
+
+    public static int run(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int limit = 0;
+        Path out = Path.of("reports");
+        List<String> sessions = new ArrayList<>();
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--db=")) {
+                    System.setProperty("asda.db.url", "jdbc:sqlite:" + value(arg));
+                } else if (arg.startsWith("--out=")) {
+                    out = Path.of(value(arg));
+                } else if (arg.startsWith("--session=")) {
+                    sessions.add(value(arg));
+                } else if (arg.startsWith("--limit=")) {
+                    limit = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--threads=")) {
+                    threads = Integer.parseInt(value(arg));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid argument: " + e.getMessage());
+            return 2;
+        }
+
+        boolean toolkit = false;
+        try {
+            Database.init();
+            if (sessions.isEmpty()) sessions = new ReportSource().finishedSessions(limit);
+            startToolkit();
+            toolkit = true;
+            SharedResources.loadFonts();
+            AtomicLong lastPrint = new AtomicLong(System.nanoTime());
+            int total = sessions.size();
+            ReportJob job = new ReportJob(out, threads, s -> {
+                long now = System.nanoTime();
+                long last = lastPrint.get();
+                if (now - last < PROGRESS_INTERVAL_NANOS || !lastPrint.compareAndSet(last, now)) return;
+                System.out.println(String.format(Locale.ROOT, "  %d/%d reports, %.0f reports/hour",
+                        s.reports() + s.failed(), total, s.reportsPerHour()));
+            });
+            ReportJob.Summary summary = job.run(sessions);
+            System.out.println(summary.format());
+            System.out.println("Reports written to " + out.toAbsolutePath());
+            return summary.failed() == 0 ? 0 : 1;
+        } catch (Exception e) {
+            System.err.println("Report rendering failed: " + e.getMessage());
+            return 1;
+        } finally {
+            // Platform.exit blocks if the toolkit failed to start
+            if (toolkit) Platform.exit();
+        }
+    }
+
+    private static void startToolkit() {
+        // The launcher of App starts JavaFX before main, so it is usually running already
+        try {
+            Platform.startup(() -> {});
+        } catch (IllegalStateException alreadyStarted) {
+            // Nothing to do
+        }
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
@@ -0,0 +1,112 @@
+package org.group1.asda.report;
+
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.service.AsyncDataService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Renders the reports of stored sessions to one multi-page TIFF per session, {@code <sessionId>.tiff} in the
+ * output directory.
+ *
+ * Pages were first written as one PNG file each. A report is now a single file so it can be printed, moved
+ * or deleted as one. PNG holds one image per file, and TIFF is the only multi-page format the JDK's ImageIO
+ * writes. Pages stay lossless, with LZW compression in place of PNG's deflate.
+ *
+ * Reading a session and encoding its pages run on a pool of worker threads; populating the views and taking
+ * the snapshots is queued to the FX thread, where a single {@link ReportRenderer} renders one report at a
+ * time. At most {@code threads + 2} reports are in flight, which bounds memory to a few pages of pixels per
+ * worker however many sessions are rendered.
+ *
+ * The JavaFX toolkit must be running.
+ */
+public class ReportJob {
+    public record Summary(long reports, long pages, long failed, long elapsedNanos) {
+        public double reportsPerHour() {
+            return elapsedNanos == 0 ? 0.0 : reports * 3600e9 / elapsedNanos;
+        }
+
+        public String format() {
+            return String.format(Locale.ROOT, "Rendered %d reports (%d pages) in %.1f s, %.0f reports/hour%s",
+                    reports, pages, elapsedNanos / 1e9, reportsPerHour(), failed > 0 ? ", " + failed + " failed" : "");
+        }
+    }
+
+    private final ReportSource source = new ReportSource();
+    private final Path outDir;
+    private final int threads;
+    private final Consumer<Summary> progress;
+
+    public ReportJob(Path outDir, int threads, Consumer<Summary> progress) {
+        if (threads < 1) throw new IllegalArgumentException("Thread count must be at least 1: " + threads);
+        this.outDir = outDir;
+        this.threads = threads;
+        this.progress = progress;
+    }
+
+    public Summary run(List<String> sessionIds) throws IOException, InterruptedException {
+        Files.createDirectories(outDir);
+        long start = System.nanoTime();
+        AtomicLong reports = new AtomicLong();
+        AtomicLong pages = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "report-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        int window = threads + 2;
+        Semaphore inFlight = new Semaphore(window);
+        try {
+            ReportRenderer renderer = CompletableFuture.supplyAsync(ReportRenderer::new, AsyncDataService.FX).join();
+            for (String id : sessionIds) {
+                inFlight.acquire();
+                CompletableFuture.supplyAsync(() -> source.prepare(id), workers)
+                        .thenApplyAsync(renderer::render, AsyncDataService.FX)
+                        .thenApplyAsync(rendered -> write(id, rendered), workers)
+                        .whenComplete((written, error) -> {
+                            if (error != null) {
+                                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                        ? error.getCause() : error;
+                                System.err.println("Report of session " + id + " failed: " + cause.getMessage());
+                                failed.incrementAndGet();
+                                Metrics.counter("report.failures").increment();
+                            } else {
+                                reports.incrementAndGet();
+                                pages.addAndGet(written);
+                            }
+                            inFlight.release();
+                            progress.accept(new Summary(reports.get(), pages.get(), failed.get(), System.nanoTime() - start));
+                        });
+            }
+            // All permits back means every report has finished
+            inFlight.acquire(window);
+        } finally {
+            workers.shutdownNow();
+        }
+        return new Summary(reports.get(), pages.get(), failed.get(), System.nanoTime() - start);
+    }
+
+    private int write(String sessionId, List<PageImage> rendered) {
+        Path file = outDir.resolve(sessionId + ".tiff");
+        try {
+            PageImage.writeTiff(rendered, ReportRenderer.PAGE_DPI, file);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write " + file + ": " + e.getMessage(), e);
+        }
+        return rendered.size();
+    }
+}
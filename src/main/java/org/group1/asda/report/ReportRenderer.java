@@ -0,0 +1,113 @@
+package org.group1.asda.report;
+
+import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.BorderPane;
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.navigation.Router;
+import org.group1.asda.navigation.Seat;
+import org.group1.asda.navigation.SharedResources;
+import org.group1.asda.ui.attentiongame.AttentionGameResultsController;
+import org.group1.asda.ui.results.ResultsController;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders report pages offscreen with {@code Node.snapshot}. The two result views are loaded once, into one
+ * page-sized scene with the application stylesheets, and re-populated for every report, so a page costs a
+ * CSS and layout pass and a snapshot rather than an FXML load and stylesheet parse.
+ *
+ * Must be created and used on the FX thread; one renderer renders one page at a time.
+ */
+class ReportRenderer {
+    /** A4 at {@value #PAGE_DPI} dpi. */
+    static final int PAGE_WIDTH = 1240;
+    static final int PAGE_HEIGHT = 1754;
+    static final int PAGE_DPI = 150;
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+            .withZone(ZoneId.systemDefault());
+
+    private final BorderPane page = new BorderPane();
+    private final Label header = new Label();
+    private final Label footer = new Label();
+    private final Parent resultsView;
+    private final ResultsController results;
+    private final Parent attentionView;
+    private final AttentionGameResultsController attention;
+    private final WritableImage canvas = new WritableImage(PAGE_WIDTH, PAGE_HEIGHT);
+
+    ReportRenderer() {
+        Seat seat = Seat.detached();
+        FXMLLoader resultsLoader = load("/fxml/results.fxml", seat);
+        resultsView = resultsLoader.getRoot();
+        results = resultsLoader.getController();
+        FXMLLoader attentionLoader = load("/fxml/attention-game-results.fxml", seat);
+        attentionView = attentionLoader.getRoot();
+        attention = attentionLoader.getController();
+        // Navigation has no place on paper
+        for (Parent view : List.of(resultsView, attentionView)) {
+            for (Node button : view.lookupAll(".button")) {
+                button.setVisible(false);
+                button.setManaged(false);
+            }
+        }
+
+        header.setStyle("-fx-font-size: 18px; -fx-font-weight: bold;");
+        header.setPadding(new Insets(24, 32, 8, 32));
+        footer.setPadding(new Insets(8, 32, 24, 32));
+        page.setTop(header);
+        page.setBottom(footer);
+        Scene scene = new Scene(page, PAGE_WIDTH, PAGE_HEIGHT);
+        scene.getStylesheets().setAll(SharedResources.stylesheets());
+    }
+
+    /** The pages of {@code report}: the questionnaire result, then one page per attention game. */
+    List<PageImage> render(SessionReport report) {
+        List<PageImage> pages = new ArrayList<>(report.pageCount());
+        results.showSession(report.assessment());
+        pages.add(snapshot(resultsView, report, 1));
+        for (int i = 0; i < report.attentionGames().size(); i++) {
+            attention.showResult(report.attentionGames().get(i));
+            pages.add(snapshot(attentionView, report, i + 2));
+        }
+        return pages;
+    }
+
+    private PageImage snapshot(Parent view, SessionReport report, int number) {
+        return Metrics.time("report.page").call(() -> {
+            Long when = report.endedAt() != null ? report.endedAt() : report.startedAt();
+            String date = when != null ? " - " + DATE.format(Instant.ofEpochMilli(when)) : "";
+            header.setText("Session " + report.sessionId() + date);
+            footer.setText("Page " + number + " of " + report.pageCount());
+            page.setCenter(view);
+            // Applies CSS and lays the scene out before rendering it
+            page.snapshot(null, canvas);
+            int[] argb = new int[PAGE_WIDTH * PAGE_HEIGHT];
+            canvas.getPixelReader().getPixels(0, 0, PAGE_WIDTH, PAGE_HEIGHT, PixelFormat.getIntArgbInstance(), argb, 0, PAGE_WIDTH);
+            return new PageImage(PAGE_WIDTH, PAGE_HEIGHT, argb);
+        });
+    }
+
+    private static FXMLLoader load(String path, Seat seat) {
+        FXMLLoader loader = new FXMLLoader(ReportRenderer.class.getResource(path));
+        loader.setControllerFactory(type -> Router.createController(type, seat));
+        try {
+            loader.load();
+            return loader;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load " + path + ": " + e.getMessage(), e);
+        }
+    }
+}
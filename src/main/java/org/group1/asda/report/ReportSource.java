@@ -0,0 +1,85 @@
+package org.group1.asda.report;
+
+import org.group1.asda.domain.GameResult;
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.persistence.ArchiveRoutes;
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.GameResultDao;
+import org.group1.asda.service.AssessmentService;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the data of session reports from the database, including archived sessions. Safe to use from
+ * several threads; each call takes its own connection.
+ */
+public class ReportSource {
+    private final AssessmentService assessments = new AssessmentService();
+    private final GameResultDao gameResults = new GameResultDao();
+
+    /** Ids of the finished sessions in the hot database, in id order; {@code limit} 0 means all. */
+    public List<String> finishedSessions(int limit) {
+        String sql = "SELECT id FROM sessions WHERE ended_at IS NOT NULL ORDER BY id" + (limit > 0 ? " LIMIT ?" : "");
+        return Metrics.dbCall("ReportSource.finishedSessions").call(() -> {
+            try (Connection c = Database.getConnection();
+                 PreparedStatement ps = c.prepareStatement(sql)) {
+                if (limit > 0) ps.setInt(1, limit);
+                List<String> ids = new ArrayList<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) ids.add(rs.getString(1));
+                }
+                return ids;
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to list finished sessions: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    public SessionReport prepare(String sessionId) {
+        Long[] times = times(sessionId);
+        List<GameResult> attention = new ArrayList<>();
+        for (GameResult r : gameResults.findBySession(sessionId)) {
+            if (GameResult.ATTENTION.equals(r.game())) attention.add(r);
+        }
+        return new SessionReport(sessionId, times[0], times[1], assessments.assessFromDb(sessionId), List.copyOf(attention));
+    }
+
+    /** Start and end of the session, both null if it is in neither the hot database nor an archive. */
+    private Long[] times(String sessionId) {
+        return Metrics.dbCall("ReportSource.times").call(() -> {
+            try (Connection c = Database.getConnection()) {
+                Long[] times = times(c, "main", sessionId);
+                if (times != null || !ArchiveRoutes.attachFor(c, sessionId)) return times != null ? times : new Long[2];
+                try {
+                    times = times(c, ArchiveRoutes.SCHEMA, sessionId);
+                    return times != null ? times : new Long[2];
+                } finally {
+                    ArchiveRoutes.detach(c);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to load session: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private static Long[] times(Connection c, String schema, String sessionId) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT started_at, ended_at FROM " + schema + ".sessions WHERE id = ?")) {
+            ps.setString(1, sessionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return null;
+                return new Long[] {nullableLong(rs, 1), nullableLong(rs, 2)};
+            }
+        }
+    }
+
+    private static Long nullableLong(ResultSet rs, int column) throws SQLException {
+        long v = rs.getLong(column);
+        return rs.wasNull() ? null : v;
+    }
+}
@@ -0,0 +1,18 @@
+package org.group1.asda.report;
+
+import org.group1.asda.domain.GameResult;
+import org.group1.asda.service.AssessmentService;
+
+import java.util.List;
+
+/**
+ * Everything printed for one stored session: its questionnaire result and its attention game play-throughs,
+ * oldest first. {@code startedAt} and {@code endedAt} are epoch millis, null if unknown.
+ */
+public record SessionReport(String sessionId, Long startedAt, Long endedAt,
+                            AssessmentService.AssessmentResult assessment, List<GameResult> attentionGames) {
+    /** The questionnaire page and one page per attention game. */
+    public int pageCount() {
+        return 1 + attentionGames.size();
+    }
+}
@@ -0,0 +1,75 @@
+package org.group1.asda.rescore;
+
+import org.group1.asda.persistence.Database;
+
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Console runner for re-scoring stored sessions.
+ * Usage: run the application with --rescore [--db=FILE] [--threads=N] [--chunk=N] [--restart].
+ * An interrupted run (Ctrl+C) resumes where it stopped unless --restart is given.
+ */
+public class RescoreCli {
+    private static final long PROGRESS_INTERVAL_NANOS = 2_000_000_000L;
+
+    public static int run(String[] args) {
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunk = RescoreJob.DEFAULT_CHUNK;
+        boolean restart = false;
+        try {
+            for (String arg : args) {
+                if (arg.startsWith("--db=")) {
+                    System.setProperty("asda.db.url", "jdbc:sqlite:" + value(arg));
+                } else if (arg.startsWith("--threads=")) {
+                    threads = Integer.parseInt(value(arg));
+                } else if (arg.startsWith("--chunk=")) {
+                    chunk = Integer.parseInt(value(arg));
+                } else if (arg.equals("--restart")) {
+                    restart = true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid argument: " + e.getMessage());
+            return 2;
+        }
+
+        try {
+            Database.init();
+            AtomicLong lastPrint = new AtomicLong(System.nanoTime());
+            RescoreJob job = new RescoreJob(threads, chunk, p -> {
+                long now = System.nanoTime();
+                long last = lastPrint.get();
+                if (now - last < PROGRESS_INTERVAL_NANOS || !lastPrint.compareAndSet(last, now)) return;
+                System.out.println(String.format(Locale.ROOT, "  %d/%d sessions (%.0f%%), %d changed, %.0f sessions/s",
+                        p.sessions(), p.totalSessions(), p.totalSessions() == 0 ? 100.0 : 100.0 * p.sessions() / p.totalSessions(),
+                        p.changed(), p.sessionsPerSecond()));
+            });
+            // Ctrl+C: let the workers finish their current chunk rather than roll it back
+            CountDownLatch finished = new CountDownLatch(1);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                job.cancel();
+                try {
+                    finished.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "rescore-shutdown"));
+            try {
+                System.out.println(job.run(restart).format());
+            } finally {
+                finished.countDown();
+            }
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Re-scoring failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
@@ -0,0 +1,313 @@
+package org.group1.asda.rescore;
+
+import org.group1.asda.analytics.CohortAnalytics;
+import org.group1.asda.instrument.BatchScorer;
+import org.group1.asda.instrument.CompiledInstrument;
+import org.group1.asda.instrument.Instruments;
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.persistence.Database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Recomputes {@code total_score} and {@code level} of every finished session with the current checklist
+ * definition, e.g. after its scoring keys or bands change.
+ *
+ * Sessions are split into id ranges, several per thread, and the ranges are worked on a
+ * {@link ForkJoinPool}. Each range is walked in id order a chunk at a time: one query reads the next
+ * chunk of sessions joined to their responses, the chunk is transposed into a column matrix and scored
+ * with a {@link BatchScorer}, and the sessions whose total or level changed are written back in one
+ * batched transaction together with the range's checkpoint in {@code rescore_partitions}. Unchanged
+ * sessions are not written, so they keep their {@code change_seq} and are not re-sent by kiosk sync.
+ *
+ * A run that is interrupted or {@link #cancel() cancelled} leaves the checkpoint behind and the next run
+ * continues each range after its last committed session. Writes from the worker threads are serialised
+ * in-process so they never wait on each other's SQLite lock. Archived sessions are not re-scored.
+ */
+public class RescoreJob {
+    public static final int DEFAULT_CHUNK = 1000;
+    private static final int PARTITIONS_PER_THREAD = 4;
+
+    /**
+     * Counts after a committed chunk.
+     * @param sessions finished sessions re-scored so far, including by earlier interrupted runs
+     * @param sessionsThisRun those re-scored by this run, which the throughput is based on
+     */
+    public record Progress(long sessions, long totalSessions, long changed, long sessionsThisRun, long elapsedNanos) {
+        public double sessionsPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : sessionsThisRun * 1e9 / elapsedNanos;
+        }
+    }
+
+    private record Partition(int part, String fromId, String toId, String lastId) {}
+
+    private final int parallelism;
+    private final int chunkSize;
+    private final Consumer<Progress> listener;
+    private final CompiledInstrument instrument = Instruments.checklist();
+    private final BatchScorer scorer = new BatchScorer(instrument);
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong sessions = new AtomicLong();
+    private final AtomicLong changed = new AtomicLong();
+    private final AtomicLong ignoredAnswers = new AtomicLong();
+    private volatile boolean cancelled;
+    private long previousSessions;
+    private long totalSessions;
+    private long startNanos;
+
+    public RescoreJob() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK, null);
+    }
+
+    /**
+     * @param parallelism number of worker threads
+     * @param chunkSize   sessions read, scored and committed at a time
+     * @param listener    called from worker threads after every committed chunk, or null
+     */
+    public RescoreJob(int parallelism, int chunkSize, Consumer<Progress> listener) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be at least 1: " + chunkSize);
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+        this.listener = listener;
+    }
+
+    /** Stops the workers after their current chunk; the checkpoint stays for the next run. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Re-scores every finished session, resuming an unfinished earlier run unless {@code restart} is set.
+     */
+    public RescoreReport run(boolean restart) {
+        startNanos = System.nanoTime();
+        List<Partition> pending;
+        int partitions;
+        boolean resumed;
+        try (Connection c = Database.getConnection()) {
+            resumed = !restart && hasUnfinishedRun(c);
+            if (!resumed) plan(c);
+            pending = loadPending(c);
+            try (Statement st = c.createStatement()) {
+                try (ResultSet rs = st.executeQuery("SELECT COUNT(*), COALESCE(SUM(sessions), 0) FROM rescore_partitions")) {
+                    rs.next();
+                    partitions = rs.getInt(1);
+                    previousSessions = rs.getLong(2);
+                }
+                try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM sessions WHERE ended_at IS NOT NULL")) {
+                    totalSessions = rs.next() ? rs.getLong(1) : 0;
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to plan re-scoring: " + e.getMessage(), e);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (Partition p : pending) {
+                tasks.add(pool.submit(() -> rescore(p)));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            cancelled = true;
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Re-scoring interrupted", e);
+        } catch (ExecutionException e) {
+            cancelled = true;
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new RuntimeException("Re-scoring failed: " + cause.getMessage(), cause);
+        } finally {
+            pool.shutdown();
+        }
+        return new RescoreReport(partitions, resumed ? pending.size() : 0, sessions.get(), changed.get(),
+                ignoredAnswers.get(), System.nanoTime() - startNanos, !cancelled);
+    }
+
+    private static boolean hasUnfinishedRun(Connection c) throws SQLException {
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT 1 FROM rescore_partitions WHERE done = 0 LIMIT 1")) {
+            return rs.next();
+        }
+    }
+
+    private void plan(Connection c) throws SQLException {
+        List<String> bounds = CohortAnalytics.partitionBounds(c, parallelism * PARTITIONS_PER_THREAD);
+        c.setAutoCommit(false);
+        try (Statement st = c.createStatement();
+             PreparedStatement ps = c.prepareStatement("INSERT INTO rescore_partitions(part, from_id, to_id) VALUES(?,?,?)")) {
+            st.executeUpdate("DELETE FROM rescore_partitions");
+            // bounds holds the lower id of each partition after the first; null means open-ended
+            String lower = null;
+            for (int i = 0; i <= bounds.size(); i++) {
+                String upper = i < bounds.size() ? bounds.get(i) : null;
+                ps.setInt(1, i);
+                ps.setString(2, lower);
+                ps.setString(3, upper);
+                ps.addBatch();
+                lower = upper;
+            }
+            ps.executeBatch();
+            c.commit();
+        } catch (SQLException e) {
+            c.rollback();
+            throw e;
+        } finally {
+            c.setAutoCommit(true);
+        }
+    }
+
+    private static List<Partition> loadPending(Connection c) throws SQLException {
+        List<Partition> out = new ArrayList<>();
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery(
+                     "SELECT part, from_id, to_id, last_id FROM rescore_partitions WHERE done = 0 ORDER BY part")) {
+            while (rs.next()) {
+                out.add(new Partition(rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+            }
+        }
+        return out;
+    }
+
+    private void rescore(Partition p) {
+        int items = instrument.getItemCount();
+        int options = instrument.getOptionCount();
+        byte[][] responses = new byte[items][chunkSize];
+        List<String> ids = new ArrayList<>(chunkSize);
+        List<Integer> oldTotals = new ArrayList<>(chunkSize);
+        List<String> oldLevels = new ArrayList<>(chunkSize);
+
+        // The first chunk of a fresh range includes its lower bound; later chunks continue after the last id
+        String after = p.lastId() != null ? p.lastId() : p.fromId();
+        boolean inclusive = p.lastId() == null;
+        try (Connection c = Database.getConnection();
+             PreparedStatement first = c.prepareStatement(chunkSql(after == null ? null : inclusive ? ">=" : ">", p.toId() != null));
+             PreparedStatement next = c.prepareStatement(chunkSql(">", p.toId() != null))) {
+            PreparedStatement ps = first;
+            while (!cancelled) {
+                long t0 = System.nanoTime();
+                ids.clear();
+                oldTotals.clear();
+                oldLevels.clear();
+                for (byte[] row : responses) Arrays.fill(row, (byte) 0);
+
+                int i = 1;
+                if (after != null) ps.setString(i++, after);
+                if (p.toId() != null) ps.setString(i++, p.toId());
+                ps.setInt(i, chunkSize);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String id = rs.getString(1);
+                        if (ids.isEmpty() || !ids.get(ids.size() - 1).equals(id)) {
+                            ids.add(id);
+                            int total = rs.getInt(2);
+                            oldTotals.add(rs.wasNull() ? null : total);
+                            oldLevels.add(rs.getString(3));
+                        }
+                        String code = rs.getString(4);
+                        if (code == null) continue;
+                        int item = instrument.indexOf(code);
+                        int answer = rs.getInt(5);
+                        if (item < 0 || answer < 1 || answer > options) {
+                            // Answers outside the checklist definition do not count, as in AssessmentService
+                            ignoredAnswers.incrementAndGet();
+                            continue;
+                        }
+                        responses[item][ids.size() - 1] = (byte) answer;
+                    }
+                }
+                ps = next;
+
+                int n = ids.size();
+                BatchScorer.Result result = scorer.score(responses, n);
+                int changedHere = write(c, p.part(), ids, oldTotals, oldLevels, result, n < chunkSize);
+                if (n > 0) after = ids.get(n - 1);
+
+                Metrics.timer("rescore.chunk").recordSince(t0);
+                Metrics.counter("rescore.sessions").add(n);
+                Metrics.counter("rescore.changed").add(changedHere);
+                long done = sessions.addAndGet(n);
+                long changedTotal = changed.addAndGet(changedHere);
+                if (listener != null) {
+                    listener.accept(new Progress(previousSessions + done, totalSessions, changedTotal, done,
+                            System.nanoTime() - startNanos));
+                }
+                if (n < chunkSize) return;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to re-score sessions: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Next chunk of finished sessions in a range, joined to their responses and ordered by id.
+     * @param lowerOp comparison against the lower id bound, or null for an open lower end
+     */
+    private static String chunkSql(String lowerOp, boolean upperBound) {
+        String where = " WHERE ended_at IS NOT NULL"
+                + (lowerOp == null ? "" : " AND id " + lowerOp + " ?")
+                + (upperBound ? " AND id < ?" : "");
+        return "SELECT s.id, s.total_score, s.level, r.question_code, r.answer_value FROM " +
+                "(SELECT id, total_score, level FROM sessions" + where + " ORDER BY id LIMIT ?) s " +
+                "LEFT JOIN responses r ON r.session_id = s.id ORDER BY s.id";
+    }
+
+    /** Writes changed sessions and the range's checkpoint in one transaction; returns the number changed. */
+    private int write(Connection c, int part, List<String> ids, List<Integer> oldTotals, List<String> oldLevels,
+                      BatchScorer.Result result, boolean done) throws SQLException {
+        int n = ids.size();
+        int changedHere = 0;
+        writeLock.lock();
+        try {
+            c.setAutoCommit(false);
+            try (PreparedStatement update = c.prepareStatement("UPDATE sessions SET total_score = ?, level = ? WHERE id = ?");
+                 PreparedStatement checkpoint = c.prepareStatement("UPDATE rescore_partitions SET " +
+                         "last_id = COALESCE(?, last_id), sessions = sessions + ?, changed = changed + ?, done = ? WHERE part = ?")) {
+                for (int k = 0; k < n; k++) {
+                    int total = result.totals()[k];
+                    String level = result.band(k);
+                    if (Objects.equals(oldTotals.get(k), total) && level.equals(oldLevels.get(k))) continue;
+                    update.setInt(1, total);
+                    update.setString(2, level);
+                    update.setString(3, ids.get(k));
+                    update.addBatch();
+                    changedHere++;
+                }
+                if (changedHere > 0) update.executeBatch();
+                checkpoint.setString(1, n == 0 ? null : ids.get(n - 1));
+                checkpoint.setInt(2, n);
+                checkpoint.setInt(3, changedHere);
+                checkpoint.setInt(4, done ? 1 : 0);
+                checkpoint.setInt(5, part);
+                checkpoint.executeUpdate();
+                c.commit();
+            } catch (SQLException e) {
+                c.rollback();
+                throw e;
+            } finally {
+                c.setAutoCommit(true);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return changedHere;
+    }
+}
@@ -0,0 +1,34 @@
+package org.group1.asda.rescore;
+
+import java.util.Locale;
+
+/**
+ * What one {@link RescoreJob} run did.
+ *
+ * @param resumedPartitions ranges continued from an earlier interrupted run, 0 for a fresh run
+ * @param ignoredAnswers    stored answers that are not in the checklist definition or out of its range
+ * @param complete          false if the run was cancelled and left a checkpoint
+ */
+public record RescoreReport(int partitions, int resumedPartitions, long sessions, long changed,
+                            long ignoredAnswers, long elapsedNanos, boolean complete) {
+
+    public double sessionsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : sessions * 1e9 / elapsedNanos;
+    }
+
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        if (resumedPartitions > 0) {
+            sb.append(String.format(Locale.ROOT, "Resumed %d of %d id ranges%n", resumedPartitions, partitions));
+        }
+        sb.append(String.format(Locale.ROOT, "Re-scored %d sessions (%d changed) in %.1f s, %.0f sessions/s",
+                sessions, changed, elapsedNanos / 1e9, sessionsPerSecond()));
+        if (ignoredAnswers > 0) {
+            sb.append(String.format(Locale.ROOT, "%nIgnored %d answers outside the checklist definition", ignoredAnswers));
+        }
+        if (!complete) {
+            sb.append(String.format(Locale.ROOT, "%nStopped early; run again to continue from the checkpoint"));
+        }
+        return sb.toString();
+    }
+}
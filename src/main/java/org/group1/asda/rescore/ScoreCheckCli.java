@@ -0,0 +1,47 @@
+package org.group1.asda.rescore;
+
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.SessionScores;
+
+/**
+ * Console runner that verifies the maintained per-session score rows against a full recompute.
+ * Usage: run the application with --check-scores [--db=FILE] [--repair].
+ * Exits with 1 if rows disagree and --repair was not given; --repair rebuilds every row and checks again.
+ */
+public class ScoreCheckCli {
+    private static final int LISTED_IDS = 20;
+
+    public static int run(String[] args) {
+        boolean repair = false;
+        for (String arg : args) {
+            if (arg.startsWith("--db=")) {
+                System.setProperty("asda.db.url", "jdbc:sqlite:" + arg.substring("--db=".length()));
+            } else if (arg.equals("--repair")) {
+                repair = true;
+            }
+        }
+
+        try {
+            Database.init();
+            long start = System.nanoTime();
+            SessionScores.Check check = SessionScores.check(LISTED_IDS);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+            System.out.println("Checked " + check.sessions() + " scored sessions in " + elapsedMs + " ms");
+            if (check.consistent()) {
+                System.out.println("Session scores match their responses");
+                return 0;
+            }
+            System.out.println(check.mismatched() + " sessions disagree with their responses, e.g.:");
+            check.mismatchedIds().forEach(id -> System.out.println("  " + id));
+            if (!repair) return 1;
+
+            SessionScores.rebuild();
+            SessionScores.Check after = SessionScores.check(LISTED_IDS);
+            System.out.println(after.consistent() ? "Rebuilt session scores" : "Session scores still disagree after rebuild");
+            return after.consistent() ? 0 : 1;
+        } catch (Exception e) {
+            System.err.println("Score check failed: " + e.getMessage());
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package org.group1.asda.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.group1.asda.assessment.AQResultInterpreter;
+import org.group1.asda.assessment.AQScoreCalculator;
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.service.AssessmentService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless HTTP API for scoring AQ response sheets and looking up stored sessions, for EHR integration.
+ *
+ * <pre>
+ * POST /v1/aq/score        {"sheets":[{"id":"a","responses":[1,4,2,...]}, ...]}  (50 choices, 1-4 each)
+ * GET  /v1/sessions/{id}   stored result of a questionnaire session
+ * GET  /metrics            request counts, latency percentiles and throughput as text
+ * GET  /health
+ * </pre>
+ *
+ * Each sheet in a batch is scored independently; an invalid sheet gets an {@code error} entry instead
+ * of failing the whole request. At most {@code workers} requests are processed at once and at most
+ * {@code queue} more wait for a worker; anything beyond that is answered immediately with 503 and
+ * {@code Retry-After}. Requests run on virtual threads when the runtime has them (Java 21+), otherwise
+ * on a platform pool sized to the same limits. The HTTP dispatcher thread only checks admission and
+ * hands the exchange over, so it never waits for a worker.
+ */
+public class ScoringServer implements AutoCloseable {
+    // Pool threads kept free of admission for /metrics and /health
+    private static final int MONITORING_THREADS = 2;
+
+    /**
+     * @param host         address to bind; the default only accepts connections from this machine
+     * @param port         TCP port, 0 for any free port
+     * @param workers      requests processed concurrently
+     * @param queue        requests allowed to wait for a worker before new ones are rejected
+     * @param maxBatch     sheets accepted per scoring request
+     * @param maxBodyBytes request body limit
+     */
+    public record Config(String host, int port, int workers, int queue, int maxBatch, int maxBodyBytes) {
+
+        public Config {
+            if (port < 0 || port > 65535) throw new IllegalArgumentException("Invalid port: " + port);
+            if (workers < 1) throw new IllegalArgumentException("Workers must be at least 1: " + workers);
+            if (queue < 0) throw new IllegalArgumentException("Queue must not be negative: " + queue);
+            if (maxBatch < 1) throw new IllegalArgumentException("Max batch must be at least 1: " + maxBatch);
+            if (maxBodyBytes < 1) throw new IllegalArgumentException("Max body must be at least 1 byte: " + maxBodyBytes);
+        }
+
+        public static Config defaults() {
+            return new Config("127.0.0.1", 8080, Runtime.getRuntime().availableProcessors(), 128, 1000, 4 << 20);
+        }
+
+        /**
+         * Defaults overridden by {@code asda.server.host}, {@code .port}, {@code .workers}, {@code .queue},
+         * {@code .maxBatch} and {@code .maxBodyBytes}.
+         */
+        public static Config fromSystemProperties() {
+            Config d = defaults();
+            return new Config(System.getProperty("asda.server.host", d.host()),
+                    Integer.getInteger("asda.server.port", d.port()),
+                    Integer.getInteger("asda.server.workers", d.workers()),
+                    Integer.getInteger("asda.server.queue", d.queue()),
+                    Integer.getInteger("asda.server.maxBatch", d.maxBatch()),
+                    Integer.getInteger("asda.server.maxBodyBytes", d.maxBodyBytes()));
+        }
+
+        public Config withHost(String host) {
+            return new Config(host, port, workers, queue, maxBatch, maxBodyBytes);
+        }
+
+        public Config withPort(int port) {
+            return new Config(host, port, workers, queue, maxBatch, maxBodyBytes);
+        }
+
+        public Config withWorkers(int workers) {
+            return new Config(host, port, workers, queue, maxBatch, maxBodyBytes);
+        }
+
+        public Config withQueue(int queue) {
+            return new Config(host, port, workers, queue, maxBatch, maxBodyBytes);
+        }
+
+        public Config withMaxBatch(int maxBatch) {
+            return new Config(host, port, workers, queue, maxBatch, maxBodyBytes);
+        }
+    }
+
+    private record Response(int status, String contentType, byte[] body) {
+        static Response json(int status, Object value) {
+            return new Response(status, "application/json; charset=utf-8", Json.write(value).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Response error(int status, String message) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("error", message);
+            return json(status, body);
+        }
+    }
+
+    /** Turns into an error response with the given status. */
+    private static final class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        HttpError(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        Response handle(HttpExchange exchange) throws IOException;
+    }
+
+    private final Config config;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+    private final Semaphore admission;
+    private final Semaphore workers;
+    private final long startedAt = System.nanoTime();
+    private final AssessmentService assessmentService = new AssessmentService();
+
+    private ScoringServer(Config config) throws IOException {
+        this.config = config;
+        this.admission = new Semaphore(config.workers() + config.queue());
+        this.workers = new Semaphore(config.workers());
+        ExecutorService vt = virtualThreadExecutor();
+        this.virtualThreads = vt != null;
+        this.executor = vt != null ? vt : platformExecutor(config);
+
+        // No server executor: handlers run on the dispatcher and pass the exchange to the executor themselves
+        server = HttpServer.create(new InetSocketAddress(config.host(), config.port()), config.queue());
+        server.createContext("/v1/aq/score", ex -> handle(ex, "score", true, this::score));
+        server.createContext("/v1/sessions/", ex -> handle(ex, "session", true, this::session));
+        // Monitoring stays available while the server is saturated
+        server.createContext("/metrics", ex -> handle(ex, "metrics", false, this::metrics));
+        server.createContext("/health", ex -> handle(ex, "health", false, this::health));
+        server.createContext("/", ex -> handle(ex, "notFound", false, e -> Response.error(404, "Not found")));
+        server.start();
+    }
+
+    public static ScoringServer start(Config config) throws IOException {
+        return new ScoringServer(config);
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    /** Admission permits (workers + queue); tests take them to simulate a saturated server. */
+    Semaphore admission() {
+        return admission;
+    }
+
+    /** Request executor; tests shut it down to simulate a pool that rejects work. */
+    ExecutorService executor() {
+        return executor;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService platformExecutor(Config config) {
+        AtomicInteger n = new AtomicInteger();
+        // Threads are created on demand up to the admission limit plus the monitoring spares. A task the
+        // pool cannot take is rejected back to the dispatcher, which answers 503.
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(config.workers(),
+                config.workers() + config.queue() + MONITORING_THREADS,
+                30, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                    Thread t = new Thread(r, "scoring-server-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /** Runs on the dispatcher thread: admits or rejects the exchange without ever blocking. */
+    private void handle(HttpExchange ex, String route, boolean limited, Endpoint endpoint) {
+        long start = System.nanoTime();
+        Metrics.counter("http.requests").increment();
+        if (limited && !admission.tryAcquire()) {
+            reject(ex, route, start);
+            return;
+        }
+        try {
+            executor.execute(() -> serve(ex, route, limited, endpoint, start));
+        } catch (RejectedExecutionException e) {
+            if (limited) admission.release();
+            reject(ex, route, start);
+        }
+    }
+
+    private void reject(HttpExchange ex, String route, long start) {
+        Metrics.counter("http.rejected").increment();
+        try {
+            ex.getResponseHeaders().set("Retry-After", "1");
+            send(ex, Response.error(503, "Server busy, retry later"));
+        } catch (IOException e) {
+            // Client went away; nothing to answer
+        } finally {
+            ex.close();
+            Metrics.timer("http." + route).recordSince(start);
+        }
+    }
+
+    private void serve(HttpExchange ex, String route, boolean limited, Endpoint endpoint, long start) {
+        try {
+            if (!limited) {
+                send(ex, respond(ex, endpoint));
+                return;
+            }
+            try {
+                workers.acquire();
+                Metrics.timer("http.queueWait").recordSince(start);
+                try {
+                    send(ex, respond(ex, endpoint));
+                } finally {
+                    workers.release();
+                }
+            } finally {
+                admission.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Client went away; nothing to answer
+        } finally {
+            ex.close();
+            Metrics.timer("http." + route).recordSince(start);
+        }
+    }
+
+    private static Response respond(HttpExchange ex, Endpoint endpoint) {
+        try {
+            return endpoint.handle(ex);
+        } catch (HttpError e) {
+            return Response.error(e.status, e.getMessage());
+        } catch (IOException e) {
+            return Response.error(400, "Failed to read request: " + e.getMessage());
+        } catch (RuntimeException e) {
+            Metrics.counter("http.errors").increment();
+            return Response.error(500, "Internal error: " + e.getMessage());
+        }
+    }
+
+    private static void send(HttpExchange ex, Response r) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", r.contentType());
+        ex.sendResponseHeaders(r.status(), r.body().length == 0 ? -1 : r.body().length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(r.body());
+        }
+    }
+
+    private static void requireMethod(HttpExchange ex, String method) {
+        if (!method.equals(ex.getRequestMethod())) {
+            ex.getResponseHeaders().set("Allow", method);
+            throw new HttpError(405, "Use " + method);
+        }
+    }
+
+    private String readBody(HttpExchange ex) throws IOException {
+        try (InputStream in = ex.getRequestBody()) {
+            byte[] body = in.readNBytes(config.maxBodyBytes() + 1);
+            if (body.length > config.maxBodyBytes()) {
+                throw new HttpError(413, "Request body exceeds " + config.maxBodyBytes() + " bytes");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private Response score(HttpExchange ex) throws IOException {
+        if (!"/v1/aq/score".equals(ex.getRequestURI().getPath())) throw new HttpError(404, "Not found");
+        requireMethod(ex, "POST");
+        Object parsed;
+        try {
+            parsed = Json.parse(readBody(ex));
+        } catch (IllegalArgumentException e) {
+            throw new HttpError(400, "Invalid JSON: " + e.getMessage());
+        }
+        if (!(parsed instanceof Map<?, ?> request) || !(request.get("sheets") instanceof List<?> sheets)) {
+            throw new HttpError(400, "Expected an object with a \"sheets\" array");
+        }
+        if (sheets.size() > config.maxBatch()) {
+            throw new HttpError(413, "Batch of " + sheets.size() + " sheets exceeds the limit of " + config.maxBatch());
+        }
+
+        List<Object> results = new ArrayList<>(sheets.size());
+        for (int i = 0; i < sheets.size(); i++) {
+            results.add(scoreSheet(i, sheets.get(i)));
+        }
+        Metrics.counter("http.sheets").add(sheets.size());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("count", results.size());
+        body.put("results", results);
+        return Response.json(200, body);
+    }
+
+    private Map<String, Object> scoreSheet(int index, Object sheet) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        Object id = sheet instanceof Map<?, ?> m ? m.get("id") : null;
+        out.put("id", id instanceof String || id instanceof Number ? id : index);
+        try {
+            if (!(sheet instanceof Map<?, ?> m) || !(m.get("responses") instanceof List<?> list)) {
+                throw new IllegalArgumentException("Expected an object with a \"responses\" array");
+            }
+            int[] responses = new int[list.size()];
+            for (int i = 0; i < responses.length; i++) {
+                if (!(list.get(i) instanceof Long v) || v < 1 || v > 4) {
+                    throw new IllegalArgumentException("Response " + (i + 1) + " must be a choice from 1 to 4");
+                }
+                responses[i] = v.intValue();
+            }
+            AQScoreCalculator.CategoryScores cats = AQScoreCalculator.calculateCategoryScores(responses);
+            AQResultInterpreter.AssessmentSummary summary = AQResultInterpreter.interpret(cats.getTotalScore(), cats);
+
+            Map<String, Object> categories = new LinkedHashMap<>();
+            categories.put("socialSkills", cats.getSocialSkillsScore());
+            categories.put("attentionSwitching", cats.getAttentionSwitchingScore());
+            categories.put("attentionToDetail", cats.getAttentionToDetailScore());
+            categories.put("communication", cats.getCommunicationScore());
+            categories.put("imagination", cats.getImaginationScore());
+            out.put("totalScore", summary.totalScore);
+            out.put("riskLevel", summary.riskLevel);
+            out.put("categories", categories);
+        } catch (IllegalArgumentException e) {
+            out.put("error", e.getMessage());
+        }
+        return out;
+    }
+
+    private Response session(HttpExchange ex) {
+        requireMethod(ex, "GET");
+        String id = ex.getRequestURI().getPath().substring("/v1/sessions/".length());
+        if (id.isEmpty() || id.contains("/")) throw new HttpError(404, "Not found");
+
+        AssessmentService.AssessmentResult result = assessmentService.assessFromDb(id);
+        if (result.questionCount() == 0) throw new HttpError(404, "No responses for session " + id);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("sessionId", id);
+        body.put("totalScore", result.totalScore());
+        body.put("questionCount", result.questionCount());
+        body.put("level", result.level());
+        body.put("categories", new LinkedHashMap<>(result.categoryScores()));
+        return Response.json(200, body);
+    }
+
+    private Response metrics(HttpExchange ex) {
+        requireMethod(ex, "GET");
+        double uptime = (System.nanoTime() - startedAt) / 1e9;
+        long requests = Metrics.counter("http.requests").get();
+        long sheets = Metrics.counter("http.sheets").get();
+        String text = String.format(Locale.ROOT, "uptime %.1fs, %.1f requests/s, %.1f sheets/s, %d in flight%n",
+                uptime, requests / uptime, sheets / uptime, config.workers() + config.queue() - admission.availablePermits())
+                + Metrics.format();
+        return new Response(200, "text/plain; charset=utf-8", text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Response health(HttpExchange ex) {
+        requireMethod(ex, "GET");
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "ok");
+        body.put("virtualThreads", virtualThreads);
+        return Response.json(200, body);
+    }
+}
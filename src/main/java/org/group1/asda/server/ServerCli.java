@@ -0,0 +1,67 @@
+package org.group1.asda.server;
+
+import org.group1.asda.persistence.Database;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs the scoring API until the process is stopped.
+ * Usage: run the application with --serve [--host=127.0.0.1] [--port=8080] [--workers=N] [--queue=N]
+ * [--max-batch=N] [--db=FILE]. Defaults come from the asda.server.* system properties
+ * (see {@link ScoringServer.Config#fromSystemProperties()}); --db overrides asda.db.url for this run.
+ */
+public class ServerCli {
+    public static int run(String[] args) {
+        ScoringServer.Config config;
+        try {
+            config = ScoringServer.Config.fromSystemProperties();
+            for (String arg : args) {
+                if (arg.startsWith("--db=")) {
+                    System.setProperty("asda.db.url", "jdbc:sqlite:" + value(arg));
+                } else if (arg.startsWith("--host=")) {
+                    config = config.withHost(value(arg));
+                } else if (arg.startsWith("--port=")) {
+                    config = config.withPort(Integer.parseInt(value(arg)));
+                } else if (arg.startsWith("--workers=")) {
+                    config = config.withWorkers(Integer.parseInt(value(arg)));
+                } else if (arg.startsWith("--queue=")) {
+                    config = config.withQueue(Integer.parseInt(value(arg)));
+                } else if (arg.startsWith("--max-batch=")) {
+                    config = config.withMaxBatch(Integer.parseInt(value(arg)));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid argument: " + e.getMessage());
+            return 2;
+        }
+
+        ScoringServer server;
+        try {
+            Database.init();
+            server = ScoringServer.start(config);
+        } catch (Exception e) {
+            System.err.println("Failed to start scoring server: " + e.getMessage());
+            return 1;
+        }
+        System.out.printf("Scoring server listening on http://%s:%d (%s, %d workers, queue %d)%n",
+                config.host(), server.getAddress().getPort(),
+                server.usesVirtualThreads() ? "virtual threads" : "platform threads", config.workers(), config.queue());
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            stopped.countDown();
+        }, "scoring-server-shutdown"));
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            server.close();
+        }
+        return 0;
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
@@ -1,79 +1,115 @@
 package org.group1.asda.service;
 
+import org.group1.asda.instrument.CompiledInstrument;
+import org.group1.asda.instrument.Instruments;
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.persistence.ArchiveRoutes;
 import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.SessionScores;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
- * Computes assessment totals and level for a questionnaire session.
+ * Computes assessment totals and level for a questionnaire session with the compiled checklist
+ * definition ({@code /instruments/checklist.instrument}).
  * Scoring currently treats answers as: 1 = Very True, 2 = True, 3 = False.
  * Lower totals indicate more endorsed symptom statements.
  * Bands are derived relative to the observed min/max range per session size.
+ *
+ * Points come from each row's {@code answer_value} through the definition, not from the stored
+ * {@code score} column, and rows whose question code is not a checklist item or whose answer is outside the
+ * item's options are not counted, as in {@link SessionScores} and the rescore job. Before
+ * the checklist definition existed the total was {@code SUM(score)} over every response row of the session.
  */
 public class AssessmentService {
+    private static final CompiledInstrument CHECKLIST = Instruments.checklist();
 
     public record AssessmentResult(int totalScore, int questionCount, Map<String, Integer> categoryScores, String level) {}
 
     /**
-     * Computes totals and per-category scores directly from the DB for the given session id
-     * and returns an {@link AssessmentResult}. No rows means a zero-result.
+     * Returns the {@link AssessmentResult} of the given session id from its maintained score rows
+     * (see {@link SessionScores}), falling back to aggregating its responses. No rows means a zero-result.
+     * Archived sessions are read from their archive file.
      */
     public AssessmentResult assessFromDb(String sessionId) {
-        int total = 0;
-        int count = 0;
-        Map<String, Integer> byCat = new LinkedHashMap<>();
-
-        try (Connection c = Database.getConnection()) {
-            // Total and count
-            try (PreparedStatement ps = c.prepareStatement(
-                    "SELECT COALESCE(SUM(score),0) AS total, COUNT(*) AS cnt FROM responses WHERE session_id = ?")) {
-                ps.setString(1, sessionId);
-                try (ResultSet rs = ps.executeQuery()) {
-                    if (rs.next()) {
-                        total = rs.getInt("total");
-                        count = rs.getInt("cnt");
-                    }
+        return Metrics.dbCall("AssessmentService.assessFromDb").call(() -> {
+            try (Connection c = Database.getConnection()) {
+                AssessmentResult stored = fromScores(c, sessionId);
+                if (stored != null) return stored;
+                AssessmentResult result = assess(c, "main", sessionId);
+                if (result.questionCount() > 0 || !ArchiveRoutes.attachFor(c, sessionId)) return result;
+                try {
+                    return assess(c, ArchiveRoutes.SCHEMA, sessionId);
+                } finally {
+                    ArchiveRoutes.detach(c);
                 }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to assess session: " + e.getMessage(), e);
             }
+        });
+    }
 
-            // Per-category sums (preserve insertion order for stable UI)
-            try (PreparedStatement ps = c.prepareStatement(
-                    "SELECT q.category, COALESCE(SUM(r.score),0) AS s " +
-                    "FROM responses r JOIN questions q ON q.code = r.question_code " +
-                    "WHERE r.session_id = ? GROUP BY q.category ORDER BY q.category")) {
-                ps.setString(1, sessionId);
-                try (ResultSet rs = ps.executeQuery()) {
-                    while (rs.next()) {
-                        byCat.put(rs.getString("category"), rs.getInt("s"));
-                    }
+    /** The session's maintained totals, or null if it has no answered checklist items in the hot database. */
+    private AssessmentResult fromScores(Connection c, String sessionId) throws SQLException {
+        int total;
+        int answered;
+        try (PreparedStatement ps = c.prepareStatement("SELECT total, answered FROM session_scores WHERE session_id = ?")) {
+            ps.setString(1, sessionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next() || rs.getInt(2) == 0) return null;
+                total = rs.getInt(1);
+                answered = rs.getInt(2);
+            }
+        }
+        Map<String, Integer> byCat = new LinkedHashMap<>();
+        try (PreparedStatement ps = c.prepareStatement("SELECT category, total FROM session_category_scores " +
+                "WHERE session_id = ? AND answered <> 0 ORDER BY category")) {
+            ps.setString(1, sessionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) byCat.put(rs.getString(1), rs.getInt(2));
+            }
+        }
+        return new AssessmentResult(total, answered, byCat, CHECKLIST.band(total, answered));
+    }
+
+    private AssessmentResult assess(Connection c, String schema, String sessionId) throws SQLException {
+        // Answers outside the checklist definition are ignored
+        int[] choices = new int[CHECKLIST.getItemCount()];
+        int options = CHECKLIST.getOptionCount();
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT question_code, answer_value FROM " + schema + ".responses WHERE session_id = ?")) {
+            ps.setString(1, sessionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int item = CHECKLIST.indexOf(rs.getString(1));
+                    int answer = rs.getInt(2);
+                    if (item >= 0 && answer >= 1 && answer <= options) choices[item] = answer;
                 }
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to assess session: " + e.getMessage(), e);
         }
+        CompiledInstrument.Score score = CHECKLIST.score(choices);
 
-        String level = deriveLevel(total, count);
-        return new AssessmentResult(total, count, byCat, level);
+        // Per-category sums of the answered categories, by name for a stable UI
+        Map<String, Integer> byCat = new TreeMap<>();
+        List<String> names = CHECKLIST.getSubscaleNames();
+        for (int i = 0; i < names.size(); i++) {
+            if (score.subscaleAnswered()[i] > 0) byCat.put(names.get(i), score.subscales()[i]);
+        }
+        return new AssessmentResult(score.total(), score.answered(), new LinkedHashMap<>(byCat), score.band());
     }
 
     /**
-     * Derive band labels based on total and number of answered questions.
-     * Min = 1 * n, Max = 3 * n. Elevated <= 33% of range above min, Moderate <= 66%, else Low.
+     * Derive band labels based on total and number of answered questions, from the relative bands of the
+     * checklist definition: Min = 1 * n, Max = 3 * n. Elevated <= 33% of range above min, Moderate <= 66%, else Low.
      */
     public String deriveLevel(int totalScore, int questionCount) {
-        if (questionCount <= 0) return "Unknown";
-        int min = questionCount * 1;
-        int max = questionCount * 3;
-        int range = max - min; // == 2 * n
-        double t1 = min + range * 0.33;
-        double t2 = min + range * 0.66;
-        if (totalScore <= t1) return "Elevated";
-        if (totalScore <= t2) return "Moderate";
-        return "Low";
+        return CHECKLIST.band(totalScore, questionCount);
     }
 }
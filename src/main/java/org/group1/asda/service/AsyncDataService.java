@@ -0,0 +1,176 @@
+package org.group1.asda.service;
+
+import javafx.application.Platform;
+import org.group1.asda.domain.GameResult;
+import org.group1.asda.domain.Question;
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.persistence.GameResultDao;
+import org.group1.asda.persistence.QuestionDao;
+import org.group1.asda.persistence.ResponseDao;
+import org.group1.asda.persistence.SessionDao;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterparts of the DAO and assessment calls for use from FX controllers.
+ *
+ * Writes run in submission order on a single writer thread, matching SQLite's single writer, so an
+ * answer saved after {@code startSession} always finds its session. Reads run on a small pool of
+ * reader threads. Continue on the FX thread with {@code thenAcceptAsync(callback, AsyncDataService.FX)}
+ * and register that stage with the screen's {@link org.group1.asda.navigation.ScreenTasks} so the
+ * callback is dropped on navigation.
+ *
+ * A read cancelled before it starts is skipped. Writes always run once submitted; cancelling a write
+ * only detaches the caller, so navigating away never loses an answer or a game result.
+ */
+public class AsyncDataService {
+    /** Runs continuations on the JavaFX application thread. */
+    public static final Executor FX = Platform::runLater;
+
+    private static AsyncDataService instance;
+
+    private final ExecutorService writer;
+    private final ExecutorService readers;
+
+    private final QuestionDao questionDao = new QuestionDao();
+    private final SessionDao sessionDao = new SessionDao();
+    private final ResponseDao responseDao = new ResponseDao();
+    private final GameResultDao gameResultDao = new GameResultDao();
+    private final AssessmentService assessmentService = new AssessmentService();
+
+    /**
+     * @param readerThreads size of the read pool
+     */
+    public AsyncDataService(int readerThreads) {
+        if (readerThreads < 1) throw new IllegalArgumentException("Reader threads must be at least 1: " + readerThreads);
+        writer = Executors.newSingleThreadExecutor(r -> daemon(r, "db-writer"));
+        AtomicInteger n = new AtomicInteger();
+        readers = Executors.newFixedThreadPool(readerThreads, r -> daemon(r, "db-reader-" + n.incrementAndGet()));
+    }
+
+    /** Shared instance with {@code -Dasda.db.readers} reader threads (default 2). */
+    public static synchronized AsyncDataService get() {
+        if (instance == null) {
+            instance = new AsyncDataService(Math.max(1, Integer.getInteger("asda.db.readers", 2)));
+        }
+        return instance;
+    }
+
+    /** Stops the shared instance, waiting briefly for queued writes. */
+    public static synchronized void shutdownShared() {
+        if (instance != null) {
+            instance.shutdown();
+            instance = null;
+        }
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    public CompletableFuture<List<Question>> findQuestions() {
+        return read(questionDao::findAll);
+    }
+
+    public CompletableFuture<Optional<String>> latestSessionId() {
+        return read(sessionDao::getLatestSessionId);
+    }
+
+    public CompletableFuture<Optional<Integer>> getAnswer(String sessionId, String questionCode) {
+        return read(() -> responseDao.getAnswer(sessionId, questionCode));
+    }
+
+    public CompletableFuture<AssessmentService.AssessmentResult> assessFromDb(String sessionId) {
+        return read(() -> assessmentService.assessFromDb(sessionId));
+    }
+
+    public CompletableFuture<List<GameResult>> gameResultsBySession(String sessionId) {
+        return read(() -> gameResultDao.findBySession(sessionId));
+    }
+
+    public CompletableFuture<List<GameResult>> recentGameResults(String game, int limit) {
+        return read(() -> gameResultDao.findRecent(game, limit));
+    }
+
+    public CompletableFuture<String> startSession() {
+        return write(sessionDao::startSession);
+    }
+
+    public CompletableFuture<Void> startSession(String sessionId) {
+        return write(() -> {
+            sessionDao.startSession(sessionId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> endSession(String sessionId, Integer totalScore, String level) {
+        return write(() -> {
+            sessionDao.endSession(sessionId, totalScore, level);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> saveOrReplace(String sessionId, String questionCode, int answerValue, int score) {
+        return write(() -> {
+            responseDao.saveOrReplace(sessionId, questionCode, answerValue, score);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> saveGameResult(GameResult result) {
+        return write(() -> {
+            gameResultDao.save(result);
+            return null;
+        });
+    }
+
+    <T> CompletableFuture<T> read(Supplier<T> call) {
+        return submit(readers, "db.async.read", call, true);
+    }
+
+    <T> CompletableFuture<T> write(Supplier<T> call) {
+        return submit(writer, "db.async.write", call, false);
+    }
+
+    private static <T> CompletableFuture<T> submit(ExecutorService executor, String metric, Supplier<T> call,
+                                                   boolean skipIfCancelled) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long queued = System.nanoTime();
+        executor.execute(() -> {
+            Metrics.timer(metric + ".queueWait").recordSince(queued);
+            if (skipIfCancelled && future.isDone()) {
+                Metrics.counter(metric + ".skipped").increment();
+                return;
+            }
+            try {
+                future.complete(call.get());
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /** Stops accepting work and waits up to five seconds for queued writes to finish. */
+    public void shutdown() {
+        readers.shutdownNow();
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                System.err.println("Pending database writes did not finish before shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.group1.asda.service;
 
 import org.group1.asda.domain.Question;
+import org.group1.asda.metrics.Metrics;
 import org.group1.asda.persistence.Database;
 import org.group1.asda.persistence.QuestionDao;
 import org.group1.asda.persistence.ResponseDao;
@@ -76,15 +77,17 @@ public class QuestionnaireService {
 
     public List<ScaleOption> loadScale() {
         List<ScaleOption> out = new ArrayList<>();
-        try (Connection c = Database.getConnection();
-             PreparedStatement ps = c.prepareStatement("SELECT value,label FROM scales ORDER BY value ASC");
-             ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                out.add(new ScaleOption(rs.getInt(1), rs.getString(2)));
+        Metrics.dbCall("QuestionnaireService.loadScale").run(() -> {
+            try (Connection c = Database.getConnection();
+                 PreparedStatement ps = c.prepareStatement("SELECT value,label FROM scales ORDER BY value ASC");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(new ScaleOption(rs.getInt(1), rs.getString(2)));
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Failed to load scale: " + e.getMessage(), e);
             }
-        } catch (SQLException e) {
-            throw new RuntimeException("Failed to load scale: " + e.getMessage(), e);
-        }
+        });
         return out;
     }
 }
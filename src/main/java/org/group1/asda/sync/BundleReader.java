@@ -0,0 +1,122 @@
+package org.group1.asda.sync;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.group1.asda.sync.BundleWriter.*;
+
+/**
+ * Reads a bundle written by {@link BundleWriter} one row at a time, so memory does not depend on bundle size.
+ */
+public final class BundleReader implements Closeable {
+    private final DataInputStream in;
+    private final String source;
+    private final long fromSeq;
+    private final long toSeq;
+    private final List<String> codes = new ArrayList<>();
+
+    private String groupSession;
+    private int groupRemaining;
+    private long sessions;
+    private long responseGroups;
+    private boolean finished;
+
+    public BundleReader(InputStream source) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(source, 1 << 16)));
+        byte[] magic = new byte[MAGIC.length()];
+        in.readFully(magic);
+        if (!MAGIC.equals(new String(magic, StandardCharsets.US_ASCII))) {
+            throw new IOException("Not a sync bundle");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported bundle version: " + version);
+        this.source = in.readUTF();
+        this.fromSeq = in.readLong();
+        this.toSeq = in.readLong();
+    }
+
+    /** Node id of the database the bundle was exported from. */
+    public String getSource() { return source; }
+    /** Changes after this sequence number are included. */
+    public long getFromSeq() { return fromSeq; }
+    /** Changes up to and including this sequence number are included. */
+    public long getToSeq() { return toSeq; }
+
+    /**
+     * @return the next row, or null once the trailer has been read and verified
+     */
+    public SyncRecords.Row next() throws IOException {
+        if (groupRemaining > 0) {
+            groupRemaining--;
+            return readResponse();
+        }
+        if (finished) return null;
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case TAG_SESSION -> {
+                String id = in.readUTF();
+                int flags = in.readUnsignedByte();
+                Long startedAt = (flags & HAS_STARTED) != 0 ? in.readLong() : null;
+                Long endedAt = (flags & HAS_ENDED) != 0 ? in.readLong() : null;
+                Integer total = (flags & HAS_TOTAL) != 0 ? readVarint() : null;
+                String level = (flags & HAS_LEVEL) != 0 ? in.readUTF() : null;
+                sessions++;
+                return new SyncRecords.SessionRecord(id, startedAt, endedAt, total, level);
+            }
+            case TAG_RESPONSES -> {
+                groupSession = in.readUTF();
+                groupRemaining = readVarint();
+                responseGroups++;
+                return next();
+            }
+            case TAG_END -> {
+                long expectedSessions = readVarint();
+                long expectedGroups = readVarint();
+                if (expectedSessions != sessions || expectedGroups != responseGroups) {
+                    throw new IOException("Bundle is inconsistent: trailer counts do not match its contents");
+                }
+                finished = true;
+                return null;
+            }
+            default -> throw new IOException("Corrupt bundle: unknown record tag " + tag);
+        }
+    }
+
+    private SyncRecords.ResponseRecord readResponse() throws IOException {
+        int index = readVarint();
+        String code;
+        if (index == codes.size()) {
+            code = in.readUTF();
+            codes.add(code);
+        } else if (index >= 0 && index < codes.size()) {
+            code = codes.get(index);
+        } else {
+            throw new IOException("Corrupt bundle: unknown question code index " + index);
+        }
+        int answer = readVarint();
+        int score = readVarint();
+        return new SyncRecords.ResponseRecord(groupSession, code, answer, score);
+    }
+
+    private int readVarint() throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return (v >>> 1) ^ -(v & 1);
+        }
+        throw new IOException("Corrupt bundle: varint too long");
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
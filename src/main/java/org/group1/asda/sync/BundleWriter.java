@@ -0,0 +1,104 @@
+package org.group1.asda.sync;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a change bundle. Layout, inside a gzip stream:
+ * <pre>
+ * "ASDA-SYNC" version:u8 source:utf fromSeq:i64 toSeq:i64
+ * records, each starting with a tag byte:
+ *   'S' id:utf flags:u8 startedAt? endedAt? totalScore? level?   (optional fields present per flag bit)
+ *   'R' sessionId:utf count:varint { code:varint [utf if new] answer:varint score:varint }*
+ *   'E' sessions:varint responseGroups:varint
+ * </pre>
+ * Question codes are dictionary-encoded: the first use of a code writes its new index followed by the text,
+ * later uses write only the index. Responses are grouped per session so each id is written once.
+ */
+public final class BundleWriter implements Closeable {
+    static final String MAGIC = "ASDA-SYNC";
+    static final int VERSION = 1;
+
+    static final byte TAG_SESSION = 'S';
+    static final byte TAG_RESPONSES = 'R';
+    static final byte TAG_END = 'E';
+
+    static final int HAS_STARTED = 1;
+    static final int HAS_ENDED = 2;
+    static final int HAS_TOTAL = 4;
+    static final int HAS_LEVEL = 8;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> codes = new HashMap<>();
+    private long sessions;
+    private long responseGroups;
+
+    public BundleWriter(OutputStream target, String source, long fromSeq, long toSeq) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(target, 1 << 16)));
+        out.writeBytes(MAGIC);
+        out.writeByte(VERSION);
+        out.writeUTF(source);
+        out.writeLong(fromSeq);
+        out.writeLong(toSeq);
+    }
+
+    public void writeSession(SyncRecords.SessionRecord s) throws IOException {
+        int flags = (s.startedAt() != null ? HAS_STARTED : 0) | (s.endedAt() != null ? HAS_ENDED : 0)
+                | (s.totalScore() != null ? HAS_TOTAL : 0) | (s.level() != null ? HAS_LEVEL : 0);
+        out.writeByte(TAG_SESSION);
+        out.writeUTF(s.id());
+        out.writeByte(flags);
+        if (s.startedAt() != null) out.writeLong(s.startedAt());
+        if (s.endedAt() != null) out.writeLong(s.endedAt());
+        if (s.totalScore() != null) writeVarint(s.totalScore());
+        if (s.level() != null) out.writeUTF(s.level());
+        sessions++;
+    }
+
+    /** Writes the responses of one session; {@code codes}, {@code answers} and {@code scores} are parallel. */
+    public void writeResponses(String sessionId, String[] questionCodes, int[] answers, int[] scores, int count)
+            throws IOException {
+        out.writeByte(TAG_RESPONSES);
+        out.writeUTF(sessionId);
+        writeVarint(count);
+        for (int i = 0; i < count; i++) {
+            Integer index = codes.get(questionCodes[i]);
+            if (index == null) {
+                index = codes.size();
+                codes.put(questionCodes[i], index);
+                writeVarint(index);
+                out.writeUTF(questionCodes[i]);
+            } else {
+                writeVarint(index);
+            }
+            writeVarint(answers[i]);
+            writeVarint(scores[i]);
+        }
+        responseGroups++;
+    }
+
+    private void writeVarint(int value) throws IOException {
+        // Zig-zag so the occasional negative score stays small
+        int v = (value << 1) ^ (value >> 31);
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    /** Writes the trailer and finishes the gzip stream. */
+    @Override
+    public void close() throws IOException {
+        out.writeByte(TAG_END);
+        writeVarint((int) Math.min(Integer.MAX_VALUE, sessions));
+        writeVarint((int) Math.min(Integer.MAX_VALUE, responseGroups));
+        out.close();
+    }
+}
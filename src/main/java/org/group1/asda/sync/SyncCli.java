@@ -0,0 +1,93 @@
+package org.group1.asda.sync;
+
+import org.group1.asda.persistence.Database;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Console runner for kiosk-to-hub synchronisation.
+ * Usage:
+ *   --sync-export --out=FILE [--peer=hub] [--since=N] [--db=FILE]
+ *       writes the changes not yet sent to the peer (or all changes after N) to FILE
+ *   --sync-import [--db=FILE] BUNDLE...
+ *       merges bundles into the database, in the order given
+ * --db overrides asda.db.url for this run.
+ */
+public class SyncCli {
+    public static int run(String[] args) {
+        boolean export = false;
+        String out = null;
+        String peer = "hub";
+        Long since = null;
+        List<Path> bundles = new ArrayList<>();
+        try {
+            for (String arg : args) {
+                if (arg.equals("--sync-export")) {
+                    export = true;
+                } else if (arg.startsWith("--db=")) {
+                    System.setProperty("asda.db.url", "jdbc:sqlite:" + value(arg));
+                } else if (arg.startsWith("--out=")) {
+                    out = value(arg);
+                } else if (arg.startsWith("--peer=")) {
+                    peer = value(arg);
+                } else if (arg.startsWith("--since=")) {
+                    since = Long.parseLong(value(arg));
+                } else if (!arg.startsWith("--")) {
+                    bundles.add(Path.of(arg));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid argument: " + e.getMessage());
+            return 2;
+        }
+        if (export && out == null) {
+            System.err.println("--sync-export requires --out=FILE");
+            return 2;
+        }
+        if (!export && bundles.isEmpty()) {
+            System.err.println("--sync-import requires at least one bundle file");
+            return 2;
+        }
+
+        try {
+            Database.init();
+            if (export) {
+                SyncExporter exporter = new SyncExporter();
+                SyncExporter.ExportResult r;
+                if (since == null) {
+                    r = exporter.exportPending(peer, Path.of(out));
+                } else {
+                    try (OutputStream stream = Files.newOutputStream(Path.of(out))) {
+                        r = exporter.export(since, stream);
+                    }
+                }
+                System.out.printf("Exported changes %d..%d from %s: %d sessions, %d responses, %d bytes%n",
+                        r.fromSeq(), r.toSeq(), r.source(), r.sessions(), r.responses(), r.bytes());
+            } else {
+                SyncImporter importer = new SyncImporter();
+                for (Path bundle : bundles) {
+                    SyncImporter.ImportResult r = importer.importBundle(bundle);
+                    if (r.skipped()) {
+                        System.out.printf("%s: already imported (changes %d..%d from %s)%n",
+                                bundle, r.fromSeq(), r.toSeq(), r.source());
+                    } else {
+                        System.out.printf("%s: changes %d..%d from %s, %d sessions, %d responses, %d rows changed%n",
+                                bundle, r.fromSeq(), r.toSeq(), r.source(), r.sessions(), r.responses(), r.changed());
+                    }
+                }
+            }
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Sync failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
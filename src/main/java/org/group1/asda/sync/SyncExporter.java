@@ -0,0 +1,223 @@
+package org.group1.asda.sync;
+
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.persistence.Database;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Exports sessions and responses changed since a sequence number as a compressed bundle.
+ *
+ * Every insert or update stamps the row with the next value of a database-wide change sequence
+ * (see {@code Database.createChangeTracking}), and the column is indexed, so an export reads only the
+ * delta. All rows are read in one transaction, giving a consistent snapshot up to the bundle's
+ * {@code toSeq}. Deleted rows are not propagated; the app only deletes a response to replace it.
+ */
+public class SyncExporter {
+
+    public record ExportResult(String source, long fromSeq, long toSeq, long sessions, long responses, long bytes) {}
+
+    private static final int FETCH_SIZE = 1000;
+
+    /** Writes every change after {@code sinceSeq} to {@code out}. The stream is not closed. */
+    public ExportResult export(long sinceSeq, OutputStream out) {
+        CountingStream counter = new CountingStream(out);
+        return Metrics.dbCall("SyncExporter.export").call(() -> {
+            try (Connection c = Database.getConnection()) {
+                String source = nodeId(c);
+                c.setAutoCommit(false);
+                try {
+                    long toSeq;
+                    try (Statement st = c.createStatement();
+                         ResultSet rs = st.executeQuery("SELECT seq FROM change_counter WHERE id = 1")) {
+                        toSeq = rs.next() ? rs.getLong(1) : 0;
+                    }
+                    long sessions = 0;
+                    long responses = 0;
+                    try (BundleWriter writer = new BundleWriter(counter, source, sinceSeq, Math.max(sinceSeq, toSeq))) {
+                        if (toSeq > sinceSeq) {
+                            sessions = writeSessions(c, writer, sinceSeq, toSeq);
+                            responses = writeResponses(c, writer, sinceSeq, toSeq);
+                        }
+                    }
+                    c.commit();
+                    return new ExportResult(source, sinceSeq, Math.max(sinceSeq, toSeq), sessions, responses, counter.count);
+                } finally {
+                    c.setAutoCommit(true);
+                }
+            } catch (SQLException | IOException e) {
+                throw new RuntimeException("Failed to export changes: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Exports everything not yet exported to {@code peer} into {@code file}, then advances the peer's
+     * high-water mark. The file is written under a temporary name and moved into place when complete.
+     * If a bundle is lost, {@link #resetPeer} and export again; importing overlapping bundles is safe.
+     */
+    public ExportResult exportPending(String peer, Path file) {
+        long since = exportedSeq(peer);
+        Path tmp = file.resolveSibling(file.getFileName() + ".part");
+        ExportResult result;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) Files.createDirectories(parent);
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                result = export(since, out);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write bundle " + file + ": " + e.getMessage(), e);
+        }
+        setExportedSeq(peer, result.toSeq());
+        return result;
+    }
+
+    public long exportedSeq(String peer) {
+        try (Connection c = Database.getConnection();
+             PreparedStatement ps = c.prepareStatement("SELECT exported_seq FROM sync_peers WHERE peer = ?")) {
+            ps.setString(1, peer);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read sync state: " + e.getMessage(), e);
+        }
+    }
+
+    /** Forgets what was exported to {@code peer}, so the next export contains every row. */
+    public void resetPeer(String peer) {
+        setExportedSeq(peer, 0);
+    }
+
+    private void setExportedSeq(String peer, long seq) {
+        try (Connection c = Database.getConnection();
+             PreparedStatement ps = c.prepareStatement(
+                     "INSERT INTO sync_peers(peer, exported_seq) VALUES(?,?) " +
+                     "ON CONFLICT(peer) DO UPDATE SET exported_seq = excluded.exported_seq")) {
+            ps.setString(1, peer);
+            ps.setLong(2, seq);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to save sync state: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stable id of this database, created on first use.
+     */
+    static String nodeId(Connection c) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("INSERT OR IGNORE INTO sync_meta(key, value) VALUES('node_id', ?)")) {
+            ps.setString(1, UUID.randomUUID().toString());
+            ps.executeUpdate();
+        }
+        try (Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT value FROM sync_meta WHERE key = 'node_id'")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static long writeSessions(Connection c, BundleWriter writer, long since, long to) throws SQLException, IOException {
+        long n = 0;
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT id, started_at, ended_at, total_score, level FROM sessions " +
+                "WHERE change_seq > ? AND change_seq <= ? ORDER BY change_seq",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, since);
+            ps.setLong(2, to);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    writer.writeSession(new SyncRecords.SessionRecord(rs.getString(1),
+                            rs.getObject(2) == null ? null : rs.getLong(2),
+                            rs.getObject(3) == null ? null : rs.getLong(3),
+                            rs.getObject(4) == null ? null : rs.getInt(4),
+                            rs.getString(5)));
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+
+    private static long writeResponses(Connection c, BundleWriter writer, long since, long to) throws SQLException, IOException {
+        long n = 0;
+        String[] codes = new String[64];
+        int[] answers = new int[64];
+        int[] scores = new int[64];
+        int count = 0;
+        String current = null;
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT session_id, question_code, answer_value, score " +
+                // Force the change_seq range scan; otherwise the planner may walk the whole table in session order
+                "FROM responses INDEXED BY ix_responses_change_seq " +
+                "WHERE change_seq > ? AND change_seq <= ? ORDER BY session_id",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, since);
+            ps.setLong(2, to);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String sessionId = rs.getString(1);
+                    if (!sessionId.equals(current)) {
+                        if (count > 0) writer.writeResponses(current, codes, answers, scores, count);
+                        current = sessionId;
+                        count = 0;
+                    }
+                    if (count == codes.length) {
+                        codes = Arrays.copyOf(codes, count * 2);
+                        answers = Arrays.copyOf(answers, count * 2);
+                        scores = Arrays.copyOf(scores, count * 2);
+                    }
+                    codes[count] = rs.getString(2);
+                    answers[count] = rs.getInt(3);
+                    scores[count] = rs.getInt(4);
+                    count++;
+                    n++;
+                }
+            }
+        }
+        if (count > 0) writer.writeResponses(current, codes, answers, scores, count);
+        return n;
+    }
+
+    /** Counts compressed bytes and keeps the caller's stream open when the bundle is closed. */
+    private static final class CountingStream extends FilterOutputStream {
+        long count;
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
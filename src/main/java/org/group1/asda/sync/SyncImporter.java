@@ -0,0 +1,166 @@
+package org.group1.asda.sync;
+
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.persistence.Database;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Merges change bundles into a hub database.
+ *
+ * Rows are applied with batched upserts keyed by session id and (session id, question code), so
+ * importing the same bundle twice, or bundles that overlap, leaves the hub unchanged. Unchanged rows are
+ * not rewritten. The whole bundle is applied in one transaction together with the source's new
+ * high-water mark. Bundles must be imported in order per source: a bundle that starts after the last
+ * imported sequence is rejected, since the changes in between would be lost.
+ */
+public class SyncImporter {
+
+    /**
+     * @param changed rows inserted or updated on the hub
+     * @param skipped true if the bundle had already been imported
+     */
+    public record ImportResult(String source, long fromSeq, long toSeq, long sessions, long responses, long changed,
+                               boolean skipped) {}
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SESSION =
+            "INSERT INTO sessions(id, started_at, ended_at, total_score, level) VALUES(?,?,?,?,?) " +
+            "ON CONFLICT(id) DO UPDATE SET started_at = excluded.started_at, ended_at = excluded.ended_at, " +
+            "total_score = excluded.total_score, level = excluded.level " +
+            "WHERE sessions.started_at IS NOT excluded.started_at OR sessions.ended_at IS NOT excluded.ended_at " +
+            "OR sessions.total_score IS NOT excluded.total_score OR sessions.level IS NOT excluded.level";
+
+    private static final String UPSERT_RESPONSE =
+            "INSERT INTO responses(session_id, question_code, answer_value, score) VALUES(?,?,?,?) " +
+            "ON CONFLICT(session_id, question_code) DO UPDATE SET answer_value = excluded.answer_value, " +
+            "score = excluded.score " +
+            "WHERE responses.answer_value IS NOT excluded.answer_value OR responses.score IS NOT excluded.score";
+
+    public ImportResult importBundle(Path file) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return importBundle(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read bundle " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    public ImportResult importBundle(InputStream in) {
+        return Metrics.dbCall("SyncImporter.importBundle").call(() -> {
+            try (BundleReader reader = new BundleReader(in);
+                 Connection c = Database.getConnection()) {
+                c.setAutoCommit(false);
+                try {
+                    long imported = importedSeq(c, reader.getSource());
+                    if (reader.getToSeq() <= imported) {
+                        c.rollback();
+                        return new ImportResult(reader.getSource(), reader.getFromSeq(), reader.getToSeq(), 0, 0, 0, true);
+                    }
+                    if (reader.getFromSeq() > imported) {
+                        throw new IllegalStateException("Bundle from " + reader.getSource() + " starts after change "
+                                + reader.getFromSeq() + " but only changes up to " + imported + " were imported");
+                    }
+                    ImportResult result = apply(c, reader);
+                    try (PreparedStatement ps = c.prepareStatement(
+                            "INSERT INTO sync_sources(source, imported_seq, imported_at) VALUES(?,?,?) " +
+                            "ON CONFLICT(source) DO UPDATE SET imported_seq = excluded.imported_seq, " +
+                            "imported_at = excluded.imported_at")) {
+                        ps.setString(1, reader.getSource());
+                        ps.setLong(2, reader.getToSeq());
+                        ps.setLong(3, System.currentTimeMillis());
+                        ps.executeUpdate();
+                    }
+                    c.commit();
+                    return result;
+                } catch (SQLException | IOException | RuntimeException e) {
+                    c.rollback();
+                    throw e;
+                } finally {
+                    c.setAutoCommit(true);
+                }
+            } catch (SQLException | IOException e) {
+                throw new RuntimeException("Failed to import bundle: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /** Highest change sequence imported from {@code source}, or 0 if none. */
+    public long importedSeq(String source) {
+        try (Connection c = Database.getConnection()) {
+            return importedSeq(c, source);
+        } catch (SQLException e) {
+            throw new RuntimeException("Failed to read sync state: " + e.getMessage(), e);
+        }
+    }
+
+    private static long importedSeq(Connection c, String source) throws SQLException {
+        try (PreparedStatement ps = c.prepareStatement("SELECT imported_seq FROM sync_sources WHERE source = ?")) {
+            ps.setString(1, source);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    private static ImportResult apply(Connection c, BundleReader reader) throws SQLException, IOException {
+        long sessions = 0;
+        long responses = 0;
+        long changed = 0;
+        int pendingSessions = 0;
+        int pendingResponses = 0;
+        try (PreparedStatement upSession = c.prepareStatement(UPSERT_SESSION);
+             PreparedStatement upResponse = c.prepareStatement(UPSERT_RESPONSE)) {
+            SyncRecords.Row row;
+            while ((row = reader.next()) != null) {
+                if (row instanceof SyncRecords.SessionRecord s) {
+                    upSession.setString(1, s.id());
+                    setLong(upSession, 2, s.startedAt());
+                    setLong(upSession, 3, s.endedAt());
+                    if (s.totalScore() == null) upSession.setNull(4, Types.INTEGER); else upSession.setInt(4, s.totalScore());
+                    if (s.level() == null) upSession.setNull(5, Types.VARCHAR); else upSession.setString(5, s.level());
+                    upSession.addBatch();
+                    sessions++;
+                    if (++pendingSessions == BATCH_SIZE) {
+                        changed += sum(upSession.executeBatch());
+                        pendingSessions = 0;
+                    }
+                } else if (row instanceof SyncRecords.ResponseRecord r) {
+                    upResponse.setString(1, r.sessionId());
+                    upResponse.setString(2, r.questionCode());
+                    upResponse.setInt(3, r.answerValue());
+                    upResponse.setInt(4, r.score());
+                    upResponse.addBatch();
+                    responses++;
+                    if (++pendingResponses == BATCH_SIZE) {
+                        changed += sum(upResponse.executeBatch());
+                        pendingResponses = 0;
+                    }
+                }
+            }
+            if (pendingSessions > 0) changed += sum(upSession.executeBatch());
+            if (pendingResponses > 0) changed += sum(upResponse.executeBatch());
+        }
+        return new ImportResult(reader.getSource(), reader.getFromSeq(), reader.getToSeq(), sessions, responses, changed, false);
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) ps.setNull(index, Types.INTEGER); else ps.setLong(index, value);
+    }
+
+    private static long sum(int[] counts) {
+        long n = 0;
+        for (int c : counts) {
+            if (c > 0) n += c;
+        }
+        return n;
+    }
+}
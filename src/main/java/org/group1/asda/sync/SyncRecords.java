@@ -0,0 +1,16 @@
+package org.group1.asda.sync;
+
+/**
+ * Row images carried in a change bundle.
+ */
+public final class SyncRecords {
+    private SyncRecords() {}
+
+    public sealed interface Row permits SessionRecord, ResponseRecord {}
+
+    /** A session row; nullable columns are null when unset on the source. */
+    public record SessionRecord(String id, Long startedAt, Long endedAt, Integer totalScore, String level) implements Row {}
+
+    /** One answered question. */
+    public record ResponseRecord(String sessionId, String questionCode, int answerValue, int score) implements Row {}
+}
@@ -16,15 +16,22 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
 import org.group1.asda.domain.AttentionGameState;
+import org.group1.asda.domain.GameResult;
 import org.group1.asda.domain.Stimulus;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.metrics.FrameMonitor;
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.metrics.TrialScope;
+import org.group1.asda.navigation.ScreenLifecycle;
+import org.group1.asda.navigation.ScreenResources;
+import org.group1.asda.navigation.Seat;
+import org.group1.asda.navigation.SharedResources;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
-public class AttentionGameController {
+public class AttentionGameController implements ScreenLifecycle {
     @FXML private BorderPane rootPane;
     @FXML private ImageView shapeImageView;
     @FXML private Label trialsLabel;
@@ -64,22 +71,33 @@ public class AttentionGameController {
     private boolean pressedThisTrial = false;
     private int trialIndex = 0;
     private boolean isPaused = false;
+    private boolean playing = false;
     private List<Stimulus> stimulusDeck = new ArrayList<>();
     private int stimulusIndex = 0;
 
     private PauseTransition showTimer;
     private PauseTransition isiTimer;
     private PauseTransition spaceFlashTimer;
+    private TrialScope trial;
+    private long stimulusOnsetNanos;
+    private final Seat seat;
+    private ScreenResources resources;
+
+    public AttentionGameController(Seat seat) {
+        this.seat = seat;
+    }
 
     @FXML
     public void initialize() {
+        // Taken now: the view may only join the scene after the router has moved on to a later screen
+        resources = seat.router().resources();
         loadShapeImages();
 
-        // Setup keyboard handler
+        // Setup keyboard handler; the scene outlives this screen, so its filter is removed on navigation
         rootPane.setOnKeyPressed(this::onKeyPressed);
         rootPane.sceneProperty().addListener((obs, oldScene, newScene) -> {
             if (newScene != null) {
-                newScene.addEventFilter(KeyEvent.KEY_PRESSED, this::onKeyPressed);
+                resources.filter(newScene, KeyEvent.KEY_PRESSED, this::onKeyPressed);
             }
         });
         rootPane.setFocusTraversable(true);
@@ -91,23 +109,31 @@ public class AttentionGameController {
 
     private void loadShapeImages() {
         try {
-            blueCircle = new Image(getClass().getResourceAsStream("/images/loading/Ellipse 9.png"));
-            blueSquare = new Image(getClass().getResourceAsStream("/images/loading/Rectangle 25.png"));
-            blueTriangle = new Image(getClass().getResourceAsStream("/images/loading/Polygon 8.png"));
-            redCircle = new Image(getClass().getResourceAsStream("/images/loading/Ellipse 10.png"));
-            redTriangle = recolorToColor(blueTriangle, RED_COLOR);
-            redSquare = recolorToColor(blueSquare, RED_COLOR);
+            blueCircle = loadImage("/images/loading/Ellipse 9.png");
+            blueSquare = loadImage("/images/loading/Rectangle 25.png");
+            blueTriangle = loadImage("/images/loading/Polygon 8.png");
+            redCircle = loadImage("/images/loading/Ellipse 10.png");
+            // Decoded and recoloured once per process and shared by every seat
+            redTriangle = SharedResources.derived("attention/red-triangle", () -> recolorToColor(blueTriangle, RED_COLOR));
+            redSquare = SharedResources.derived("attention/red-square", () -> recolorToColor(blueSquare, RED_COLOR));
         } catch (Exception e) {
+            Metrics.counter("ui.image.failures").increment();
             System.err.println("Error loading shape images: " + e.getMessage());
         }
     }
 
+    private Image loadImage(String path) {
+        return SharedResources.image(path);
+    }
+
     private void startGame() {
         gameState.resetRoundStats();
         gameState.startTimer();
+        seat.frames().beginSession("attention");
+        playing = true;
         buildStimulusDeck();
 
-        showTimer = new PauseTransition(Duration.millis(STIMULUS_MS));
+        showTimer = resources.animation(new PauseTransition(Duration.millis(STIMULUS_MS)));
         showTimer.setOnFinished(e -> {
             scoreTrial();
             clearShape();
@@ -116,7 +142,7 @@ public class AttentionGameController {
             isiTimer.play();
         });
 
-        isiTimer = new PauseTransition(Duration.millis(ISI_MS));
+        isiTimer = resources.animation(new PauseTransition(Duration.millis(ISI_MS)));
         isiTimer.setOnFinished(e -> nextTrial());
 
         nextTrial();
@@ -154,6 +180,8 @@ public class AttentionGameController {
         }
         current = stimulusDeck.get(stimulusIndex++);
         displayStimulus(current);
+        stimulusOnsetNanos = System.nanoTime();
+        trial = Metrics.gameTrial("attention", trialIndex);
 
         rootPane.requestFocus();
         awaitingResponse = true;
@@ -175,6 +203,7 @@ public class AttentionGameController {
     private void onSpacePressed() {
         if (!awaitingResponse || pressedThisTrial || isPaused) return;
         pressedThisTrial = true;
+        if (trial != null) Metrics.timer("game.attention.response").record(trial.elapsedNanos());
         flashSpacePress();
     }
 
@@ -187,11 +216,40 @@ public class AttentionGameController {
         } else {
             gameState.addIncorrect();
         }
+        if (trial != null) {
+            trial.finish(correct);
+            trial = null;
+        }
+        // A stalled frame may have shortened or delayed the stimulus; keep the trial but flag it
+        if (FrameMonitor.get().overlapsLongFrame(stimulusOnsetNanos, System.nanoTime())) {
+            gameState.flagTrialTiming(trialIndex - 1);
+            seat.frames().flagTrial(trialIndex - 1);
+        }
 
         last = current;
         updateStatsDisplay();
     }
 
+    @Override
+    public void onHide() {
+        // Left mid-game: the timers are already stopped; drop the open trial and close the frame session unsaved
+        awaitingResponse = false;
+        trial = null;
+        if (playing) {
+            playing = false;
+            gameState.stopTimer();
+            seat.frames().endSession();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        shapeImageView.setImage(null);
+        blueCircle = blueSquare = blueTriangle = null;
+        redCircle = redTriangle = redSquare = null;
+        stimulusDeck.clear();
+    }
+
     private void updateStatsDisplay() {
         int correct = gameState.getTotalCorrect();
         int incorrect = gameState.getTotalIncorrect();
@@ -205,20 +263,33 @@ public class AttentionGameController {
     }
 
     private void endGame() {
+        playing = false;
         gameState.stopTimer();
+        seat.frames().endSession();
+        saveResult();
         navigateToResults();
     }
 
+    private void saveResult() {
+        seat.data().saveGameResult(new GameResult(seat.sessionId(), GameResult.ATTENTION, System.currentTimeMillis(),
+                    trialIndex, gameState.getTotalCorrect(), gameState.getTotalIncorrect(), Math.round(gameState.getElapsedTimeSeconds() * 1000)))
+                .exceptionally(e -> {
+                    // Results are still shown even if they could not be stored
+                    System.err.println("Failed to save game result: " + e.getMessage());
+                    return null;
+                });
+    }
+
     private void navigateToResults() {
         AttentionGameResultsController resultsController =
-            Router.getInstance().goToAndGetController("attention-game-results", AttentionGameResultsController.class);
+            seat.router().goToAndGetController("attention-game-results", AttentionGameResultsController.class);
 
         if (resultsController != null) {
             resultsController.setGameState(gameState);
         } else {
             System.err.println("Error loading results screen controller");
             // Fallback to home
-            Router.getInstance().goTo("home");
+            seat.router().goTo("home");
         }
     }
 
@@ -329,7 +400,7 @@ public class AttentionGameController {
         if (showTimer != null) showTimer.stop();
         if (isiTimer != null) isiTimer.stop();
 
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 
     private void pauseTimers() {
@@ -353,7 +424,7 @@ public class AttentionGameController {
     private void flashSpacePress() {
         if (spaceFlashButton == null) return;
         if (spaceFlashTimer == null) {
-            spaceFlashTimer = new PauseTransition(Duration.millis(SPACE_FLASH_MS));
+            spaceFlashTimer = resources.animation(new PauseTransition(Duration.millis(SPACE_FLASH_MS)));
             spaceFlashTimer.setOnFinished(e -> spaceFlashButton.getStyleClass().remove("space-flash-active"));
         }
         if (!spaceFlashButton.getStyleClass().contains("space-flash-active")) {
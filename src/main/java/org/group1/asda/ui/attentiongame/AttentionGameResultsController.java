@@ -3,7 +3,8 @@ package org.group1.asda.ui.attentiongame;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import org.group1.asda.domain.AttentionGameState;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.domain.GameResult;
+import org.group1.asda.navigation.Seat;
 
 public class AttentionGameResultsController {
     @FXML private Label attemptsLabel;
@@ -15,6 +16,11 @@ public class AttentionGameResultsController {
     @FXML private Label feedbackText;
 
     private AttentionGameState gameState;
+    private final Seat seat;
+
+    public AttentionGameResultsController(Seat seat) {
+        this.seat = seat;
+    }
 
     @FXML
     public void initialize() {
@@ -26,27 +32,29 @@ public class AttentionGameResultsController {
         displayResults();
     }
 
+    /** Shows a stored play-through; used when rendering reports. */
+    public void showResult(GameResult result) {
+        display(result.correct(), result.incorrect(), result.accuracy(), result.durationMs() / 1000.0);
+    }
+
     private void displayResults() {
         if (gameState == null) return;
+        display(gameState.getTotalCorrect(), gameState.getTotalIncorrect(), gameState.getAccuracy(),
+                gameState.getElapsedTimeSeconds());
+    }
 
-        int attempts = gameState.getTotalCorrect() + gameState.getTotalIncorrect();
-        int correct = gameState.getTotalCorrect();
-        int incorrect = gameState.getTotalIncorrect();
-        double accuracy = gameState.getAccuracy();
-        double timeSeconds = gameState.getElapsedTimeSeconds();
-
-        attemptsLabel.setText(String.valueOf(attempts));
+    private void display(int correct, int incorrect, double accuracy, double timeSeconds) {
+        attemptsLabel.setText(String.valueOf(correct + incorrect));
         correctLabel.setText(String.valueOf(correct));
         incorrectLabel.setText(String.valueOf(incorrect));
         accuracyLabel.setText(String.format("%.0f%%", accuracy));
         timeLabel.setText(String.format("%.2fs", timeSeconds));
 
         // Get performance feedback
-        String perfIndex = gameState.getAttentionPerformanceIndex();
-        setFeedback(accuracy, perfIndex);
+        setFeedback(accuracy);
     }
 
-    private void setFeedback(double accuracy, String perfIndex) {
+    private void setFeedback(double accuracy) {
         if (accuracy >= 90) {
             feedbackTitle.setText("Excellent attention.");
             feedbackText.setText("Recommendation: Performance suggests strong sustained attention.");
@@ -65,11 +73,11 @@ public class AttentionGameResultsController {
     @FXML
     private void onPlayAgain() {
         // Navigate back to tutorial or directly to game
-        Router.getInstance().goTo("attention-game-tutorial");
+        seat.router().goTo("attention-game-tutorial");
     }
 
     @FXML
     private void onHome() {
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 }
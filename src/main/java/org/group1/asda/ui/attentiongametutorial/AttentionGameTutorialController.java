@@ -16,7 +16,8 @@ import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.shape.Circle;
 import javafx.util.Duration;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.navigation.ScreenResources;
+import org.group1.asda.navigation.Seat;
 
 import java.net.URL;
 import java.util.ArrayList;
@@ -54,6 +55,8 @@ public class AttentionGameTutorialController implements Initializable {
     private final List<Node> pages = new ArrayList<>();
     private final List<Circle> indicatorDots = new ArrayList<>();
     private int currentPageIndex = 0;
+    private ScreenResources screenResources;
+    private Timeline practicePress;
 
     // Index mapping (makes it clear)
     private static final int PAGE_WELCOME = 0;
@@ -62,9 +65,15 @@ public class AttentionGameTutorialController implements Initializable {
     private static final int PAGE_MATCHES = 3;
     private static final int PAGE_PRACTICE = 4;
     private static final int PAGE_ALLSET = 5;
+    private final Seat seat;
+
+    public AttentionGameTutorialController(Seat seat) {
+        this.seat = seat;
+    }
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        screenResources = seat.router().resources();
         // Build pages list in the same order as dots / pagination
         pages.clear();
         pages.add(pageWelcome);
@@ -95,7 +104,7 @@ public class AttentionGameTutorialController implements Initializable {
             pageContainer.sceneProperty().addListener((obs, oldScene, newScene) -> {
                 if (newScene != null) {
                     // set a short delay then request focus; helps when dialog is shown
-                    PauseTransition pt = new PauseTransition(Duration.millis(120));
+                    PauseTransition pt = screenResources.animation(new PauseTransition(Duration.millis(120)));
                     pt.setOnFinished(ev -> pageContainer.requestFocus());
                     pt.play();
                 }
@@ -137,11 +146,15 @@ public class AttentionGameTutorialController implements Initializable {
     private void simulatePracticePress() {
         if (btnPracticeSpace == null) return;
 
+        // A press during the previous one's animation restores its style first
+        if (practicePress != null) practicePress.jumpTo("end");
         String originalStyle = btnPracticeSpace.getStyle();
         // simple pressed style
         btnPracticeSpace.setStyle(originalStyle + "-fx-scale-x: 0.98; -fx-scale-y: 0.98; -fx-opacity: 0.9;");
-        Timeline t = new Timeline(new KeyFrame(Duration.millis(140), ae -> btnPracticeSpace.setStyle(originalStyle)));
-        t.play();
+        if (practicePress != null) practicePress.stop();
+        practicePress = screenResources.animation(
+                new Timeline(new KeyFrame(Duration.millis(140), ae -> btnPracticeSpace.setStyle(originalStyle))));
+        practicePress.play();
     }
 
     private void showPreviousPage() {
@@ -195,7 +208,7 @@ public class AttentionGameTutorialController implements Initializable {
         // Optionally focus the practice button if on practice page
         if (index == PAGE_PRACTICE && btnPracticeSpace != null) {
             // small delay to allow layout
-            PauseTransition pt = new PauseTransition(Duration.millis(80));
+            PauseTransition pt = screenResources.animation(new PauseTransition(Duration.millis(80)));
             pt.setOnFinished(e -> btnPracticeSpace.requestFocus());
             pt.play();
         }
@@ -246,7 +259,7 @@ public class AttentionGameTutorialController implements Initializable {
 
     private void navigateToGame() {
         // Navigate to the actual attention game
-        Router.getInstance().goTo("attention-game");
+        seat.router().goTo("attention-game");
     }
 
     private void disableAllControls() {
@@ -3,19 +3,25 @@ package org.group1.asda.ui.disclaimer;
 import javafx.fxml.FXML;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.navigation.Seat;
 
 public class DisclaimerController {
+    private final Seat seat;
+
+    public DisclaimerController(Seat seat) {
+        this.seat = seat;
+    }
 
     @FXML
     public void onContinue() {
-        // Navigate to home after accepting the disclosure
-        Router.getInstance().goTo("home");
+        // A new participant: games played from here on are saved under their session
+        seat.beginSession();
+        seat.router().goTo("home");
     }
 
     @FXML
     public void onCancel() {
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 
     @FXML
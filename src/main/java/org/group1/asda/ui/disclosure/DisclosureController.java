@@ -3,7 +3,7 @@ package org.group1.asda.ui.disclosure;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.navigation.Seat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.prefs.Preferences;
@@ -20,6 +20,11 @@ public class DisclosureController {
     private boolean hasReadDisclosure = false;
     private static final String CONSENT_KEY = "gameplay.disclosure.accepted";
     private static final String CONSENT_DATE_KEY = "gameplay.disclosure.date";
+    private final Seat seat;
+
+    public DisclosureController(Seat seat) {
+        this.seat = seat;
+    }
 
     @FXML
     public void initialize() {
@@ -64,7 +69,7 @@ public class DisclosureController {
         storeConsent();
 
         // Navigate to home screen
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 
     @FXML
@@ -7,7 +7,7 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 import javafx.geometry.Insets;
 import javafx.scene.paint.Color;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.navigation.Seat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -23,6 +23,11 @@ public class GameplayDisclosureController {
     private boolean hasReadDisclosure = false;
     private static final String CONSENT_KEY = "gameplay.disclosure.accepted";
     private static final String CONSENT_DATE_KEY = "gameplay.disclosure.date";
+    private final Seat seat;
+
+    public GameplayDisclosureController(Seat seat) {
+        this.seat = seat;
+    }
 
     @FXML
     public void initialize() {
@@ -67,7 +72,7 @@ public class GameplayDisclosureController {
         storeConsent();
 
         // Navigate to home screen
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 
     @FXML
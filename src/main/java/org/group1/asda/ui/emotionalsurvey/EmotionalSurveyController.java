@@ -2,14 +2,16 @@ package org.group1.asda.ui.emotionalsurvey;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import org.group1.asda.domain.emotional.EmotionalGameState;
 import org.group1.asda.domain.emotional.EmotionPattern;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.navigation.ScreenLifecycle;
+import org.group1.asda.navigation.Seat;
+import org.group1.asda.navigation.SharedResources;
 
-public class EmotionalSurveyController {
+public class EmotionalSurveyController implements ScreenLifecycle {
     @FXML private BorderPane rootPane;
     @FXML private Label questionLabel;
     @FXML private ProgressBar progressBar;
@@ -20,12 +22,22 @@ public class EmotionalSurveyController {
     @FXML private Button finishButton;
 
     private final EmotionalGameState gameState = new EmotionalGameState();
+    private final Seat seat;
+
+    public EmotionalSurveyController(Seat seat) {
+        this.seat = seat;
+    }
 
     @FXML
     public void initialize() {
         updateDisplay();
     }
 
+    @Override
+    public void dispose() {
+        patternImage.setImage(null);
+    }
+
     private void updateDisplay() {
         int index = gameState.getCurrentQuestionIndex();
         int total = gameState.getTotalQuestions();
@@ -36,9 +48,10 @@ public class EmotionalSurveyController {
         EmotionPattern pattern = gameState.getCurrentPattern();
         if (pattern != null) {
             try {
-                Image image = new Image(getClass().getResourceAsStream(pattern.getImagePath()));
-                patternImage.setImage(image);
+                // Recently shown photos are cached for every seat
+                patternImage.setImage(SharedResources.stimulus(pattern.getImagePath()));
             } catch (Exception e) {
+                Metrics.counter("ui.image.failures").increment();
                 System.err.println("Error loading image: " + pattern.getImagePath());
             }
         }
@@ -75,20 +88,20 @@ public class EmotionalSurveyController {
     }
 
     private void showResults() {
-        EmotionalSurveyResultsController controller = Router.getInstance()
+        EmotionalSurveyResultsController controller = seat.router()
             .goToAndGetController("emotional-survey-results", EmotionalSurveyResultsController.class);
 
         if (controller != null) {
             controller.setGameState(gameState);
         } else {
             // Fallback: if screen fails, return home
-            Router.getInstance().goTo("home");
+            seat.router().goTo("home");
         }
     }
 
     @FXML
     private void onHome() {
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 
     private void saveCurrentResponse() {
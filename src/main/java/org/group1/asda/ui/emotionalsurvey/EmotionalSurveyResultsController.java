@@ -6,7 +6,7 @@ import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.beans.binding.Bindings;
 import org.group1.asda.domain.emotional.EmotionalGameState;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.navigation.Seat;
 
 public class EmotionalSurveyResultsController {
     @FXML private Label averageLabel;
@@ -26,6 +26,11 @@ public class EmotionalSurveyResultsController {
     private double neutralPct;
     private double negativePct;
     private boolean barsBound = false;
+    private final Seat seat;
+
+    public EmotionalSurveyResultsController(Seat seat) {
+        this.seat = seat;
+    }
 
     public void setGameState(EmotionalGameState gameState) {
         if (gameState == null) return;
@@ -102,6 +107,6 @@ public class EmotionalSurveyResultsController {
 
     @FXML
     private void onHome() {
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 }
@@ -3,17 +3,20 @@ package org.group1.asda.ui.emotionrecognition;
 import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
 import javafx.util.Duration;
+import org.group1.asda.domain.GameResult;
 import org.group1.asda.domain.emotional.FacialEmotionGameState;
 import org.group1.asda.domain.emotional.EmotionPattern;
-import org.group1.asda.navigation.Router;
-
-import java.util.List;
-
-public class EmotionRecognitionController {
+import org.group1.asda.metrics.FrameMonitor;
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.metrics.TrialScope;
+import org.group1.asda.navigation.ScreenLifecycle;
+import org.group1.asda.navigation.Seat;
+import org.group1.asda.navigation.SharedResources;
+
+public class EmotionRecognitionController implements ScreenLifecycle {
     @FXML private BorderPane rootPane;
     @FXML private Label questionLabel;
     @FXML private ProgressBar progressBar;
@@ -25,11 +28,21 @@ public class EmotionRecognitionController {
     @FXML private Label feedbackLabel;
 
     private final FacialEmotionGameState gameState = new FacialEmotionGameState();
-    private List<String> currentOptions;
+    private final String[] currentOptions = new String[gameState.getOptionsPerQuestion()];
     private boolean waitingForNext = false;
+    private TrialScope trial;
+    private long stimulusOnsetNanos;
+    private long startedAtMs;
+    private final Seat seat;
+
+    public EmotionRecognitionController(Seat seat) {
+        this.seat = seat;
+    }
 
     @FXML
     public void initialize() {
+        seat.frames().beginSession("recognition");
+        startedAtMs = System.currentTimeMillis();
         updateDisplay();
     }
 
@@ -43,21 +56,28 @@ public class EmotionRecognitionController {
         EmotionPattern pattern = gameState.getCurrentPattern();
         if (pattern != null) {
             try {
-                Image image = new Image(getClass().getResourceAsStream(pattern.getImagePath()));
-                patternImage.setImage(image);
+                // Recently shown photos are cached for every seat
+                patternImage.setImage(SharedResources.stimulus(pattern.getImagePath()));
             } catch (Exception e) {
+                Metrics.counter("ui.image.failures").increment();
                 System.err.println("Error loading image: " + pattern.getImagePath());
             }
 
-            currentOptions = gameState.getEmotionOptions(index);
-            option1.setText(currentOptions.get(0));
-            option2.setText(currentOptions.get(1));
-            option3.setText(currentOptions.get(2));
-            option4.setText(currentOptions.get(3));
+            gameState.fillEmotionOptions(index, currentOptions);
+            Button[] buttons = {option1, option2, option3, option4};
+            for (int i = 0; i < buttons.length; i++) {
+                // Packs with fewer options than buttons leave the extra buttons hidden
+                boolean shown = i < currentOptions.length;
+                buttons[i].setVisible(shown);
+                buttons[i].setManaged(shown);
+                if (shown) buttons[i].setText(currentOptions[i]);
+            }
 
             enableOptions(true);
             feedbackLabel.setText("");
             waitingForNext = false;
+            trial = Metrics.gameTrial("recognition", index);
+            stimulusOnsetNanos = System.nanoTime();
         }
     }
 
@@ -76,12 +96,19 @@ public class EmotionRecognitionController {
     private void selectOption(int optionIndex, Button clickedButton) {
         if (waitingForNext) return;
 
-        String selectedEmotion = currentOptions.get(optionIndex);
+        String selectedEmotion = currentOptions[optionIndex];
         EmotionPattern pattern = gameState.getCurrentPattern();
 
         gameState.setRecognitionAnswer(gameState.getCurrentQuestionIndex(), selectedEmotion);
 
         boolean isCorrect = selectedEmotion.equals(pattern.getCorrectEmotion());
+        if (trial != null) {
+            trial.finish(isCorrect);
+            trial = null;
+        }
+        if (FrameMonitor.get().overlapsLongFrame(stimulusOnsetNanos, System.nanoTime())) {
+            seat.frames().flagTrial(gameState.getCurrentQuestionIndex());
+        }
 
         clickedButton.getStyleClass().add("btn-option-selected");
         enableOptions(false);
@@ -96,7 +123,8 @@ public class EmotionRecognitionController {
 
         waitingForNext = true;
 
-        PauseTransition pause = new PauseTransition(Duration.seconds(1.5));
+        // Stopped if the screen is left during the feedback, so it cannot navigate from a stale screen
+        PauseTransition pause = seat.router().resources().animation(new PauseTransition(Duration.seconds(1.5)));
         pause.setOnFinished(e -> {
             clickedButton.getStyleClass().remove("btn-option-selected");
 
@@ -110,6 +138,11 @@ public class EmotionRecognitionController {
         pause.play();
     }
 
+    @Override
+    public void dispose() {
+        patternImage.setImage(null);
+    }
+
     private void enableOptions(boolean enable) {
         option1.setDisable(!enable);
         option2.setDisable(!enable);
@@ -117,8 +150,20 @@ public class EmotionRecognitionController {
         option4.setDisable(!enable);
     }
 
+    private void saveResult() {
+        seat.data().saveGameResult(new GameResult(seat.sessionId(), GameResult.RECOGNITION, System.currentTimeMillis(),
+                    gameState.getTotalQuestions(), gameState.getRecognitionCorrectCount(), gameState.getRecognitionAnsweredCount() - gameState.getRecognitionCorrectCount(), System.currentTimeMillis() - startedAtMs))
+                .exceptionally(e -> {
+                    // Results are still shown even if they could not be stored
+                    System.err.println("Failed to save game result: " + e.getMessage());
+                    return null;
+                });
+    }
+
     private void showResults() {
-        EmotionRecognitionResultsController controller = Router.getInstance()
+        seat.frames().endSession();
+        saveResult();
+        EmotionRecognitionResultsController controller = seat.router()
             .goToAndGetController("emotion-recognition-results", EmotionRecognitionResultsController.class);
         
         if (controller != null) {
@@ -135,12 +180,12 @@ public class EmotionRecognitionController {
             alert.setContentText(String.format("Score: %d / %d\nAccuracy: %.1f%%\n\n" +
                 "Your emotional recognition ability has been assessed.", correct, total, accuracy));
             alert.showAndWait();
-            Router.getInstance().goTo("home");
+            seat.router().goTo("home");
         }
     }
 
     @FXML
     private void onHome() {
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 }
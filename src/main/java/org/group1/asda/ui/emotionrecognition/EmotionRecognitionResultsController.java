@@ -2,11 +2,15 @@ package org.group1.asda.ui.emotionrecognition;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
 import javafx.beans.binding.Bindings;
+import org.group1.asda.domain.emotional.ConfusionMatrix;
 import org.group1.asda.domain.emotional.FacialEmotionGameState;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.navigation.Seat;
 
 public class EmotionRecognitionResultsController {
     @FXML private Label correctLabel;
@@ -22,6 +26,8 @@ public class EmotionRecognitionResultsController {
     @FXML private StackPane accuracyTrack;
     @FXML private StackPane correctTrack;
     @FXML private StackPane incorrectTrack;
+    @FXML private VBox emotionCard;
+    @FXML private VBox emotionRows;
 
     private double accuracyPct = 0;
     private double correctPct = 0;
@@ -29,6 +35,11 @@ public class EmotionRecognitionResultsController {
     private boolean barsBound = false;
 
     private FacialEmotionGameState gameState;
+    private final Seat seat;
+
+    public EmotionRecognitionResultsController(Seat seat) {
+        this.seat = seat;
+    }
 
     @FXML
     public void initialize() {
@@ -80,6 +91,33 @@ public class EmotionRecognitionResultsController {
 
         // Set feedback based on accuracy
         setFeedback(accuracy);
+
+        displayByEmotion(gameState.getConfusionMatrix());
+    }
+
+    private void displayByEmotion(ConfusionMatrix matrix) {
+        emotionRows.getChildren().clear();
+        for (int row = 0; row < matrix.size(); row++) {
+            int answered = matrix.getRowTotal(row);
+            if (answered == 0) continue;
+
+            Label name = new Label(matrix.getLabels().get(row));
+            name.getStyleClass().addAll("bar-label", "emotion-label");
+            int confused = matrix.mostConfusedWith(row);
+            Label mistaken = new Label(confused < 0 ? "" : "Mistaken for " + matrix.getLabels().get(confused));
+            mistaken.getStyleClass().add("metric-sub");
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+            Label score = new Label(matrix.getCorrect(row) + " of " + answered);
+            score.getStyleClass().add("bar-value");
+
+            HBox line = new HBox(name, mistaken, spacer, score);
+            line.getStyleClass().add("bar-row");
+            emotionRows.getChildren().add(line);
+        }
+        boolean any = !emotionRows.getChildren().isEmpty();
+        emotionCard.setVisible(any);
+        emotionCard.setManaged(any);
     }
 
     private void bindBarsOnce() {
@@ -132,11 +170,11 @@ public class EmotionRecognitionResultsController {
 
     @FXML
     private void onPlayAgain() {
-        Router.getInstance().goTo("emotional-survey");
+        seat.router().goTo("emotional-survey");
     }
 
     @FXML
     private void onHome() {
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 }
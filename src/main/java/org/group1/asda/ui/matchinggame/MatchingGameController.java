@@ -14,13 +14,18 @@ import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.util.Duration;
 import org.group1.asda.domain.Card;
+import org.group1.asda.domain.GameResult;
 import org.group1.asda.domain.GameState;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.metrics.FrameMonitor;
+import org.group1.asda.metrics.Metrics;
+import org.group1.asda.metrics.TrialScope;
+import org.group1.asda.navigation.ScreenLifecycle;
+import org.group1.asda.navigation.Seat;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class MatchingGameController {
+public class MatchingGameController implements ScreenLifecycle {
     @FXML private BorderPane rootPane;
     @FXML private GridPane grid;
     @FXML private Label roundLabel;
@@ -41,12 +46,23 @@ public class MatchingGameController {
     private List<CardButton> flippedButtons = new ArrayList<>();
     private boolean lockBoard = false;
     private boolean isPaused = false;
+    private boolean playing = false;
     private int matchedPairs = 0;
     private PauseTransition previewTimer;
     private PauseTransition flipBackTimer;
+    private TrialScope trial;
+    private int trialIndex = 0;
+    private long pairOnsetNanos;
+    private final Seat seat;
+
+    public MatchingGameController(Seat seat) {
+        this.seat = seat;
+    }
 
     @FXML
     public void initialize() {
+        seat.frames().beginSession("matching");
+        playing = true;
         setupRound();
     }
 
@@ -107,6 +123,10 @@ public class MatchingGameController {
         if (lockBoard || btn.isFlipped() || isPaused) return;
         btn.flip();
         flippedButtons.add(btn);
+        if (flippedButtons.size() == 1) {
+            pairOnsetNanos = System.nanoTime();
+            trial = Metrics.gameTrial("matching", trialIndex++);
+        }
 
         if (flippedButtons.size() == 2) {
             lockBoard = true;
@@ -117,6 +137,13 @@ public class MatchingGameController {
             boolean firstSeenBefore  = first.getCard().hasBeenSeen();
             boolean secondSeenBefore = second.getCard().hasBeenSeen();
             boolean match = first.getCard().matches(second.getCard());
+            if (trial != null) {
+                trial.finish(match);
+                trial = null;
+            }
+            if (FrameMonitor.get().overlapsLongFrame(pairOnsetNanos, System.nanoTime())) {
+                seat.frames().flagTrial(trialIndex - 1);
+            }
 
             boolean countThisAttempt = (firstSeenBefore || secondSeenBefore) || match;
             if (countThisAttempt) gameState.addAttempt();
@@ -178,15 +205,28 @@ public class MatchingGameController {
         }
     }
 
+    private void saveResult() {
+        seat.data().saveGameResult(new GameResult(seat.sessionId(), GameResult.MATCHING, System.currentTimeMillis(),
+                    gameState.getTotalAttempts(), gameState.getTotalCorrect(), gameState.getTotalIncorrect(), Math.round(gameState.getElapsedTimeSeconds() * 1000)))
+                .exceptionally(e -> {
+                    // Results are still shown even if they could not be stored
+                    System.err.println("Failed to save game result: " + e.getMessage());
+                    return null;
+                });
+    }
+
     private void navigateToResults() {
+        playing = false;
+        seat.frames().endSession();
+        saveResult();
         MatchingGameResultsController resultsController =
-            Router.getInstance().goToAndGetController("matching-game-results", MatchingGameResultsController.class);
+            seat.router().goToAndGetController("matching-game-results", MatchingGameResultsController.class);
 
         if (resultsController != null) {
             resultsController.setGameState(gameState);
         } else {
             System.err.println("Error loading results screen controller");
-            Router.getInstance().goTo("home");
+            seat.router().goTo("home");
         }
     }
 
@@ -228,9 +268,28 @@ public class MatchingGameController {
 
     @FXML
     private void onHome() {
+        seat.router().goTo("home");
+    }
+
+    @Override
+    public void onHide() {
+        // Timers are recreated every round and pair, so they are stopped here rather than registered
         if (previewTimer != null) previewTimer.stop();
         if (flipBackTimer != null) flipBackTimer.stop();
-        Router.getInstance().goTo("home");
+        trial = null;
+        if (playing) {
+            playing = false;
+            seat.frames().endSession();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        previewTimer = null;
+        flipBackTimer = null;
+        cardButtons.clear();
+        flippedButtons.clear();
+        grid.getChildren().clear();
     }
 
     private void pauseTimers() {
@@ -3,7 +3,7 @@ package org.group1.asda.ui.matchinggame;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import org.group1.asda.domain.GameState;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.navigation.Seat;
 
 public class MatchingGameResultsController {
     @FXML private Label timeLabel;
@@ -16,6 +16,11 @@ public class MatchingGameResultsController {
     @FXML private Label feedbackText;
 
     private GameState gameState;
+    private final Seat seat;
+
+    public MatchingGameResultsController(Seat seat) {
+        this.seat = seat;
+    }
 
     @FXML
     public void initialize() {
@@ -74,11 +79,11 @@ public class MatchingGameResultsController {
 
     @FXML
     private void onPlayAgain() {
-        Router.getInstance().goTo("matching-game-tutorial");
+        seat.router().goTo("matching-game-tutorial");
     }
 
     @FXML
     private void onHome() {
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 }
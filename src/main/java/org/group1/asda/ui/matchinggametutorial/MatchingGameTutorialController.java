@@ -9,7 +9,8 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.shape.Circle;
 import javafx.util.Duration;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.navigation.ScreenResources;
+import org.group1.asda.navigation.Seat;
 
 import java.net.URL;
 import java.util.ArrayList;
@@ -49,6 +50,11 @@ public class MatchingGameTutorialController implements Initializable {
     private static final int PAGE_MATCHES = 3;
     private static final int PAGE_HAPPENS = 4;
     private static final int PAGE_ALL_SET = 5;
+    private final Seat seat;
+
+    public MatchingGameTutorialController(Seat seat) {
+        this.seat = seat;
+    }
 
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
@@ -77,9 +83,10 @@ public class MatchingGameTutorialController implements Initializable {
 
         // Focus handling
         if (pageContainer != null) {
+            ScreenResources screenResources = seat.router().resources();
             pageContainer.sceneProperty().addListener((obs, oldScene, newScene) -> {
                 if (newScene != null) {
-                    PauseTransition pt = new PauseTransition(Duration.millis(120));
+                    PauseTransition pt = screenResources.animation(new PauseTransition(Duration.millis(120)));
                     pt.setOnFinished(ev -> pageContainer.requestFocus());
                     pt.play();
                 }
@@ -159,10 +166,10 @@ public class MatchingGameTutorialController implements Initializable {
 
     @FXML
     public void onBack() {
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 
     private void navigateToGame() {
-        Router.getInstance().goTo("matching-game");
+        seat.router().goTo("matching-game");
     }
 }
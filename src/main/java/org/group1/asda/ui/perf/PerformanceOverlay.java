@@ -0,0 +1,85 @@
+package org.group1.asda.ui.perf;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+import javafx.util.Duration;
+import org.group1.asda.metrics.FrameMonitor;
+import org.group1.asda.metrics.LatencyHistogram;
+import org.group1.asda.metrics.Metrics;
+
+import java.util.Locale;
+
+/**
+ * Small corner readout of FX thread health: frame rate over the last refresh, pulse and
+ * {@code Platform.runLater} latency percentiles, long frames and GC pauses. Showing it starts the
+ * {@link FrameMonitor} if it is not already running. {@link #toggleMetrics()} swaps the readout for the full
+ * {@link Metrics#format()} listing. Ignores mouse input so it never blocks the screen below.
+ */
+public class PerformanceOverlay extends StackPane {
+    private static final Duration REFRESH = Duration.millis(500);
+
+    private final Label text = new Label();
+    private final Timeline refresh = new Timeline(new KeyFrame(REFRESH, e -> update()));
+    private long lastPulseCount;
+    private long lastUpdateNanos;
+    private boolean showMetrics;
+
+    public PerformanceOverlay() {
+        getStyleClass().add("perf-overlay");
+        text.getStyleClass().add("perf-overlay-text");
+        getChildren().add(text);
+        setMouseTransparent(true);
+        setMaxSize(USE_PREF_SIZE, USE_PREF_SIZE);
+        StackPane.setAlignment(this, Pos.TOP_RIGHT);
+        refresh.setCycleCount(Timeline.INDEFINITE);
+        setVisible(false);
+    }
+
+    public void toggle() {
+        show(!isVisible() || showMetrics, false);
+    }
+
+    public void toggleMetrics() {
+        show(!isVisible() || !showMetrics, true);
+    }
+
+    private void show(boolean visible, boolean metrics) {
+        if (!visible) {
+            refresh.stop();
+            setVisible(false);
+            return;
+        }
+        showMetrics = metrics;
+        FrameMonitor.get().start();
+        lastPulseCount = Metrics.timer("ui.fx.pulse").getCount();
+        lastUpdateNanos = System.nanoTime();
+        update();
+        setVisible(true);
+        refresh.play();
+    }
+
+    private void update() {
+        if (showMetrics) {
+            text.setText(Metrics.format().strip());
+            return;
+        }
+        long now = System.nanoTime();
+        long pulses = Metrics.timer("ui.fx.pulse").getCount();
+        double seconds = (now - lastUpdateNanos) / 1e9;
+        double fps = seconds > 0 ? (pulses - lastPulseCount) / seconds : 0.0;
+        lastPulseCount = pulses;
+        lastUpdateNanos = now;
+
+        LatencyHistogram.Snapshot pulse = Metrics.timer("ui.fx.pulse").getHistogram().snapshot();
+        LatencyHistogram.Snapshot probe = Metrics.timer("ui.fx.runLater").getHistogram().snapshot();
+        LatencyHistogram.Snapshot gc = Metrics.timer("jvm.gc.pause").getHistogram().snapshot();
+        text.setText(String.format(Locale.ROOT,
+                "FPS %.0f%nframe p50 %.1f ms  p99 %.1f ms  max %.1f ms%nrunLater p99 %.1f ms%nlong frames %d (>= %.0f ms)%nGC pauses %d  max %.1f ms",
+                fps, pulse.p50() / 1e6, pulse.p99() / 1e6, pulse.max() / 1e6, probe.p99() / 1e6,
+                Metrics.counter("ui.fx.longFrames").get(), FrameMonitor.get().getLongFrameNanos() / 1e6,
+                gc.count(), gc.max() / 1e6));
+    }
+}
@@ -1,6 +1,8 @@
 package org.group1.asda.ui.questionnaire;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Region;
@@ -9,8 +11,13 @@ import org.group1.asda.assessment.AQAssessment;
 import org.group1.asda.assessment.AQQuestion;
 import org.group1.asda.assessment.AQResultInterpreter;
 import org.group1.asda.assessment.AQScoreCalculator;
-import org.group1.asda.navigation.Router;
-import org.group1.asda.ui.results.AqUiState;
+import org.group1.asda.assessment.AdaptiveAQAssessment;
+import org.group1.asda.navigation.Seat;
+import org.group1.asda.persistence.AnswerJournal;
+import org.group1.asda.persistence.SessionIds;
+
+import java.time.Duration;
+import java.util.Optional;
 
 public class QuestionnaireController {
     @FXML private Label questionLabel;
@@ -28,8 +35,23 @@ public class QuestionnaireController {
     @FXML private Button nextBtn;
 
     private final AQAssessment assessment = new AQAssessment();
+    // Adaptive form when an item calibration is configured, otherwise all questions in order
+    private final AdaptiveAQAssessment adaptive = AdaptiveAQAssessment.configuredCalibration()
+            .map(c -> new AdaptiveAQAssessment(c, AdaptiveAQAssessment.configuredRule()))
+            .orElse(null);
     private int idx = 0;
     private static final int DOTS_TO_SHOW = 6; // Show 6 progress dots
+    // Unfinished sessions older than this are discarded instead of resumed
+    private static final Duration RESUME_WINDOW = Duration.ofMinutes(Long.getLong("asda.journal.resumeMinutes", 30));
+
+    private final Seat seat;
+    private final AnswerJournal journal;
+    private String journalSessionId;
+
+    public QuestionnaireController(Seat seat) {
+        this.seat = seat;
+        this.journal = seat.journal();
+    }
 
     @FXML
     public void initialize() {
@@ -47,15 +69,60 @@ public class QuestionnaireController {
         opt3.setText("Slightly Disagree");
         opt4.setText("Definitely Disagree");
 
-        // Setup progress dots
-        createProgressDots();
+        if (adaptive == null) {
+            // Setup progress dots
+            createProgressDots();
+
+            // Setup arrow navigation
+            setupArrowNavigation();
+        } else {
+            // The next question depends on the answers so far, so there is no free navigation
+            hide(progressDotsContainer);
+            hide(prevArrow);
+            hide(nextArrow);
+        }
 
-        // Setup arrow navigation
-        setupArrowNavigation();
+        // Pick up an assessment interrupted by a crash or power loss
+        resumeFromJournal();
 
+        if (idx < 0) {
+            // Interrupted after the last adaptive answer: go straight to the results
+            Platform.runLater(this::finish);
+            return;
+        }
         showCurrent();
     }
 
+    private static void hide(Node node) {
+        if (node == null) return;
+        node.setVisible(false);
+        node.setManaged(false);
+    }
+
+    private void resumeFromJournal() {
+        Optional<AnswerJournal.Unfinished> unfinished = journal.resumable(RESUME_WINDOW);
+        if (unfinished.isEmpty()) {
+            journalSessionId = SessionIds.next();
+            if (adaptive != null) idx = adaptive.nextItem();
+            return;
+        }
+        journalSessionId = unfinished.get().sessionId();
+        int[] answers = unfinished.get().answers();
+        int total = assessment.getTotalQuestions();
+        for (int i = 0; i < answers.length && i < total; i++) {
+            if (answers[i] == 0) continue;
+            assessment.recordResponse(i, answers[i]);
+            if (adaptive != null) adaptive.recordResponse(i, answers[i]);
+        }
+        if (adaptive != null) {
+            idx = adaptive.nextItem();
+            return;
+        }
+        // Continue at the first unanswered question
+        idx = 0;
+        while (idx < total - 1 && idx < answers.length && answers[idx] != 0) idx++;
+    }
+
     private void createProgressDots() {
         progressDotsContainer.getChildren().clear();
 
@@ -137,8 +204,15 @@ public class QuestionnaireController {
 
         AQQuestion q = assessment.getQuestions().get(idx);
         questionLabel.setText(q.getQuestionText());
-        questionNumberLabel.setText("Question " + (idx + 1) + ":");
-        counterLabel.setText("Question " + (idx + 1) + " of " + assessment.getTotalQuestions());
+        if (adaptive != null) {
+            int number = adaptive.getItemsAsked() + 1;
+            questionNumberLabel.setText("Question " + number + ":");
+            counterLabel.setText("Question " + number + " of at most " + Math.min(
+                    AdaptiveAQAssessment.configuredRule().maxItems(), adaptive.getItemCount()));
+        } else {
+            questionNumberLabel.setText("Question " + (idx + 1) + ":");
+            counterLabel.setText("Question " + (idx + 1) + " of " + assessment.getTotalQuestions());
+        }
 
         // Restore previous selection if present
         if (assessment.getUserResponses().size() > idx) {
@@ -159,6 +233,12 @@ public class QuestionnaireController {
         }
 
         // Update button states
+        if (adaptive != null) {
+            // Answers already shaped the question order, so they are not revisited
+            backBtn.setDisable(true);
+            nextBtn.setText("Next →");
+            return;
+        }
         backBtn.setDisable(idx == 0);
         nextBtn.setText(idx == assessment.getTotalQuestions() - 1 ? "Finish" : "Next →");
 
@@ -168,7 +248,7 @@ public class QuestionnaireController {
 
     @FXML
     public void onBack() {
-        if (idx > 0) {
+        if (adaptive == null && idx > 0) {
             idx--;
             showCurrent();
         }
@@ -189,19 +269,36 @@ public class QuestionnaireController {
 
         // Record response for current question
         assessment.recordResponse(idx, answer);
-
-        if (idx < assessment.getTotalQuestions() - 1) {
+        journal.answer(journalSessionId, idx, answer);
+
+        if (adaptive != null) {
+            adaptive.recordResponse(idx, answer);
+            idx = adaptive.nextItem();
+            if (idx < 0) finish();
+            else showCurrent();
+        } else if (idx < assessment.getTotalQuestions() - 1) {
             idx++;
             showCurrent();
         } else {
-            // Finish: compute AQ results and go to results screen
+            finish();
+        }
+    }
+
+    // Compute AQ results and go to results screen
+    private void finish() {
+        AQResultInterpreter.AssessmentSummary summary;
+        if (adaptive != null) {
+            // Unasked questions count with their expected points, on the same 0..50 scale and bands
+            summary = adaptive.summarize();
+        } else {
             assessment.completeAssessment();
             AQScoreCalculator.CategoryScores cat = AQScoreCalculator.calculateCategoryScores(assessment);
             int total = AQScoreCalculator.calculateTotalScore(assessment);
-            AQResultInterpreter.AssessmentSummary summary = AQResultInterpreter.interpret(total, cat);
-            AqUiState.set(summary, cat);
-            Router.getInstance().goTo("results");
+            summary = AQResultInterpreter.interpret(total, cat);
         }
+        journal.complete(journalSessionId);
+        seat.aqResults().set(summary, summary.categoryScores);
+        seat.router().goTo("results");
     }
 
     private int currentSelectedValue() {
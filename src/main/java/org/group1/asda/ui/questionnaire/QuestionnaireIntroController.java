@@ -4,7 +4,7 @@ import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
-import org.group1.asda.navigation.Router;
+import org.group1.asda.navigation.Seat;
 
 /**
  * Controller for the questionnaire introduction screen.
@@ -17,6 +17,11 @@ public class QuestionnaireIntroController {
 
     @FXML
     private Button beginButton;
+    private final Seat seat;
+
+    public QuestionnaireIntroController(Seat seat) {
+        this.seat = seat;
+    }
 
     @FXML
     public void initialize() {
@@ -26,12 +31,12 @@ public class QuestionnaireIntroController {
 
     @FXML
     public void onBack() {
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 
     @FXML
     public void onBegin() {
-        Router.getInstance().goTo("questionnaire");
+        seat.router().goTo("questionnaire");
     }
 
     @FXML
@@ -7,13 +7,15 @@ import javafx.scene.control.ProgressBar;
 import javafx.scene.layout.VBox;
 import org.group1.asda.assessment.AQResultInterpreter;
 import org.group1.asda.assessment.AQScoreCalculator;
-import org.group1.asda.navigation.Router;
-import org.group1.asda.persistence.SessionDao;
+import org.group1.asda.navigation.ScreenLifecycle;
+import org.group1.asda.navigation.Seat;
 import org.group1.asda.service.AssessmentService;
+import org.group1.asda.service.AsyncDataService;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
-public class ResultsController {
+public class ResultsController implements ScreenLifecycle {
     // Summary section
     @FXML private Label totalScoreLabel;
     @FXML private Label traitLevelLabel;
@@ -39,66 +41,99 @@ public class ResultsController {
 
     // Navigation
     @FXML private Button homeBtn;
+    private final Seat seat;
 
-    private final SessionDao sessionDao = new SessionDao();
-    private final AssessmentService assessmentService = new AssessmentService();
+    public ResultsController(Seat seat) {
+        this.seat = seat;
+    }
 
     @FXML
     public void initialize() {
-        populateResults();
+        // Prefer AQ GUI results if present
+        if (seat.aqResults().hasResult()) {
+            populateAqResults();
+        }
     }
 
-    private void populateResults() {
-        // Prefer AQ GUI results if present
-        if (AqUiState.hasResult()) {
-            AQResultInterpreter.AssessmentSummary summary = AqUiState.getSummary();
-            AQScoreCalculator.CategoryScores c = AqUiState.getCategories();
-
-            // Set total score
-            totalScoreLabel.setText(summary.totalScore + "/50");
-
-            // Set trait level with appropriate styling
-            traitLevelLabel.setText(summary.riskLevel);
-            updateTraitLevelStyle(summary.riskLevel);
-
-            // Set subscale progress bars and scores
-            setSubscaleData(socialSkillsProgress, socialSkillsScore, c.getSocialSkillsScore(), "#7FA8C2");
-            setSubscaleData(attentionSwitchingProgress, attentionSwitchingScore, c.getAttentionSwitchingScore(), "#A3C7A3");
-            setSubscaleData(attentionToDetailProgress, attentionToDetailScore, c.getAttentionToDetailScore(), "#C4A3C4");
-            setSubscaleData(communicationProgress, communicationScore, c.getCommunicationScore(), "#C7B299");
-            setSubscaleData(imaginationProgress, imaginationScore, c.getImaginationScore(), "#99B8C7");
-
-            // Populate detailed analysis
-            populateDetailedAnalysis(c);
-
-            // Set interpretation and recommendations
-            interpretationLabel.setText(summary.overallInterpretation);
-            recommendationLabel.setText(summary.recommendation);
-        } else {
-            // Fallback to legacy DB-based summary if no AQ result in memory
-            Optional<String> latestOpt = sessionDao.getLatestSessionId();
-            if (latestOpt.isEmpty()) {
-                showNoDataState("No recent session found. Please complete the questionnaire first.");
-                return;
-            }
-            String sessionId = latestOpt.get();
-            AssessmentService.AssessmentResult res = assessmentService.assessFromDb(sessionId);
-            if (res.questionCount() == 0) {
-                showNoDataState("No answers recorded for the latest session. Please complete the questionnaire.");
-                return;
-            }
+    @Override
+    public void onShow() {
+        // Only once shown by the router, so views rendered offscreen (reports) do not query the latest session
+        if (!seat.aqResults().hasResult()) {
+            loadLatestSession();
+        }
+    }
+
+    /** Shows a stored session instead of the latest one; used when rendering reports. */
+    public void showSession(AssessmentService.AssessmentResult result) {
+        showLegacyResult(Optional.of(result));
+    }
+
+    private void populateAqResults() {
+        AQResultInterpreter.AssessmentSummary summary = seat.aqResults().getSummary();
+        AQScoreCalculator.CategoryScores c = seat.aqResults().getCategories();
 
-            // Show legacy data in available fields
-            totalScoreLabel.setText(res.totalScore() + "/" + (res.questionCount()));
-            traitLevelLabel.setText(res.level());
-            updateTraitLevelStyle(res.level());
+        // Set total score
+        totalScoreLabel.setText(summary.totalScore + "/50");
 
-            interpretationLabel.setText("Total score: " + res.totalScore() + " across " + res.questionCount() + " items.");
+        // Set trait level with appropriate styling
+        traitLevelLabel.setText(summary.riskLevel);
+        updateTraitLevelStyle(summary.riskLevel);
 
-            StringBuilder catBreakdown = new StringBuilder("Category breakdown:\n");
-            res.categoryScores().forEach((cat, val) -> catBreakdown.append(" • ").append(cat).append(": ").append(val).append('\n'));
-            recommendationLabel.setText(catBreakdown.toString() + "\nImportant: This app is for informational purposes only and does not provide a medical diagnosis. If you have concerns, please consult a qualified professional.");
+        // Set subscale progress bars and scores
+        setSubscaleData(socialSkillsProgress, socialSkillsScore, c.getSocialSkillsScore(), "#7FA8C2");
+        setSubscaleData(attentionSwitchingProgress, attentionSwitchingScore, c.getAttentionSwitchingScore(), "#A3C7A3");
+        setSubscaleData(attentionToDetailProgress, attentionToDetailScore, c.getAttentionToDetailScore(), "#C4A3C4");
+        setSubscaleData(communicationProgress, communicationScore, c.getCommunicationScore(), "#C7B299");
+        setSubscaleData(imaginationProgress, imaginationScore, c.getImaginationScore(), "#99B8C7");
+
+        // Populate detailed analysis
+        populateDetailedAnalysis(c);
+
+        // Set interpretation and recommendations
+        interpretationLabel.setText(summary.overallInterpretation);
+        recommendationLabel.setText(summary.recommendation);
+    }
+
+    private void loadLatestSession() {
+        // Fallback to legacy DB-based summary if no AQ result in memory, loaded off the FX thread
+        interpretationLabel.setText("Loading latest session...");
+        AsyncDataService data = seat.data();
+        CompletableFuture<Optional<AssessmentService.AssessmentResult>> latest = data.latestSessionId()
+                .thenCompose(id -> id.isEmpty()
+                        ? CompletableFuture.completedFuture(Optional.empty())
+                        : data.assessFromDb(id.get()).thenApply(Optional::of));
+        seat.router().tasks().track(latest.handleAsync((res, error) -> {
+            if (error != null) {
+                Throwable cause = error.getCause() != null ? error.getCause() : error;
+                showNoDataState("Could not load the latest session: " + cause.getMessage());
+            } else {
+                showLegacyResult(res);
+            }
+            return null;
+        }, AsyncDataService.FX));
+    }
+
+    private void showLegacyResult(Optional<AssessmentService.AssessmentResult> latest) {
+        if (latest.isEmpty()) {
+            showNoDataState("No recent session found. Please complete the questionnaire first.");
+            return;
+        }
+        AssessmentService.AssessmentResult res = latest.get();
+        if (res.questionCount() == 0) {
+            showNoDataState("No answers recorded for the latest session. Please complete the questionnaire.");
+            return;
         }
+
+        // Show legacy data in available fields
+        totalScoreLabel.setText(res.totalScore() + "/" + (res.questionCount()));
+        traitLevelLabel.setText(res.level());
+        updateTraitLevelStyle(res.level());
+
+        interpretationLabel.setText("Total score: " + res.totalScore() + " across " + res.questionCount() + " items.");
+
+        StringBuilder catBreakdown = new StringBuilder("Category breakdown:\n");
+        res.categoryScores().forEach((cat, val) -> catBreakdown.append(" • ").append(cat).append(": ").append(val).append('\n'));
+        recommendationLabel.setText(catBreakdown.toString() + "\nImportant: This app is for informational purposes only and does not provide a medical diagnosis. If you have concerns, please consult a qualified professional.");
     }
 
     private void setSubscaleData(ProgressBar progressBar, Label scoreLabel, int score, String color) {
@@ -199,6 +234,6 @@ public class ResultsController {
 
     @FXML
     public void onHome() {
-        Router.getInstance().goTo("home");
+        seat.router().goTo("home");
     }
 }
@@ -0,0 +1,153 @@
+package org.group1.asda.analytics;
+
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.ResponseDao;
+import org.group1.asda.persistence.SessionDao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CohortAnalyticsTest {
+    @TempDir
+    Path tempDir;
+
+    private String previousUrl;
+
+    @BeforeEach
+    void setUp() {
+        previousUrl = System.getProperty("asda.db.url");
+        System.setProperty("asda.db.url", "jdbc:sqlite:" + tempDir.resolve("cohort.db"));
+        Database.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+    }
+
+    private void seedSessions(int sessions) throws Exception {
+        SessionDao sessionDao = new SessionDao();
+        ResponseDao responseDao = new ResponseDao();
+        for (int s = 0; s < sessions; s++) {
+            String id = sessionDao.startSession();
+            int total = 0;
+            for (int q = 80; q < 90; q++) {
+                int value = 1 + (s + q) % 3;
+                responseDao.saveOrReplace(id, "Q" + q, value, value);
+                total += value;
+            }
+            sessionDao.endSession(id, total, s % 2 == 0 ? "Moderate" : "Low");
+        }
+    }
+
+    @Test
+    void testEmptyDatabase() {
+        CohortReport report = new CohortAnalytics(4, 33, 66).run();
+        assertEquals(0, report.getSessions());
+        assertEquals(0, report.getResponses());
+        assertTrue(report.getItems().isEmpty());
+        assertTrue(report.getNormTables().isEmpty());
+    }
+
+    @Test
+    void testItemEndorsementAndNorms() throws Exception {
+        seedSessions(30);
+        CohortReport report = new CohortAnalytics(1, 33, 66).run();
+
+        assertEquals(30, report.getSessions());
+        assertEquals(30, report.getScoredSessions());
+        assertEquals(300, report.getResponses());
+        assertEquals(10, report.getItems().size());
+        assertEquals("Q80", report.getItems().get(0).questionCode());
+
+        CohortReport.ItemStats q80 = report.getItems().get(0);
+        assertEquals(30, q80.responses());
+        assertEquals(q80.veryTrue() + q80.trueCount(), Math.round(q80.endorsementRate() * 30));
+        assertEquals("BeforeAge2", q80.category());
+
+        assertEquals(1, report.getNormTables().size());
+        CohortReport.NormTable norms = report.getNormTables().get(0);
+        assertEquals(10, norms.questionCount());
+        assertEquals(30, norms.sampleSize());
+        assertTrue(norms.suggestedElevatedCutoff() <= norms.suggestedModerateCutoff());
+
+        Map<String, Long> levels = report.getLevelsByMonth().values().iterator().next();
+        assertEquals(15L, levels.get("Moderate"));
+        assertEquals(15L, levels.get("Low"));
+    }
+
+    @Test
+    void testParallelRunMatchesSingleThreaded() throws Exception {
+        seedSessions(60);
+        CohortReport single = new CohortAnalytics(1, 33, 66).run();
+        CohortReport parallel = new CohortAnalytics(4, 33, 66).run();
+
+        assertEquals(single.getResponses(), parallel.getResponses());
+        assertEquals(single.getScoredSessions(), parallel.getScoredSessions());
+        assertEquals(single.getItems(), parallel.getItems());
+        assertEquals(single.getLevelsByMonth(), parallel.getLevelsByMonth());
+        CohortReport.NormTable a = single.getNormTables().get(0);
+        CohortReport.NormTable b = parallel.getNormTables().get(0);
+        for (double p : CohortReport.PERCENTILES) {
+            assertEquals(a.scoreAt(p), b.scoreAt(p));
+        }
+    }
+
+    @Test
+    void testPartitionBoundsSplitSessions() throws Exception {
+        seedSessions(40);
+        try (Connection c = Database.getConnection()) {
+            assertEquals(3, CohortAnalytics.partitionBounds(c, 4).size());
+            assertTrue(CohortAnalytics.partitionBounds(c, 1).isEmpty());
+        }
+    }
+
+    @Test
+    void testUnscoredSessionsAndCsvExport() throws Exception {
+        seedSessions(5);
+        String open = new SessionDao().startSession();
+        try (Connection c = Database.getConnection();
+             PreparedStatement ps = c.prepareStatement("UPDATE sessions SET started_at = 0 WHERE id = ?")) {
+            ps.setString(1, open);
+            ps.executeUpdate();
+        }
+
+        CohortReport report = new CohortAnalytics(2, 33, 66).run();
+        assertEquals(6, report.getSessions());
+        assertEquals(1L, report.getLevelsByMonth().get("1970-01").get("Unscored"));
+
+        Path out = tempDir.resolve("report");
+        report.writeCsv(out);
+        assertTrue(Files.readString(out.resolve("items.csv")).startsWith("question_code,"));
+        // Header plus Low, Moderate and Unscored rows across two months
+        assertEquals(4, Files.readAllLines(out.resolve("levels_by_month.csv")).size());
+        assertTrue(report.format().contains("NORM TABLES"));
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        Histogram h = new Histogram();
+        for (int v = 1; v <= 100; v++) h.add(v);
+        assertEquals(50, h.valueAtPercentile(50));
+        assertEquals(1, h.valueAtPercentile(0));
+        assertEquals(100, h.valueAtPercentile(100));
+        assertEquals(25.0, h.percentileRank(25), 0.001);
+        assertEquals(50.5, h.mean(), 0.001);
+
+        Histogram other = new Histogram();
+        other.add(500);
+        h.merge(other);
+        assertEquals(101, h.getTotal());
+        assertEquals(500, h.getMax());
+    }
+}
@@ -0,0 +1,168 @@
+package org.group1.asda.archive;
+
+import org.group1.asda.domain.GameResult;
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.GameResultDao;
+import org.group1.asda.persistence.ResponseDao;
+import org.group1.asda.persistence.SessionDao;
+import org.group1.asda.service.AssessmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionArchiverTest {
+    private static final long JAN = Instant.parse("2024-01-15T10:00:00Z").toEpochMilli();
+    private static final long FEB = Instant.parse("2024-02-20T10:00:00Z").toEpochMilli();
+    private static final long CUTOFF = Instant.parse("2024-03-01T00:00:00Z").toEpochMilli();
+    private static final long APR = Instant.parse("2024-04-02T10:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path tempDir;
+
+    private String previousUrl;
+    private final SessionDao sessionDao = new SessionDao();
+    private final ResponseDao responseDao = new ResponseDao();
+    private final GameResultDao gameResultDao = new GameResultDao();
+    private final AssessmentService assessmentService = new AssessmentService();
+
+    @BeforeEach
+    void setUp() {
+        previousUrl = System.getProperty("asda.db.url");
+        System.setProperty("asda.db.url", "jdbc:sqlite:" + tempDir.resolve("hot.db"));
+        Database.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+    }
+
+    /** A finished session with {@code answers} responses that ended at {@code endedAt}. */
+    private String session(long endedAt, int answers) throws Exception {
+        String id = sessionDao.startSession();
+        for (int i = 0; i < answers; i++) {
+            responseDao.saveOrReplace(id, "Q" + (80 + i), 1 + i % 3, 1 + i % 3);
+        }
+        sessionDao.endSession(id, answers, "Moderate");
+        try (Connection c = Database.getConnection();
+             PreparedStatement ps = c.prepareStatement("UPDATE sessions SET started_at = ?, ended_at = ? WHERE id = ?")) {
+            ps.setLong(1, endedAt - 60_000);
+            ps.setLong(2, endedAt);
+            ps.setString(3, id);
+            ps.executeUpdate();
+        }
+        gameResultDao.save(new GameResult(id, GameResult.MATCHING, endedAt, 10, 7, 3, 30_000));
+        return id;
+    }
+
+    private static long count(String sql) throws Exception {
+        try (Connection c = Database.getConnection(); Statement st = c.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    private static long countIn(Path file, String sql) throws Exception {
+        try (Connection c = DriverManager.getConnection("jdbc:sqlite:" + file);
+             Statement st = c.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    @Test
+    void testMovesOldSessionsIntoMonthlyFiles() throws Exception {
+        session(JAN, 5);
+        session(JAN + 86_400_000L, 4);
+        session(FEB, 3);
+        String recent = session(APR, 2);
+        String open = sessionDao.startSession();
+
+        Path dir = tempDir.resolve("archive");
+        ArchiveReport report = new SessionArchiver(dir).archive(CUTOFF);
+
+        assertEquals(2, report.months().size());
+        assertEquals(3, report.sessions());
+        assertEquals(12, report.responses());
+        assertEquals(3, report.gameResults());
+        assertEquals(2, countIn(dir.resolve("asda-2024-01.db"), "SELECT COUNT(*) FROM sessions"));
+        assertEquals(9, countIn(dir.resolve("asda-2024-01.db"), "SELECT COUNT(*) FROM responses"));
+        assertEquals(1, countIn(dir.resolve("asda-2024-02.db"), "SELECT COUNT(*) FROM game_results"));
+
+        assertEquals(2, count("SELECT COUNT(*) FROM sessions"));
+        assertEquals(1, count("SELECT COUNT(*) FROM sessions WHERE id = '" + recent + "'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM sessions WHERE id = '" + open + "'"));
+        assertEquals(2, count("SELECT COUNT(*) FROM responses"));
+        assertEquals(3, count("SELECT COUNT(*) FROM session_archive"));
+        assertEquals(2, count("SELECT COUNT(*) FROM archive_months"));
+    }
+
+    @Test
+    void testArchivedSessionsStayReadable() throws Exception {
+        String old = session(JAN, 6);
+        AssessmentService.AssessmentResult before = assessmentService.assessFromDb(old);
+        Optional<Integer> answer = responseDao.getAnswer(old, "Q82");
+
+        new SessionArchiver(tempDir.resolve("archive")).archive(CUTOFF);
+        assertEquals(0, count("SELECT COUNT(*) FROM responses WHERE session_id = '" + old + "'"));
+
+        AssessmentService.AssessmentResult after = assessmentService.assessFromDb(old);
+        assertEquals(before, after);
+        assertEquals(answer, responseDao.getAnswer(old, "Q82"));
+        assertEquals(Optional.empty(), responseDao.getAnswer(old, "Q109"));
+        assertEquals(1, gameResultDao.findBySession(old).size());
+        assertEquals(0, assessmentService.assessFromDb("unknown").questionCount());
+    }
+
+    @Test
+    void testRerunAndLaterRunsAppend() throws Exception {
+        session(JAN, 2);
+        SessionArchiver archiver = new SessionArchiver(tempDir.resolve("archive"));
+        archiver.archive(CUTOFF);
+        assertEquals(0, archiver.archive(CUTOFF).sessions());
+
+        // A second session ending in an already archived month lands in the same file
+        String late = session(JAN + 3_600_000L, 3);
+        ArchiveReport second = archiver.archive(CUTOFF);
+        assertEquals(1, second.sessions());
+        assertEquals(2, countIn(tempDir.resolve("archive").resolve("asda-2024-01.db"), "SELECT COUNT(*) FROM sessions"));
+        assertEquals(2, count("SELECT sessions FROM archive_months WHERE month = '2024-01'"));
+        assertEquals(3, assessmentService.assessFromDb(late).questionCount());
+    }
+
+    @Test
+    void testVacuumShrinksHotDatabase() throws Exception {
+        for (int i = 0; i < 60; i++) session(JAN, 30);
+        ArchiveReport report = new SessionArchiver(tempDir.resolve("archive")).archive(CUTOFF);
+
+        assertTrue(report.bytesAfter() < report.bytesBefore(), report.format());
+        assertEquals(2, count("PRAGMA auto_vacuum"));
+        assertEquals(0, count("PRAGMA freelist_count"));
+
+        // Later runs free pages incrementally instead of rebuilding the file
+        for (int i = 0; i < 20; i++) session(FEB, 30);
+        new SessionArchiver(tempDir.resolve("archive")).archive(CUTOFF);
+        assertEquals(0, count("PRAGMA freelist_count"));
+    }
+
+    @Test
+    void testSnapshotWritesCompactCopy() throws Exception {
+        session(JAN, 3);
+        Path snapshot = tempDir.resolve("backup").resolve("snapshot.db");
+        new SessionArchiver(tempDir.resolve("archive")).snapshot(snapshot);
+        assertTrue(Files.exists(snapshot));
+        assertEquals(1, countIn(snapshot, "SELECT COUNT(*) FROM sessions"));
+    }
+}
@@ -179,6 +179,24 @@ class AQScoreCalculatorTest {
         assertNotEquals(score1, score2);
     }
 
+    @Test
+    @DisplayName("Sheet overloads should match the assessment-based scores")
+    void testSheetOverloadsMatchAssessment() {
+        int[] sheet = new int[50];
+        for (int i = 0; i < 50; i++) {
+            sheet[i] = 1 + (i * 7) % 4;
+            assessment.recordResponse(i, sheet[i]);
+        }
+        assessment.completeAssessment();
+
+        assertEquals(AQScoreCalculator.calculateTotalScore(assessment),
+                AQScoreCalculator.calculateTotalScore(sheet));
+        assertEquals(AQScoreCalculator.calculateCategoryScores(assessment).getTotalScore(),
+                AQScoreCalculator.calculateCategoryScores(sheet).getTotalScore());
+        assertThrows(IllegalArgumentException.class,
+                () -> AQScoreCalculator.calculateTotalScore(new int[49]));
+    }
+
     private void answerAllQuestionsFor(AQAssessment assess, int choice) {
         for (int i = 0; i < 50; i++) {
             assess.recordResponse(i, choice);
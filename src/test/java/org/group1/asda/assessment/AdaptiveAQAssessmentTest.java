@@ -0,0 +1,112 @@
+package org.group1.asda.assessment;
+
+import org.group1.asda.instrument.CompiledInstrument;
+import org.group1.asda.instrument.Instruments;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveAQAssessment Tests")
+class AdaptiveAQAssessmentTest {
+    private static final CompiledInstrument AQ = Instruments.aq();
+
+    @TempDir
+    Path dir;
+
+    /** Sheets drawn from a known 2PL model; the scoring option is picked at random among those that score. */
+    private static byte[][] simulatedSheets(double[] a, double[] b, int count, long seed) {
+        Random random = new Random(seed);
+        int items = AQ.getItemCount();
+        byte[][] sheets = new byte[count][items];
+        for (int n = 0; n < count; n++) {
+            double theta = random.nextGaussian();
+            for (int i = 0; i < items; i++) {
+                boolean point = random.nextDouble() < 1 / (1 + Math.exp(-a[i] * (theta - b[i])));
+                int[] scores = AQ.getDefinition().items().get(i).scores();
+                int choice;
+                do {
+                    choice = 1 + random.nextInt(scores.length);
+                } while ((scores[choice - 1] == 1) != point);
+                sheets[n][i] = (byte) choice;
+            }
+        }
+        return sheets;
+    }
+
+    @Test
+    @DisplayName("Calibration recovers item parameters and the adaptive form agrees with the full form")
+    void calibratesAndSimulates() throws Exception {
+        int items = AQ.getItemCount();
+        double[] a = new double[items];
+        double[] b = new double[items];
+        Random random = new Random(5);
+        for (int i = 0; i < items; i++) {
+            a[i] = 0.8 + 1.7 * random.nextDouble();
+            b[i] = -1.5 + 3.0 * random.nextDouble();
+        }
+        byte[][] sheets = simulatedSheets(a, b, 4000, 17);
+        // A few unanswered items must not disturb the fit
+        for (int n = 0; n < 200; n++) sheets[n][n % items] = 0;
+
+        ItemCalibration calibration = ItemCalibration.fit(AQ, sheets, sheets.length);
+        for (int i = 0; i < items; i++) {
+            assertEquals(b[i], calibration.difficulty(i), 0.35, "difficulty of item " + i);
+            assertEquals(a[i], calibration.slope(i), 0.6, "slope of item " + i);
+        }
+        Path file = dir.resolve("aq.calibration");
+        calibration.write(file);
+        ItemCalibration reread = ItemCalibration.read(file, AQ);
+        assertEquals(calibration.slope(7), reread.slope(7), 1e-4);
+        assertEquals(calibration.difficulty(49), reread.difficulty(49), 1e-4);
+
+        byte[][] holdout = simulatedSheets(a, b, 1000, 23);
+        SimulationReport report = AdaptiveSimulator.simulate(reread, holdout, holdout.length,
+                new AdaptiveAQAssessment.StoppingRule(0.25, 8, 50));
+        assertEquals(1000, report.sheets());
+        assertTrue(report.meanItems() < 40, report.format());
+        assertTrue(report.bandAgreement() > 0.75, report.format());
+        assertTrue(report.meanAbsError() < 2.0, report.format());
+    }
+
+    @Test
+    @DisplayName("A fully answered adaptive session reproduces the full-form scores")
+    void fullAdministrationMatchesFullForm() throws Exception {
+        int items = AQ.getItemCount();
+        double[] a = new double[items];
+        double[] b = new double[items];
+        for (int i = 0; i < items; i++) {
+            a[i] = 1.0 + (i % 5) * 0.3;
+            b[i] = -1.0 + (i % 7) * 0.3;
+        }
+        ItemCalibration calibration = ItemCalibration.fit(AQ, simulatedSheets(a, b, 500, 3), 500);
+        byte[] sheet = simulatedSheets(a, b, 1, 99)[0];
+        int[] choices = new int[items];
+        for (int i = 0; i < items; i++) choices[i] = sheet[i];
+
+        AdaptiveAQAssessment session = new AdaptiveAQAssessment(calibration, new AdaptiveAQAssessment.StoppingRule(0.01, 1, 50));
+        int asked = 0;
+        for (int item = session.nextItem(); item >= 0; item = session.nextItem()) {
+            session.recordResponse(item, choices[item]);
+            asked++;
+        }
+        assertEquals(items, asked);
+        assertTrue(session.isFinished());
+        assertThrows(IllegalStateException.class, () -> session.recordResponse(0, choices[0]));
+
+        AdaptiveAQAssessment.Estimate estimate = session.estimate();
+        AQAssessment full = new AQAssessment();
+        for (int i = 0; i < items; i++) full.recordResponse(i, choices[i]);
+        full.completeAssessment();
+        assertEquals(AQScoreCalculator.calculateTotalScore(full), estimate.totalScore());
+        AQScoreCalculator.CategoryScores expected = AQScoreCalculator.calculateCategoryScores(full);
+        assertEquals(expected.getSocialSkillsScore(), estimate.categoryScores().getSocialSkillsScore());
+        assertEquals(expected.getImaginationScore(), estimate.categoryScores().getImaginationScore());
+        assertEquals(estimate.totalScore(), estimate.categoryScores().getTotalScore());
+        assertEquals(AQ.band(estimate.totalScore()), session.summarize().riskLevel);
+    }
+}
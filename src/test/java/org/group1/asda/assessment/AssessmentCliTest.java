@@ -0,0 +1,40 @@
+package org.group1.asda.assessment;
+
+import org.group1.asda.instrument.Instruments;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AssessmentCli Tests")
+class AssessmentCliTest {
+
+    @Test
+    @DisplayName("Batch mode writes one scored row per input sheet")
+    void scoresCsvBatch() throws IOException {
+        String agreeAll = ",1".repeat(50);
+        String blank = ",".repeat(50);
+        String input = "id" + ",q".repeat(50) + "\na" + agreeAll + "\nb" + blank + "\n";
+        StringWriter out = new StringWriter();
+
+        int sheets = AssessmentCli.scoreBatch(new BufferedReader(new StringReader(input)), out, Instruments.aq());
+
+        assertEquals(2, sheets);
+        String[] lines = out.toString().split("\n");
+        assertEquals("id,total,Social Skills,Attention Switching,Attention to Detail,Communication,Imagination,band", lines[0]);
+        int[] sheet = new int[50];
+        Arrays.fill(sheet, 1);
+        int total = Instruments.aq().total(sheet);
+        assertTrue(lines[1].startsWith("a," + total + ","));
+        assertEquals("b,0,0,0,0,0,0,Unknown", lines[2]);
+
+        assertThrows(IllegalArgumentException.class, () -> AssessmentCli.scoreBatch(
+                new BufferedReader(new StringReader("x,9" + ",1".repeat(49))), new StringWriter(), Instruments.aq()));
+    }
+}
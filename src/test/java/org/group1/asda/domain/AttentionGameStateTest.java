@@ -418,4 +418,19 @@ class AttentionGameStateTest {
         assertEquals(0, gameState.getTotalCorrect());
         assertEquals(10, gameState.getTotalIncorrect());
     }
+
+    @Test
+    @DisplayName("Timing-flagged trials should be reported in the summary and cleared on reset")
+    void testTimingFlaggedTrials() {
+        assertFalse(gameState.getFinalSummary().contains("Timing-flagged"));
+
+        gameState.flagTrialTiming(3);
+        gameState.flagTrialTiming(17);
+
+        assertEquals(java.util.List.of(3, 17), gameState.getTimingFlaggedTrials());
+        assertTrue(gameState.getFinalSummary().contains("Timing-flagged trials: 2"));
+
+        gameState.resetRoundStats();
+        assertTrue(gameState.getTimingFlaggedTrials().isEmpty());
+    }
 }
@@ -0,0 +1,94 @@
+package org.group1.asda.domain.emotional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmotionalGameStateTest {
+
+    private EmotionalGameState gameState;
+
+    @BeforeEach
+    public void setUp() {
+        gameState = new EmotionalGameState();
+    }
+
+    @Test
+    public void testInitialSurveyAverage() {
+        assertEquals(20, gameState.getTotalQuestions());
+        assertEquals(60, gameState.getSurveySum());
+        assertEquals(3.0, gameState.getSurveyAverage(), 0.0001);
+    }
+
+    @Test
+    public void testSurveySumTracksChanges() {
+        gameState.setSurveyResponse(0, 5);
+        gameState.setSurveyResponse(1, 1);
+        gameState.setSurveyResponse(0, 4);
+
+        int expected = 0;
+        for (int r : gameState.getSurveyResponses()) expected += r;
+        assertEquals(expected, gameState.getSurveySum());
+        assertEquals(expected / 20.0, gameState.getSurveyAverage(), 0.0001);
+
+        // Out-of-range writes are ignored
+        gameState.setSurveyResponse(99, 5);
+        assertEquals(expected, gameState.getSurveySum());
+    }
+
+    @Test
+    public void testRecognitionCountsMatchFullScan() {
+        List<EmotionPattern> patterns = gameState.getPatterns();
+        for (int i = 0; i < patterns.size(); i++) {
+            gameState.setRecognitionAnswer(i, i % 3 == 0 ? patterns.get(i).getCorrectEmotion() : "Joy");
+        }
+        int expected = 0;
+        for (int i = 0; i < patterns.size(); i++) {
+            if (patterns.get(i).getCorrectEmotion().equals(gameState.getRecognitionAnswer(i))) expected++;
+        }
+        assertEquals(expected, gameState.getRecognitionCorrectCount());
+        assertEquals(patterns.size(), gameState.getRecognitionAnsweredCount());
+
+        ConfusionMatrix matrix = gameState.getConfusionMatrix();
+        int diagonal = 0;
+        int answered = 0;
+        for (int row = 0; row < matrix.size(); row++) {
+            diagonal += matrix.getCorrect(row);
+            answered += matrix.getRowTotal(row);
+        }
+        assertEquals(expected, diagonal);
+        assertEquals(patterns.size(), answered);
+
+        // Changing an answer moves it to the new cell
+        String actual = patterns.get(1).getCorrectEmotion();
+        int before = matrix.get(actual, actual);
+        gameState.setRecognitionAnswer(1, actual);
+        assertEquals(before + 1, gameState.getConfusionMatrix().get(actual, actual));
+        assertEquals(before, matrix.get(actual, actual), "earlier snapshots do not change");
+    }
+
+    @Test
+    public void testEmotionOptionsAlwaysContainCorrectAnswer() {
+        for (int i = 0; i < gameState.getTotalQuestions(); i++) {
+            List<String> options = gameState.getEmotionOptions(i);
+            assertEquals(4, options.size());
+            assertTrue(options.contains(gameState.getPatterns().get(i).getCorrectEmotion()));
+        }
+    }
+
+    @Test
+    public void testResetClearsStatistics() {
+        gameState.setSurveyResponse(0, 5);
+        gameState.setRecognitionAnswer(0, gameState.getPatterns().get(0).getCorrectEmotion());
+
+        gameState.reset();
+
+        assertEquals(60, gameState.getSurveySum());
+        assertEquals(0, gameState.getRecognitionCorrectCount());
+        assertEquals(0, gameState.getRecognitionAnsweredCount());
+        assertEquals(0, gameState.getConfusionMatrix().getRowTotal(0));
+    }
+}
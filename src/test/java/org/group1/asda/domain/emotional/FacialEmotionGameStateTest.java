@@ -3,6 +3,7 @@ package org.group1.asda.domain.emotional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -92,6 +93,48 @@ public class FacialEmotionGameStateTest {
         assertEquals(expectedAccuracy, gameState.getRecognitionAccuracy(), 0.01);
     }
 
+    @Test
+    public void testChangingAnswerUpdatesCorrectCount() {
+        String correct = gameState.getPatterns().get(0).getCorrectEmotion();
+
+        gameState.setRecognitionAnswer(0, correct);
+        assertEquals(1, gameState.getRecognitionCorrectCount());
+
+        gameState.setRecognitionAnswer(0, "Wrong Answer");
+        assertEquals(0, gameState.getRecognitionCorrectCount());
+        assertEquals(1, gameState.getRecognitionAnsweredCount());
+
+        gameState.setRecognitionAnswer(0, null);
+        assertEquals(0, gameState.getRecognitionAnsweredCount());
+    }
+
+    @Test
+    public void testConfusionMatrix() {
+        // Pattern 0 is Acceptance, pattern 10 is Rage
+        gameState.setRecognitionAnswer(0, "Acceptance");
+        gameState.setRecognitionAnswer(10, "Annoyance");
+        gameState.setRecognitionAnswer(11, "Wrong Answer");
+
+        ConfusionMatrix matrix = gameState.getConfusionMatrix();
+        assertEquals(15, matrix.size());
+        assertEquals(1, matrix.get("Acceptance", "Acceptance"));
+        assertEquals(1, matrix.get("Rage", "Annoyance"));
+        assertEquals(1, matrix.getOther(matrix.getLabels().indexOf("Sadness")));
+        assertEquals(0, matrix.getCorrect(matrix.getLabels().indexOf("Rage")));
+        assertEquals(matrix.getLabels().indexOf("Annoyance"), matrix.mostConfusedWith(matrix.getLabels().indexOf("Rage")));
+        assertEquals(-1, matrix.mostConfusedWith(matrix.getLabels().indexOf("Acceptance")));
+        assertEquals(-1, matrix.mostConfusedWith(matrix.getLabels().indexOf("Sadness")), "other answers are not an emotion");
+
+        String[] csv = matrix.toCsv().split("\n");
+        assertEquals(16, csv.length);
+        assertTrue(csv[0].startsWith("actual,Terror,"));
+        assertTrue(csv[0].endsWith(",Other"));
+
+        // Snapshot is unaffected by later answers
+        gameState.setRecognitionAnswer(0, "Trust");
+        assertEquals(1, matrix.get("Acceptance", "Acceptance"));
+    }
+
     @Test
     public void testEmotionOptions() {
         List<String> options = gameState.getEmotionOptions(0);
@@ -103,12 +146,37 @@ public class FacialEmotionGameStateTest {
         assertTrue(options.contains(correctEmotion));
     }
 
+    @Test
+    public void testEmotionOptionsRecordPresentedOrder() {
+        assertNull(gameState.getPresentedOptions(0));
+        assertEquals(-1, gameState.getCorrectOptionPosition(0));
+
+        String[] options = new String[gameState.getOptionsPerQuestion()];
+        int position = gameState.fillEmotionOptions(0, options);
+
+        assertEquals(gameState.getPatterns().get(0).getCorrectEmotion(), options[position]);
+        assertEquals(position, gameState.getCorrectOptionPosition(0));
+        assertEquals(4, gameState.getPresentedOptions(0).length);
+        assertEquals(1, Arrays.stream(gameState.getCorrectPositionCounts()).sum());
+    }
+
+    @Test
+    public void testSeededStatesPresentSameOptions() {
+        StimulusPack pack = StimulusRegistry.getPack(StimulusRegistry.FACIAL_EMOTIONS);
+        FacialEmotionGameState a = new FacialEmotionGameState(pack, 99L);
+        FacialEmotionGameState b = new FacialEmotionGameState(pack, 99L);
+        for (int i = 0; i < a.getTotalQuestions(); i++) {
+            assertEquals(a.getEmotionOptions(i), b.getEmotionOptions(i));
+        }
+    }
+
     @Test
     public void testReset() {
         // Make some changes
         gameState.nextQuestion();
         gameState.setRecognitionAnswer(0, "Joy");
         gameState.setRecognitionAnswer(1, "Sadness");
+        gameState.getEmotionOptions(0);
         
         // Reset
         gameState.reset();
@@ -116,6 +184,8 @@ public class FacialEmotionGameStateTest {
         assertEquals(0, gameState.getCurrentQuestionIndex());
         assertNull(gameState.getRecognitionAnswer(0));
         assertNull(gameState.getRecognitionAnswer(1));
+        assertEquals(-1, gameState.getCorrectOptionPosition(0));
+        assertEquals(0, gameState.getRecognitionAnsweredCount());
     }
 
     @Test
@@ -0,0 +1,82 @@
+package org.group1.asda.domain.emotional;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OptionSamplerTest {
+
+    @Test
+    public void testSampleIncludesCorrectAndDistinctOptions() {
+        OptionSampler sampler = new OptionSampler(15, 4, 42L);
+        int[] out = new int[4];
+        for (int round = 0; round < 1000; round++) {
+            int correct = round % 15;
+            int position = sampler.sample(correct, out);
+            assertEquals(correct, out[position]);
+            Set<Integer> seen = new HashSet<>();
+            for (int ordinal : out) {
+                assertTrue(ordinal >= 0 && ordinal < 15);
+                assertTrue(seen.add(ordinal), "Duplicate option " + ordinal);
+            }
+        }
+    }
+
+    @Test
+    public void testSameSeedGivesSameSequence() {
+        OptionSampler a = new OptionSampler(8, 4, 7L);
+        OptionSampler b = new OptionSampler(8, 4, 7L);
+        int[] outA = new int[4];
+        int[] outB = new int[4];
+        for (int round = 0; round < 50; round++) {
+            assertEquals(a.sample(round % 8, outA), b.sample(round % 8, outB));
+            assertArrayEquals(outA, outB);
+        }
+    }
+
+    @Test
+    public void testLastPermutationIsExposed() {
+        OptionSampler sampler = new OptionSampler(8, 4, 1L);
+        assertEquals(-1, sampler.getLastCorrectPosition());
+        assertEquals(0, sampler.getLastPermutation().length);
+
+        int[] out = new int[4];
+        int position = sampler.sample(3, out);
+        assertEquals(position, sampler.getLastCorrectPosition());
+        assertArrayEquals(out, sampler.getLastPermutation());
+    }
+
+    @Test
+    public void testCorrectPositionIsRoughlyUniform() {
+        OptionSampler sampler = new OptionSampler(15, 4, 123L);
+        int[] out = new int[4];
+        int[] counts = new int[4];
+        int draws = 40_000;
+        for (int i = 0; i < draws; i++) {
+            counts[sampler.sample(i % 15, out)]++;
+        }
+        for (int count : counts) {
+            assertEquals(draws / 4.0, count, draws * 0.02);
+        }
+    }
+
+    @Test
+    public void testChoicesCanUseWholePool() {
+        OptionSampler sampler = new OptionSampler(4, 4, 5L);
+        int[] out = new int[4];
+        sampler.sample(2, out);
+        assertEquals(Set.of(0, 1, 2, 3), Set.of(out[0], out[1], out[2], out[3]));
+    }
+
+    @Test
+    public void testInvalidArgumentsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new OptionSampler(0, 1, 1L));
+        assertThrows(IllegalArgumentException.class, () -> new OptionSampler(3, 4, 1L));
+        OptionSampler sampler = new OptionSampler(8, 4, 1L);
+        assertThrows(IllegalArgumentException.class, () -> sampler.sample(8, new int[4]));
+        assertThrows(IllegalArgumentException.class, () -> sampler.sample(0, new int[3]));
+    }
+}
@@ -0,0 +1,106 @@
+package org.group1.asda.domain.emotional;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StimulusRegistryTest {
+
+    @Test
+    public void testShippedPacksAreListed() {
+        List<String> packs = StimulusRegistry.availablePacks();
+        assertTrue(packs.contains(StimulusRegistry.ABSTRACT_PATTERNS));
+        assertTrue(packs.contains(StimulusRegistry.FACIAL_EMOTIONS));
+    }
+
+    @Test
+    public void testPacksAreCached() {
+        assertSame(StimulusRegistry.getPack(StimulusRegistry.FACIAL_EMOTIONS),
+                StimulusRegistry.getPack(StimulusRegistry.FACIAL_EMOTIONS));
+    }
+
+    @Test
+    public void testAbstractPackMatchesManifest() {
+        StimulusPack pack = StimulusRegistry.getPack(StimulusRegistry.ABSTRACT_PATTERNS);
+        assertEquals(20, pack.size());
+        assertEquals(8, pack.getOptionCount());
+        assertEquals("Calm", pack.getLabel(0));
+        assertEquals("/images/emotional/Symmetrical_teal_mandala_52138706.png", pack.getImagePath(0));
+        assertArrayEquals(new int[]{0, 5, 7, 8, 17}, pack.idsForLabel("Calm"));
+        assertEquals(0, pack.idsForLabel("Sadness").length);
+        assertEquals(0, pack.idsForLabel("Unknown").length);
+        pack.idsForLabel("Calm")[0] = 99;
+        assertArrayEquals(new int[]{0, 5, 7, 8, 17}, pack.idsForLabel("Calm"), "callers get a copy of the index");
+        for (int id : pack.idsForLabel("Joy")) {
+            assertEquals("Joy", pack.getLabel(id));
+        }
+        assertEquals(pack.ordinalOf("Calm"), pack.labelOrdinal(0));
+        assertEquals(-1, pack.ordinalOf("Unknown"));
+    }
+
+    @Test
+    public void testDistractorsExcludeCorrectLabel() {
+        StimulusPack pack = StimulusRegistry.getPack(StimulusRegistry.FACIAL_EMOTIONS);
+        for (int id = 0; id < pack.size(); id++) {
+            List<String> distractors = pack.distractorsFor(id);
+            assertEquals(pack.getOptionCount() - 1, distractors.size());
+            assertFalse(distractors.contains(pack.getLabel(id)));
+        }
+    }
+
+    @Test
+    public void testDescribeReadsDimensionsAndHash() throws Exception {
+        StimulusPack pack = StimulusRegistry.getPack(StimulusRegistry.FACIAL_EMOTIONS);
+        StimulusPack.StimulusInfo info = pack.describe(0);
+        assertEquals(0, info.id());
+        assertEquals("Acceptance", info.label());
+        assertTrue(info.width() > 0);
+        assertTrue(info.height() > 0);
+        assertEquals(64, info.contentHash().length());
+        assertSame(info, pack.describe(0));
+
+        byte[] bytes;
+        try (InputStream in = StimulusPack.class.getResourceAsStream(info.imagePath())) {
+            bytes = in.readAllBytes();
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(bytes));
+        assertEquals(image.getWidth(), info.width());
+        assertEquals(image.getHeight(), info.height());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes)), info.contentHash());
+        assertNotEquals(info.contentHash(), pack.describe(1).contentHash());
+    }
+
+    @Test
+    public void testDescribeOfMissingImageFails() throws Exception {
+        StimulusPack pack = StimulusRegistry.parse("test", new StringReader("@options Joy\n0|/missing.png|Joy\n"));
+        assertEquals(1, pack.size(), "images are not read when the manifest is loaded");
+        assertThrows(IllegalStateException.class, () -> pack.describe(0));
+    }
+
+    @Test
+    public void testLabelsOutsideOptionsAreAppended() throws Exception {
+        StimulusPack pack = StimulusRegistry.parse("test", new StringReader(
+                "# comment\n@options Joy,Fear\n0|/a.png|Joy\n1|/b.png|Calm\n"));
+        assertEquals(List.of("Joy", "Fear", "Calm"), pack.getOptions());
+        assertEquals(2, pack.labelOrdinal(1));
+        assertEquals(List.of("Joy", "Fear"), pack.distractorsFor(1));
+    }
+
+    @Test
+    public void testMalformedManifestRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> StimulusRegistry.parse("bad", new StringReader("0|/a.png\n")));
+        assertThrows(IllegalArgumentException.class,
+                () -> StimulusRegistry.parse("gap", new StringReader("1|/a.png|Joy\n")));
+        assertThrows(IllegalArgumentException.class, () -> StimulusRegistry.getPack("does-not-exist"));
+    }
+}
@@ -0,0 +1,92 @@
+package org.group1.asda.instrument;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BatchScorer Tests")
+class BatchScorerTest {
+
+    @Test
+    @DisplayName("Column scores match per-sheet scoring across block boundaries")
+    void matchesPerSheetScores() {
+        for (CompiledInstrument instrument : new CompiledInstrument[]{Instruments.aq(), Instruments.checklist()}) {
+            int sheets = BatchScorer.BLOCK + 123;
+            int items = instrument.getItemCount();
+            byte[][] responses = new byte[items][sheets];
+            Random random = new Random(11);
+            for (int i = 0; i < items; i++) {
+                for (int n = 0; n < sheets; n++) {
+                    // roughly one in ten items left unanswered
+                    responses[i][n] = (byte) (random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(instrument.getOptionCount()));
+                }
+            }
+
+            BatchScorer.Result result = new BatchScorer(instrument).score(responses, sheets);
+            assertEquals(sheets, result.sheets());
+            for (int n = 0; n < sheets; n++) {
+                int[] sheet = new int[items];
+                for (int i = 0; i < items; i++) sheet[i] = responses[i][n];
+                CompiledInstrument.Score expected = instrument.score(sheet);
+                assertEquals(expected.total(), result.totals()[n]);
+                assertEquals(expected.answered(), result.answered()[n]);
+                for (int s = 0; s < expected.subscales().length; s++) {
+                    assertEquals(expected.subscales()[s], result.subscales()[s][n]);
+                }
+                assertEquals(expected.band(), result.band(n));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Vector and scalar kernels give the same scores")
+    void vectorKernelMatchesScalar() {
+        assertTrue(BatchScorer.vectorAvailable(), "tests run with --add-modules jdk.incubator.vector");
+        for (CompiledInstrument instrument : new CompiledInstrument[]{Instruments.aq(), Instruments.checklist()}) {
+            // Not a multiple of any register width, so the scalar tail runs too
+            int sheets = BatchScorer.BLOCK * 2 + 77;
+            byte[][] responses = new byte[instrument.getItemCount()][sheets];
+            Random random = new Random(5);
+            for (byte[] row : responses) {
+                for (int n = 0; n < sheets; n++) row[n] = (byte) random.nextInt(instrument.getOptionCount() + 1);
+            }
+
+            BatchScorer vector = new BatchScorer(instrument, true);
+            assertTrue(vector.isVectorized());
+            BatchScorer.Result expected = new BatchScorer(instrument, false).score(responses, sheets);
+            BatchScorer.Result actual = vector.score(responses, sheets);
+            assertArrayEquals(expected.totals(), actual.totals());
+            assertArrayEquals(expected.answered(), actual.answered());
+            assertArrayEquals(expected.subscales(), actual.subscales());
+
+            // Out-of-range choices in the vector part and in the tail are both caught
+            responses[3][10] = (byte) 0x85;
+            assertThrows(IllegalArgumentException.class, () -> vector.score(responses, sheets));
+            responses[3][10] = 1;
+            responses[3][sheets - 1] = (byte) (instrument.getOptionCount() + 1);
+            assertThrows(IllegalArgumentException.class, () -> vector.score(responses, sheets));
+        }
+    }
+
+    @Test
+    @DisplayName("Out-of-range choices and mis-shaped matrices are rejected")
+    void rejectsBadInput() {
+        CompiledInstrument aq = Instruments.aq();
+        BatchScorer scorer = new BatchScorer(aq);
+        byte[][] responses = new byte[aq.getItemCount()][3];
+        responses[7][2] = 5;
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> scorer.score(responses, 3));
+        assertTrue(e.getMessage().startsWith("Sheet 2 "));
+        responses[7][2] = -1;
+        assertThrows(IllegalArgumentException.class, () -> scorer.score(responses, 3));
+        assertThrows(IllegalArgumentException.class, () -> scorer.score(new byte[3][3], 3));
+        assertThrows(IllegalArgumentException.class, () -> scorer.score(responses, 4));
+
+        responses[7][2] = 0;
+        assertEquals(0, scorer.score(responses, 3).totals()[2]);
+        assertEquals("Unknown", scorer.score(responses, 3).band(2));
+    }
+}
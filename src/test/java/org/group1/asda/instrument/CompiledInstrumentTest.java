@@ -0,0 +1,113 @@
+package org.group1.asda.instrument;
+
+import org.group1.asda.assessment.AQAssessment;
+import org.group1.asda.assessment.AQQuestion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompiledInstrument Tests")
+class CompiledInstrumentTest {
+
+    private static CompiledInstrument compile(String text) throws IOException {
+        return InstrumentDefinition.parse("test", new StringReader(text)).compile();
+    }
+
+    private static final String MINI = """
+            # two options, one reverse-keyed item
+            id mini
+            options Yes | No
+            key yes 1 0
+            key no 0 1
+            item A yes First
+            item B no Second
+            item C yes Third
+            subscale One: A B
+            band 1 Low
+            band 2 Mid
+            band 3 High
+            """;
+
+    @Test
+    @DisplayName("Reverse keys, subscales and bands come from the definition")
+    void scoresFromDefinition() throws IOException {
+        CompiledInstrument mini = compile(MINI);
+        assertEquals(3, mini.getItemCount());
+        assertEquals(List.of("One"), mini.getSubscaleNames());
+
+        CompiledInstrument.Score s = mini.score(new int[]{1, 2, 2});
+        assertEquals(2, s.total());
+        assertEquals(3, s.answered());
+        assertArrayEquals(new int[]{2}, s.subscales());
+        assertEquals("Mid", s.band());
+
+        CompiledInstrument.Score partial = mini.score(new int[]{0, 1, 1});
+        assertEquals(1, partial.total());
+        assertEquals(2, partial.answered());
+        assertArrayEquals(new int[]{1}, partial.subscaleAnswered());
+        assertEquals("Unknown", mini.score(new int[3]).band());
+        assertEquals("High", mini.band(99));
+    }
+
+    @Test
+    @DisplayName("Malformed definitions and sheets are rejected")
+    void rejectsBadInput() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> compile(MINI.replace("item C yes", "item C maybe")));
+        assertThrows(IllegalArgumentException.class, () -> compile(MINI.replace("key no 0 1", "key no 0 1 1")));
+        assertThrows(IllegalArgumentException.class, () -> compile(MINI.replace("subscale One: A B", "subscale One: A B\nsubscale Two: B")));
+        assertThrows(IllegalArgumentException.class, () -> compile(MINI.replace("id mini\n", "")));
+
+        CompiledInstrument mini = compile(MINI);
+        assertThrows(IllegalArgumentException.class, () -> mini.total(new int[]{1, 1}));
+        assertThrows(IllegalArgumentException.class, () -> mini.total(new int[]{1, 3, 1}));
+    }
+
+    @Test
+    @DisplayName("AQ kernel matches per-question scoring")
+    void aqMatchesQuestionScores() {
+        CompiledInstrument aq = Instruments.aq();
+        List<AQQuestion> questions = new AQAssessment().getQuestions();
+        Random random = new Random(7);
+        for (int n = 0; n < 200; n++) {
+            int[] sheet = new int[questions.size()];
+            int expected = 0;
+            for (int i = 0; i < sheet.length; i++) {
+                sheet[i] = 1 + random.nextInt(4);
+                expected += questions.get(i).getScoreForChoice(sheet[i] - 1);
+            }
+            assertEquals(expected, aq.total(sheet));
+            assertEquals(expected, aq.score(sheet).total());
+        }
+        assertEquals(List.of("Social Skills", "Attention Switching", "Attention to Detail", "Communication", "Imagination"),
+                aq.getSubscaleNames());
+        assertEquals("Minimal", aq.band(5));
+        assertEquals("Low-Moderate", aq.band(6));
+        assertEquals("Very High", aq.band(33));
+    }
+
+    @Test
+    @DisplayName("Checklist relative bands scale with the number of answered items")
+    void checklistRelativeBands() {
+        CompiledInstrument checklist = Instruments.checklist();
+        assertEquals(30, checklist.getItemCount());
+        assertEquals(0, checklist.indexOf("Q80"));
+        assertEquals(-1, checklist.indexOf("Q1"));
+
+        int[] sheet = new int[30];
+        for (int i = 0; i < 10; i++) sheet[i] = 2;
+        CompiledInstrument.Score s = checklist.score(sheet);
+        assertEquals(20, s.total());
+        assertEquals(10, s.answered());
+        // 10 answered: range 10..30, Elevated up to 16.6, Moderate up to 23.2
+        assertEquals("Moderate", s.band());
+        assertEquals(checklist.band(20, 10), s.band());
+        assertEquals("Elevated", checklist.band(16, 10));
+        assertEquals("Low", checklist.band(24, 10));
+    }
+}
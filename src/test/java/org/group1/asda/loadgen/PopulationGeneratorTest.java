@@ -0,0 +1,107 @@
+package org.group1.asda.loadgen;
+
+import org.group1.asda.domain.GameResult;
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.GameResultDao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PopulationGeneratorTest {
+    private static final long END = 1_700_000_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private String previousUrl;
+
+    @BeforeEach
+    void setUp() {
+        previousUrl = System.getProperty("asda.db.url");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+    }
+
+    private GenerationReport generate(String file, PopulationSpec spec, int producers, int chunk) {
+        System.setProperty("asda.db.url", "jdbc:sqlite:" + tempDir.resolve(file));
+        Database.init();
+        return new PopulationGenerator(spec, producers, chunk).run();
+    }
+
+    private static long queryLong(String sql) throws Exception {
+        try (Connection c = Database.getConnection(); Statement st = c.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    @Test
+    void testRowCountsMatchReport() throws Exception {
+        PopulationSpec spec = PopulationSpec.defaults(250).withEndEpochMs(END);
+        GenerationReport report = generate("counts.db", spec, 3, 40);
+
+        assertEquals(250, report.sessions());
+        assertEquals(250, queryLong("SELECT COUNT(*) FROM sessions"));
+        assertEquals(report.responses(), queryLong("SELECT COUNT(*) FROM responses"));
+        assertEquals(report.gameResults(), queryLong("SELECT COUNT(*) FROM game_results"));
+        assertEquals(7, report.commits().count());
+        assertTrue(report.rowsPerSecond() > 0);
+        assertTrue(queryLong("SELECT MAX(started_at) FROM sessions") <= END);
+        assertTrue(queryLong("SELECT MIN(started_at) FROM sessions") >= END - 365L * 86_400_000L);
+    }
+
+    @Test
+    void testOutputIndependentOfThreadCount() throws Exception {
+        PopulationSpec spec = PopulationSpec.defaults(120).withEndEpochMs(END).withSeed(7);
+        generate("one.db", spec, 1, 10);
+        long scoreOne = queryLong("SELECT SUM(score) FROM responses");
+        long startOne = queryLong("SELECT SUM(started_at % 1000003) FROM sessions");
+
+        generate("four.db", spec, 4, 7);
+        assertEquals(scoreOne, queryLong("SELECT SUM(score) FROM responses"));
+        assertEquals(startOne, queryLong("SELECT SUM(started_at % 1000003) FROM sessions"));
+    }
+
+    @Test
+    void testCompletionRateControlsScoredSessions() throws Exception {
+        PopulationSpec spec = PopulationSpec.defaults(100).withEndEpochMs(END).withCompletionRate(0.0);
+        generate("partial.db", spec, 2, 25);
+
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM sessions WHERE level IS NOT NULL"));
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM (SELECT session_id FROM responses GROUP BY session_id HAVING COUNT(*) >= 30)"));
+    }
+
+    @Test
+    void testGameResultsReadableThroughDao() throws Exception {
+        PopulationSpec spec = PopulationSpec.defaults(50).withEndEpochMs(END).withGamesPerSession(3.0);
+        generate("games.db", spec, 2, 10);
+
+        List<GameResult> recent = new GameResultDao().findRecent(GameResult.ATTENTION, 5);
+        assertFalse(recent.isEmpty());
+        for (int i = 1; i < recent.size(); i++) {
+            assertTrue(recent.get(i - 1).playedAt() >= recent.get(i).playedAt());
+        }
+        GameResult first = recent.get(0);
+        assertEquals(50, first.trials());
+        assertEquals(first.trials(), first.correct() + first.incorrect());
+        assertTrue(new GameResultDao().findBySession(first.sessionId()).contains(first));
+    }
+
+    @Test
+    void testInvalidSpecRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PopulationSpec.defaults(10).withCompletionRate(1.5));
+        assertThrows(IllegalArgumentException.class, () -> new PopulationGenerator(PopulationSpec.defaults(10), 0, 10));
+    }
+}
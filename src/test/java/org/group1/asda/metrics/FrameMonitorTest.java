@@ -0,0 +1,107 @@
+package org.group1.asda.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrameMonitorTest {
+    private static final long MS = 1_000_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    public void tearDown() {
+        Metrics.reset();
+    }
+
+    @Test
+    public void testLongFramesAreCountedAndOverlapDetected() {
+        FrameMonitor monitor = new FrameMonitor(50 * MS);
+        FrameRecorder recorder = monitor.newRecorder();
+        recorder.beginSession("test");
+        long t = 1_000 * MS;
+        monitor.onPulse(t);
+        monitor.onPulse(t += 16 * MS);
+        monitor.onPulse(t += 17 * MS);
+        long stallStart = t;
+        monitor.onPulse(t += 120 * MS);
+        long stallEnd = t;
+        monitor.onPulse(t += 16 * MS);
+
+        assertEquals(1, Metrics.counter("ui.fx.longFrames").get());
+        assertEquals(4, Metrics.timer("ui.fx.pulse").getCount());
+        assertTrue(monitor.overlapsLongFrame(stallStart - 5 * MS, stallStart + MS));
+        assertTrue(monitor.overlapsLongFrame(stallEnd - MS, stallEnd + 5 * MS));
+        assertFalse(monitor.overlapsLongFrame(stallEnd, t));
+        assertFalse(monitor.overlapsLongFrame(1_000 * MS, stallStart));
+
+        FrameSession session = recorder.endSession();
+        assertEquals(1, session.longFrames());
+        assertEquals(4, session.pulseIntervals().getCount());
+        assertNull(recorder.endSession());
+    }
+
+    @Test
+    public void testStallInProgressOverlaps() {
+        FrameMonitor monitor = new FrameMonitor(50 * MS);
+        monitor.onPulse(1_000 * MS);
+        // No pulse has arrived for 80 ms, so the current frame is already long
+        assertTrue(monitor.overlapsLongFrame(1_010 * MS, 1_080 * MS));
+        assertFalse(monitor.overlapsLongFrame(1_010 * MS, 1_030 * MS));
+    }
+
+    @Test
+    public void testSessionCsvContainsHistogramsAndFlags() throws Exception {
+        FrameMonitor monitor = new FrameMonitor(50 * MS);
+        FrameRecorder recorder = monitor.newRecorder();
+        recorder.beginSession("attention");
+        monitor.onPulse(MS);
+        monitor.onPulse(17 * MS);
+        monitor.onProbe(2 * MS);
+        monitor.onGcPause(8 * MS);
+        recorder.flagTrial(4);
+        FrameSession session = recorder.endSession();
+        assertEquals(List.of(4), session.flaggedTrials());
+
+        Path file = session.writeCsv(tempDir);
+        assertTrue(file.getFileName().toString().startsWith("frames-attention-"));
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.get(0).startsWith("# session=attention"));
+        assertEquals("# flagged_trials=[4]", lines.get(1));
+        assertEquals("series,bucket_low_us,bucket_high_us,count", lines.get(2));
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith("pulse_interval,")));
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith("runlater_latency,")));
+        assertTrue(lines.stream().anyMatch(l -> l.startsWith("gc_pause,")));
+    }
+
+    @Test
+    public void testSeatsKeepSeparateSessions() {
+        FrameMonitor monitor = new FrameMonitor(50 * MS);
+        FrameRecorder seat1 = monitor.newRecorder();
+        FrameRecorder seat2 = monitor.newRecorder();
+        seat1.beginSession("attention");
+        monitor.onPulse(MS);
+        monitor.onPulse(17 * MS);
+        seat2.beginSession("matching");
+        monitor.onPulse(33 * MS);
+        seat1.flagTrial(2);
+        seat2.flagTrial(7);
+
+        FrameSession first = seat1.endSession();
+        monitor.onPulse(49 * MS);
+        FrameSession second = seat2.endSession();
+        assertEquals("attention", first.name());
+        assertEquals(2, first.pulseIntervals().getCount());
+        assertEquals(List.of(2), first.flaggedTrials());
+        assertEquals("matching", second.name());
+        assertEquals(2, second.pulseIntervals().getCount());
+        assertEquals(List.of(7), second.flaggedTrials());
+    }
+}
@@ -0,0 +1,47 @@
+package org.group1.asda.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketsCoverLongRangeInOrder() {
+        long[] samples = {0, 1, 15, 16, 17, 31, 32, 33, 1000, 123_456_789L, Long.MAX_VALUE};
+        int previous = -1;
+        for (long v : samples) {
+            int index = LatencyHistogram.indexOf(v);
+            assertTrue(index >= previous, "index must not decrease at " + v);
+            assertTrue(index < LatencyHistogram.BUCKET_COUNT);
+            assertTrue(LatencyHistogram.lowestEquivalent(index) <= v);
+            assertTrue(LatencyHistogram.highestEquivalent(index) >= v);
+            previous = index;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestEquivalent(LatencyHistogram.BUCKET_COUNT - 1));
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++) {
+            h.record(v * 1000);
+        }
+        assertEquals(10_000, h.getCount());
+        assertEquals(10_000_000, h.getMax());
+        assertEquals(5_000_500.0, h.getMean(), 1e-6);
+        assertEquals(5_000_000, h.valueAtPercentile(50), 5_000_000 / 16.0);
+        assertEquals(9_900_000, h.valueAtPercentile(99), 9_900_000 / 16.0);
+        assertEquals(10_000_000, h.valueAtPercentile(100));
+    }
+
+    @Test
+    public void testEmptyAndNegative() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.valueAtPercentile(50));
+        assertEquals(0.0, h.getMean());
+        h.record(-5);
+        assertEquals(1, h.getCount());
+        assertEquals(0, h.getMax());
+    }
+}
@@ -0,0 +1,102 @@
+package org.group1.asda.metrics;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    public void tearDown() {
+        Metrics.reset();
+    }
+
+    @Test
+    public void testCountersAndTimersAreShared() {
+        Metrics.counter("test.count").increment();
+        Metrics.counter("test.count").add(4);
+        assertEquals(5, Metrics.counter("test.count").get());
+        assertSame(Metrics.timer("test.timer"), Metrics.timer("test.timer"));
+    }
+
+    @Test
+    public void testScopeRecordsOnceEvenIfClosedTwice() {
+        Scope scope = Metrics.dbCall("Test.op");
+        scope.close();
+        scope.close();
+        assertEquals(1, Metrics.timer("db.Test.op").getCount());
+        assertTrue(Metrics.format().contains("db.Test.op"));
+    }
+
+    @Test
+    public void testTimedBodiesCloseTheirScope() {
+        assertEquals(42, Metrics.dbCall("Test.call").call(() -> 42));
+        assertThrows(IllegalStateException.class, () -> Metrics.dbCall("Test.fails").run(() -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(1, Metrics.timer("db.Test.call").getCount());
+        assertEquals(1, Metrics.timer("db.Test.fails").getCount(), "recorded even when the body throws");
+    }
+
+    @Test
+    public void testTrialOutcomeCounted() {
+        Metrics.gameTrial("test", 0).finish(true);
+        Metrics.gameTrial("test", 1).finish(false);
+        Metrics.gameTrial("test", 2).finish(true);
+        assertEquals(3, Metrics.timer("game.test.trial").getCount());
+        assertEquals(2, Metrics.counter("game.test.correct").get());
+        assertEquals(1, Metrics.counter("game.test.incorrect").get());
+    }
+
+    @Test
+    public void testFlightRecorderEventsEmitted() throws Exception {
+        Path jfr = tempDir.resolve("test.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.group1.asda.DbCall");
+            recording.enable("org.group1.asda.GameTrial");
+            recording.start();
+            Metrics.dbCall("Test.recorded").run(() -> Thread.sleep(1));
+            Metrics.gameTrial("recorded", 7).finish(true);
+            recording.stop();
+            recording.dump(jfr);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(jfr);
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("org.group1.asda.DbCall")
+                && "Test.recorded".equals(e.getString("operation"))));
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("org.group1.asda.GameTrial")
+                && e.getInt("trial") == 7 && e.getBoolean("correct")));
+    }
+
+    @Test
+    public void testReporterAppendsAndRolls() throws Exception {
+        Path file = tempDir.resolve("metrics.csv");
+        Metrics.counter("test.reported").increment();
+        Metrics.timer("test.reported.timer").record(2_000_000);
+        try (MetricsReporter reporter = new MetricsReporter(file, 3600, 1024)) {
+            reporter.report();
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(MetricsReporter.HEADER.trim(), lines.get(0));
+            assertTrue(lines.stream().anyMatch(l -> l.contains(",test.reported,counter,1,")));
+            assertTrue(lines.stream().anyMatch(l -> l.contains(",test.reported.timer,timer,1,")));
+
+            while (Files.size(file) < 1024) {
+                reporter.report();
+            }
+            reporter.report();
+        }
+        assertTrue(Files.exists(tempDir.resolve("metrics.csv.1")));
+        assertTrue(Files.readAllLines(file).get(0).startsWith("timestamp,"));
+    }
+}
@@ -0,0 +1,256 @@
+package org.group1.asda.navigation;
+
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.scene.Scene;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.Pane;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import org.group1.asda.ui.attentiongame.AttentionGameController;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ScreenLifecycleTest {
+    private static final int NAVIGATIONS = 1_000;
+    private static final int BATCH = 100;
+    /** Far below what 900 leaked game views would hold. */
+    private static final long HEAP_GROWTH_LIMIT = 8L << 20;
+    private static final List<String> GAME_SCREENS =
+            List.of("matching-game-tutorial", "matching-game", "attention-game-tutorial", "attention-game");
+
+    private static boolean toolkitStarted;
+    private static String toolkitUnavailable;
+
+    /** Records the lifecycle calls the router makes. */
+    static class RecordingScreen implements ScreenLifecycle {
+        final List<String> calls = new ArrayList<>();
+
+        @Override
+        public void onShow() {
+            calls.add("show");
+        }
+
+        @Override
+        public void onHide() {
+            calls.add("hide");
+        }
+
+        @Override
+        public void dispose() {
+            calls.add("dispose");
+        }
+    }
+
+    @AfterAll
+    static void stopToolkit() {
+        // Platform.exit blocks if the toolkit failed to start
+        if (toolkitStarted) Platform.exit();
+    }
+
+    private static KeyEvent keyPress() {
+        return new KeyEvent(KeyEvent.KEY_PRESSED, "", "", KeyCode.SPACE, false, false, false, false);
+    }
+
+    @Test
+    void leavingAScreenHidesItReleasesItsResourcesThenDisposesIt() {
+        CurrentScreen screen = new CurrentScreen();
+        // Outlives every screen, like the router's scene
+        Pane sceneRoot = new Pane();
+        int[] keys = {0};
+
+        RecordingScreen first = new RecordingScreen();
+        screen.resources().filter(sceneRoot, KeyEvent.KEY_PRESSED, e -> keys[0]++);
+        CompletableFuture<Void> work = screen.tasks().track(new CompletableFuture<>());
+        screen.enter(first);
+        assertEquals(List.of("show"), first.calls);
+        Event.fireEvent(sceneRoot, keyPress());
+        assertEquals(1, keys[0]);
+
+        Runnable disposeFirst = screen.leave();
+        assertEquals(List.of("show", "hide"), first.calls, "disposed only once its view is out of the scene");
+        assertTrue(work.isCancelled());
+        Event.fireEvent(sceneRoot, keyPress());
+        assertEquals(1, keys[0], "the filter was removed from the long-lived node");
+
+        // The next screen loads while the previous view fades out
+        RecordingScreen second = new RecordingScreen();
+        disposeFirst.run();
+        screen.enter(second);
+        assertEquals(List.of("show", "hide", "dispose"), first.calls);
+
+        // Placeholder views have no controller
+        screen.leave().run();
+        screen.enter(null);
+        assertEquals(List.of("show", "hide", "dispose"), second.calls);
+
+        ScreenResources released = new ScreenResources();
+        released.releaseAll();
+        boolean[] ran = {false};
+        released.onRelease(() -> ran[0] = true);
+        assertTrue(ran[0], "registrations after release are released at once");
+    }
+
+    @Test
+    void leftScreensBecomeUnreachable() throws Exception {
+        CurrentScreen screen = new CurrentScreen();
+        Pane sceneRoot = new Pane();
+        int[] keys = {0};
+        List<WeakReference<RecordingScreen>> left = new ArrayList<>();
+
+        for (int i = 0; i < NAVIGATIONS; i++) {
+            Runnable disposePrevious = screen.leave();
+            RecordingScreen next = new RecordingScreen();
+            // Registrations that hold the screen: a key filter on a long-lived node and a timer
+            screen.resources().filter(sceneRoot, KeyEvent.KEY_PRESSED, e -> {
+                next.calls.add("key");
+                keys[0]++;
+            });
+            PauseTransition timer = screen.resources().animation(new PauseTransition(Duration.seconds(1)));
+            timer.setOnFinished(e -> next.onHide());
+            disposePrevious.run();
+            screen.enter(next);
+            left.add(new WeakReference<>(next));
+        }
+
+        Event.fireEvent(sceneRoot, keyPress());
+        assertEquals(1, keys[0], "only the current screen's filter is installed");
+        assertEquals(2, screen.resources().size());
+        assertAllLeftCleared(left.subList(0, left.size() - 1));
+    }
+
+    /**
+     * Navigates a real router between the games and their tutorials, so the controllers register their
+     * scene filters and timers through their own FXML initialize paths, and checks that every left
+     * controller is collected and the heap does not grow with the number of navigations.
+     */
+    @Test
+    void navigatingBetweenGamesKeepsTheHeapFlat() throws Exception {
+        startToolkit();
+        Seat seat = onFxThread(() -> Seat.open(1, new Stage()));
+        List<WeakReference<Object>> left = new ArrayList<>();
+        long baseline = 0;
+
+        for (int batch = 0; batch < NAVIGATIONS / BATCH; batch++) {
+            onFxThread(() -> {
+                for (int i = 0; i < BATCH; i++) {
+                    String next = GAME_SCREENS.get(left.size() % GAME_SCREENS.size());
+                    Object controller = seat.router().goToAndGetController(next, Object.class);
+                    assertNotNull(controller, next);
+                    left.add(new WeakReference<>(controller));
+                }
+                return null;
+            });
+            if (batch == 0) baseline = usedHeapAfterGc();
+        }
+        long growth = usedHeapAfterGc() - baseline;
+
+        // The last screen is the attention game: its scene filter and both trial timers
+        Object current = left.get(left.size() - 1).get();
+        assertInstanceOf(AttentionGameController.class, current);
+        assertEquals(3, onFxThread(() -> seat.router().resources().size()));
+        assertAllLeftCleared(left.subList(0, left.size() - 1));
+        assertTrue(growth < HEAP_GROWTH_LIMIT,
+                "heap grew by " + growth / 1024 + " KiB over " + (NAVIGATIONS - BATCH) + " navigations");
+
+        onFxThread(() -> {
+            seat.router().goTo("home");
+            return null;
+        });
+    }
+
+    @Test
+    void releasingStopsRunningAnimationsAndRemovesSceneFilters() throws Exception {
+        startToolkit();
+        onFxThread(() -> {
+            Scene scene = new Scene(new Pane());
+            CurrentScreen screen = new CurrentScreen();
+            int[] keys = {0};
+            boolean[] finished = {false};
+            screen.resources().filter(scene, KeyEvent.KEY_PRESSED, e -> keys[0]++);
+            PauseTransition timer = screen.resources().animation(new PauseTransition(Duration.seconds(30)));
+            timer.setOnFinished(e -> finished[0] = true);
+            timer.play();
+            assertEquals(Animation.Status.RUNNING, timer.getStatus());
+            Event.fireEvent(scene, keyPress());
+
+            screen.leave().run();
+            assertEquals(Animation.Status.STOPPED, timer.getStatus());
+            assertFalse(finished[0]);
+            Event.fireEvent(scene, keyPress());
+            assertEquals(1, keys[0]);
+            return null;
+        });
+    }
+
+    /** Starts JavaFX once for this class, skipping the calling test where there is no display. */
+    private static void startToolkit() {
+        // A failed startup still marks the toolkit as initialized, so later attempts must not retry it
+        assumeTrue(toolkitUnavailable == null, toolkitUnavailable);
+        if (toolkitStarted) return;
+        try {
+            Platform.startup(() -> {});
+            toolkitStarted = true;
+        } catch (IllegalStateException alreadyStarted) {
+            toolkitStarted = true;
+        } catch (UnsupportedOperationException | LinkageError e) {
+            toolkitUnavailable = "JavaFX cannot start here: " + e.getMessage();
+            assumeTrue(false, toolkitUnavailable);
+        }
+    }
+
+    private static <T> T onFxThread(Callable<T> action) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        try {
+            return result.get(60, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            // Rethrow assertion failures from the FX thread as they are
+            if (e.getCause() instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static void assertAllLeftCleared(List<? extends WeakReference<?>> left) throws InterruptedException {
+        for (int i = 0; i < left.size(); i++) {
+            assertTrue(cleared(left.get(i)), "left screen " + i + " is still reachable");
+        }
+    }
+
+    private static boolean cleared(WeakReference<?> ref) throws InterruptedException {
+        for (int i = 0; i < 20 && ref.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        return ref.get() == null;
+    }
+}
@@ -0,0 +1,44 @@
+package org.group1.asda.navigation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScreenTasksTest {
+
+    @Test
+    void testCancelAllDropsPendingCallbacks() {
+        ScreenTasks tasks = new ScreenTasks();
+        CompletableFuture<String> source = new CompletableFuture<>();
+        AtomicBoolean called = new AtomicBoolean();
+        CompletableFuture<Void> ui = tasks.track(source.thenAccept(v -> called.set(true)));
+        assertEquals(1, tasks.pendingCount());
+
+        tasks.cancelAll();
+        source.complete("late");
+        assertTrue(ui.isCancelled());
+        assertFalse(called.get());
+        assertEquals(0, tasks.pendingCount());
+    }
+
+    @Test
+    void testCompletedTasksAreForgotten() {
+        ScreenTasks tasks = new ScreenTasks();
+        CompletableFuture<String> f = tasks.track(new CompletableFuture<>());
+        f.complete("done");
+        assertEquals(0, tasks.pendingCount());
+        tasks.cancelAll();
+        assertFalse(f.isCancelled());
+    }
+
+    @Test
+    void testTrackAfterCancelCancelsImmediately() {
+        ScreenTasks tasks = new ScreenTasks();
+        tasks.cancelAll();
+        CompletableFuture<String> f = tasks.track(new CompletableFuture<>());
+        assertTrue(f.isCancelled());
+    }
+}
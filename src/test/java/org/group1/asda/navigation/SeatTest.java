@@ -0,0 +1,82 @@
+package org.group1.asda.navigation;
+
+import org.group1.asda.assessment.AQResultInterpreter;
+import org.group1.asda.assessment.AQScoreCalculator;
+import org.group1.asda.metrics.FrameSession;
+import org.group1.asda.persistence.AnswerJournal;
+import org.group1.asda.persistence.SessionIds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatTest {
+    @TempDir
+    Path dir;
+
+    private String previousDir;
+
+    @BeforeEach
+    void setUp() {
+        previousDir = System.getProperty("asda.journal.dir");
+        System.setProperty("asda.journal.dir", dir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        AnswerJournal.closeShared();
+        if (previousDir == null) System.clearProperty("asda.journal.dir");
+        else System.setProperty("asda.journal.dir", previousDir);
+    }
+
+    public static class SeatController {
+        final Seat seat;
+
+        public SeatController(Seat seat) {
+            this.seat = seat;
+        }
+    }
+
+    public static class PlainController {
+    }
+
+    @Test
+    void controllersReceiveTheirSeat() {
+        Seat seat = new Seat(2, Seat.journalDir(2));
+        assertSame(seat, ((SeatController) Router.createController(SeatController.class, seat)).seat);
+        assertInstanceOf(PlainController.class, Router.createController(PlainController.class, seat));
+    }
+
+    @Test
+    void seatsKeepResultsAndJournalsApart() {
+        Seat first = new Seat(1, Seat.journalDir(1));
+        Seat second = new Seat(2, Seat.journalDir(2));
+        assertEquals(dir, Seat.journalDir(1));
+        assertEquals(dir.resolve("seat-2"), Seat.journalDir(2));
+
+        AQScoreCalculator.CategoryScores categories = new AQScoreCalculator.CategoryScores(1, 2, 3, 4, 5);
+        first.aqResults().set(AQResultInterpreter.interpret(15, categories), categories);
+        assertTrue(first.aqResults().hasResult());
+        assertFalse(second.aqResults().hasResult());
+
+        String session = SessionIds.next();
+        first.journal().answer(session, 0, 2);
+        assertSame(first.journal(), AnswerJournal.get());
+        assertEquals(session, first.journal().unfinished().get(0).sessionId());
+        assertTrue(second.journal().unfinished().isEmpty());
+        assertSame(first.data(), second.data());
+
+        // A game ending on one seat leaves the other seat's frame session running
+        first.frames().beginSession("attention");
+        second.frames().beginSession("matching");
+        first.frames().flagTrial(3);
+        assertEquals("attention", first.frames().endSession().name());
+        FrameSession other = second.frames().endSession();
+        assertEquals("matching", other.name());
+        assertTrue(other.flaggedTrials().isEmpty());
+    }
+}
@@ -0,0 +1,103 @@
+package org.group1.asda.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerJournalTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void unfinishedSessionsSurviveReopenAndCompletedOnesAreCompactedAway() {
+        String a = SessionIds.next();
+        String b = SessionIds.next();
+        try (AnswerJournal journal = AnswerJournal.open(dir, 0)) {
+            journal.answer(a, 0, 3);
+            journal.answer(a, 1, 4);
+            journal.answer(a, 0, 2);
+            journal.answer(b, 49, 1);
+        }
+        // Not closed: the mapped writes are what a crashed process leaves behind
+        AnswerJournal crashed = AnswerJournal.open(dir, 0);
+        List<AnswerJournal.Unfinished> sessions = crashed.unfinished();
+        assertEquals(List.of(b, a), sessions.stream().map(AnswerJournal.Unfinished::sessionId).toList());
+        assertArrayEquals(new int[]{2, 4}, sessions.get(1).answers());
+        assertEquals(1, sessions.get(0).answers()[49]);
+        crashed.answer(b, 48, 2);
+
+        try (AnswerJournal journal = AnswerJournal.open(dir, 0)) {
+            journal.complete(b);
+            journal.answer(a, 2, 1);
+        }
+        try (AnswerJournal journal = AnswerJournal.open(dir, 0)) {
+            List<AnswerJournal.Unfinished> left = journal.unfinished();
+            assertEquals(1, left.size());
+            assertEquals(a, left.get(0).sessionId());
+            assertArrayEquals(new int[]{2, 4, 1}, left.get(0).answers());
+            journal.complete(a);
+            assertTrue(journal.unfinished().isEmpty());
+        }
+        try (AnswerJournal journal = AnswerJournal.open(dir, 0)) {
+            assertTrue(journal.unfinished().isEmpty());
+        }
+    }
+
+    @Test
+    void tornRecordEndsReplayAndStaleRecordsAreNotRevived() throws Exception {
+        String a = SessionIds.next();
+        String b = SessionIds.next();
+        try (AnswerJournal journal = AnswerJournal.open(dir, 0)) {
+            // Fill file 0 with many records, then compact into file 1 and back into a reused file 0
+            for (int i = 0; i < 40; i++) journal.answer(b, i, 1);
+            journal.complete(b);
+            journal.answer(a, 0, 1);
+            journal.discard(a);
+            journal.answer(a, 5, 2);
+            journal.answer(a, 6, 3);
+        }
+        try (AnswerJournal journal = AnswerJournal.open(dir, 0)) {
+            List<AnswerJournal.Unfinished> left = journal.unfinished();
+            assertEquals(1, left.size());
+            assertArrayEquals(new int[]{0, 0, 0, 0, 0, 2, 3}, left.get(0).answers());
+        }
+
+        // Corrupt the last record of the current file (file 0 after two compactions)
+        try (RandomAccessFile f = new RandomAccessFile(dir.resolve("answers-0.journal").toFile(), "rw")) {
+            f.seek(32 + 32 + 12);
+            f.write(0x7F);
+        }
+        try (AnswerJournal journal = AnswerJournal.open(dir, 0)) {
+            assertArrayEquals(new int[]{0, 0, 0, 0, 0, 2}, journal.unfinished().get(0).answers());
+        }
+    }
+
+    @Test
+    void growsPastItsInitialSizeAndOnlyResumesRecentSessions() {
+        String old = SessionIds.next();
+        String recent = SessionIds.next();
+        try (AnswerJournal journal = AnswerJournal.open(dir, 10)) {
+            for (int round = 0; round < 60; round++) {
+                for (int i = 0; i < 50; i++) journal.answer(old, i, 1 + (round + i) % 4);
+            }
+            journal.answer(recent, 0, 4);
+            assertEquals(2, journal.unfinished().size());
+        }
+        try (AnswerJournal journal = AnswerJournal.open(dir, 0)) {
+            AnswerJournal.Unfinished replayed = journal.unfinished().stream()
+                    .filter(u -> u.sessionId().equals(old)).findFirst().orElseThrow();
+            assertEquals(1 + (59 + 49) % 4, replayed.answers()[49]);
+            assertTrue(journal.resumable(Duration.ZERO.minusSeconds(1)).isEmpty());
+            assertTrue(journal.unfinished().isEmpty());
+
+            journal.answer(recent, 1, 2);
+            assertEquals(recent, journal.resumable(Duration.ofMinutes(30)).orElseThrow().sessionId());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.group1.asda.persistence;
+
+import org.group1.asda.metrics.Metrics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryDatabaseTest {
+    @TempDir
+    Path tempDir;
+
+    private String previousUrl;
+    private Path snapshot;
+
+    @BeforeEach
+    void setUp() {
+        previousUrl = System.getProperty("asda.db.url");
+        // A space in the path checks quoting of the backup and restore commands
+        snapshot = tempDir.resolve("kiosk snapshots").resolve("asda.db");
+        System.setProperty("asda.db.url", "jdbc:sqlite::memory:");
+        System.setProperty("asda.db.snapshot", snapshot.toString());
+        System.setProperty("asda.db.snapshotSeconds", "0");
+    }
+
+    @AfterEach
+    void tearDown() {
+        Database.shutdown();
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+        System.clearProperty("asda.db.snapshot");
+        System.clearProperty("asda.db.snapshotSeconds");
+    }
+
+    @Test
+    void connectionsShareOneDatabaseThatSurvivesARestart() {
+        Database.init();
+        SessionDao sessionDao = new SessionDao();
+        String id = sessionDao.startSession();
+        new ResponseDao().saveOrReplace(id, "Q80", 1, 1);
+        assertEquals(Optional.of(1), new ResponseDao().getAnswer(id, "Q80"));
+        assertFalse(Files.exists(snapshot));
+
+        long snapshots = Metrics.counter("db.snapshots").get();
+        Database.shutdown();
+        assertTrue(Files.exists(snapshot));
+        assertEquals(snapshots + 1, Metrics.counter("db.snapshots").get());
+
+        Database.init();
+        assertEquals(Optional.of(id), sessionDao.getLatestSessionId());
+        assertEquals(Optional.of(1), new ResponseDao().getAnswer(id, "Q80"));
+    }
+
+    @Test
+    void snapshotsAreSkippedWhenNothingChanged() {
+        Database.init();
+        MemoryDatabase memory = Database.memory().orElseThrow();
+        new SessionDao().startSession();
+
+        MemoryDatabase.Snapshot first = memory.snapshot(false);
+        assertNotNull(first);
+        assertEquals(snapshot, first.file());
+        assertEquals(first.bytes(), snapshot.toFile().length());
+        assertTrue(first.nanos() > 0);
+        assertNull(memory.snapshot(false));
+        assertNotNull(memory.snapshot(true));
+    }
+}
@@ -0,0 +1,133 @@
+package org.group1.asda.persistence;
+
+import org.group1.asda.archive.SessionArchiver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionIdsTest {
+    private static final long JAN = Instant.parse("2024-01-15T10:00:00Z").toEpochMilli();
+    private static final long FEB = Instant.parse("2024-02-20T10:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path tempDir;
+
+    private String previousUrl;
+
+    @BeforeEach
+    void setUp() {
+        previousUrl = System.getProperty("asda.db.url");
+        System.setProperty("asda.db.url", "jdbc:sqlite:" + tempDir.resolve("ids.db"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+    }
+
+    @Test
+    void idsAreCompactAndSortInCreationOrder() {
+        SessionIds.Generator generator = new SessionIds.Generator();
+        List<String> ids = new ArrayList<>();
+        // Far more than the per-millisecond counter range, so the timestamp has to carry
+        for (int i = 0; i < 20_000; i++) ids.add(generator.next(JAN));
+        ids.add(generator.next(FEB));
+
+        List<String> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        assertEquals(ids, sorted);
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+        for (String id : ids) {
+            assertEquals(SessionIds.LENGTH, id.length());
+            assertTrue(SessionIds.isCompact(id), id);
+        }
+        assertEquals(JAN, SessionIds.timestampOf(ids.get(0)));
+        assertEquals(FEB, SessionIds.timestampOf(ids.get(ids.size() - 1)));
+    }
+
+    @Test
+    void textAndBinaryFormsMatchTheUuidLayout() {
+        String id = SessionIds.of(JAN, 0xABC, 0x0123_4567_89AB_CDEFL);
+        byte[] bytes = SessionIds.toBytes(id);
+        assertEquals(16, bytes.length);
+        assertEquals(id, SessionIds.fromBytes(bytes));
+
+        long msb = 0, lsb = 0;
+        for (int i = 0; i < 8; i++) msb = msb << 8 | (bytes[i] & 0xFF);
+        for (int i = 8; i < 16; i++) lsb = lsb << 8 | (bytes[i] & 0xFF);
+        UUID uuid = new UUID(msb, lsb);
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(JAN, msb >>> 16);
+        assertEquals(0xABC, msb & 0xFFF);
+
+        String legacy = UUID.randomUUID().toString();
+        assertTrue(SessionIds.isLegacy(legacy));
+        assertFalse(SessionIds.isCompact(legacy));
+        assertEquals(SessionIds.fromLegacy(legacy, JAN), SessionIds.fromLegacy(legacy, JAN));
+        assertEquals(JAN, SessionIds.timestampOf(SessionIds.fromLegacy(legacy, JAN)));
+    }
+
+    @Test
+    void migrationRewritesLegacyIdsInHotTablesAndArchives() throws Exception {
+        Database.init();
+        String hot = UUID.randomUUID().toString();
+        String archived = UUID.randomUUID().toString();
+        try (Connection c = Database.getConnection(); Statement st = c.createStatement()) {
+            for (String[] s : new String[][]{{archived, String.valueOf(JAN)}, {hot, String.valueOf(FEB)}}) {
+                st.executeUpdate("INSERT INTO sessions(id, started_at, ended_at, total_score, level) " +
+                        "VALUES('" + s[0] + "', " + s[1] + ", " + s[1] + ", 3, 'Low')");
+                st.executeUpdate("INSERT INTO responses(session_id, question_code, answer_value, score) " +
+                        "VALUES('" + s[0] + "', 'Q80', 3, 3)");
+                st.executeUpdate("INSERT INTO game_results(session_id, game, played_at, trials, correct, incorrect, duration_ms) " +
+                        "VALUES('" + s[0] + "', 'attention', " + s[1] + ", 10, 9, 1, 5000)");
+            }
+            // As left by a build that wrote random UUIDs
+            st.executeUpdate("PRAGMA user_version = 0");
+        }
+        new SessionArchiver(tempDir.resolve("archive")).archive(FEB);
+
+        Database.init();
+
+        String hotId = SessionIds.fromLegacy(hot, FEB);
+        String archivedId = SessionIds.fromLegacy(archived, JAN);
+        assertEquals(Optional.of(3), new ResponseDao().getAnswer(hotId, "Q80"));
+        assertEquals(Optional.of(3), new ResponseDao().getAnswer(archivedId, "Q80"));
+        assertEquals(1, new GameResultDao().findBySession(hotId).size());
+        assertEquals(1, new GameResultDao().findBySession(archivedId).size());
+        assertEquals(Optional.empty(), new ResponseDao().getAnswer(hot, "Q80"));
+
+        try (Connection c = Database.getConnection(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT count(*) FROM responses WHERE length(session_id) = 36")) {
+            assertTrue(rs.next());
+            assertEquals(0, rs.getLong(1));
+        }
+    }
+
+    @Test
+    void newSessionsStartAtTheirIdTimestamp() throws Exception {
+        Database.init();
+        String id = new SessionDao().startSession();
+        assertTrue(SessionIds.isCompact(id));
+        try (Connection c = Database.getConnection(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT started_at FROM sessions WHERE id = '" + id + "'")) {
+            assertTrue(rs.next());
+            assertEquals(SessionIds.timestampOf(id), rs.getLong(1));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.group1.asda.persistence;
+
+import org.group1.asda.service.AssessmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionScoresTest {
+    @TempDir
+    Path tempDir;
+
+    private String previousUrl;
+    private final SessionDao sessionDao = new SessionDao();
+    private final ResponseDao responseDao = new ResponseDao();
+    private final AssessmentService assessmentService = new AssessmentService();
+
+    @BeforeEach
+    void setUp() {
+        previousUrl = System.getProperty("asda.db.url");
+        System.setProperty("asda.db.url", "jdbc:sqlite:" + tempDir.resolve("scores.db"));
+        Database.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+    }
+
+    private static void sql(String statement) throws Exception {
+        try (Connection c = Database.getConnection(); Statement st = c.createStatement()) {
+            st.executeUpdate(statement);
+        }
+    }
+
+    private static long count(String query) throws Exception {
+        try (Connection c = Database.getConnection(); Statement st = c.createStatement(); ResultSet rs = st.executeQuery(query)) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    @Test
+    void rowsFollowEveryAnswerChange() throws Exception {
+        String id = sessionDao.startSession();
+        // Q80 is in BeforeAge2, Q84 in Sensory
+        responseDao.saveOrReplace(id, "Q80", 1, 1);
+        responseDao.saveOrReplace(id, "Q84", 3, 3);
+        responseDao.saveOrReplace(id, "Q80", 2, 2);
+        responseDao.saveOrReplace(id, "X1", 3, 3);
+
+        AssessmentService.AssessmentResult result = assessmentService.assessFromDb(id);
+        assertEquals(5, result.totalScore());
+        assertEquals(2, result.questionCount());
+        assertEquals(Map.of("BeforeAge2", 2, "Sensory", 3), result.categoryScores());
+        assertEquals(assessmentService.deriveLevel(5, 2), result.level());
+
+        // Upserts and deletes from other writers go through the same triggers
+        sql("UPDATE responses SET answer_value = 1 WHERE session_id = '" + id + "' AND question_code = 'Q84'");
+        assertEquals(3, assessmentService.assessFromDb(id).totalScore());
+        sql("DELETE FROM responses WHERE session_id = '" + id + "' AND question_code = 'Q80'");
+        result = assessmentService.assessFromDb(id);
+        assertEquals(1, result.totalScore());
+        assertEquals(Map.of("Sensory", 1), result.categoryScores());
+        assertTrue(SessionScores.check(10).consistent());
+
+        sql("DELETE FROM responses WHERE session_id = '" + id + "'");
+        assertEquals(0, assessmentService.assessFromDb(id).questionCount());
+        sql("DELETE FROM sessions WHERE id = '" + id + "'");
+        assertEquals(0, count("SELECT COUNT(*) FROM session_scores"));
+        assertEquals(0, count("SELECT COUNT(*) FROM session_category_scores"));
+    }
+
+    @Test
+    void checkFindsDriftAndRebuildRepairsIt() throws Exception {
+        String a = sessionDao.startSession();
+        String b = sessionDao.startSession();
+        for (int i = 0; i < 10; i++) {
+            responseDao.saveOrReplace(a, "Q" + (80 + i), 1 + i % 3, 1 + i % 3);
+            responseDao.saveOrReplace(b, "Q" + (90 + i), 2, 2);
+        }
+        SessionScores.Check ok = SessionScores.check(10);
+        assertEquals(2, ok.sessions());
+        assertTrue(ok.consistent());
+
+        sql("UPDATE session_scores SET total = total + 1 WHERE session_id = '" + a + "'");
+        sql("DELETE FROM session_category_scores WHERE session_id = '" + b + "'");
+        SessionScores.Check drift = SessionScores.check(10);
+        assertEquals(2, drift.mismatched());
+        assertEquals(List.of(a, b).stream().sorted().toList(), drift.mismatchedIds());
+
+        SessionScores.rebuild();
+        assertTrue(SessionScores.check(10).consistent());
+
+        // A database whose points table is missing or stale is rebuilt on the next start
+        sql("DELETE FROM item_points");
+        sql("DELETE FROM session_scores");
+        Database.init();
+        assertTrue(SessionScores.check(10).consistent());
+        assertEquals(2, count("SELECT COUNT(*) FROM session_scores"));
+    }
+}
@@ -0,0 +1,154 @@
+package org.group1.asda.report;
+
+import org.group1.asda.domain.GameResult;
+import org.group1.asda.navigation.Router;
+import org.group1.asda.navigation.Seat;
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.GameResultDao;
+import org.group1.asda.persistence.ResponseDao;
+import org.group1.asda.persistence.SessionDao;
+import org.group1.asda.service.AssessmentService;
+import org.group1.asda.ui.attentiongame.AttentionGameController;
+import org.group1.asda.ui.emotionrecognition.EmotionRecognitionController;
+import org.group1.asda.ui.matchinggame.MatchingGameController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.plugins.tiff.BaselineTIFFTagSet;
+import javax.imageio.plugins.tiff.TIFFDirectory;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportSourceTest {
+    @TempDir
+    Path tempDir;
+
+    private String previousUrl;
+    private final SessionDao sessionDao = new SessionDao();
+    private final ResponseDao responseDao = new ResponseDao();
+    private final GameResultDao gameResultDao = new GameResultDao();
+    private final ReportSource source = new ReportSource();
+
+    @BeforeEach
+    void setUp() {
+        previousUrl = System.getProperty("asda.db.url");
+        System.setProperty("asda.db.url", "jdbc:sqlite:" + tempDir.resolve("report.db"));
+        Database.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+    }
+
+    @Test
+    void listsFinishedSessionsInIdOrder() {
+        List<String> finished = new ArrayList<>();
+        for (int n = 0; n < 5; n++) {
+            String id = sessionDao.startSession();
+            sessionDao.endSession(id, 0, "Low");
+            finished.add(id);
+        }
+        sessionDao.startSession();
+        finished.sort(null);
+
+        assertEquals(finished, source.finishedSessions(0));
+        assertEquals(finished.subList(0, 2), source.finishedSessions(2));
+    }
+
+    @Test
+    void preparesTheAssessmentAndAttentionGamesOfASession() {
+        String id = sessionDao.startSession();
+        responseDao.saveOrReplace(id, "Q80", 1, 1);
+        responseDao.saveOrReplace(id, "Q84", 2, 2);
+        sessionDao.endSession(id, 3, "Low");
+        gameResultDao.save(new GameResult(id, GameResult.ATTENTION, 2_000L, 20, 18, 2, 60_000L));
+        gameResultDao.save(new GameResult(id, GameResult.MATCHING, 1_500L, 8, 8, 0, 30_000L));
+        gameResultDao.save(new GameResult(id, GameResult.ATTENTION, 1_000L, 20, 10, 10, 65_000L));
+
+        SessionReport report = source.prepare(id);
+
+        assertEquals(id, report.sessionId());
+        assertNotNull(report.startedAt());
+        assertNotNull(report.endedAt());
+        AssessmentService.AssessmentResult expected = new AssessmentService().assessFromDb(id);
+        assertEquals(expected, report.assessment());
+        assertEquals(List.of(1_000L, 2_000L), report.attentionGames().stream().map(GameResult::playedAt).toList());
+        assertEquals(3, report.pageCount());
+    }
+
+    @Test
+    void gamesPlayedOnASeatAreReportedUnderItsParticipantsSession() throws Exception {
+        Seat seat = Seat.detached();
+        saveThroughController(AttentionGameController.class, seat);
+        String id = seat.beginSession();
+        saveThroughController(AttentionGameController.class, seat);
+        saveThroughController(MatchingGameController.class, seat);
+        saveThroughController(EmotionRecognitionController.class, seat);
+        // Writes run in order, so the session's results are stored once it has ended
+        seat.endSession().get(5, TimeUnit.SECONDS);
+
+        assertNull(seat.sessionId());
+        assertEquals(List.of(id), source.finishedSessions(0));
+        assertEquals(List.of(GameResult.ATTENTION, GameResult.MATCHING, GameResult.RECOGNITION),
+                gameResultDao.findBySession(id).stream().map(GameResult::game).sorted().toList());
+        SessionReport report = source.prepare(id);
+        assertNotNull(report.endedAt());
+        assertEquals(1, report.attentionGames().size(), "play before the disclaimer belongs to no session");
+    }
+
+    /** Stores a game's result the way the game does when it ends. */
+    private static void saveThroughController(Class<?> type, Seat seat) throws ReflectiveOperationException {
+        Method save = type.getDeclaredMethod("saveResult");
+        save.setAccessible(true);
+        save.invoke(Router.createController(type, seat));
+    }
+
+    @Test
+    void unknownSessionsHaveAnEmptyReport() {
+        SessionReport report = source.prepare("missing");
+        assertNull(report.startedAt());
+        assertEquals(0, report.assessment().questionCount());
+        assertEquals(1, report.pageCount());
+    }
+
+    @Test
+    void reportIsOneOpaqueMultiPageTiff() throws Exception {
+        int[] first = {0xFFFF0000, 0xFF00FF00, 0xFF0000FF, 0xFFFFFFFF, 0xFF000000, 0xFF123456};
+        int[] second = {0xFF654321, 0xFF000000, 0xFFFFFFFF, 0xFF0000FF, 0xFF00FF00, 0xFFFF0000};
+        Path file = tempDir.resolve("session.tiff");
+        PageImage.writeTiff(List.of(new PageImage(3, 2, first), new PageImage(3, 2, second)), 150, file);
+
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            ImageReader reader = ImageIO.getImageReaders(in).next();
+            reader.setInput(in);
+            assertEquals(2, reader.getNumImages(true));
+            int[][] expected = {first, second};
+            for (int i = 0; i < 2; i++) {
+                BufferedImage read = reader.read(i);
+                assertEquals(3, read.getWidth());
+                assertEquals(2, read.getHeight());
+                assertFalse(read.getColorModel().hasAlpha());
+                assertArrayEquals(expected[i], read.getRGB(0, 0, 3, 2, null, 0, 3));
+                TIFFDirectory dir = TIFFDirectory.createFromMetadata(reader.getImageMetadata(i));
+                assertEquals(150, dir.getTIFFField(BaselineTIFFTagSet.TAG_X_RESOLUTION).getAsRational(0)[0]);
+            }
+            reader.dispose();
+        }
+        assertFalse(Files.exists(tempDir.resolve("session.tiff.tmp")), "no temporary file is left behind");
+        assertThrows(IllegalArgumentException.class, () -> new PageImage(3, 3, first));
+    }
+}
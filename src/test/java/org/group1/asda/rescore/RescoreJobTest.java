@@ -0,0 +1,135 @@
+package org.group1.asda.rescore;
+
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.ResponseDao;
+import org.group1.asda.persistence.SessionDao;
+import org.group1.asda.service.AssessmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RescoreJobTest {
+    @TempDir
+    Path tempDir;
+
+    private String previousUrl;
+    private final SessionDao sessionDao = new SessionDao();
+    private final ResponseDao responseDao = new ResponseDao();
+    private final AssessmentService assessmentService = new AssessmentService();
+
+    @BeforeEach
+    void setUp() {
+        previousUrl = System.getProperty("asda.db.url");
+        System.setProperty("asda.db.url", "jdbc:sqlite:" + tempDir.resolve("rescore.db"));
+        Database.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+    }
+
+    /** Finished sessions stored with a stale total and level; every third one is already correct. */
+    private List<String> sessions(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int n = 0; n < count; n++) {
+            String id = sessionDao.startSession();
+            int answers = n % 7;
+            for (int i = 0; i < answers; i++) {
+                responseDao.saveOrReplace(id, "Q" + (80 + i * 4), 1 + (n + i) % 3, 1 + (n + i) % 3);
+            }
+            if (n % 3 == 0) {
+                AssessmentService.AssessmentResult r = assessmentService.assessFromDb(id);
+                sessionDao.endSession(id, r.totalScore(), r.level());
+            } else {
+                sessionDao.endSession(id, 999, "Stale");
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private void assertScored(List<String> ids) throws Exception {
+        try (Connection c = Database.getConnection();
+             PreparedStatement ps = c.prepareStatement("SELECT total_score, level FROM sessions WHERE id = ?")) {
+            for (String id : ids) {
+                AssessmentService.AssessmentResult expected = assessmentService.assessFromDb(id);
+                ps.setString(1, id);
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                    assertEquals(expected.totalScore(), rs.getInt(1), id);
+                    assertEquals(expected.level(), rs.getString(2), id);
+                }
+            }
+        }
+    }
+
+    private static long changeSeq() throws Exception {
+        try (Connection c = Database.getConnection(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT seq FROM change_counter")) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    @Test
+    void rescoresFinishedSessionsAndWritesOnlyChanges() throws Exception {
+        List<String> ids = sessions(40);
+        String open = sessionDao.startSession();
+        long seqBefore = changeSeq();
+
+        RescoreReport report = new RescoreJob(2, 3, null).run(false);
+
+        assertTrue(report.complete());
+        assertEquals(8, report.partitions());
+        assertEquals(40, report.sessions());
+        assertEquals(26, report.changed());
+        assertEquals(seqBefore + 26, changeSeq());
+        assertScored(ids);
+        try (Connection c = Database.getConnection(); Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT total_score FROM sessions WHERE id = '" + open + "'")) {
+            assertTrue(rs.next());
+            assertNull(rs.getObject(1));
+        }
+
+        RescoreReport again = new RescoreJob(2, 3, null).run(false);
+        assertEquals(40, again.sessions());
+        assertEquals(0, again.changed());
+    }
+
+    @Test
+    void cancelledRunResumesFromCheckpoint() throws Exception {
+        List<String> ids = sessions(30);
+
+        RescoreJob[] job = new RescoreJob[1];
+        job[0] = new RescoreJob(1, 4, p -> {
+            if (p.sessions() >= 8) job[0].cancel();
+        });
+        RescoreReport first = job[0].run(false);
+        assertFalse(first.complete());
+        assertTrue(first.sessions() >= 8 && first.sessions() < 30, "sessions " + first.sessions());
+
+        List<RescoreJob.Progress> progress = new ArrayList<>();
+        RescoreReport second = new RescoreJob(1, 4, progress::add).run(false);
+        assertTrue(second.complete());
+        assertTrue(second.resumedPartitions() > 0);
+        assertEquals(30, first.sessions() + second.sessions());
+        assertEquals(30, progress.get(progress.size() - 1).sessions());
+        assertEquals(30, progress.get(progress.size() - 1).totalSessions());
+        assertScored(ids);
+
+        // A finished run is not resumed; the next run starts over
+        assertEquals(0, new RescoreJob(1, 4, null).run(false).resumedPartitions());
+    }
+}
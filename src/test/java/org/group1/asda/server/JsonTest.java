@@ -0,0 +1,43 @@
+package org.group1.asda.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTest {
+
+    @Test
+    void testParsesNestedValues() {
+        Object v = Json.parse(" {\"a\": [1, -2.5, true, null], \"b\": {\"c\": \"x\\\"y\\u00e9\"}} ");
+        Map<?, ?> m = (Map<?, ?>) v;
+        assertEquals(List.of(1L, -2.5, true), ((List<?>) m.get("a")).subList(0, 3));
+        assertNull(((List<?>) m.get("a")).get(3));
+        assertEquals("x\"yé", ((Map<?, ?>) m.get("b")).get("c"));
+    }
+
+    @Test
+    void testRejectsMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\":1"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[1,]"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("1 2"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parse("[".repeat(100) + "]".repeat(100)));
+    }
+
+    @Test
+    void testWriteRoundTrips() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("s", "line\nbreak \"quoted\"");
+        m.put("n", 42);
+        m.put("list", List.of(1L, "two", false));
+        m.put("none", null);
+        String text = Json.write(m);
+        assertEquals("{\"s\":\"line\\nbreak \\\"quoted\\\"\",\"n\":42,\"list\":[1,\"two\",false],\"none\":null}", text);
+        Map<?, ?> back = (Map<?, ?>) Json.parse(text);
+        assertEquals(m.get("s"), back.get("s"));
+        assertEquals(42L, back.get("n"));
+    }
+}
@@ -0,0 +1,179 @@
+package org.group1.asda.server;
+
+import org.group1.asda.assessment.AQScoreCalculator;
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.ResponseDao;
+import org.group1.asda.persistence.SessionDao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoringServerTest {
+    @TempDir
+    Path tempDir;
+
+    private String previousUrl;
+    private ScoringServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        previousUrl = System.getProperty("asda.db.url");
+        System.setProperty("asda.db.url", "jdbc:sqlite:" + tempDir.resolve("server.db"));
+        Database.init();
+        server = ScoringServer.start(ScoringServer.Config.defaults().withPort(0).withWorkers(2).withQueue(4).withMaxBatch(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String sheet(String id, int[] responses) {
+        StringBuilder sb = new StringBuilder("{\"id\":\"").append(id).append("\",\"responses\":[");
+        for (int i = 0; i < responses.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(responses[i]);
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static int[] filled(int choice) {
+        int[] r = new int[50];
+        Arrays.fill(r, choice);
+        return r;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testScoresBatchOfSheets() throws Exception {
+        int[] mixed = new int[50];
+        for (int i = 0; i < 50; i++) mixed[i] = 1 + i % 4;
+        String body = "{\"sheets\":[" + sheet("a", filled(1)) + "," + sheet("b", mixed) + "," + sheet("c", new int[49]) + "]}";
+
+        HttpResponse<String> res = post("/v1/aq/score", body);
+        assertEquals(200, res.statusCode());
+        Map<String, Object> json = (Map<String, Object>) Json.parse(res.body());
+        assertEquals(3L, json.get("count"));
+        List<Map<String, Object>> results = (List<Map<String, Object>>) json.get("results");
+
+        assertEquals("a", results.get(0).get("id"));
+        assertEquals((long) AQScoreCalculator.calculateTotalScore(filled(1)),
+                results.get(0).get("totalScore"));
+        assertEquals((long) AQScoreCalculator.calculateTotalScore(mixed),
+                results.get(1).get("totalScore"));
+        assertNotNull(results.get(1).get("riskLevel"));
+        assertEquals(5, ((Map<String, Object>) results.get(1).get("categories")).size());
+        assertTrue(((String) results.get(2).get("error")).contains("must be a choice"));
+    }
+
+    @Test
+    void testRejectsBadRequests() throws Exception {
+        assertEquals(400, post("/v1/aq/score", "{\"sheets\":").statusCode());
+        assertEquals(400, post("/v1/aq/score", "[]").statusCode());
+        assertEquals(405, get("/v1/aq/score").statusCode());
+        assertEquals(404, get("/nope").statusCode());
+
+        List<String> sheets = new ArrayList<>(Collections.nCopies(11, sheet("x", filled(2))));
+        HttpResponse<String> tooMany = post("/v1/aq/score", "{\"sheets\":[" + String.join(",", sheets) + "]}");
+        assertEquals(413, tooMany.statusCode());
+    }
+
+    @Test
+    void testLooksUpStoredSession() throws Exception {
+        SessionDao sessions = new SessionDao();
+        ResponseDao responses = new ResponseDao();
+        String id = sessions.startSession();
+        responses.saveOrReplace(id, "Q80", 3, 3);
+        responses.saveOrReplace(id, "Q81", 2, 2);
+
+        HttpResponse<String> res = get("/v1/sessions/" + id);
+        assertEquals(200, res.statusCode());
+        Map<?, ?> json = (Map<?, ?>) Json.parse(res.body());
+        assertEquals(id, json.get("sessionId"));
+        assertEquals(5L, json.get("totalScore"));
+        assertEquals(2L, json.get("questionCount"));
+
+        assertEquals(404, get("/v1/sessions/missing").statusCode());
+    }
+
+    @Test
+    void testSaturatedServerAnswers503() throws Exception {
+        int permits = server.admission().drainPermits();
+        try {
+            HttpResponse<String> res = post("/v1/aq/score", "{\"sheets\":[]}");
+            assertEquals(503, res.statusCode());
+            assertTrue(res.headers().firstValue("Retry-After").isPresent());
+            assertEquals(200, get("/health").statusCode());
+        } finally {
+            server.admission().release(permits);
+        }
+        assertEquals(200, post("/v1/aq/score", "{\"sheets\":[]}").statusCode());
+    }
+
+    @Test
+    void testRejectedExecutionAnswers503() throws Exception {
+        server.executor().shutdown();
+        HttpResponse<String> res = post("/v1/aq/score", "{\"sheets\":[]}");
+        assertEquals(503, res.statusCode());
+        assertTrue(res.headers().firstValue("Retry-After").isPresent());
+        assertEquals(503, get("/health").statusCode());
+        assertEquals(6, server.admission().availablePermits());
+    }
+
+    @Test
+    void testConcurrentClientsAreAllServed() throws Exception {
+        String body = "{\"sheets\":[" + sheet("a", filled(1)) + "," + sheet("b", filled(4)) + "]}";
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> calls = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                // The queue holds every client at once, so none should be rejected
+                calls.add(pool.submit(() -> post("/v1/aq/score", body).statusCode()));
+            }
+            for (Future<Integer> call : calls) {
+                assertEquals(200, call.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(6, server.admission().availablePermits());
+
+        HttpResponse<String> metrics = get("/metrics");
+        assertEquals(200, metrics.statusCode());
+        assertTrue(metrics.body().contains("sheets/s"));
+        assertTrue(metrics.body().contains("http.score"));
+    }
+}
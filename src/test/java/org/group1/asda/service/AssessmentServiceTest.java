@@ -1,11 +1,20 @@
 package org.group1.asda.service;
 
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.ResponseDao;
+import org.group1.asda.persistence.SessionDao;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("AssessmentService Tests")
@@ -124,6 +133,38 @@ class AssessmentServiceTest {
         assertEquals("Low", service.deriveLevel(3, 1));
     }
 
+    @Test
+    @DisplayName("assessFromDb should score in-range answer values of checklist items only")
+    void testAssessFromDbScoresChecklistAnswers(@TempDir Path dir) throws Exception {
+        String previousUrl = System.getProperty("asda.db.url");
+        System.setProperty("asda.db.url", "jdbc:sqlite:" + dir.resolve("assess.db"));
+        try {
+            Database.init();
+            String id = new SessionDao().startSession();
+            ResponseDao responses = new ResponseDao();
+            // The stored score disagrees with the answer, X1 is not a checklist item and Q90 and Q91 are out of range
+            responses.saveOrReplace(id, "Q80", 1, 3);
+            responses.saveOrReplace(id, "Q84", 2, 2);
+            responses.saveOrReplace(id, "X1", 3, 3);
+            responses.saveOrReplace(id, "Q90", 7, 7);
+            responses.saveOrReplace(id, "Q91", 0, 0);
+
+            AssessmentService.AssessmentResult stored = service.assessFromDb(id);
+            assertEquals(3, stored.totalScore());
+            assertEquals(2, stored.questionCount());
+            assertEquals(Map.of("BeforeAge2", 1, "Sensory", 2), stored.categoryScores());
+
+            // Without the maintained rows the responses are aggregated the same way
+            try (Connection c = Database.getConnection(); Statement st = c.createStatement()) {
+                st.executeUpdate("DELETE FROM session_scores");
+            }
+            assertEquals(stored, service.assessFromDb(id));
+        } finally {
+            if (previousUrl == null) System.clearProperty("asda.db.url");
+            else System.setProperty("asda.db.url", previousUrl);
+        }
+    }
+
     @Test
     @DisplayName("AssessmentResult record should store all values correctly")
     void testAssessmentResultRecord() {
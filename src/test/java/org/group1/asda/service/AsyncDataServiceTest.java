@@ -0,0 +1,155 @@
+package org.group1.asda.service;
+
+import org.group1.asda.persistence.Database;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AsyncDataService Tests")
+class AsyncDataServiceTest {
+    @TempDir
+    Path tempDir;
+
+    private String previousUrl;
+    private AsyncDataService service;
+
+    @BeforeEach
+    void setUp() {
+        previousUrl = System.getProperty("asda.db.url");
+        System.setProperty("asda.db.url", "jdbc:sqlite:" + tempDir.resolve("async.db"));
+        Database.init();
+        service = new AsyncDataService(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+    }
+
+    @Test
+    @DisplayName("Writes run in submission order on one thread")
+    void testWritesAreSerialized() throws Exception {
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Object>> writes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int n = i;
+            writes.add(service.write(() -> {
+                threads.add(Thread.currentThread().getName());
+                order.add(n);
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, threads.stream().distinct().count());
+        assertEquals("db-writer", threads.get(0));
+        for (int i = 0; i < 50; i++) assertEquals(i, order.get(i));
+    }
+
+    @Test
+    @DisplayName("Reads run concurrently on the reader pool")
+    void testReadsRunConcurrently() throws Exception {
+        CountDownLatch both = new CountDownLatch(2);
+        CompletableFuture<Boolean> a = service.read(() -> awaitOther(both));
+        CompletableFuture<Boolean> b = service.read(() -> awaitOther(both));
+        assertTrue(a.get(5, TimeUnit.SECONDS));
+        assertTrue(b.get(5, TimeUnit.SECONDS));
+    }
+
+    private static boolean awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Test
+    @DisplayName("A read cancelled before it starts is skipped, a cancelled write still runs")
+    void testCancellationSkipsReadsButNotWrites() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        // Occupy both readers and the writer
+        List<CompletableFuture<Boolean>> blockers = List.of(
+                service.read(() -> awaitRelease(release)),
+                service.read(() -> awaitRelease(release)),
+                service.write(() -> awaitRelease(release)));
+
+        AtomicBoolean readRan = new AtomicBoolean();
+        AtomicBoolean writeRan = new AtomicBoolean();
+        CompletableFuture<Object> read = service.read(() -> {
+            readRan.set(true);
+            return null;
+        });
+        CompletableFuture<Object> write = service.write(() -> {
+            writeRan.set(true);
+            return null;
+        });
+        read.cancel(false);
+        write.cancel(false);
+        release.countDown();
+        for (CompletableFuture<Boolean> f : blockers) f.get(5, TimeUnit.SECONDS);
+
+        // Queue barriers behind the cancelled tasks to know they have been dequeued
+        service.write(() -> null).get(5, TimeUnit.SECONDS);
+        service.read(() -> null).get(5, TimeUnit.SECONDS);
+        service.read(() -> null).get(5, TimeUnit.SECONDS);
+        assertFalse(readRan.get());
+        assertTrue(writeRan.get());
+    }
+
+    private static boolean awaitRelease(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Test
+    @DisplayName("DAO counterparts round-trip through the database")
+    void testDaoCounterparts() throws Exception {
+        String id = service.startSession().get(5, TimeUnit.SECONDS);
+        // Not waited on: the writer keeps them ordered before the read below is issued
+        service.saveOrReplace(id, "Q80", 3, 3);
+        service.saveOrReplace(id, "Q81", 1, 1);
+        service.endSession(id, 4, "Moderate").get(5, TimeUnit.SECONDS);
+
+        assertEquals(Optional.of(3), service.getAnswer(id, "Q80").get(5, TimeUnit.SECONDS));
+        assertEquals(Optional.of(id), service.latestSessionId().get(5, TimeUnit.SECONDS));
+        AssessmentService.AssessmentResult res = service.assessFromDb(id).get(5, TimeUnit.SECONDS);
+        assertEquals(4, res.totalScore());
+        assertEquals(2, res.questionCount());
+        assertFalse(service.findQuestions().get(5, TimeUnit.SECONDS).isEmpty());
+    }
+
+    @Test
+    @DisplayName("DAO failures complete the future exceptionally")
+    void testFailuresPropagate() {
+        CompletableFuture<Object> f = service.read(() -> {
+            throw new RuntimeException("boom");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, () -> f.get(5, TimeUnit.SECONDS));
+        assertEquals("boom", e.getCause().getMessage());
+    }
+}
@@ -0,0 +1,243 @@
+package org.group1.asda.sync;
+
+import org.group1.asda.persistence.Database;
+import org.group1.asda.persistence.ResponseDao;
+import org.group1.asda.persistence.SessionDao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncTest {
+    @TempDir
+    Path tempDir;
+
+    private String previousUrl;
+    private final SessionDao sessionDao = new SessionDao();
+    private final ResponseDao responseDao = new ResponseDao();
+
+    @BeforeEach
+    void setUp() {
+        previousUrl = System.getProperty("asda.db.url");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (previousUrl == null) System.clearProperty("asda.db.url");
+        else System.setProperty("asda.db.url", previousUrl);
+    }
+
+    private void use(String file) {
+        System.setProperty("asda.db.url", "jdbc:sqlite:" + tempDir.resolve(file));
+        Database.init();
+    }
+
+    private String addSession(int answers, int score) {
+        String id = sessionDao.startSession();
+        for (int i = 0; i < answers; i++) {
+            responseDao.saveOrReplace(id, "Q" + (80 + i), 1 + i % 3, i % 2);
+        }
+        sessionDao.endSession(id, score, "Low");
+        return id;
+    }
+
+    private static long queryLong(String sql) throws Exception {
+        try (Connection c = Database.getConnection(); Statement st = c.createStatement(); ResultSet rs = st.executeQuery(sql)) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    private static List<String> dump() throws Exception {
+        List<String> rows = new ArrayList<>();
+        try (Connection c = Database.getConnection(); Statement st = c.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT id, started_at, ended_at, total_score, level FROM sessions ORDER BY id")) {
+                while (rs.next()) {
+                    rows.add(rs.getString(1) + "|" + rs.getObject(2) + "|" + rs.getObject(3) + "|" + rs.getObject(4) + "|" + rs.getString(5));
+                }
+            }
+            try (ResultSet rs = st.executeQuery(
+                    "SELECT session_id, question_code, answer_value, score FROM responses ORDER BY session_id, question_code")) {
+                while (rs.next()) {
+                    rows.add(rs.getString(1) + "|" + rs.getString(2) + "|" + rs.getInt(3) + "|" + rs.getInt(4));
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void testChangesAreStampedWithIncreasingSequence() throws Exception {
+        use("kiosk.db");
+        String id = addSession(3, 2);
+        long afterFirst = queryLong("SELECT seq FROM change_counter");
+        assertTrue(afterFirst > 0);
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM responses WHERE change_seq IS NULL"));
+
+        responseDao.saveOrReplace(id, "Q81", 3, 1);
+        assertTrue(queryLong("SELECT seq FROM change_counter") > afterFirst);
+        assertEquals(1, queryLong("SELECT COUNT(*) FROM responses WHERE change_seq > " + afterFirst));
+    }
+
+    @Test
+    void testTwoKiosksMergeIntoHub() throws Exception {
+        use("kiosk-a.db");
+        addSession(5, 3);
+        addSession(2, 1);
+        List<String> a = dump();
+        Path bundleA = tempDir.resolve("a-1.bundle");
+        SyncExporter.ExportResult ea = new SyncExporter().exportPending("hub", bundleA);
+        assertEquals(2, ea.sessions());
+        assertEquals(7, ea.responses());
+
+        use("kiosk-b.db");
+        addSession(4, 2);
+        List<String> b = dump();
+        Path bundleB = tempDir.resolve("b-1.bundle");
+        new SyncExporter().exportPending("hub", bundleB);
+
+        use("hub.db");
+        SyncImporter importer = new SyncImporter();
+        SyncImporter.ImportResult ra = importer.importBundle(bundleA);
+        importer.importBundle(bundleB);
+        assertFalse(ra.skipped());
+        assertEquals(ea.source(), ra.source());
+
+        List<String> expected = new ArrayList<>();
+        expected.addAll(a);
+        expected.addAll(b);
+        List<String> hub = dump();
+        assertEquals(expected.stream().sorted().toList(), hub.stream().sorted().toList());
+    }
+
+    @Test
+    void testReimportIsIdempotent() throws Exception {
+        use("kiosk.db");
+        addSession(5, 3);
+        Path bundle = tempDir.resolve("k.bundle");
+        new SyncExporter().exportPending("hub", bundle);
+
+        use("hub.db");
+        SyncImporter importer = new SyncImporter();
+        importer.importBundle(bundle);
+        List<String> before = dump();
+        long seqBefore = queryLong("SELECT seq FROM change_counter");
+
+        SyncImporter.ImportResult again = importer.importBundle(bundle);
+        assertTrue(again.skipped());
+        assertEquals(before, dump());
+        assertEquals(seqBefore, queryLong("SELECT seq FROM change_counter"));
+
+        // An overlapping bundle is applied but rewrites nothing that is already current
+        use("kiosk.db");
+        ByteArrayOutputStream full = new ByteArrayOutputStream();
+        new SyncExporter().export(0, full);
+        addSession(1, 0);
+        ByteArrayOutputStream overlap = new ByteArrayOutputStream();
+        SyncExporter.ExportResult e = new SyncExporter().export(0, overlap);
+        use("hub.db");
+        SyncImporter.ImportResult r = importer.importBundle(new ByteArrayInputStream(overlap.toByteArray()));
+        assertEquals(2, r.sessions());
+        assertEquals(2, r.changed());
+        assertEquals(e.toSeq(), importer.importedSeq(e.source()));
+    }
+
+    @Test
+    void testIncrementalExportContainsOnlyDelta() throws Exception {
+        use("kiosk.db");
+        String first = addSession(10, 5);
+        addSession(10, 4);
+        SyncExporter exporter = new SyncExporter();
+        SyncExporter.ExportResult initial = exporter.exportPending("hub", tempDir.resolve("1.bundle"));
+        assertEquals(20, initial.responses());
+
+        responseDao.saveOrReplace(first, "Q85", 1, 0);
+        SyncExporter.ExportResult delta = exporter.exportPending("hub", tempDir.resolve("2.bundle"));
+        assertEquals(initial.toSeq(), delta.fromSeq());
+        assertEquals(0, delta.sessions());
+        assertEquals(1, delta.responses());
+        assertEquals(delta.toSeq(), exporter.exportedSeq("hub"));
+
+        SyncExporter.ExportResult empty = exporter.exportPending("hub", tempDir.resolve("3.bundle"));
+        assertEquals(0, empty.sessions() + empty.responses());
+
+        use("hub.db");
+        SyncImporter importer = new SyncImporter();
+        importer.importBundle(tempDir.resolve("1.bundle"));
+        SyncImporter.ImportResult r = importer.importBundle(tempDir.resolve("2.bundle"));
+        assertEquals(1, r.changed());
+        assertEquals(1, queryLong("SELECT answer_value FROM responses WHERE session_id = '" + first + "' AND question_code = 'Q85'"));
+        importer.importBundle(tempDir.resolve("3.bundle"));
+    }
+
+    @Test
+    void testBundleWithGapIsRejected() throws Exception {
+        use("kiosk.db");
+        addSession(2, 1);
+        SyncExporter exporter = new SyncExporter();
+        exporter.exportPending("hub", tempDir.resolve("1.bundle"));
+        addSession(2, 1);
+        exporter.exportPending("hub", tempDir.resolve("2.bundle"));
+
+        use("hub.db");
+        SyncImporter importer = new SyncImporter();
+        assertThrows(IllegalStateException.class, () -> importer.importBundle(tempDir.resolve("2.bundle")));
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM sessions"));
+
+        importer.importBundle(tempDir.resolve("1.bundle"));
+        importer.importBundle(tempDir.resolve("2.bundle"));
+        assertEquals(2, queryLong("SELECT COUNT(*) FROM sessions"));
+    }
+
+    @Test
+    void testBundleRoundTripPreservesNulls() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BundleWriter w = new BundleWriter(out, "node", 3, 9)) {
+            w.writeSession(new SyncRecords.SessionRecord("s1", 1_700_000_000_000L, null, null, null));
+            w.writeSession(new SyncRecords.SessionRecord("s2", 5L, 6L, 40, "High"));
+            w.writeResponses("s2", new String[]{"Q80", "Q81", "Q80x"}, new int[]{1, 3, 0}, new int[]{0, 1, -2}, 3);
+        }
+
+        List<SyncRecords.Row> rows = new ArrayList<>();
+        try (BundleReader r = new BundleReader(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("node", r.getSource());
+            assertEquals(3, r.getFromSeq());
+            assertEquals(9, r.getToSeq());
+            SyncRecords.Row row;
+            while ((row = r.next()) != null) rows.add(row);
+        }
+        assertEquals(List.of(
+                new SyncRecords.SessionRecord("s1", 1_700_000_000_000L, null, null, null),
+                new SyncRecords.SessionRecord("s2", 5L, 6L, 40, "High"),
+                new SyncRecords.ResponseRecord("s2", "Q80", 1, 0),
+                new SyncRecords.ResponseRecord("s2", "Q81", 3, 1),
+                new SyncRecords.ResponseRecord("s2", "Q80x", 0, -2)), rows);
+    }
+
+    @Test
+    void testTruncatedBundleIsRejected() throws Exception {
+        use("kiosk.db");
+        addSession(5, 3);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SyncExporter().export(0, out);
+        byte[] bytes = out.toByteArray();
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 12);
+
+        use("hub.db");
+        assertThrows(RuntimeException.class, () -> new SyncImporter().importBundle(new ByteArrayInputStream(truncated)));
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM sessions"));
+        assertEquals(0, queryLong("SELECT COUNT(*) FROM sync_sources"));
+    }
+}
@@ -0,0 +1,44 @@
+package org.group1.asda.instrument;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link BatchScorer.Kernel} on the incubating Vector API. Each step loads one register of choice bytes,
+ * widens it to int lanes part by part and turns choices into points by blending each option's points into
+ * the lanes that chose it, so no gather is needed. Sheets after the last full register go through the
+ * scalar kernel.
+ *
+ * Compiled with {@code --add-modules jdk.incubator.vector} and loaded reflectively by {@link BatchScorer}
+ * only when that module is present at runtime.
+ */
+final class VectorKernel implements BatchScorer.Kernel {
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final int PARTS = BYTES.length() / INTS.length();
+
+    @Override
+    public int addItem(byte[] row, int[] p, int options, int[] totals, int[] sub, int[] answered, int from, int to) {
+        IntVector max = IntVector.zero(INTS);
+        int n = from;
+        for (int end = from + BYTES.loopBound(to - from); n < end; n += BYTES.length()) {
+            ByteVector bytes = ByteVector.fromArray(BYTES, row, n);
+            for (int part = 0; part < PARTS; part++) {
+                int k = n + part * INTS.length();
+                IntVector c = ((IntVector) bytes.convertShape(VectorOperators.B2I, INTS, part)).and(0xFF);
+                IntVector v = IntVector.zero(INTS);
+                for (int o = 1; o <= options; o++) {
+                    v = v.blend(p[o], c.eq(o));
+                }
+                IntVector.fromArray(INTS, totals, k).add(v).intoArray(totals, k);
+                if (sub != null) IntVector.fromArray(INTS, sub, k).add(v).intoArray(sub, k);
+                IntVector.fromArray(INTS, answered, k).add(1, c.compare(VectorOperators.NE, 0)).intoArray(answered, k);
+                max = max.max(c);
+            }
+        }
+        int bad = options - max.reduceLanes(VectorOperators.MAX);
+        return bad | BatchScorer.SCALAR.addItem(row, p, options, totals, sub, answered, n, to);
+    }
+}